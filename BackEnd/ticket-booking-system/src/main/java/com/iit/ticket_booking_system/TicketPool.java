@@ -2,32 +2,359 @@ package com.iit.ticket_booking_system;
 
 import com.iit.ticket_booking_system.config.Configuration;
 import com.iit.ticket_booking_system.config.ConfigurationManager;
+import com.iit.ticket_booking_system.model.Priority;
 import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.model.TicketHold;
+import com.iit.ticket_booking_system.pool.LinkedTicketInventory;
+import com.iit.ticket_booking_system.pool.OffHeapTicketInventory;
+import com.iit.ticket_booking_system.pool.PackedTicketInventory;
+import com.iit.ticket_booking_system.pool.RangeTicketInventory;
+import com.iit.ticket_booking_system.pool.RingBufferTicketInventory;
+import com.iit.ticket_booking_system.pool.TicketInventory;
+import com.iit.ticket_booking_system.pool.TicketShard;
+import com.iit.ticket_booking_system.util.HashedTimerWheel;
 import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+import com.iit.ticket_booking_system.util.PriorityWaitQueue;
+import com.iit.ticket_booking_system.util.WaitEventSummary;
+import com.iit.ticket_booking_system.util.WaitTimeHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.POOL;
 
 @Component
 public class TicketPool {
 
-    private final List<Ticket> tickets = Collections.synchronizedList(new LinkedList<>()); // Store tickets in a thread-safe list
-    private static int totalTicketsAdded = 0; //Total number of tickets added by vendors
-    private static double totalSales = 0; // Total sales from tickets bought
-    private final int maxCapacity; //Maximum tickets allowed in pool
+    /**
+     * Key of the single shard used when the pool is not sharded by event.
+     */
+    public static final String SHARED_SHARD = "*";
+
+    private static final String MAPPED_FILE_SUFFIX = ".tickets"; // Extension of the files of mapped shards
+    private static final long HOLD_TICK_MILLIS = 100; // Resolution of hold expiry
+    private static final int HOLD_BUCKETS = 4096; // Timer wheel buckets, one turn covers about 7 minutes
+    private static final Duration DEFAULT_HOLD_TTL = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_PRIORITY_AGING = Duration.ofSeconds(2);
+    private static final Ticket JOIN_QUEUE = Ticket.ofCents(0, null, 0); // Tells a parked customer to queue instead
+
+    private final Map<String, TicketShard> shards = new ConcurrentHashMap<>(); // Shards keyed by event
+    private final List<TicketShard> shardList = new CopyOnWriteArrayList<>(); // Shards in creation order, for stealing
+    private final LongAdder totalTicketsAdded = new LongAdder(); //Total number of tickets added by vendors
+    private final LongAdder totalSalesInCents = new LongAdder(); // Total sales from tickets bought, in cents
+    private final int maxCapacity; //Maximum tickets allowed in pool, or in each shard when sharded
+    private final String implementation; // Inventory implementation used by every shard
+    private final boolean sharded; // Whether tickets are partitioned by event
+
+    // Customers who accept any event only take this lock when every shard is empty
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition notEmpty = waitLock.newCondition(); // Signalled when a ticket is added
+    private final AtomicInteger waitingCustomers = new AtomicInteger(); // Consumers parked on notEmpty
+    private final LongAdder lockAcquisitions = new LongAdder(); // Times the pool wait lock was taken
+    private final LongAdder wakeups = new LongAdder(); // Times a parked customer was signalled or handed a ticket
+
+    private final PriorityWaitQueue<CompletableFuture<Ticket>> asyncBuyers; // Queued purchases by customer priority
+    private final AtomicInteger asyncBuyerCount = new AtomicInteger(); // Async purchases not yet completed or dropped
+    private final boolean fair; // Whether waiting customers are served in arrival order
+    private final WaitTimeHistogram customerWaits = new WaitTimeHistogram(); // Time customers spent in buy calls
+    private final WaitEventSummary fullWaits; // Waits of vendors on full shards, logged as one line per interval
+    private final WaitEventSummary emptyWaits; // Waits of customers on empty shards or the pool, likewise
+    private final WaitTimeHistogram[] priorityWaits = new WaitTimeHistogram[Priority.values().length]; // The same, by priority
+
+    {
+        for (int i = 0; i < priorityWaits.length; i++) {
+            priorityWaits[i] = new WaitTimeHistogram();
+        }
+    }
+    private final Path storageDirectory; // Where "mapped" inventories keep their files
+
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>(); // Unsettled holds by ID
+    private final AtomicLong nextHoldId = new AtomicLong(); // Last hold ID handed out
+    private final HashedTimerWheel<Hold> holdExpiry = new HashedTimerWheel<>(
+            TimeUnit.MILLISECONDS.toNanos(HOLD_TICK_MILLIS), HOLD_BUCKETS, System.nanoTime(), this::expire);
+    private volatile ScheduledExecutorService holdTicker; // Advances holdExpiry, started on the first hold
+    private final Duration holdTtl; // How long reserve() holds a ticket
+    private final LongSupplier clock; // Time in nanoseconds of customer waits and queued purchases, virtual in a simulation
+    private final RandomGenerator random; // Picks the shard a search starts at, or null for the thread's own generator
+
+    /**
+     * A hold together with its expiry timeout.
+     */
+    private static final class Hold {
+        private final TicketHold hold; // The hold handed to the customer
+        private volatile HashedTimerWheel.Timeout<Hold> timeout; // Returns the ticket when the hold expires
+
+        private Hold(TicketHold hold) {
+            this.hold = hold;
+        }
+    }
 
     /**
      * Constructor for the TicketPool class.
      * Initializes the ticket pool with the maximum capacity from the configuration file.
      * <p>
      * Loads the configuration and sets the maximum capacity of tickets allowed in the pool.
+     * The storage backend is chosen with the {@code ticket.pool.implementation} property, and
+     * {@code ticket.pool.sharded} splits the pool into one shard per event, each holding up to
+     * the maximum capacity. {@code ticket.pool.fair} makes customers waiting for any event queue in
+     * arrival order, each ticket going to the customer at the head of the queue. The "mapped"
+     * implementation keeps one file per shard in {@code ticket.pool.storage-directory}, and reopens
+     * the files found there so that tickets survive a restart. Customers of a higher priority are
+     * served first when they wait for tickets, and every {@code ticket.pool.priority-aging-ms} a
+     * customer has waited counts as one priority level more. Vendors waiting for space and customers
+     * waiting for tickets are not logged one by one but counted, and summarized in one log line per
+     * {@code ticket.pool.wait-summary-ms} for each of the two.
+     *
+     * @param implementation   The inventory implementation to use ("linked", "ring", "packed", "offheap", "range" or "mapped").
+     * @param sharded          Whether to keep a separate shard for each event.
+     * @param fair             Whether waiting customers are served in arrival order.
+     * @param defaultCapacity  The capacity to use when the configuration file cannot be loaded.
+     * @param storageDirectory The directory of the files of a "mapped" inventory.
+     * @param holdTtlSeconds   How long a reserved ticket is held before it returns to the pool.
+     * @param priorityAgingMs  How long a waiting customer waits to rise one priority level, or 0 for never.
+     * @param waitSummaryMs    The least time between two summaries of the waits, in milliseconds.
+     */
+    @Autowired
+    public TicketPool(@Value("${ticket.pool.implementation:linked}") String implementation,
+                      @Value("${ticket.pool.sharded:false}") boolean sharded,
+                      @Value("${ticket.pool.fair:false}") boolean fair,
+                      @Value("${ticket.pool.default-capacity:100}") int defaultCapacity,
+                      @Value("${ticket.pool.storage-directory:ticket-pool}") String storageDirectory,
+                      @Value("${ticket.pool.hold-ttl-seconds:300}") long holdTtlSeconds,
+                      @Value("${ticket.pool.priority-aging-ms:2000}") long priorityAgingMs,
+                      @Value("${ticket.pool.wait-summary-ms:1000}") long waitSummaryMs) {
+        Configuration config = ConfigurationManager.loadConfiguration("config.json");
+        if (config == null) {
+            LoggerUtil.log(POOL, Level.WARNING, "Using default ticket pool capacity " + defaultCapacity);
+            this.maxCapacity = defaultCapacity;
+        } else {
+            this.maxCapacity = config.getMaxTicketCapacity(); // Set max capacity from config file
+        }
+        this.implementation = implementation;
+        this.sharded = sharded;
+        this.fair = fair;
+        this.storageDirectory = Path.of(storageDirectory);
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+        this.asyncBuyers = new PriorityWaitQueue<>(Priority.values().length, Duration.ofMillis(priorityAgingMs).toNanos());
+        this.clock = System::nanoTime;
+        this.random = null;
+        this.fullWaits = new WaitEventSummary("pool full", "producers", TimeUnit.MILLISECONDS.toNanos(waitSummaryMs));
+        this.emptyWaits = new WaitEventSummary("pool empty", "consumers", TimeUnit.MILLISECONDS.toNanos(waitSummaryMs));
+        openStorage(); // Fail fast on an unknown implementation name or unusable storage
+        LoggerUtil.log(POOL, Level.INFO, "Ticket pool created with " + implementation + " inventory"
+                + (sharded ? ", sharded by event" : "") + (fair ? ", serving customers in arrival order" : ""));
+    }
+
+    /**
+     * Constructs a ticket pool with explicit settings instead of the configuration file.
+     *
+     * @param maxCapacity    The maximum number of tickets in the pool, or in each shard when sharded.
+     * @param implementation The inventory implementation to use ("linked", "ring" or "packed").
+     * @param sharded        Whether to keep a separate shard for each event.
+     */
+    public TicketPool(int maxCapacity, String implementation, boolean sharded) {
+        this(maxCapacity, implementation, sharded, false);
+    }
+
+    /**
+     * Constructs a ticket pool with explicit settings instead of the configuration file.
+     *
+     * @param maxCapacity    The maximum number of tickets in the pool, or in each shard when sharded.
+     * @param implementation The inventory implementation to use ("linked", "ring" or "packed").
+     * @param sharded        Whether to keep a separate shard for each event.
+     * @param fair           Whether waiting customers are served in arrival order.
+     */
+    public TicketPool(int maxCapacity, String implementation, boolean sharded, boolean fair) {
+        this(maxCapacity, implementation, sharded, fair, null);
+    }
+
+    /**
+     * Constructs a ticket pool with explicit settings instead of the configuration file.
+     *
+     * @param maxCapacity      The maximum number of tickets in the pool, or in each shard when sharded.
+     * @param implementation   The inventory implementation to use ("linked", "ring", "packed", "offheap", "range" or "mapped").
+     * @param sharded          Whether to keep a separate shard for each event.
+     * @param fair             Whether waiting customers are served in arrival order.
+     * @param storageDirectory The directory of the files of a "mapped" inventory, or null for other implementations.
+     */
+    public TicketPool(int maxCapacity, String implementation, boolean sharded, boolean fair, Path storageDirectory) {
+        this(maxCapacity, implementation, sharded, fair, storageDirectory, DEFAULT_PRIORITY_AGING);
+    }
+
+    /**
+     * Constructs a ticket pool with explicit settings instead of the configuration file.
+     *
+     * @param maxCapacity      The maximum number of tickets in the pool, or in each shard when sharded.
+     * @param implementation   The inventory implementation to use ("linked", "ring", "packed", "offheap", "range" or "mapped").
+     * @param sharded          Whether to keep a separate shard for each event.
+     * @param fair             Whether waiting customers are served in arrival order.
+     * @param storageDirectory The directory of the files of a "mapped" inventory, or null for other implementations.
+     * @param priorityAging    How long a waiting customer waits to rise one priority level, or zero for never.
+     */
+    public TicketPool(int maxCapacity, String implementation, boolean sharded, boolean fair, Path storageDirectory,
+                      Duration priorityAging) {
+        this(maxCapacity, implementation, sharded, fair, storageDirectory, priorityAging, System::nanoTime, null);
+    }
+
+    /**
+     * Constructs a ticket pool that takes the time and its random choices from the caller, so that a
+     * simulation on a virtual clock is reproducible. Holds still expire in real time.
+     *
+     * @param maxCapacity      The maximum number of tickets in the pool, or in each shard when sharded.
+     * @param implementation   The inventory implementation to use ("linked", "ring", "packed", "offheap", "range" or "mapped").
+     * @param sharded          Whether to keep a separate shard for each event.
+     * @param fair             Whether waiting customers are served in arrival order.
+     * @param storageDirectory The directory of the files of a "mapped" inventory, or null for other implementations.
+     * @param priorityAging    How long a waiting customer waits to rise one priority level, or zero for never.
+     * @param clock            The time in nanoseconds, used to measure customer waits and age queued purchases.
+     * @param random           The generator picking the shard a search across events starts at, or null for
+     *                         a thread-local generator.
+     */
+    public TicketPool(int maxCapacity, String implementation, boolean sharded, boolean fair, Path storageDirectory,
+                      Duration priorityAging, LongSupplier clock, RandomGenerator random) {
+        this.maxCapacity = maxCapacity;
+        this.implementation = implementation;
+        this.sharded = sharded;
+        this.fair = fair;
+        this.storageDirectory = storageDirectory;
+        this.holdTtl = DEFAULT_HOLD_TTL;
+        this.asyncBuyers = new PriorityWaitQueue<>(Priority.values().length, priorityAging.toNanos());
+        this.clock = clock;
+        this.random = random;
+        this.fullWaits = new WaitEventSummary("pool full", "producers", WaitEventSummary.DEFAULT_INTERVAL_NANOS);
+        this.emptyWaits = new WaitEventSummary("pool empty", "consumers", WaitEventSummary.DEFAULT_INTERVAL_NANOS);
+        openStorage();
+    }
+
+    /**
+     * Checks the implementation name and, for a "mapped" inventory, reopens the shards whose files
+     * are in the storage directory.
+     *
+     * @throws IllegalArgumentException if the implementation name is unknown or a "mapped" inventory has no directory.
+     * @throws UncheckedIOException     if the storage directory cannot be read.
+     */
+    private void openStorage() {
+        if (!isMapped()) {
+            createInventory(implementation, 0);
+            return;
+        }
+        if (storageDirectory == null) {
+            throw new IllegalArgumentException("A mapped ticket pool needs a storage directory");
+        }
+        try {
+            Files.createDirectories(storageDirectory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDirectory, "*" + MAPPED_FILE_SUFFIX)) {
+                for (Path file : files) {
+                    String key = OffHeapTicketInventory.ownerOf(file);
+                    if (key == null || sharded == SHARED_SHARD.equals(key)) {
+                        LoggerUtil.log(POOL, Level.WARNING, "Ignoring ticket inventory " + file + " kept by a pool "
+                                + (sharded ? "that was not sharded" : "sharded by event"));
+                        continue;
+                    }
+                    shardFor(key);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ticket pool storage " + storageDirectory, e);
+        }
+    }
+
+    /**
+     * Checks whether shards are kept in memory-mapped files.
+     *
+     * @return true for the "mapped" implementation.
      */
-    public TicketPool() {
-        ConfigurationManager configurationManager = new ConfigurationManager();
-        Configuration config = configurationManager.loadConfiguration("config.json");
-        this.maxCapacity = config.getMaxTicketCapacity(); // Set max capacity from config file
+    private boolean isMapped() {
+        return "mapped".equals(implementation.trim().toLowerCase());
+    }
+
+    /**
+     * Creates the inventory implementation selected by name.
+     *
+     * The "mapped" implementation needs a file, so it is created by the pool itself.
+     *
+     * @param implementation The implementation name ("linked", "ring", "packed", "offheap" or "range").
+     * @param capacity       The maximum number of tickets the inventory can hold.
+     * @return The new inventory.
+     * @throws IllegalArgumentException if the implementation name is unknown.
+     */
+    public static TicketInventory createInventory(String implementation, int capacity) {
+        return switch (implementation.trim().toLowerCase()) {
+            case "linked" -> new LinkedTicketInventory(capacity);
+            case "ring" -> new RingBufferTicketInventory(capacity);
+            case "packed" -> new PackedTicketInventory(capacity);
+            case "offheap" -> new OffHeapTicketInventory(capacity);
+            case "range" -> new RangeTicketInventory(capacity);
+            default -> throw new IllegalArgumentException("Unknown ticket pool implementation: " + implementation);
+        };
+    }
+
+    /**
+     * Gets the shard that holds tickets of the given event, creating it on first use.
+     *
+     * @param eventName The event name.
+     * @return The shard for the event.
+     */
+    private TicketShard shardFor(String eventName) {
+        String key = sharded && eventName != null ? eventName : SHARED_SHARD;
+        TicketShard shard = shards.get(key);
+        if (shard != null) {
+            return shard;
+        }
+        return shards.computeIfAbsent(key, k -> {
+            TicketShard created = new TicketShard(k, isMapped()
+                    ? OffHeapTicketInventory.open(mappedFile(k), maxCapacity, k)
+                    : createInventory(implementation, maxCapacity), fullWaits, emptyWaits);
+            shardList.add(created);
+            return created;
+        });
+    }
+
+    /**
+     * Gets the file of a mapped shard. Event names are hex-encoded so that any name is a valid file name.
+     *
+     * @param key The shard key.
+     * @return The path of the shard's file in the storage directory.
+     */
+    private Path mappedFile(String key) {
+        String name = SHARED_SHARD.equals(key) ? "shared"
+                : "event-" + HexFormat.of().formatHex(key.getBytes(StandardCharsets.UTF_8));
+        return storageDirectory.resolve(name + MAPPED_FILE_SUFFIX);
     }
 
     /**
@@ -35,97 +362,1128 @@ public class TicketPool {
      * This method resets the total sales, total tickets added, and clears all tickets in the pool.
      */
     public void clearSales() {
-        totalSales = 0;
-        totalTicketsAdded = 0;
-        tickets.clear();
+        totalSalesInCents.reset();
+        totalTicketsAdded.reset();
+        customerWaits.reset();
+        for (WaitTimeHistogram waits : priorityWaits) {
+            waits.reset();
+        }
+        for (Long holdId : holds.keySet()) {
+            Hold entry = holds.remove(holdId);
+            if (entry != null) {
+                cancelExpiry(entry); // Held tickets are discarded with the rest of the pool
+            }
+        }
+        for (TicketShard shard : shardList) {
+            shard.clear();
+        }
+
+        PriorityWaitQueue.Waiter<CompletableFuture<Ticket>> buyer;
+        while ((buyer = asyncBuyers.poll(clock.getAsLong())) != null) {
+            asyncBuyerCount.decrementAndGet();
+            buyer.getItem().cancel(false); // Nothing will be added for queued purchases any more
+        }
     }
 
     /**
-     * Gets the current list of tickets in the pool.
+     * Gets a copy of the tickets currently in the pool.
      *
      * @return The list of tickets in the pool.
      */
     public List<Ticket> getTickets() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (TicketShard shard : shardList) {
+            tickets.addAll(shard.snapshot());
+        }
         return tickets;
     }
 
     /**
-     * Sets the total number of tickets added to the pool by vendors.
+     * Adds a ticket to the pool. If the pool is full, it waits until space is available.
+     * <p>
+     * The ticket goes to the shard of its event. Only when that shard is at maximum capacity
+     * does the vendor take the shard's wait lock and park until a customer frees a slot.
      *
-     * @param totalTicketsAdded The total number of tickets added to the pool.
+     * @param ticket The ticket to be added to the pool.
+     * @throws InterruptedException if the vendor is interrupted while waiting for space.
      */
-    public static void setTotalTicketsAdded(int totalTicketsAdded) {
-        TicketPool.totalTicketsAdded = totalTicketsAdded;
+    public void addTickets(Ticket ticket) throws InterruptedException {
+        shardFor(ticket.getEventName()).put(ticket);
+        ticketsAdded(1);
     }
 
+    /**
+     * Adds a ticket to the pool if there is space for it, without waiting.
+     *
+     * @param ticket The ticket to be added to the pool.
+     * @return true if the ticket was added, false if its shard is full.
+     */
+    public boolean tryAdd(Ticket ticket) {
+        if (!shardFor(ticket.getEventName()).offer(ticket)) {
+            return false;
+        }
+        ticketsAdded(1);
+        return true;
+    }
 
     /**
-     * Sets the total sales amount from ticket purchases.
+     * Adds a ticket to the pool, waiting at most the given time for space.
      *
-     * @param totalSales The total sales amount.
+     * @param ticket  The ticket to be added to the pool.
+     * @param timeout The maximum time to wait for space.
+     * @return true if the ticket was added, false if the timeout elapsed first.
+     * @throws InterruptedException if the vendor is interrupted while waiting for space.
      */
-    public static void setTotalSales(int totalSales) {
-        TicketPool.totalSales = totalSales;
+    public boolean add(Ticket ticket, Duration timeout) throws InterruptedException {
+        if (!shardFor(ticket.getEventName()).offer(ticket, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        ticketsAdded(1);
+        return true;
     }
 
     /**
-     * Adds a ticket to the pool. If the pool is full, it waits until space is available.
+     * Adds a ticket to the pool without blocking the caller.
      * <p>
-     * This method is synchronized to ensure thread safety when adding tickets to the pool.
-     * If the pool is at maximum capacity, it waits for space to become available.
+     * If the ticket's shard is full, the ticket is queued on the shard and stored by the customer
+     * who next frees space there. No thread waits on the vendor's behalf, and cancelling the
+     * returned future withdraws a ticket that has not been stored yet.
      *
      * @param ticket The ticket to be added to the pool.
+     * @return A future completed once the ticket is in the pool.
      */
-    public synchronized void addTickets(Ticket ticket) {
-        // Wait if the ticket pool is at full capacity
-        while (tickets.size() >= maxCapacity) {
-            try {
-                System.out.println("Ticket pool is full\n");
-                LoggerUtil.log("INFO", "Ticket pool is full"); // Log the full pool message
-                wait(); // Wait for space to become available in the pool
-            } catch (InterruptedException e) {
-                System.out.println("Error occurred");
-                LoggerUtil.log("ERROR", "Error occurred while waiting to add ticket");
+    public CompletableFuture<Void> addAsync(Ticket ticket) {
+        CompletableFuture<Void> stored = shardFor(ticket.getEventName()).addAsync(ticket);
+        stored.thenRun(() -> ticketsAdded(1)); // Runs on whichever thread stores the ticket
+        return stored;
+    }
+
+    /**
+     * Adds a batch of tickets to the pool in as few steps as possible.
+     * <p>
+     * Consecutive tickets of the same event are moved into their shard in one step, with a single
+     * round of wakeups for the customers waiting on them. The batch is filled partially when the pool
+     * is short of space: tickets are added in order until one does not fit, and the vendor only waits
+     * when not even the first ticket fits.
+     *
+     * @param batch The tickets to be added to the pool.
+     * @return The number of tickets added, always a prefix of the batch and at least 1 unless the batch is empty.
+     * @throws InterruptedException if the vendor is interrupted while waiting for space.
+     */
+    public int addTickets(Collection<Ticket> batch) throws InterruptedException {
+        return addTickets(batch, true);
+    }
+
+    /**
+     * Adds as much of a batch of tickets as fits in the pool, without waiting.
+     *
+     * @param batch The tickets to be added to the pool.
+     * @return The number of tickets added, always a prefix of the batch.
+     */
+    public int tryAddTickets(Collection<Ticket> batch) {
+        try {
+            return addTickets(batch, false);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e); // Never thrown when not waiting
+        }
+    }
+
+    /**
+     * Adds a prefix of the batch, optionally waiting when not even the first ticket fits.
+     *
+     * @param batch The tickets to be added to the pool.
+     * @param wait  Whether to wait for space when nothing fits.
+     * @return The number of tickets added.
+     * @throws InterruptedException if the vendor is interrupted while waiting for space.
+     */
+    private int addTickets(Collection<Ticket> batch, boolean wait) throws InterruptedException {
+        List<Ticket> tickets = batch instanceof List<Ticket> list ? list : new ArrayList<>(batch);
+        int added = 0;
+        while (added < tickets.size()) {
+            int runEnd = endOfEventRun(tickets, added);
+            List<Ticket> run = tickets.subList(0, runEnd);
+            TicketShard shard = shardFor(tickets.get(added).getEventName());
+
+            // Only wait when nothing at all has been added yet, otherwise return the partial fill
+            int stored = wait && added == 0 ? shard.putAll(run, added) : shard.offerAll(run, added);
+            added += stored;
+            if (added < runEnd) {
+                break;
             }
         }
-        tickets.add(ticket); // Add the ticket to the pool
-        totalTicketsAdded++; // Increment the total number of tickets added
-        notifyAll(); // Notify all threads waiting for tickets that one has been added
+        if (added > 0) {
+            ticketsAdded(added);
+        }
+        return added;
     }
 
     /**
-     * Buys a ticket from the pool. If no tickets are available, it waits until tickets are added.
+     * Adds a range of tickets with consecutive ids, all for the same event at the same price.
      * <p>
-     * This method is synchronized to ensure thread safety when removing tickets from the pool.
-     * If the pool is empty, it waits until tickets are available.
+     * The range goes to its event's shard as a single entry where the inventory supports it (the
+     * "range" implementation), so a release costs the same whatever its size and tickets are only
+     * built as customers buy them. Like a batch, the range is filled partially when the pool is short
+     * of space, and the vendor only waits when not even one ticket fits.
+     *
+     * @param eventName The event of every ticket in the range.
+     * @param firstId   The id of the first ticket.
+     * @param count     The number of tickets in the range.
+     * @param price     The price of every ticket.
+     * @return The number of tickets added, lowest ids first, at least 1 unless the range is empty.
+     * @throws InterruptedException if the vendor is interrupted while waiting for space.
+     */
+    public int addTicketRange(String eventName, long firstId, int count, double price) throws InterruptedException {
+        int added = shardFor(eventName).putRange(eventName, firstId, count, Ticket.toCents(price));
+        if (added > 0) {
+            ticketsAdded(added);
+        }
+        return added;
+    }
+
+    /**
+     * Adds as much of a range of tickets as fits in its event's shard, without waiting.
+     *
+     * @param eventName The event of every ticket in the range.
+     * @param firstId   The id of the first ticket.
+     * @param count     The number of tickets in the range.
+     * @param price     The price of every ticket.
+     * @return The number of tickets added, lowest ids first.
+     */
+    public int tryAddTicketRange(String eventName, long firstId, int count, double price) {
+        int added = shardFor(eventName).offerRange(eventName, firstId, count, Ticket.toCents(price));
+        if (added > 0) {
+            ticketsAdded(added);
+        }
+        return added;
+    }
+
+    /**
+     * Finds the end of the run of tickets that go to the same shard as the ticket at the given index.
+     *
+     * @param tickets The batch of tickets.
+     * @param from    The index where the run starts.
+     * @return The index just past the end of the run.
+     */
+    private int endOfEventRun(List<Ticket> tickets, int from) {
+        if (!sharded) {
+            return tickets.size();
+        }
+        String eventName = tickets.get(from).getEventName();
+        int end = from + 1;
+        while (end < tickets.size() && Objects.equals(eventName, tickets.get(end).getEventName())) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Records tickets that were stored in a shard and hands them to waiting customers.
+     *
+     * @param count The number of tickets stored.
+     */
+    private void ticketsAdded(int count) {
+        totalTicketsAdded.add(count); // Increment the total number of tickets added
+        ticketsStored(count);
+    }
+
+    /**
+     * Hands tickets that were stored in a shard to the customers waiting for any event.
+     *
+     * @param count The number of tickets stored.
+     */
+    private void ticketsStored(int count) {
+        if (asyncBuyerCount.get() > 0) {
+            serveAsyncBuyers(); // Queued customers, highest priority first, are served before parked ones
+        }
+        signalWaitingCustomers(count); // Wake customers waiting for any event
+    }
+
+    /**
+     * Records a ticket that was sold.
+     *
+     * @param ticket The ticket sold.
+     */
+    private void sold(Ticket ticket) {
+        totalSalesInCents.add(ticket.getPriceInCents()); // Add the price of the ticket to total sales
+    }
+
+    /**
+     * Buys a ticket of any event from the pool. If no tickets are available, it waits until tickets are added.
+     * <p>
+     * The customer steals from the first non-empty shard, starting at a random shard so that
+     * concurrent customers spread over the events. Only when every shard is empty does the
+     * customer queue and park until a vendor hands it a ticket.
+     * In fair mode the customer queues behind those already waiting even if tickets are left,
+     * so a newcomer can never take a ticket ahead of a waiting customer.
      *
      * @return The ticket that was bought.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
      */
-    public synchronized Ticket buyTicket() {
-        // Wait if there are no tickets in the pool
-        while (tickets.isEmpty()) {
-            try {
-                System.out.println("No tickets available\n");
-                LoggerUtil.log("INFO", "No tickets available");
-                wait(); // Wait until tickets are added to the pool
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+    public Ticket buyTicket() throws InterruptedException {
+        return buyTicket(Priority.STANDARD);
+    }
+
+    /**
+     * Buys a ticket of any event from the pool for a customer of the given priority, waiting until
+     * tickets are added if none are available.
+     * <p>
+     * Waiting customers are queued by priority: a released ticket goes to the waiting customer of the
+     * highest priority, the one who has waited longest within a priority. Waiting also raises a
+     * customer's priority over time, so that lower priorities are never starved.
+     *
+     * @param priority The priority of the customer.
+     * @return The ticket that was bought.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
+     */
+    public Ticket buyTicket(Priority priority) throws InterruptedException {
+        long began = clock.getAsLong();
+        Ticket ticket = takeTicket(0, false, priority);
+        sold(ticket);
+        recordWait(priority, began);
+        return ticket;
+    }
+
+    /**
+     * Records the time a customer of the given priority spent in a blocking buy call.
+     *
+     * @param priority The priority of the customer.
+     * @param began    The time the call began, in nanoseconds.
+     */
+    private void recordWait(Priority priority, long began) {
+        long waited = clock.getAsLong() - began;
+        customerWaits.record(waited);
+        priorityWaits[priority.ordinal()].record(waited);
+    }
+
+    /**
+     * Takes a ticket of any event out of the pool for a purchase or a hold, waiting for one if the pool
+     * is empty. The caller decides whether the ticket counts as sold.
+     *
+     * @param nanos    The maximum time to wait, in nanoseconds.
+     * @param timed    Whether the timeout applies.
+     * @param priority The priority of the customer.
+     * @return The ticket taken, or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
+     */
+    private Ticket takeTicket(long nanos, boolean timed, Priority priority) throws InterruptedException {
+        if (!fair) {
+            Ticket ticket = steal(); // Outside fair mode a newcomer may take a ticket ahead of waiting customers
+            if (ticket != null) {
+                return ticket;
+            }
+            if (priority == Priority.STANDARD && asyncBuyerCount.get() == 0) {
+                long deadline = System.nanoTime() + nanos;
+                ticket = awaitAndSteal(nanos, timed);
+                if (ticket != JOIN_QUEUE) {
+                    return ticket;
+                }
+                nanos = deadline - System.nanoTime();
             }
         }
-        Ticket ticket = tickets.remove(0);  // Remove and return the first ticket from the pool
+        return awaitTurn(nanos, timed, priority);
+    }
+
+    /**
+     * Buys a ticket of any event if one is available, without waiting.
+     *
+     * @return The ticket that was bought, or null if the pool is empty.
+     */
+    public Ticket tryBuy() {
+        if (fair && asyncBuyerCount.get() > 0) {
+            return null; // Customers already queued are served first
+        }
+        Ticket ticket = steal();
+        if (ticket != null) {
+            sold(ticket);
+        }
+        return ticket;
+    }
 
-        totalSales += ticket.getPrice(); // Add the price of the ticket to total sales
-        notifyAll(); // Notify all threads waiting for tickets that one has been bought
+    /**
+     * Buys a ticket of any event, waiting at most the given time for one to be added.
+     *
+     * @param timeout The maximum time to wait for a ticket.
+     * @return The ticket that was bought, or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
+     */
+    public Ticket buy(Duration timeout) throws InterruptedException {
+        long began = clock.getAsLong();
+        Ticket ticket = takeTicket(timeout.toNanos(), true, Priority.STANDARD);
+        if (ticket != null) {
+            sold(ticket);
+            recordWait(Priority.STANDARD, began);
+        }
         return ticket;
     }
 
+    /**
+     * Queues the calling customer behind the customers already waiting with the same or a higher
+     * priority and parks it until a vendor hands it a ticket. Only this customer's thread is woken
+     * for the ticket, and a customer who gives up simply leaves the queue, so no wakeup is lost.
+     *
+     * @param nanos    The maximum time to wait, in nanoseconds.
+     * @param timed    Whether the timeout applies.
+     * @param priority The priority of the customer.
+     * @return The ticket handed over, or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    private Ticket awaitTurn(long nanos, boolean timed, Priority priority) throws InterruptedException {
+        CompletableFuture<Ticket> turn = queueForTicket(priority);
+        if (turn.isDone()) {
+            return awaitQueued(turn, nanos, timed, priority);
+        }
+        long began = emptyWaits.started();
+        emptyWaits.parked();
+        try {
+            return awaitQueued(turn, nanos, timed, priority);
+        } finally {
+            emptyWaits.finished(began);
+        }
+    }
+
+    /**
+     * Waits for the ticket a vendor hands to a queued customer, leaving the queue if the customer gives up.
+     *
+     * @param turn     The customer's place in the queue.
+     * @param nanos    The maximum time to wait, in nanoseconds.
+     * @param timed    Whether the timeout applies.
+     * @param priority The priority of the customer.
+     * @return The ticket handed over, or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    private Ticket awaitQueued(CompletableFuture<Ticket> turn, long nanos, boolean timed, Priority priority)
+            throws InterruptedException {
+        try {
+            return timed ? turn.get(nanos, TimeUnit.NANOSECONDS) : turn.get();
+        } catch (InterruptedException | TimeoutException e) {
+            if (turn.cancel(false)) {
+                if (e instanceof InterruptedException interrupted) {
+                    throw interrupted;
+                }
+                return null;
+            }
+            // A ticket was handed over while giving up, so keep it and leave the interrupt for later
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return turn.join();
+        } catch (CancellationException e) {
+            // The pool was cleared while waiting, so queue again behind the remaining customers
+            emptyWaits.parked();
+            return awaitQueued(queueForTicket(priority), nanos, timed, priority);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Queued purchase failed", e.getCause());
+        }
+    }
+
+    /**
+     * Buys a ticket of any event without blocking the caller.
+     * <p>
+     * If the pool is empty, the returned future is queued and completed by the vendor who next
+     * adds a ticket, on that vendor's thread. No thread waits on the customer's behalf, so a
+     * waiting customer costs only the future and its queue node. Cancelling the future, or
+     * letting it time out with {@link CompletableFuture#orTimeout}, withdraws the purchase.
+     *
+     * @return A future completed with the ticket that was bought.
+     */
+    public CompletableFuture<Ticket> buyAsync() {
+        return buyAsync(Priority.STANDARD);
+    }
+
+    /**
+     * Buys a ticket of any event without blocking the caller, for a customer of the given priority.
+     * The purchase waits in the pool's priority queue, as in {@link #buyTicket(Priority)}.
+     *
+     * @param priority The priority of the customer.
+     * @return A future completed with the ticket that was bought.
+     */
+    public CompletableFuture<Ticket> buyAsync(Priority priority) {
+        long began = clock.getAsLong();
+        CompletableFuture<Ticket> purchase = queueForTicket(priority);
+        purchase.thenAccept(ticket -> { // Runs only if the purchase is completed rather than withdrawn
+            sold(ticket);
+            recordWait(priority, began);
+        });
+        return purchase;
+    }
+
+    /**
+     * Takes a ticket at once if nobody is queued, otherwise queues a future for the next ticket
+     * behind the purchases already waiting with the same or a higher priority.
+     *
+     * @param priority The priority of the customer.
+     * @return A future completed with the ticket taken, not yet counted as sold.
+     */
+    private CompletableFuture<Ticket> queueForTicket(Priority priority) {
+        if (asyncBuyerCount.get() == 0) {
+            Ticket ticket = steal();
+            if (ticket != null) {
+                return CompletableFuture.completedFuture(ticket);
+            }
+        }
+        CompletableFuture<Ticket> future = new CompletableFuture<>();
+        asyncBuyers.add(future, priority.ordinal(), clock.getAsLong());
+        asyncBuyerCount.incrementAndGet();
+        moveParkedCustomers();
+        serveAsyncBuyers(); // A ticket may have been added before the purchase was queued
+        return future;
+    }
+
+    /**
+     * Completes queued purchases, highest priority first, for as long as there are tickets for them.
+     * Called after tickets are added, on the vendor's thread.
+     */
+    private void serveAsyncBuyers() {
+        while (asyncBuyerCount.get() > 0) {
+            PriorityWaitQueue.Waiter<CompletableFuture<Ticket>> waiter = asyncBuyers.poll(clock.getAsLong());
+            if (waiter == null) {
+                return; // Another thread is serving the remaining purchases
+            }
+            CompletableFuture<Ticket> buyer = waiter.getItem();
+            if (buyer.isDone()) {
+                asyncBuyerCount.decrementAndGet(); // Cancelled or timed out, drop it
+                continue;
+            }
+            Ticket ticket = steal();
+            if (ticket == null) {
+                asyncBuyers.requeue(waiter);
+                // A ticket added while the purchase was out of the queue would have gone unnoticed
+                if (getCurrentSize() == 0) {
+                    return;
+                }
+                continue;
+            }
+            asyncBuyerCount.decrementAndGet();
+            if (buyer.complete(ticket)) {
+                wakeups.increment();
+            } else {
+                restore(ticket); // Cancelled meanwhile, put the ticket back
+            }
+        }
+    }
+
+    /**
+     * Buys a ticket for a specific event, waiting until one is added if the event is sold out.
+     *
+     * @param eventName The event to buy a ticket for.
+     * @return The ticket that was bought.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
+     */
+    public Ticket buyTicket(String eventName) throws InterruptedException {
+        long began = clock.getAsLong();
+        TicketShard shard = shardFor(eventName);
+        Ticket ticket = shard.take();
+        ticketTaken(shard);
+        sold(ticket);
+        recordWait(Priority.STANDARD, began);
+        return ticket;
+    }
+
+    /**
+     * Buys a group of tickets for an event all together, waiting until the event has enough of them.
+     * <p>
+     * The group is taken from the event's shard in a single atomic step, so it either gets every
+     * ticket or none: a group never ends up with part of its tickets while other customers drain the
+     * rest, and concurrent groups never split tickets between them. While it waits the group holds no
+     * tickets and no pool-wide lock. In an unsharded pool every event shares one shard, so the group
+     * may get tickets of several events, as {@link #buyTicket(String)} does.
+     *
+     * @param eventName The event to buy the tickets for.
+     * @param size      The number of tickets in the group.
+     * @return The tickets bought, exactly {@code size} of them.
+     * @throws IllegalArgumentException if the group is larger than the event's capacity.
+     * @throws InterruptedException     if the customer is interrupted while waiting for tickets.
+     */
+    public List<Ticket> buyGroup(String eventName, int size) throws InterruptedException {
+        return takeGroup(eventName, size, -1);
+    }
+
+    /**
+     * Buys a group of tickets for an event all together, waiting at most the given time for enough of them.
+     *
+     * @param eventName The event to buy the tickets for.
+     * @param size      The number of tickets in the group.
+     * @param timeout   The maximum time to wait for the whole group.
+     * @return The tickets bought, exactly {@code size} of them, or an empty list if the timeout elapsed first.
+     * @throws IllegalArgumentException if the group is larger than the event's capacity.
+     * @throws InterruptedException     if the customer is interrupted while waiting for tickets.
+     */
+    public List<Ticket> buyGroup(String eventName, int size, Duration timeout) throws InterruptedException {
+        return takeGroup(eventName, size, Math.max(0, timeout.toNanos()));
+    }
+
+    /**
+     * Buys a group of tickets for an event all together if enough of them are available, without waiting.
+     *
+     * @param eventName The event to buy the tickets for.
+     * @param size      The number of tickets in the group.
+     * @return The tickets bought, exactly {@code size} of them, or an empty list if there are fewer.
+     */
+    public List<Ticket> tryBuyGroup(String eventName, int size) {
+        List<Ticket> group = new ArrayList<>(Math.max(size, 0));
+        if (size <= 0) {
+            return group;
+        }
+        TicketShard shard = shardFor(eventName);
+        if (shard.pollExactly(size, group)) {
+            ticketTaken(shard);
+            soldAll(group);
+        }
+        return group;
+    }
+
+    /**
+     * Takes and records a group of tickets from an event's shard.
+     *
+     * @param nanos The maximum time to wait, in nanoseconds, or a negative value to wait without limit.
+     * @return The tickets bought, or an empty list if the timeout elapsed first.
+     */
+    private List<Ticket> takeGroup(String eventName, int size, long nanos) throws InterruptedException {
+        if (size <= 0) {
+            return new ArrayList<>();
+        }
+        long began = clock.getAsLong();
+        TicketShard shard = shardFor(eventName);
+        List<Ticket> group = shard.takeExactly(size, nanos, TimeUnit.NANOSECONDS);
+        if (group == null) {
+            return new ArrayList<>();
+        }
+        ticketTaken(shard);
+        soldAll(group);
+        recordWait(Priority.STANDARD, began);
+        return group;
+    }
+
+    /**
+     * Reserves a ticket of any event for checkout, waiting until one is added if the pool is empty.
+     * The hold lasts for the pool's default hold time.
+     *
+     * @return The hold on the reserved ticket.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
+     */
+    public TicketHold reserve() throws InterruptedException {
+        return reserve(holdTtl);
+    }
+
+    /**
+     * Reserves a ticket of any event for checkout, waiting until one is added if the pool is empty.
+     * <p>
+     * The ticket leaves the pool but is not counted as sold until the hold is confirmed. A hold
+     * that is neither confirmed nor released within its time returns its ticket to the pool.
+     * Expiry is tracked by a timer wheel, so a hold costs the same whatever the number of holds.
+     *
+     * @param ttl How long the hold lasts.
+     * @return The hold on the reserved ticket.
+     * @throws InterruptedException if the customer is interrupted while waiting for a ticket.
+     */
+    public TicketHold reserve(Duration ttl) throws InterruptedException {
+        Ticket ticket = takeTicket(0, false, Priority.STANDARD);
+        long now = System.nanoTime();
+        startHoldExpiry();
+        holdExpiry.advance(now);
+
+        TicketHold hold = new TicketHold(nextHoldId.incrementAndGet(), ticket, System.currentTimeMillis() + ttl.toMillis());
+        Hold entry = new Hold(hold);
+        holds.put(hold.getHoldId(), entry); // Before scheduling, so an early expiry still finds the hold
+        entry.timeout = holdExpiry.schedule(entry, now + ttl.toNanos());
+        return hold;
+    }
+
+    /**
+     * Confirms a hold, selling its ticket.
+     *
+     * @param holdId The ID of the hold.
+     * @return The ticket sold, or null if the hold has expired, been released or does not exist.
+     */
+    public Ticket confirm(long holdId) {
+        Hold entry = holds.remove(holdId);
+        if (entry == null) {
+            return null;
+        }
+        cancelExpiry(entry);
+        Ticket ticket = entry.hold.getTicket();
+        sold(ticket);
+        return ticket;
+    }
+
+    /**
+     * Releases a hold, returning its ticket to the pool.
+     *
+     * @param holdId The ID of the hold.
+     * @return true if the ticket was returned, false if the hold has expired, been confirmed or does not exist.
+     */
+    public boolean release(long holdId) {
+        Hold entry = holds.remove(holdId);
+        if (entry == null) {
+            return false;
+        }
+        cancelExpiry(entry);
+        restore(entry.hold.getTicket());
+        return true;
+    }
+
+    /**
+     * Cancels the expiry of a settled hold. A hold settled before its timeout was scheduled needs
+     * no cancelling, since an expiry only acts on holds that are still unsettled.
+     *
+     * @param entry The settled hold.
+     */
+    private void cancelExpiry(Hold entry) {
+        HashedTimerWheel.Timeout<Hold> timeout = entry.timeout;
+        if (timeout != null) {
+            holdExpiry.cancel(timeout);
+        }
+    }
+
+    /**
+     * Returns the ticket of a hold whose time is up to the pool, unless the hold was settled meanwhile.
+     * Runs on the thread advancing the timer wheel.
+     *
+     * @param entry The expired hold.
+     */
+    private void expire(Hold entry) {
+        if (holds.remove(entry.hold.getHoldId(), entry)) {
+            restore(entry.hold.getTicket());
+            LoggerUtil.log(POOL, Level.INFO, "Hold " + entry.hold.getHoldId() + " expired, ticket returned to the pool");
+        }
+    }
+
+    /**
+     * Starts the single thread that advances the hold timer wheel, on the first reservation.
+     */
+    private void startHoldExpiry() {
+        if (holdTicker != null) {
+            return;
+        }
+        synchronized (holds) {
+            if (holdTicker == null) {
+                ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-hold-expiry");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                ticker.scheduleAtFixedRate(() -> holdExpiry.advance(System.nanoTime()),
+                        HOLD_TICK_MILLIS, HOLD_TICK_MILLIS, TimeUnit.MILLISECONDS);
+                holdTicker = ticker;
+            }
+        }
+    }
+
+    /**
+     * Buys up to the given number of tickets of any event in as few steps as possible.
+     * <p>
+     * Tickets are taken from the non-empty shards in one step per shard. The purchase is filled
+     * partially when fewer tickets are available, and the customer only waits when the pool is empty.
+     *
+     * @param quantity The maximum number of tickets to buy.
+     * @return The tickets bought, at least one unless the quantity is 0.
+     * @throws InterruptedException if the customer is interrupted while waiting for tickets.
+     */
+    public List<Ticket> buyTickets(int quantity) throws InterruptedException {
+        return buyTickets(quantity, Priority.STANDARD);
+    }
+
+    /**
+     * Buys up to the given number of tickets of any event for a customer of the given priority.
+     * If the customer has to wait, it waits for its first ticket in the pool's priority queue, as
+     * in {@link #buyTicket(Priority)}, and then takes whatever else is available.
+     *
+     * @param quantity The maximum number of tickets to buy.
+     * @param priority The priority of the customer.
+     * @return The tickets bought, at least one unless the quantity is 0.
+     * @throws InterruptedException if the customer is interrupted while waiting for tickets.
+     */
+    public List<Ticket> buyTickets(int quantity, Priority priority) throws InterruptedException {
+        List<Ticket> bought = new ArrayList<>(Math.min(quantity, 64));
+        if (quantity <= 0) {
+            return bought;
+        }
+        long began = clock.getAsLong();
+        if (!fair && (stealAll(quantity, bought) > 0
+                || (priority == Priority.STANDARD && asyncBuyerCount.get() == 0 && awaitAndStealAll(quantity, bought)))) {
+            soldAll(bought);
+        } else {
+            // Wait in line for the first ticket, then take the rest only if nobody else is waiting
+            Ticket first = awaitTurn(0, false, priority);
+            sold(first);
+            bought.add(first);
+            bought.addAll(tryBuyTickets(quantity - 1));
+        }
+        recordWait(priority, began);
+        return bought;
+    }
+
+    /**
+     * Buys up to the given number of tickets of any event that are available, without waiting.
+     *
+     * @param quantity The maximum number of tickets to buy.
+     * @return The tickets bought, empty if the pool is empty.
+     */
+    public List<Ticket> tryBuyTickets(int quantity) {
+        List<Ticket> bought = new ArrayList<>(Math.min(Math.max(quantity, 0), 64));
+        if (fair && asyncBuyerCount.get() > 0) {
+            return bought; // Customers already queued are served first
+        }
+        if (quantity > 0 && stealAll(quantity, bought) > 0) {
+            soldAll(bought);
+        }
+        return bought;
+    }
+
+    /**
+     * Records a batch of tickets that were sold.
+     *
+     * @param bought The tickets sold.
+     */
+    private void soldAll(List<Ticket> bought) {
+        long cents = 0;
+        for (Ticket ticket : bought) {
+            cents += ticket.getPriceInCents();
+        }
+        totalSalesInCents.add(cents); // Add the price of every ticket to total sales
+    }
+
+    /**
+     * Lets queued asynchronous adds use the space freed in a shard. Each stored add completes its
+     * future, which records the ticket.
+     *
+     * @param shard The shard tickets were taken from.
+     */
+    private void ticketTaken(TicketShard shard) {
+        if (shard.hasPendingAdds()) {
+            shard.storePendingAdds();
+        }
+    }
+
+    /**
+     * Puts back a ticket that was taken for a purchase that no longer wants it.
+     *
+     * @param ticket The ticket to put back.
+     */
+    private void restore(Ticket ticket) {
+        TicketShard shard = shardFor(ticket.getEventName());
+        if (shard.offer(ticket)) {
+            ticketsStored(1);
+        } else {
+            shard.addAsync(ticket).thenRun(() -> ticketsStored(1)); // The shard filled up meanwhile
+        }
+    }
+
+    /**
+     * Picks the shard a search across events starts at, so that customers spread over the shards.
+     *
+     * @param count The number of shards, at least 2.
+     * @return The index of the first shard to try.
+     */
+    private int randomShard(int count) {
+        return random == null ? ThreadLocalRandom.current().nextInt(count) : random.nextInt(count);
+    }
+
+    /**
+     * Takes a ticket from the first non-empty shard without waiting.
+     *
+     * @return The ticket taken, or null if every shard is empty.
+     */
+    private Ticket steal() {
+        int count = shardList.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = count == 1 ? 0 : randomShard(count);
+        for (int i = 0; i < count; i++) {
+            TicketShard shard = shardList.get((start + i) % count);
+            Ticket ticket = shard.poll();
+            if (ticket != null) {
+                ticketTaken(shard);
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes up to the given number of tickets from the non-empty shards without waiting.
+     *
+     * @param quantity The maximum number of tickets to take.
+     * @param into     The list the tickets are appended to.
+     * @return The number of tickets taken, 0 if every shard is empty.
+     */
+    private int stealAll(int quantity, List<Ticket> into) {
+        int count = shardList.size();
+        if (count == 0) {
+            return 0;
+        }
+        int taken = 0;
+        int start = count == 1 ? 0 : randomShard(count);
+        for (int i = 0; i < count && taken < quantity; i++) {
+            TicketShard shard = shardList.get((start + i) % count);
+            if (shard.pollAll(quantity - taken, into) > 0) {
+                taken = into.size();
+                ticketTaken(shard);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Parks the calling customer until tickets of any event can be taken, or until another customer
+     * queues for a ticket, after which waiting customers are served in priority order.
+     *
+     * @param quantity The maximum number of tickets to take.
+     * @param into     The list the tickets are appended to.
+     * @return true if tickets were taken, false if the customer has to queue instead.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    private boolean awaitAndStealAll(int quantity, List<Ticket> into) throws InterruptedException {
+        return await(() -> asyncBuyerCount.get() > 0 ? Boolean.FALSE
+                : stealAll(quantity, into) > 0 ? Boolean.TRUE : null, 0, false);
+    }
+
+    /**
+     * Parks the calling customer until a ticket of any event can be taken, or until another customer
+     * queues for a ticket, after which waiting customers are served in priority order.
+     *
+     * @param nanos The maximum time to wait, in nanoseconds.
+     * @param timed Whether the timeout applies.
+     * @return The ticket that was taken, {@link #JOIN_QUEUE} if the customer has to queue instead,
+     * or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    private Ticket awaitAndSteal(long nanos, boolean timed) throws InterruptedException {
+        return await(() -> asyncBuyerCount.get() > 0 ? JOIN_QUEUE : steal(), nanos, timed);
+    }
+
+    /**
+     * Parks the calling customer on the pool's condition until an attempt on the shards succeeds.
+     * A customer who gives up passes on any signal it may have consumed.
+     *
+     * @param attempt The non-blocking attempt, returning null while every shard is empty.
+     * @param nanos   The maximum time to wait, in nanoseconds.
+     * @param timed   Whether the timeout applies.
+     * @return The result of the successful attempt, or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    private <T> T await(Supplier<T> attempt, long nanos, boolean timed) throws InterruptedException {
+        lockAcquisitions.increment();
+        waitLock.lockInterruptibly();
+        waitingCustomers.incrementAndGet(); // Publish the wait before re-checking the shards
+        boolean waited = false; // Whether the customer had to park
+        long began = 0;
+        try {
+            T result;
+            // Wait if there are no tickets in any shard
+            while ((result = attempt.get()) == null) {
+                if (timed && nanos <= 0) {
+                    notEmpty.signal(); // Pass on a wakeup this customer may have consumed
+                    return null;
+                }
+                if (!waited) {
+                    waited = true;
+                    began = emptyWaits.started();
+                }
+                emptyWaits.parked();
+                try {
+                    if (timed) {
+                        nanos = notEmpty.awaitNanos(nanos);
+                    } else {
+                        notEmpty.await(); // Wait until tickets are added to the pool
+                    }
+                } catch (InterruptedException e) {
+                    notEmpty.signal(); // Pass on a wakeup this customer may have consumed
+                    throw e;
+                }
+            }
+            return result;
+        } finally {
+            waitingCustomers.decrementAndGet();
+            waitLock.unlock();
+            if (waited) {
+                emptyWaits.finished(began);
+            }
+        }
+    }
+
+    /**
+     * Wakes as many customers parked waiting for any event as there are new tickets for them.
+     * The waiting counter is read without the lock so the common case never touches it.
+     *
+     * @param added The number of tickets that were added.
+     */
+    private void signalWaitingCustomers(int added) {
+        int parked = waitingCustomers.get();
+        if (parked > 0) {
+            int signals = Math.min(parked, added);
+            lockAcquisitions.increment();
+            waitLock.lock();
+            try {
+                for (int i = 0; i < signals; i++) {
+                    notEmpty.signal();
+                }
+            } finally {
+                waitLock.unlock();
+            }
+            wakeups.add(signals);
+        }
+    }
+
+    /**
+     * Wakes every customer parked on the pool's condition so that it moves to the priority queue,
+     * which a customer has just joined. Parked customers publish themselves before checking the
+     * queue, so none of them can miss the move.
+     */
+    private void moveParkedCustomers() {
+        int parked = waitingCustomers.get();
+        if (parked > 0) {
+            lockAcquisitions.increment();
+            waitLock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+            wakeups.add(parked);
+        }
+    }
+
+    /**
+     * Logs the summaries of the waits on a full pool and on an empty pool counted since the previous
+     * ones. Threads finishing a wait log them as each interval passes; this call covers the waits
+     * that nobody has reported since, as after the pool has gone quiet.
+     *
+     * @param force Whether to report before the interval has passed, as when the system stops.
+     */
+    public void reportWaits(boolean force) {
+        fullWaits.report(force);
+        emptyWaits.report(force);
+    }
+
+    /**
+     * Gets the number of times any wait lock of the pool has been taken, by waiting threads or to wake them.
+     *
+     * @return The total wait lock acquisition count.
+     */
+    public long getWaitLockAcquisitions() {
+        long acquisitions = lockAcquisitions.sum();
+        for (TicketShard shard : shardList) {
+            acquisitions += shard.getLockAcquisitions();
+        }
+        return acquisitions;
+    }
+
+    /**
+     * Gets the distribution of the time customers spent in blocking buy calls, including
+     * purchases that did not have to wait.
+     *
+     * @return The histogram of customer wait times.
+     */
+    public WaitTimeHistogram getCustomerWaitTimes() {
+        return customerWaits;
+    }
+
+    /**
+     * Gets the distribution of the time customers of one priority spent in blocking buy calls.
+     *
+     * @param priority The priority of the customers.
+     * @return The histogram of their wait times.
+     */
+    public WaitTimeHistogram getCustomerWaitTimes(Priority priority) {
+        return priorityWaits[priority.ordinal()];
+    }
+
+    /**
+     * Gets the number of tickets currently held for checkout, which are out of the pool but not sold.
+     *
+     * @return The number of unsettled holds.
+     */
+    public int getHeldCount() {
+        return holds.size();
+    }
+
+    /**
+     * Checks whether waiting customers are served in arrival order.
+     *
+     * @return true if the pool is in fair mode.
+     */
+    public boolean isFair() {
+        return fair;
+    }
+
+    /**
+     * Gets the number of times a parked vendor or customer has been signalled or handed a ticket.
+     *
+     * @return The total wakeup count.
+     */
+    public long getWakeups() {
+        long total = wakeups.sum();
+        for (TicketShard shard : shardList) {
+            total += shard.getWakeups();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the occupancy of every shard, keyed by event name.
+     * When the pool is not sharded there is a single entry keyed {@link #SHARED_SHARD}.
+     *
+     * @return A map from event name to that shard's current size and maximum capacity.
+     */
+    public Map<String, Map<String, Integer>> getShardOccupancy() {
+        Map<String, Map<String, Integer>> occupancy = new TreeMap<>();
+        for (TicketShard shard : shardList) {
+            Map<String, Integer> shardStatus = new HashMap<>();
+            shardStatus.put("currentSize", shard.size());
+            shardStatus.put("maxCapacity", shard.capacity());
+            occupancy.put(shard.getEventName(), shardStatus);
+        }
+        return occupancy;
+    }
+
+    /**
+     * Gets the fraction of the capacity filled in the shard that holds tickets of the given event.
+     *
+     * @param eventName The event whose shard to look at; every event shares one shard unless sharded.
+     * @return The shard's occupancy, from 0 to 1.
+     */
+    public double getOccupancy(String eventName) {
+        TicketShard shard = shardFor(eventName);
+        return shard.capacity() > 0 ? (double) shard.size() / shard.capacity() : 1;
+    }
+
+    /**
+     * Gets the number of tickets that still fit in the shard that holds tickets of the given event.
+     *
+     * @param eventName The event whose shard to look at; every event shares one shard unless sharded.
+     * @return The free capacity of the shard.
+     */
+    public int getFreeCapacity(String eventName) {
+        TicketShard shard = shardFor(eventName);
+        return Math.max(0, shard.capacity() - shard.size());
+    }
+
+    /**
+     * Gets the capacity of the whole pool, which is the maximum capacity of each shard when sharded.
+     *
+     * @return The total capacity of the existing shards, or the maximum capacity before any shard exists.
+     */
+    public int getTotalCapacity() {
+        int capacity = 0;
+        for (TicketShard shard : shardList) {
+            capacity += shard.capacity();
+        }
+        return shardList.isEmpty() ? maxCapacity : capacity;
+    }
+
     /**
      * Gets the current size of the ticket pool.
      *
      * @return The current number of tickets in the pool.
      */
     public int getCurrentSize() {
-        return tickets.size();
+        int size = 0;
+        for (TicketShard shard : shardList) {
+            size += shard.size();
+        }
+        return size;
     }
 
     /**
@@ -140,11 +1498,22 @@ public class TicketPool {
 
     /**
      * Gets the total number of tickets added to the pool.
+     * The counter is striped, so reading it never blocks vendors or customers.
      *
      * @return The total number of tickets added to the pool.
      */
-    public int getTotalTicketsAdded() {
-        return totalTicketsAdded;
+    public long getTotalTicketsAdded() {
+        return totalTicketsAdded.sum();
+    }
+
+    /**
+     * Gets the exact total sales amount from ticket purchases, in cents.
+     * The counter is striped, so reading it never blocks vendors or customers.
+     *
+     * @return The total sales amount in cents.
+     */
+    public long getTotalSalesInCents() {
+        return totalSalesInCents.sum();
     }
 
     /**
@@ -153,7 +1522,7 @@ public class TicketPool {
      * @return The total sales amount.
      */
     public double getTotalSales() {
-        return totalSales;
+        return Ticket.toPrice(getTotalSalesInCents());
     }
 
 
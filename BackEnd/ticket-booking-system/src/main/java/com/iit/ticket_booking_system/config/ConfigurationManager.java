@@ -2,6 +2,7 @@ package com.iit.ticket_booking_system.config;
 
 import com.google.gson.Gson;
 import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
 
 import java.io.FileReader;
 import java.io.FileWriter;
@@ -9,6 +10,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.SYSTEM;
+
 /**
  * ConfigurationManager is responsible for saving and loading configurations.
  * It supports saving configurations in both JSON and plain text formats.
@@ -28,13 +31,12 @@ public class ConfigurationManager {
     public static void saveConfiguration(Configuration configuration, String file) {
         try (FileWriter writer = new FileWriter(file)) {
             gson.toJson(configuration, writer); // Convert the configuration object to JSON and write to file
-            System.out.println("Configuration saved to: " + file);
-            LoggerUtil.log("INFO", "Configuration saved to: " + file); // Log the save event
+            LoggerUtil.log(SYSTEM, Level.INFO, "Configuration saved to: " + file); // Log the save event
 
         } catch (IOException e) {
             String errorMessage = "Error saving configuration to file: " + file + ". " + e.getMessage();
             System.err.println(errorMessage); // Print the error message to stderr
-            LoggerUtil.log("ERROR", errorMessage); // Log the error message
+            LoggerUtil.log(SYSTEM, Level.ERROR, errorMessage); // Log the error message
         }
     }
 
@@ -52,13 +54,12 @@ public class ConfigurationManager {
         try {
             // Write the content to the specified text file
             Files.write(Paths.get(textFile), content.getBytes());
-            System.out.println("Configuration saved to " + textFile);
-            LoggerUtil.log("INFO", "Configuration saved to: " + textFile); //Log the save event
+            LoggerUtil.log(SYSTEM, Level.INFO, "Configuration saved to: " + textFile); //Log the save event
         } catch (IOException e) {
             // Handle errors during the file saving process
             String errorMessage = "Error saving configuration to text file: " + textFile + ". " + e.getMessage();
             System.err.println(errorMessage); // Print the error message to stderr
-            LoggerUtil.log("ERROR", errorMessage); // Log the error message
+            LoggerUtil.log(SYSTEM, Level.ERROR, errorMessage); // Log the error message
         }
     }
 
@@ -77,7 +78,7 @@ public class ConfigurationManager {
             // Handle errors during the file reading process
             String errorMessage = "Error loading configuration from file: " + file + ". " + e.getMessage();
             System.err.println(errorMessage); // Print the error message to stderr
-            LoggerUtil.log("ERROR", errorMessage); // Log the error message
+            LoggerUtil.log(SYSTEM, Level.ERROR, errorMessage); // Log the error message
             return null; // Return null if there was an error
         }
     }
@@ -0,0 +1,51 @@
+package com.iit.ticket_booking_system.config;
+
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the logging settings of application.properties to {@link LoggerUtil} at startup.
+ * Messages logged before this bean is created go through the default settings.
+ */
+@Component
+public class LoggingConfig {
+
+    /**
+     * Configures the log buffer and its full-buffer policy.
+     * <p>
+     * {@code ticket.log.enabled} turns logging off altogether. Otherwise messages are buffered for a
+     * background writer, {@code ticket.log.buffer-size} of them at most, and once the buffer is full
+     * {@code ticket.log.full-policy} makes the logging thread wait ("block"), drop its message ("drop"),
+     * or wait for one message in every {@code ticket.log.sample-every} and drop the rest ("sample").
+     * The latest {@code ticket.log.memory-entries} messages are kept in memory for the logs endpoint.
+     * Messages less severe than {@code ticket.log.level}, or than the level given to their category in
+     * {@code ticket.log.category-levels}, are skipped before their text is built, and
+     * {@code ticket.log.console} echoes the written messages to the console.
+     *
+     * @param enabled        Whether messages are logged.
+     * @param fullPolicy     What a logging thread does when the buffer is full: "block", "drop" or "sample".
+     * @param bufferSize     The number of messages buffered for the writer.
+     * @param sampleEvery    One in how many overflowing messages the "sample" policy keeps.
+     * @param memoryEntries  The number of messages kept in memory.
+     * @param level          The least severe level logged.
+     * @param categoryLevels Comma-separated "category=LEVEL" overrides, possibly empty.
+     * @param console        Whether the messages are echoed to the console.
+     * @throws IllegalArgumentException if the policy, a level or a category is unknown, or a size or the
+     *                                  sampling rate not positive.
+     */
+    public LoggingConfig(@Value("${ticket.log.enabled:true}") boolean enabled,
+                         @Value("${ticket.log.full-policy:block}") String fullPolicy,
+                         @Value("${ticket.log.buffer-size:8192}") int bufferSize,
+                         @Value("${ticket.log.sample-every:16}") int sampleEvery,
+                         @Value("${ticket.log.memory-entries:10000}") int memoryEntries,
+                         @Value("${ticket.log.level:INFO}") String level,
+                         @Value("${ticket.log.category-levels:}") String categoryLevels,
+                         @Value("${ticket.log.console:true}") boolean console) {
+        LoggerUtil.setEnabled(enabled);
+        LoggerUtil.configure(fullPolicy, bufferSize, sampleEvery);
+        LoggerUtil.setMemoryEntries(memoryEntries);
+        LoggerUtil.setLevels(level, categoryLevels);
+        LoggerUtil.setConsole(console);
+    }
+}
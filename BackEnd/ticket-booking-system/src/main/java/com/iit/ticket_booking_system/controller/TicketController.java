@@ -1,15 +1,23 @@
 package com.iit.ticket_booking_system.controller;
 
+import com.iit.ticket_booking_system.model.CustomerSpec;
+import com.iit.ticket_booking_system.model.SimulationScenario;
+import com.iit.ticket_booking_system.model.SpawnRequest;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.model.VendorSpec;
+import com.iit.ticket_booking_system.service.DashboardStreamService;
+import com.iit.ticket_booking_system.service.SimulationService;
 import com.iit.ticket_booking_system.service.TicketService;
+import com.iit.ticket_booking_system.util.LogRing;
 import com.iit.ticket_booking_system.util.LoggerUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Controller for handling all ticket-related requests.
@@ -23,10 +31,15 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final SimulationService simulationService;
+    private final DashboardStreamService dashboardStreamService;
 
     @Autowired
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, SimulationService simulationService,
+                            DashboardStreamService dashboardStreamService) {
         this.ticketService = ticketService;
+        this.simulationService = simulationService;
+        this.dashboardStreamService = dashboardStreamService;
     }
 
     /**
@@ -120,9 +133,11 @@ public class TicketController {
      * @param name              the name of the vendor
      * @param eventName         the event associated with the vendor
      * @param ticketsPerRelease the number of tickets to release per interval
-     * @param releaseInterval   the interval (in milliseconds) at which tickets will be released
+     * @param releaseInterval   the interval (in seconds) at which tickets will be released
+     * @param releaseRate       the releases per second, fractions allowed, replacing the interval if positive
      * @param totalTickets      the total number of tickets to be sold by the vendor
      * @param price             the price of each ticket
+     * @param releaseMode       how releases are sized and spaced: fixed, aimd or pid; the configured mode if absent
      * @return a response confirming the addition of the vendor
      */
     @PostMapping("/vendor/add")
@@ -130,14 +145,24 @@ public class TicketController {
             @RequestParam String name,
             @RequestParam String eventName,
             @RequestParam int ticketsPerRelease,
-            @RequestParam int releaseInterval,
+            @RequestParam(defaultValue = "1") int releaseInterval,
+            @RequestParam(defaultValue = "0") double releaseRate,
             @RequestParam int totalTickets,
-            @RequestParam double price
+            @RequestParam double price,
+            @RequestParam(required = false) String releaseMode
     ) {
         Map<String, Object> response = new HashMap<>();
         try {
-            String id = UUID.randomUUID().toString(); // Generating unique ID for the vendor
-            ticketService.addVendor(id, name, eventName, ticketsPerRelease, releaseInterval, totalTickets, price);
+            VendorSpec spec = new VendorSpec();
+            spec.setName(name);
+            spec.setEventName(eventName);
+            spec.setTicketsPerRelease(ticketsPerRelease);
+            spec.setReleaseInterval(releaseInterval);
+            spec.setReleaseRate(releaseRate);
+            spec.setTotalTickets(totalTickets);
+            spec.setPrice(price);
+            spec.setReleaseMode(releaseMode);
+            ticketService.addVendor(spec);
             response.put("message", "Vendor added and processing tickets");
             response.put("status", "success");
             return ResponseEntity.ok(response);
@@ -158,19 +183,34 @@ public class TicketController {
      *
      * @param name              the name of the customer
      * @param retrievalInterval the interval (in seconds) at which the customer will retrieve tickets
+     * @param retrievalRate     the retrievals per second, fractions allowed, replacing the interval if positive
      * @param totalTickets      the total number of tickets the customer is allowed to retrieve
+     * @param ticketsPerRetrieval the number of tickets the customer buys in each retrieval
+     * @param groupEvent        the event for which each retrieval is booked as one all-or-nothing group, if any
+     * @param priority          the customer's access tier: STANDARD, PRESALE or VIP
      * @return a response confirming the addition of the customer
      */
     @PostMapping("/customer/add")
     public ResponseEntity<Map<String, Object>> addCustomer(
             @RequestParam String name,
-            @RequestParam int retrievalInterval,
-            @RequestParam int totalTickets
+            @RequestParam(defaultValue = "1") int retrievalInterval,
+            @RequestParam(defaultValue = "0") double retrievalRate,
+            @RequestParam int totalTickets,
+            @RequestParam(defaultValue = "1") int ticketsPerRetrieval,
+            @RequestParam(required = false) String groupEvent,
+            @RequestParam(defaultValue = "STANDARD") String priority
     ) {
         Map<String, Object> response = new HashMap<>();
         try {
-            String id = UUID.randomUUID().toString(); // Generating unique ID for the customer
-            ticketService.addCustomer(id, name, retrievalInterval, totalTickets);
+            CustomerSpec spec = new CustomerSpec();
+            spec.setName(name);
+            spec.setRetrievalInterval(retrievalInterval);
+            spec.setRetrievalRate(retrievalRate);
+            spec.setTotalTickets(totalTickets);
+            spec.setTicketsPerRetrieval(ticketsPerRetrieval);
+            spec.setGroupEvent(groupEvent);
+            spec.setPriority(priority);
+            ticketService.addCustomer(spec);
             response.put("message", "Customer " + name + " added and retrieving tickets");
             response.put("status", "success");
             return ResponseEntity.ok(response);
@@ -185,6 +225,44 @@ public class TicketController {
         }
     }
 
+    /**
+     * Spawns groups of vendors and customers in the running system, each group arriving at once or
+     * spread out by a constant, Poisson or flash-sale burst arrival process. Customers wait between
+     * purchases for think times drawn from a fixed, uniform, exponential or lognormal distribution.
+     *
+     * @param request the groups of vendors and customers to spawn and the seed of their timing
+     * @return a response with the number of vendors and customers spawned
+     */
+    @PostMapping("/spawn")
+    public ResponseEntity<Map<String, Object>> spawn(@RequestBody SpawnRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int vendors = 0;
+            int customers = 0;
+            Long seed = request.getSeed();
+            for (int i = 0; i < request.getVendors().size(); i++) {
+                vendors += ticketService.spawnVendors(request.getVendors().get(i), seed == null ? null : seed + i);
+            }
+            for (int i = 0; i < request.getCustomers().size(); i++) {
+                customers += ticketService.spawnCustomers(request.getCustomers().get(i),
+                        seed == null ? null : seed + request.getVendors().size() + i); // Each group gets its own seed
+            }
+            response.put("message", "Spawned " + vendors + " vendors and " + customers + " customers");
+            response.put("vendors", vendors);
+            response.put("customers", customers);
+            response.put("status", "success");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", "Invalid Input: " + e.getMessage());
+            response.put("status", "error");
+            return ResponseEntity.badRequest().body(response); // 400 Bad Request for invalid inputs
+        } catch (Exception e) {
+            response.put("message", "Error: " + e.getMessage());
+            response.put("status", "error");
+            return ResponseEntity.status(500).body(response); // 500 Internal Server Error for unexpected issues
+        }
+    }
+
     /**
      * Removes a vendor from the system.
      *
@@ -266,35 +344,89 @@ public class TicketController {
     public ResponseEntity<Map<String, Object>> getTotalSales() {
         Map<String, Object> response = new HashMap<>();
         try {
-            double ticketSales = ticketService.getTotalSales();
+            long ticketSalesInCents = ticketService.getTotalSalesInCents();
+            response.put("status", "success");
+            response.put("ticketSales", Ticket.toPrice(ticketSalesInCents));
+            response.put("ticketSalesInCents", ticketSalesInCents);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("status", "error");
+            return ResponseEntity.status(500).body(response); // 500 Internal Server Error for unexpected issues
+        }
+    }
+
+    /**
+     * Runs a scenario as a simulation on a virtual clock, separately from the running system, and
+     * reports the ticket status at its end. The same scenario and seed always give the same report.
+     *
+     * @param scenario the pool, vendors, customers, duration and seed of the simulation
+     * @return a response containing the simulated ticket status
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<Map<String, Object>> simulate(@RequestBody SimulationScenario scenario) {
+        Map<String, Object> response = new HashMap<>();
+        try {
             response.put("status", "success");
-            response.put("ticketSales", ticketSales);
+            response.put("ticketStatus", simulationService.simulate(scenario));
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", "Invalid Input: " + e.getMessage());
+            response.put("status", "error");
+            return ResponseEntity.badRequest().body(response); // 400 Bad Request for invalid inputs
         } catch (Exception e) {
+            response.put("message", "Error: " + e.getMessage());
             response.put("status", "error");
             return ResponseEntity.status(500).body(response); // 500 Internal Server Error for unexpected issues
         }
     }
 
     /**
-     * Retrieves the logs for the ticketing system.
+     * Retrieves the logs for the ticketing system that follow the last one the client has seen.
+     * Only the latest logs are kept in memory, and each is numbered: pass the "next" number of
+     * the previous response as {@code after} to get only the logs added since, oldest first.
+     * "missed" counts the logs after {@code after} that were no longer kept.
      *
-     * @return a response containing the logs
+     * @param after the number of the last log already seen, 0 for the oldest log kept
+     * @param limit the most logs to return
+     * @return a response containing the logs and the number to pass as {@code after} next time
      */
     @GetMapping("/logs")
-    public ResponseEntity<Map<String, Object>> getLogs() {
+    public ResponseEntity<Map<String, Object>> getLogs(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<String> logs = LoggerUtil.getLogs();
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            LogRing.Page page = LoggerUtil.getLogs(after, limit);
             response.put("status", "success");
-            response.put("logs", logs);
+            response.put("logs", page.entries().stream().map(LogRing.Entry::toString).toList());
+            response.put("next", page.next());
+            response.put("missed", page.missed());
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            response.put("message", "Invalid Input: " + e.getMessage());
+            response.put("status", "error");
+            return ResponseEntity.badRequest().body(response); // 400 Bad Request for invalid inputs
         } catch (Exception e) {
             response.put("status", "error");
             return ResponseEntity.status(500).body(response); // 500 Internal Server Error for unexpected issues
         }
 
     }
-}
 
+    /**
+     * Streams the ticket status, the sales and new logs as Server-Sent Events, instead of polling
+     * {@code /tickets}, {@code /sales} and {@code /logs}. The first event, "snapshot", holds the full
+     * status, the sales and the latest logs; each "update" event after it holds only what changed.
+     *
+     * @return the stream of events
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStreamService.subscribe();
+    }
+}
@@ -0,0 +1,91 @@
+package com.iit.ticket_booking_system.load;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides when each of a batch of spawned vendors or customers arrives.
+ * <p>
+ * Arrival times are offsets in seconds from the spawn. "immediate" starts everyone at once,
+ * "constant" spaces arrivals evenly at the given rate, "poisson" draws exponential gaps with the
+ * given mean rate, and "burst" is a flash-sale ramp: a Poisson process whose rate climbs linearly
+ * from zero to the given peak over the ramp, then stays at the peak.
+ */
+@FunctionalInterface
+public interface ArrivalProcess {
+
+    /**
+     * Gets the time of the next arrival.
+     *
+     * @param previous The time of the previous arrival in seconds, 0 for the first.
+     * @param random   The source of randomness.
+     * @return The time of the next arrival in seconds, not before the previous one.
+     */
+    double nextArrival(double previous, RandomGenerator random);
+
+    /**
+     * Gets the arrival times of a batch.
+     *
+     * @param count  The number of arrivals.
+     * @param random The source of randomness.
+     * @return The arrival offsets in nanoseconds, in ascending order.
+     */
+    default long[] arrivals(int count, RandomGenerator random) {
+        long[] arrivals = new long[count];
+        double time = 0;
+        for (int i = 0; i < count; i++) {
+            time = nextArrival(time, random);
+            arrivals[i] = (long) (time * 1e9);
+        }
+        return arrivals;
+    }
+
+    /**
+     * Creates an arrival process by name.
+     *
+     * @param process     The process: "immediate", "constant", "poisson" or "burst"; null for "immediate".
+     * @param rate        The arrivals per second, the peak rate for "burst"; ignored for "immediate".
+     * @param rampSeconds The time a "burst" takes to climb to its peak rate.
+     * @return The arrival process.
+     * @throws IllegalArgumentException if the process is unknown or its settings are out of range.
+     */
+    static ArrivalProcess create(String process, double rate, double rampSeconds) {
+        String name = process == null ? "immediate" : process.trim().toLowerCase();
+        if (!name.equals("immediate") && !(rate > 0)) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + rate);
+        }
+        return switch (name) {
+            case "immediate" -> (previous, random) -> 0;
+            case "constant" -> (previous, random) -> previous + 1 / rate;
+            case "poisson" -> (previous, random) -> previous + exponential(random) / rate;
+            case "burst" -> {
+                if (!(rampSeconds >= 0)) {
+                    throw new IllegalArgumentException("Burst ramp must not be negative: " + rampSeconds);
+                }
+                yield (previous, random) -> rampInverse(rampIntensity(previous, rate, rampSeconds) + exponential(random),
+                        rate, rampSeconds);
+            }
+            default -> throw new IllegalArgumentException("Unknown arrival process: " + process);
+        };
+    }
+
+    /**
+     * Draws an exponentially distributed number with mean 1.
+     */
+    private static double exponential(RandomGenerator random) {
+        return -Math.log(1 - random.nextDouble());
+    }
+
+    /**
+     * Gets the expected number of arrivals of a burst up to the given time: the integral of its rate.
+     */
+    private static double rampIntensity(double time, double peak, double ramp) {
+        return time < ramp ? peak * time * time / (2 * ramp) : peak * (time - ramp / 2);
+    }
+
+    /**
+     * Gets the time by which a burst expects the given number of arrivals, inverting {@link #rampIntensity}.
+     */
+    private static double rampInverse(double arrivals, double peak, double ramp) {
+        return arrivals < peak * ramp / 2 ? Math.sqrt(2 * ramp * arrivals / peak) : arrivals / peak + ramp / 2;
+    }
+}
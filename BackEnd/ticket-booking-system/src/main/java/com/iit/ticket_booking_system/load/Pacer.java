@@ -0,0 +1,17 @@
+package com.iit.ticket_booking_system.load;
+
+/**
+ * Decides how long a vendor or customer waits between two of its events, such as releases or purchases.
+ * A {@link TokenBucket} holds actors to a steady rate; a {@link ThinkTime} draws human-like gaps instead.
+ */
+@FunctionalInterface
+public interface Pacer {
+
+    /**
+     * Records an event and gets the wait before the next one.
+     *
+     * @param now The time of the event in nanoseconds.
+     * @return The wait before the next event in nanoseconds, not negative.
+     */
+    long next(long now);
+}
@@ -0,0 +1,76 @@
+package com.iit.ticket_booking_system.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of the time a customer waits between purchases.
+ * <p>
+ * "fixed" always waits the mean, "uniform" waits anywhere within the spread either side of the mean,
+ * "exponential" waits a memoryless time with the given mean, and "lognormal" waits a right-skewed
+ * time with the given mean and standard deviation, the usual model of human think times.
+ */
+@FunctionalInterface
+public interface ThinkTime {
+
+    /**
+     * Draws the next think time.
+     *
+     * @param random The source of randomness.
+     * @return The think time in nanoseconds, not negative.
+     */
+    long sampleNanos(RandomGenerator random);
+
+    /**
+     * Gets a pacer that waits a fresh think time after every event, however long the event took.
+     *
+     * @param random The source of randomness, used by this pacer alone.
+     * @return The pacer.
+     */
+    default Pacer pacer(RandomGenerator random) {
+        return now -> sampleNanos(random);
+    }
+
+    /**
+     * Creates a think-time distribution by name.
+     *
+     * @param distribution  The distribution: "fixed", "uniform", "exponential" or "lognormal"; null for "fixed".
+     * @param meanSeconds   The mean think time in seconds.
+     * @param spreadSeconds The half-width of "uniform" or the standard deviation of "lognormal", in seconds.
+     * @return The distribution.
+     * @throws IllegalArgumentException if the distribution is unknown or its settings are out of range.
+     */
+    static ThinkTime create(String distribution, double meanSeconds, double spreadSeconds) {
+        String name = distribution == null ? "fixed" : distribution.trim().toLowerCase();
+        if (!(meanSeconds >= 0) || !(spreadSeconds >= 0)) {
+            throw new IllegalArgumentException("Invalid think time: mean " + meanSeconds + " s, spread " + spreadSeconds + " s");
+        }
+        long mean = toNanos(meanSeconds);
+        return switch (name) {
+            case "fixed" -> random -> mean;
+            case "uniform" -> {
+                double low = Math.max(0, meanSeconds - spreadSeconds);
+                double high = meanSeconds + spreadSeconds;
+                yield random -> high > low ? toNanos(random.nextDouble(low, high)) : mean;
+            }
+            case "exponential" -> random -> toNanos(-meanSeconds * Math.log(1 - random.nextDouble()));
+            case "lognormal" -> {
+                if (meanSeconds == 0) {
+                    yield random -> 0;
+                }
+                // Parameters of the underlying normal distribution giving the requested mean and deviation
+                double sigma = Math.sqrt(Math.log(1 + spreadSeconds * spreadSeconds / (meanSeconds * meanSeconds)));
+                double mu = Math.log(meanSeconds) - sigma * sigma / 2;
+                yield random -> toNanos(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+            default -> throw new IllegalArgumentException("Unknown think time distribution: " + distribution);
+        };
+    }
+
+    /**
+     * Converts seconds to nanoseconds.
+     */
+    private static long toNanos(double seconds) {
+        return (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+    }
+}
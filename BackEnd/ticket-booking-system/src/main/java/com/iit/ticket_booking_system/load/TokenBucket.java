@@ -0,0 +1,162 @@
+package com.iit.ticket_booking_system.load;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket pacing events to a rate of any number per second, fractions included.
+ * <p>
+ * The bucket is kept as the generic cell rate algorithm does: a single theoretical arrival time, the
+ * time at which the bucket would be full again, which every event pushes back by one interval. The
+ * next event is due at that time less the slack. So an actor that wakes late, by up to the slack, gets
+ * its next event correspondingly sooner and keeps its long-run rate exactly, rather than drifting by
+ * each wake-up's lateness; and after idling it may run up to the slack's worth of events at once. Times
+ * are kept in 1/256 ns relative to the first event, so that a rate whose interval is not a whole number
+ * of nanoseconds does not drift either, for a little over a year.
+ * <p>
+ * An event costs one compare-and-set, so a bucket may be shared by many actors to cap their total rate.
+ */
+public class TokenBucket implements Pacer {
+
+    public static final long DEFAULT_SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(10); // Lateness caught up, and burst after idling
+    private static final int FRACTION_BITS = 8; // Fixed-point fraction of a nanosecond
+    private static final long UNSET = Long.MIN_VALUE; // Origin or arrival time not set yet
+    private static final double MAX_INTERVAL = 1L << 54; // Longest interval, in fixed point: about 19 hours
+    private static final VarHandle ORIGIN;
+
+    static {
+        try {
+            ORIGIN = MethodHandles.lookup().findVarHandle(TokenBucket.class, "origin", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long slack; // How far behind schedule events may fall and still catch up, in fixed point
+    private final AtomicLong arrival = new AtomicLong(UNSET); // Theoretical arrival time, in fixed point since the origin
+    private volatile long origin = UNSET; // Time of the first event
+    private volatile long interval; // Time between events, in fixed point
+
+    /**
+     * Constructs a bucket for the given rate that catches up on up to 10 ms of lateness.
+     *
+     * @param eventsPerSecond The rate of events, or infinity for no pacing.
+     * @throws IllegalArgumentException if the rate is not positive or too small.
+     */
+    public TokenBucket(double eventsPerSecond) {
+        this(eventsPerSecond, DEFAULT_SLACK_NANOS);
+    }
+
+    /**
+     * Constructs a bucket for the given rate.
+     *
+     * @param eventsPerSecond The rate of events, or infinity for no pacing.
+     * @param slackNanos      How far behind schedule events may fall and still catch up, which is also
+     *                        how early events may come after the bucket idled, in nanoseconds.
+     * @throws IllegalArgumentException if the rate is not positive or too small, or the slack is negative.
+     */
+    public TokenBucket(double eventsPerSecond, long slackNanos) {
+        if (slackNanos < 0) {
+            throw new IllegalArgumentException("Pacing slack must not be negative: " + slackNanos + " ns");
+        }
+        this.slack = slackNanos << FRACTION_BITS;
+        setRate(eventsPerSecond);
+    }
+
+    /**
+     * Creates a bucket spacing events by the given interval, the inverse of the rate.
+     *
+     * @param intervalNanos The time between events in nanoseconds, or 0 for no pacing.
+     * @return The bucket.
+     * @throws IllegalArgumentException if the interval is negative or too long.
+     */
+    public static TokenBucket ofInterval(long intervalNanos) {
+        TokenBucket bucket = new TokenBucket(Double.POSITIVE_INFINITY);
+        bucket.setIntervalNanos(intervalNanos);
+        return bucket;
+    }
+
+    /**
+     * Changes the rate. Events already recorded keep the spacing they were recorded with.
+     *
+     * @param eventsPerSecond The rate of events, or infinity for no pacing.
+     * @throws IllegalArgumentException if the rate is not positive or too small.
+     */
+    public void setRate(double eventsPerSecond) {
+        if (!(eventsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive: " + eventsPerSecond + " per second");
+        }
+        setFixedInterval(TimeUnit.SECONDS.toNanos(1) * (double) (1 << FRACTION_BITS) / eventsPerSecond);
+    }
+
+    /**
+     * Changes the time between events. Events already recorded keep the spacing they were recorded with.
+     *
+     * @param intervalNanos The time between events in nanoseconds, or 0 for no pacing.
+     * @throws IllegalArgumentException if the interval is negative or too long.
+     */
+    public void setIntervalNanos(long intervalNanos) {
+        if (intervalNanos < 0) {
+            throw new IllegalArgumentException("Interval must not be negative: " + intervalNanos + " ns");
+        }
+        setFixedInterval((double) intervalNanos * (1 << FRACTION_BITS));
+    }
+
+    private void setFixedInterval(double fixed) {
+        if (fixed > MAX_INTERVAL) {
+            throw new IllegalArgumentException("Rate too low to pace: " + fixed / (1 << FRACTION_BITS) + " ns between events");
+        }
+        interval = Math.round(fixed);
+    }
+
+    /**
+     * Gets the rate.
+     *
+     * @return The events per second, infinity when not pacing.
+     */
+    public double getRate() {
+        long current = interval;
+        return current == 0 ? Double.POSITIVE_INFINITY : TimeUnit.SECONDS.toNanos(1) * (double) (1 << FRACTION_BITS) / current;
+    }
+
+    /**
+     * Records one event and gets the wait before the next one.
+     *
+     * @param now The time of the event in nanoseconds.
+     * @return The wait before the next event in nanoseconds, 0 while catching up.
+     */
+    @Override
+    public long next(long now) {
+        return acquire(1, now);
+    }
+
+    /**
+     * Records several events at once, such as a batch, and gets the wait before the next one.
+     * The first call starts the bucket with a single event's worth of tokens, so that the second
+     * event is one interval after it.
+     *
+     * @param events The number of events.
+     * @param now    The time of the events in nanoseconds.
+     * @return The wait before the next event in nanoseconds, 0 while catching up.
+     */
+    public long acquire(int events, long now) {
+        long start = origin;
+        if (start == UNSET) {
+            ORIGIN.compareAndSet(this, UNSET, now);
+            start = origin;
+        }
+        long at = (now - start) << FRACTION_BITS;
+        long cost = events * interval;
+        while (true) {
+            long current = arrival.get();
+            long base = current == UNSET ? at + slack : Math.max(current, at); // A new bucket holds one event's worth
+            long next = base + cost;
+            if (arrival.compareAndSet(current, next)) {
+                long wait = next - slack - at;
+                return wait <= 0 ? 0 : (wait + (1 << FRACTION_BITS) - 1) >> FRACTION_BITS;
+            }
+        }
+    }
+}
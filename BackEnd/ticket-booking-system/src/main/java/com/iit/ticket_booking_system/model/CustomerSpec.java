@@ -0,0 +1,127 @@
+package com.iit.ticket_booking_system.model;
+
+/**
+ * A group of identical customers to spawn, in the running system or in a simulation.
+ * They arrive as set by the arrival process, all at once by default, and wait between purchases
+ * for think times drawn from the think-time distribution.
+ */
+public class CustomerSpec {
+
+    private String name = "Customer"; // Name of the customers, numbered when there are several
+    private int retrievalInterval = 1; // Seconds between purchases
+    private double retrievalRate; // Purchases per second, fractions allowed, replacing the interval when positive
+    private int totalTickets = 1; // Tickets each customer buys in all
+    private int ticketsPerRetrieval = 1; // Tickets per purchase
+    private String groupEvent; // Event each purchase is booked for as one group, or null for any tickets
+    private String priority = "STANDARD"; // Access tier
+    private int count = 1; // Number of such customers
+    private String arrival = "immediate"; // Arrival process: immediate, constant, poisson or burst
+    private double arrivalRate = 100; // Arrivals per second, the peak rate of a burst
+    private double rampSeconds = 10; // Time a burst takes to climb to its peak rate
+    private String thinkTime = "fixed"; // Think-time distribution: fixed, uniform, exponential or lognormal, with the time between purchases as mean
+    private double thinkTimeSpread; // Half-width of a uniform think time or deviation of a lognormal one, in seconds
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getRetrievalInterval() {
+        return retrievalInterval;
+    }
+
+    public void setRetrievalInterval(int retrievalInterval) {
+        this.retrievalInterval = retrievalInterval;
+    }
+
+    public double getRetrievalRate() {
+        return retrievalRate;
+    }
+
+    public void setRetrievalRate(double retrievalRate) {
+        this.retrievalRate = retrievalRate;
+    }
+
+    public int getTotalTickets() {
+        return totalTickets;
+    }
+
+    public void setTotalTickets(int totalTickets) {
+        this.totalTickets = totalTickets;
+    }
+
+    public int getTicketsPerRetrieval() {
+        return ticketsPerRetrieval;
+    }
+
+    public void setTicketsPerRetrieval(int ticketsPerRetrieval) {
+        this.ticketsPerRetrieval = ticketsPerRetrieval;
+    }
+
+    public String getGroupEvent() {
+        return groupEvent;
+    }
+
+    public void setGroupEvent(String groupEvent) {
+        this.groupEvent = groupEvent;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public String getArrival() {
+        return arrival;
+    }
+
+    public void setArrival(String arrival) {
+        this.arrival = arrival;
+    }
+
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public void setArrivalRate(double arrivalRate) {
+        this.arrivalRate = arrivalRate;
+    }
+
+    public double getRampSeconds() {
+        return rampSeconds;
+    }
+
+    public void setRampSeconds(double rampSeconds) {
+        this.rampSeconds = rampSeconds;
+    }
+
+    public String getThinkTime() {
+        return thinkTime;
+    }
+
+    public void setThinkTime(String thinkTime) {
+        this.thinkTime = thinkTime;
+    }
+
+    public double getThinkTimeSpread() {
+        return thinkTimeSpread;
+    }
+
+    public void setThinkTimeSpread(double thinkTimeSpread) {
+        this.thinkTimeSpread = thinkTimeSpread;
+    }
+}
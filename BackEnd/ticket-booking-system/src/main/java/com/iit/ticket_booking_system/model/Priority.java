@@ -0,0 +1,32 @@
+package com.iit.ticket_booking_system.model;
+
+import java.util.Locale;
+
+/**
+ * Access tier of a customer. When tickets are scarce, customers of a higher tier waiting for a ticket
+ * are served before those of a lower tier.
+ */
+public enum Priority {
+
+    STANDARD, // General sale
+    PRESALE, // Presale access, served before general sale
+    VIP; // Served before every other tier
+
+    /**
+     * Parses a tier name, ignoring case and surrounding whitespace.
+     *
+     * @param name The tier name, or null or blank for {@link #STANDARD}.
+     * @return The tier.
+     * @throws IllegalArgumentException if the name is not a known tier.
+     */
+    public static Priority parse(String name) {
+        if (name == null || name.isBlank()) {
+            return STANDARD;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown customer priority: " + name);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.iit.ticket_booking_system.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scenario to run in a simulation: the pool, the vendors and customers, how long to simulate and
+ * the seed of the random choices. Settings left out take the application's configured values.
+ */
+public class SimulationScenario {
+
+    private int maxCapacity = 100; // Capacity of the pool, or of each shard when sharded
+    private String implementation; // Inventory implementation, or null for the configured one
+    private Boolean sharded; // Whether to shard the pool by event, or null for the configured setting
+    private Boolean fair; // Whether to serve waiting customers in arrival order, or null for the configured setting
+    private long durationSeconds = 3600; // Virtual time to simulate
+    private long seed; // Seed of the random choices, the same seed repeating the same run
+    private int startSpreadSeconds = 1; // Vendors and customers arriving immediately start at random times within this window
+    private List<VendorSpec> vendors = new ArrayList<>(); // Vendors of the scenario
+    private List<CustomerSpec> customers = new ArrayList<>(); // Customers of the scenario
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public String getImplementation() {
+        return implementation;
+    }
+
+    public void setImplementation(String implementation) {
+        this.implementation = implementation;
+    }
+
+    public Boolean getSharded() {
+        return sharded;
+    }
+
+    public void setSharded(Boolean sharded) {
+        this.sharded = sharded;
+    }
+
+    public Boolean getFair() {
+        return fair;
+    }
+
+    public void setFair(Boolean fair) {
+        this.fair = fair;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getStartSpreadSeconds() {
+        return startSpreadSeconds;
+    }
+
+    public void setStartSpreadSeconds(int startSpreadSeconds) {
+        this.startSpreadSeconds = startSpreadSeconds;
+    }
+
+    public List<VendorSpec> getVendors() {
+        return vendors;
+    }
+
+    public void setVendors(List<VendorSpec> vendors) {
+        this.vendors = vendors;
+    }
+
+    public List<CustomerSpec> getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(List<CustomerSpec> customers) {
+        this.customers = customers;
+    }
+}
@@ -0,0 +1,39 @@
+package com.iit.ticket_booking_system.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of vendors and customers to spawn in the running system at once, each group arriving
+ * as set by its own arrival process.
+ */
+public class SpawnRequest {
+
+    private List<VendorSpec> vendors = new ArrayList<>(); // Groups of vendors to spawn
+    private List<CustomerSpec> customers = new ArrayList<>(); // Groups of customers to spawn
+    private Long seed; // Seed of the arrival and think times, or null for different ones each time
+
+    public List<VendorSpec> getVendors() {
+        return vendors;
+    }
+
+    public void setVendors(List<VendorSpec> vendors) {
+        this.vendors = vendors;
+    }
+
+    public List<CustomerSpec> getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(List<CustomerSpec> customers) {
+        this.customers = customers;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
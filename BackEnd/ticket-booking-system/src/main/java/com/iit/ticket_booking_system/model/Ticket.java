@@ -6,9 +6,9 @@ package com.iit.ticket_booking_system.model;
  */
 public class Ticket {
 
-    private int ticketID; // Unique ticket ID
+    private long ticketID; // Unique ticket ID
     private String eventName; //event name
-    private double price; //price of ticket
+    private long priceInCents; //price of ticket, in cents so that totals stay exact
 
     /**
      * Constructs a new Ticket with the specified ticket ID, event name, and price.
@@ -17,10 +17,44 @@ public class Ticket {
      * @param eventName the name of the event for the ticket
      * @param price     the price of the ticket
      */
-    public Ticket(int ticketID, String eventName, double price) {
+    public Ticket(long ticketID, String eventName, double price) {
         this.ticketID = ticketID;
         this.eventName = eventName;
-        this.price = price;
+        this.priceInCents = toCents(price);
+    }
+
+    /**
+     * Creates a ticket whose price is already known in cents, without converting through a double.
+     *
+     * @param ticketID     the unique ID of the ticket
+     * @param eventName    the name of the event for the ticket
+     * @param priceInCents the price of the ticket in cents
+     * @return the new ticket
+     */
+    public static Ticket ofCents(long ticketID, String eventName, long priceInCents) {
+        Ticket ticket = new Ticket(ticketID, eventName, 0);
+        ticket.priceInCents = priceInCents;
+        return ticket;
+    }
+
+    /**
+     * Converts a price to whole cents, rounding to the nearest cent.
+     *
+     * @param price the price
+     * @return the price in cents
+     */
+    public static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+
+    /**
+     * Converts a whole number of cents to a price.
+     *
+     * @param cents the price in cents
+     * @return the price
+     */
+    public static double toPrice(long cents) {
+        return cents / 100.0;
     }
 
     /**
@@ -28,7 +62,7 @@ public class Ticket {
      *
      * @return the ticket ID
      */
-    public int getTicketID() {
+    public long getTicketID() {
         return ticketID;
     }
 
@@ -48,7 +82,16 @@ public class Ticket {
      * @return the price of the ticket
      */
     public double getPrice() {
-        return price;
+        return toPrice(priceInCents);
+    }
+
+    /**
+     * Gets the price of the ticket in cents.
+     *
+     * @return the price of the ticket in cents
+     */
+    public long getPriceInCents() {
+        return priceInCents;
     }
 
     /**
@@ -56,7 +99,7 @@ public class Ticket {
      *
      * @param ticketID the ticket ID
      */
-    public void setTicketID(int ticketID) {
+    public void setTicketID(long ticketID) {
         this.ticketID = ticketID;
     }
 
@@ -75,7 +118,7 @@ public class Ticket {
      * @param price the ticket price
      */
     public void setPrice(double price) {
-        this.price = price;
+        this.priceInCents = toCents(price);
     }
 
     /**
@@ -85,7 +128,7 @@ public class Ticket {
      */
     public String toString() {
         return "Ticket Information: " + "Ticket ID: " + ticketID +
-                " Event Name: " + eventName + " Ticket Price: " + price;
+                " Event Name: " + eventName + " Ticket Price: " + getPrice();
     }
 
 
@@ -0,0 +1,62 @@
+package com.iit.ticket_booking_system.model;
+
+/**
+ * Represents a ticket held for a customer during checkout.
+ * A held ticket is out of the pool but not yet sold: it is either confirmed as a sale,
+ * released, or returned to the pool automatically when the hold expires.
+ */
+public class TicketHold {
+
+    private final long holdId; // Unique hold ID, used to confirm or release the hold
+    private final Ticket ticket; // The ticket being held
+    private final long expiresAt; // Time the hold expires, in milliseconds since the epoch
+
+    /**
+     * Constructs a new TicketHold.
+     *
+     * @param holdId    the unique ID of the hold
+     * @param ticket    the ticket being held
+     * @param expiresAt the time the hold expires, in milliseconds since the epoch
+     */
+    public TicketHold(long holdId, Ticket ticket, long expiresAt) {
+        this.holdId = holdId;
+        this.ticket = ticket;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Gets the unique ID of the hold.
+     *
+     * @return the hold ID
+     */
+    public long getHoldId() {
+        return holdId;
+    }
+
+    /**
+     * Gets the ticket being held.
+     *
+     * @return the held ticket
+     */
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    /**
+     * Gets the time the hold expires.
+     *
+     * @return the expiry time in milliseconds since the epoch
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Returns a string representation of the hold.
+     *
+     * @return a formatted string with hold details
+     */
+    public String toString() {
+        return "Ticket Hold: " + "Hold ID: " + holdId + " " + ticket;
+    }
+}
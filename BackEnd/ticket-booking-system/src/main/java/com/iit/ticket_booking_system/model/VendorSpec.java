@@ -0,0 +1,117 @@
+package com.iit.ticket_booking_system.model;
+
+/**
+ * A group of identical vendors to spawn, in the running system or in a simulation.
+ * They arrive as set by the arrival process, all at once by default.
+ */
+public class VendorSpec {
+
+    private String name = "Vendor"; // Name of the vendors, numbered when there are several
+    private String eventName = "Event"; // Event the vendors release tickets for
+    private int ticketsPerRelease = 1; // Tickets per release, the starting point of an adaptive mode
+    private int releaseInterval = 1; // Seconds between releases, the starting point of an adaptive mode
+    private double releaseRate; // Releases per second, fractions allowed, replacing the interval when positive
+    private int totalTickets = 10; // Tickets each vendor releases in all
+    private double price = 10; // Price of each ticket
+    private String releaseMode; // Release controller, or null for the configured one
+    private int count = 1; // Number of such vendors
+    private String arrival = "immediate"; // Arrival process: immediate, constant, poisson or burst
+    private double arrivalRate = 100; // Arrivals per second, the peak rate of a burst
+    private double rampSeconds = 10; // Time a burst takes to climb to its peak rate
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public int getTicketsPerRelease() {
+        return ticketsPerRelease;
+    }
+
+    public void setTicketsPerRelease(int ticketsPerRelease) {
+        this.ticketsPerRelease = ticketsPerRelease;
+    }
+
+    public int getReleaseInterval() {
+        return releaseInterval;
+    }
+
+    public void setReleaseInterval(int releaseInterval) {
+        this.releaseInterval = releaseInterval;
+    }
+
+    public double getReleaseRate() {
+        return releaseRate;
+    }
+
+    public void setReleaseRate(double releaseRate) {
+        this.releaseRate = releaseRate;
+    }
+
+    public int getTotalTickets() {
+        return totalTickets;
+    }
+
+    public void setTotalTickets(int totalTickets) {
+        this.totalTickets = totalTickets;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public String getReleaseMode() {
+        return releaseMode;
+    }
+
+    public void setReleaseMode(String releaseMode) {
+        this.releaseMode = releaseMode;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public String getArrival() {
+        return arrival;
+    }
+
+    public void setArrival(String arrival) {
+        this.arrival = arrival;
+    }
+
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public void setArrivalRate(double arrivalRate) {
+        this.arrivalRate = arrivalRate;
+    }
+
+    public double getRampSeconds() {
+        return rampSeconds;
+    }
+
+    public void setRampSeconds(double rampSeconds) {
+        this.rampSeconds = rampSeconds;
+    }
+}
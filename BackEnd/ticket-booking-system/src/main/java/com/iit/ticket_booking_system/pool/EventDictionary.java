@@ -0,0 +1,75 @@
+package com.iit.ticket_booking_system.pool;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding of event names, so that stored tickets can refer to their event by a small int.
+ * <p>
+ * Codes are handed out in first-seen order and never reused. Looking up a code is a plain array read,
+ * and encoding an event that has been seen before is a single map lookup.
+ */
+public class EventDictionary {
+
+    /**
+     * Code used for tickets without an event name.
+     */
+    public static final int NO_EVENT = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>(); // Code of each event name
+    private volatile String[] names = new String[8]; // Event name of each code
+    private int size; // Codes handed out, guarded by this dictionary's monitor
+
+    /**
+     * Gets the code of an event, assigning the next free code on first use.
+     *
+     * @param eventName The event name.
+     * @return The event code, or {@link #NO_EVENT} for a null name.
+     */
+    public int encode(String eventName) {
+        if (eventName == null) {
+            return NO_EVENT;
+        }
+        Integer code = codes.get(eventName);
+        return code != null ? code : assign(eventName);
+    }
+
+    /**
+     * Assigns a code to a new event name. The name is published before the code, so a reader
+     * holding the code always finds the name.
+     */
+    private synchronized int assign(String eventName) {
+        Integer existing = codes.get(eventName);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = eventName;
+        names = current; // Volatile write publishes the name
+        codes.put(eventName, size);
+        return size++;
+    }
+
+    /**
+     * Gets the event name of a code.
+     *
+     * @param code The event code.
+     * @return The event name, or null for {@link #NO_EVENT}.
+     */
+    public String decode(int code) {
+        return code == NO_EVENT ? null : names[code];
+    }
+
+    /**
+     * Gets the number of distinct events encoded so far.
+     *
+     * @return The number of event codes.
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
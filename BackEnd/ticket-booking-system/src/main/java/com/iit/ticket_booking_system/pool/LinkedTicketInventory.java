@@ -0,0 +1,92 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Ticket inventory backed by a {@link LinkedList} guarded by a single monitor.
+ * This is the original storage of the ticket pool and is kept as the default implementation.
+ */
+public class LinkedTicketInventory implements TicketInventory {
+
+    private final LinkedList<Ticket> tickets = new LinkedList<>(); // Tickets in insertion order
+    private final int capacity; // Maximum tickets allowed in the inventory
+    private volatile int size; // Mirror of tickets.size() that can be read without the monitor
+
+    /**
+     * Constructs a linked inventory with the given capacity.
+     *
+     * @param capacity The maximum number of tickets the inventory can hold.
+     */
+    public LinkedTicketInventory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized boolean offer(Ticket ticket) {
+        if (tickets.size() >= capacity) {
+            return false;
+        }
+        tickets.addLast(ticket);
+        size = tickets.size();
+        return true;
+    }
+
+    @Override
+    public synchronized Ticket poll() {
+        Ticket ticket = tickets.pollFirst();
+        size = tickets.size();
+        return ticket;
+    }
+
+    @Override
+    public synchronized int offerAll(List<Ticket> batch, int from) {
+        int stored = Math.max(0, Math.min(capacity - tickets.size(), batch.size() - from));
+        tickets.addAll(batch.subList(from, from + stored));
+        size = tickets.size();
+        return stored;
+    }
+
+    @Override
+    public synchronized int pollAll(int max, List<Ticket> into) {
+        int removed = Math.min(max, tickets.size());
+        for (int i = 0; i < removed; i++) {
+            into.add(tickets.pollFirst());
+        }
+        size = tickets.size();
+        return removed;
+    }
+
+    @Override
+    public synchronized boolean pollExactly(int count, List<Ticket> into) {
+        if (tickets.size() < count) {
+            return false;
+        }
+        pollAll(count, into);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized void clear() {
+        tickets.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized List<Ticket> snapshot() {
+        return new ArrayList<>(tickets);
+    }
+}
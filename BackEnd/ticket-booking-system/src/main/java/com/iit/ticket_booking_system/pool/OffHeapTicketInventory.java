@@ -0,0 +1,325 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.POOL;
+
+/**
+ * Ticket inventory that keeps fixed-width ticket records outside the Java heap.
+ * <p>
+ * Each ticket is a 24-byte record (id, price in cents, event code) in a circular buffer that is
+ * either a direct buffer or a memory-mapped file, so the pool can hold tens of millions of tickets
+ * with a small heap. A mapped inventory also keeps its head and size in a header at the start of
+ * the file, and its event names in a sidecar file, so reopening the file after a restart restores
+ * the tickets it held. Access is guarded by a single monitor, like {@link PackedTicketInventory}.
+ */
+public class OffHeapTicketInventory implements TicketInventory {
+
+    private static final long MAGIC = 0x5449434B45545332L; // "TICKETS2", marks a ticket inventory file with 64-bit ids
+    private static final int HEADER_BYTES = 32; // Magic, capacity, head and size, keeping records 8-byte aligned
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int STATE_OFFSET = 16; // Head and size, written together as one aligned long
+    private static final int HEAD_OFFSET = 16;
+    private static final int SIZE_OFFSET = 20;
+    private static final int RECORD_BYTES = 24; // long id, long price in cents, int event code, 4 bytes padding
+
+    /**
+     * Largest capacity a single buffer can hold.
+     */
+    public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+
+    private final int capacity; // Maximum tickets allowed in the inventory
+    private final ByteBuffer buffer; // Header followed by the ticket records
+    private final EventDictionary dictionary = new EventDictionary(); // Event names of the stored tickets
+    private final DataOutputStream eventLog; // Appends new event names when the inventory is mapped, else null
+    private int persistedEvents; // Event names already written to the event log
+    private int head; // Slot of the oldest ticket
+    private volatile int size; // Tickets stored, written under the monitor and read without it
+
+    /**
+     * Constructs an inventory in a direct buffer, which is discarded with the inventory.
+     *
+     * @param capacity The maximum number of tickets the inventory can hold.
+     */
+    public OffHeapTicketInventory(int capacity) {
+        this(capacity, ByteBuffer.allocateDirect(HEADER_BYTES + checkCapacity(capacity) * RECORD_BYTES), null);
+        buffer.putLong(0, MAGIC);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+    }
+
+    private OffHeapTicketInventory(int capacity, ByteBuffer buffer, DataOutputStream eventLog) {
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Opens an inventory in a memory-mapped file, restoring the tickets it held if the file already exists.
+     * The event names are kept next to it, in the same path with an {@code .events} suffix.
+     *
+     * @param file     The file holding the ticket records.
+     * @param capacity The maximum number of tickets the inventory can hold.
+     * @param owner    A label stored with a new file, returned by {@link #ownerOf(Path)}.
+     * @return The opened inventory.
+     * @throws IllegalArgumentException if the file was created with a different capacity.
+     * @throws UncheckedIOException     if the files cannot be opened.
+     */
+    public static OffHeapTicketInventory open(Path file, int capacity, String owner) {
+        checkCapacity(capacity);
+        Path events = eventsFile(file);
+        try {
+            boolean existing = Files.exists(file) && Files.size(file) > 0;
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * RECORD_BYTES);
+            }
+            if (existing && buffer.getLong(0) == MAGIC && buffer.getInt(CAPACITY_OFFSET) != capacity) {
+                throw new IllegalArgumentException("Ticket inventory " + file + " was created with capacity "
+                        + buffer.getInt(CAPACITY_OFFSET) + ", not " + capacity);
+            }
+            boolean restored = existing && buffer.getLong(0) == MAGIC && Files.exists(events);
+
+            List<String> names = restored ? readEvents(events) : List.of();
+            if (!restored) {
+                Files.deleteIfExists(events);
+                buffer.putLong(0, MAGIC);
+                buffer.putInt(CAPACITY_OFFSET, capacity);
+                buffer.putLong(STATE_OFFSET, 0);
+            }
+            DataOutputStream eventLog = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(events,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+            if (!restored) {
+                eventLog.writeUTF(owner == null ? "" : owner);
+                eventLog.flush();
+            }
+
+            OffHeapTicketInventory inventory = new OffHeapTicketInventory(capacity, buffer, eventLog);
+            for (int i = 1; i < names.size(); i++) {
+                inventory.dictionary.encode(names.get(i)); // Codes are reassigned in the order they were logged
+            }
+            inventory.persistedEvents = inventory.dictionary.size();
+            inventory.head = buffer.getInt(HEAD_OFFSET);
+            inventory.size = buffer.getInt(SIZE_OFFSET);
+            if (restored) {
+                LoggerUtil.log(POOL, Level.INFO, "Restored " + inventory.size + " tickets from " + file);
+            }
+            return inventory;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ticket inventory " + file, e);
+        }
+    }
+
+    /**
+     * Reads the owner label stored with an inventory file.
+     *
+     * @param file The file holding the ticket records.
+     * @return The owner label, or null if the file has no readable event names.
+     */
+    public static String ownerOf(Path file) {
+        try {
+            List<String> names = readEvents(eventsFile(file));
+            return names.isEmpty() ? null : names.get(0);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Path eventsFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".events");
+    }
+
+    private static List<String> readEvents(Path events) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(events)))) {
+            while (true) {
+                names.add(in.readUTF());
+            }
+        } catch (EOFException e) {
+            return names; // A name cut short by a crash is dropped with the rest of the file
+        }
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Off-heap inventory capacity out of range: " + capacity);
+        }
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(Ticket ticket) {
+        int event = dictionary.encode(ticket.getEventName()); // Encode outside the monitor
+        synchronized (this) {
+            if (size >= capacity) {
+                return false;
+            }
+            store(slot(size), ticket, event);
+            setState(head, size + 1);
+            return true;
+        }
+    }
+
+    @Override
+    public synchronized Ticket poll() {
+        if (size == 0) {
+            return null;
+        }
+        Ticket ticket = load(head);
+        setState(slot(1), size - 1);
+        return ticket;
+    }
+
+    @Override
+    public int offerAll(List<Ticket> batch, int from) {
+        int[] codes = new int[Math.max(0, batch.size() - from)];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = dictionary.encode(batch.get(from + i).getEventName());
+        }
+        synchronized (this) {
+            int stored = Math.min(capacity - size, codes.length);
+            for (int i = 0; i < stored; i++) {
+                store(slot(size + i), batch.get(from + i), codes[i]);
+            }
+            setState(head, size + stored);
+            return stored;
+        }
+    }
+
+    @Override
+    public int offerRange(String eventName, long firstId, int count, long priceInCents) {
+        int event = dictionary.encode(eventName);
+        synchronized (this) {
+            int stored = Math.max(0, Math.min(capacity - size, count));
+            for (int i = 0; i < stored; i++) {
+                store(slot(size + i), firstId + i, event, priceInCents);
+            }
+            setState(head, size + stored);
+            return stored;
+        }
+    }
+
+    @Override
+    public synchronized int pollAll(int max, List<Ticket> into) {
+        int removed = Math.max(0, Math.min(max, size));
+        for (int i = 0; i < removed; i++) {
+            into.add(load(slot(i)));
+        }
+        setState(slot(removed), size - removed);
+        return removed;
+    }
+
+    @Override
+    public synchronized boolean pollExactly(int count, List<Ticket> into) {
+        if (size < count) {
+            return false;
+        }
+        pollAll(count, into);
+        return true;
+    }
+
+    /**
+     * Maps an offset from the oldest ticket to its slot in the buffer.
+     */
+    private int slot(int offset) {
+        int slot = head + offset;
+        return slot >= capacity ? slot - capacity : slot;
+    }
+
+    /**
+     * Writes a ticket's fields into a slot.
+     */
+    private void store(int slot, Ticket ticket, int event) {
+        store(slot, ticket.getTicketID(), event, ticket.getPriceInCents());
+    }
+
+    /**
+     * Writes a ticket's fields into a slot. New event names are logged before the record that uses them.
+     */
+    private void store(int slot, long ticketId, int event, long priceInCents) {
+        if (eventLog != null && event >= persistedEvents) {
+            logEvents();
+        }
+        int position = HEADER_BYTES + slot * RECORD_BYTES;
+        buffer.putLong(position, ticketId);
+        buffer.putLong(position + 8, priceInCents);
+        buffer.putInt(position + 16, event);
+    }
+
+    /**
+     * Builds a ticket from the fields in a slot.
+     */
+    private Ticket load(int slot) {
+        int position = HEADER_BYTES + slot * RECORD_BYTES;
+        return Ticket.ofCents(buffer.getLong(position), dictionary.decode(buffer.getInt(position + 16)),
+                buffer.getLong(position + 8));
+    }
+
+    /**
+     * Appends the event names encoded since the last call to the event log.
+     */
+    private void logEvents() {
+        try {
+            int encoded = dictionary.size();
+            for (int code = persistedEvents; code < encoded; code++) {
+                eventLog.writeUTF(dictionary.decode(code));
+            }
+            eventLog.flush();
+            persistedEvents = encoded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot record event names of ticket inventory", e);
+        }
+    }
+
+    /**
+     * Moves the head and size in memory and in the header. Both header fields change in a single
+     * write, and records are written before it, so a reopened file never sees a half-applied update.
+     */
+    private void setState(int head, int size) {
+        buffer.putLong(STATE_OFFSET, ((long) head << 32) | (size & 0xFFFFFFFFL));
+        this.head = head;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized void clear() {
+        setState(0, 0);
+    }
+
+    @Override
+    public synchronized List<Ticket> snapshot() {
+        List<Ticket> tickets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tickets.add(load(slot(i)));
+        }
+        return tickets;
+    }
+}
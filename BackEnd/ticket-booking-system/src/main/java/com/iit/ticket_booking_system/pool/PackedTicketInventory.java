@@ -0,0 +1,162 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact ticket inventory that stores tickets as columns of primitives instead of {@link Ticket} objects.
+ * <p>
+ * Each stored ticket takes one slot in three preallocated parallel arrays: its id, its event as a
+ * dictionary code, and its price in cents, 20 bytes in total with no per-ticket object or list node.
+ * The arrays form a circular buffer guarded by a single monitor. {@link Ticket} objects are only
+ * built when a ticket leaves the inventory.
+ */
+public class PackedTicketInventory implements TicketInventory {
+
+    private final int capacity; // Maximum tickets allowed in the inventory
+    private final long[] ids; // Ticket id of each slot
+    private final int[] events; // Event code of each slot
+    private final long[] prices; // Price in cents of each slot
+    private final EventDictionary dictionary = new EventDictionary(); // Event names of the stored tickets
+    private int head; // Slot of the oldest ticket
+    private volatile int size; // Tickets stored, written under the monitor and read without it
+
+    /**
+     * Constructs a packed inventory with the given capacity. All storage is allocated up front.
+     *
+     * @param capacity The maximum number of tickets the inventory can hold.
+     */
+    public PackedTicketInventory(int capacity) {
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.events = new int[capacity];
+        this.prices = new long[capacity];
+    }
+
+    @Override
+    public boolean offer(Ticket ticket) {
+        int event = dictionary.encode(ticket.getEventName()); // Encode outside the monitor
+        synchronized (this) {
+            if (size >= capacity) {
+                return false;
+            }
+            store(slot(size), ticket, event);
+            size = size + 1;
+            return true;
+        }
+    }
+
+    @Override
+    public synchronized Ticket poll() {
+        if (size == 0) {
+            return null;
+        }
+        Ticket ticket = load(head);
+        head = slot(1);
+        size = size - 1;
+        return ticket;
+    }
+
+    @Override
+    public int offerAll(List<Ticket> batch, int from) {
+        int[] codes = new int[Math.max(0, batch.size() - from)];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = dictionary.encode(batch.get(from + i).getEventName());
+        }
+        synchronized (this) {
+            int stored = Math.min(capacity - size, codes.length);
+            for (int i = 0; i < stored; i++) {
+                store(slot(size + i), batch.get(from + i), codes[i]);
+            }
+            size = size + stored;
+            return stored;
+        }
+    }
+
+    @Override
+    public int offerRange(String eventName, long firstId, int count, long priceInCents) {
+        int event = dictionary.encode(eventName);
+        synchronized (this) {
+            int stored = Math.max(0, Math.min(capacity - size, count));
+            for (int i = 0; i < stored; i++) {
+                int slot = slot(size + i);
+                ids[slot] = firstId + i;
+                events[slot] = event;
+                prices[slot] = priceInCents;
+            }
+            size = size + stored;
+            return stored;
+        }
+    }
+
+    @Override
+    public synchronized int pollAll(int max, List<Ticket> into) {
+        int removed = Math.max(0, Math.min(max, size));
+        for (int i = 0; i < removed; i++) {
+            into.add(load(slot(i)));
+        }
+        head = slot(removed);
+        size = size - removed;
+        return removed;
+    }
+
+    @Override
+    public synchronized boolean pollExactly(int count, List<Ticket> into) {
+        if (size < count) {
+            return false;
+        }
+        pollAll(count, into);
+        return true;
+    }
+
+    /**
+     * Maps an offset from the oldest ticket to its slot in the arrays.
+     */
+    private int slot(int offset) {
+        int slot = head + offset;
+        return slot >= capacity ? slot - capacity : slot;
+    }
+
+    /**
+     * Writes a ticket's fields into a slot.
+     */
+    private void store(int slot, Ticket ticket, int event) {
+        ids[slot] = ticket.getTicketID();
+        events[slot] = event;
+        prices[slot] = ticket.getPriceInCents();
+    }
+
+    /**
+     * Builds a ticket from the fields in a slot.
+     */
+    private Ticket load(int slot) {
+        return Ticket.ofCents(ids[slot], dictionary.decode(events[slot]), prices[slot]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public synchronized List<Ticket> snapshot() {
+        List<Ticket> tickets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tickets.add(load(slot(i)));
+        }
+        return tickets;
+    }
+}
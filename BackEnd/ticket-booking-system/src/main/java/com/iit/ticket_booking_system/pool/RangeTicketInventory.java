@@ -0,0 +1,163 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Ticket inventory that stores releases as ranges of consecutive ticket ids instead of individual tickets.
+ * <p>
+ * A range (event, price, next id, remaining count) is a single entry however many tickets it covers,
+ * so storing a release of a million tickets takes constant time and memory. Tickets are carved off the
+ * oldest range one at a time as customers take them. Capacity is still counted in tickets, and a range
+ * that does not fit is stored in part. Access is guarded by a single monitor.
+ */
+public class RangeTicketInventory implements TicketInventory {
+
+    /**
+     * Tickets with consecutive ids, the same event and the same price.
+     */
+    private static final class TicketRange {
+        private final String eventName; // Event of every ticket in the range
+        private final long priceInCents; // Price of every ticket in the range
+        private long nextId; // Id of the next ticket to carve off
+        private int remaining; // Tickets left in the range
+
+        private TicketRange(String eventName, long priceInCents, long nextId, int remaining) {
+            this.eventName = eventName;
+            this.priceInCents = priceInCents;
+            this.nextId = nextId;
+            this.remaining = remaining;
+        }
+    }
+
+    private final Deque<TicketRange> ranges = new ArrayDeque<>(); // Ranges in insertion order
+    private final int capacity; // Maximum tickets allowed in the inventory
+    private volatile int size; // Tickets across all ranges, written under the monitor and read without it
+
+    /**
+     * Constructs a range inventory with the given capacity.
+     *
+     * @param capacity The maximum number of tickets the inventory can hold.
+     */
+    public RangeTicketInventory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(Ticket ticket) {
+        return offerRange(ticket.getEventName(), ticket.getTicketID(), 1, ticket.getPriceInCents()) == 1;
+    }
+
+    @Override
+    public synchronized int offerRange(String eventName, long firstId, int count, long priceInCents) {
+        int stored = Math.max(0, Math.min(capacity - size, count));
+        if (stored == 0) {
+            return 0;
+        }
+        TicketRange last = ranges.peekLast();
+        if (last != null && last.nextId + last.remaining == firstId && last.priceInCents == priceInCents
+                && Objects.equals(last.eventName, eventName)) {
+            last.remaining += stored; // Continues the newest range, e.g. a single ticket after its predecessor
+        } else {
+            ranges.addLast(new TicketRange(eventName, priceInCents, firstId, stored));
+        }
+        size = size + stored;
+        return stored;
+    }
+
+    @Override
+    public synchronized Ticket poll() {
+        TicketRange range = ranges.peekFirst();
+        if (range == null) {
+            return null;
+        }
+        Ticket ticket = carve(range);
+        size = size - 1;
+        return ticket;
+    }
+
+    @Override
+    public synchronized int offerAll(List<Ticket> batch, int from) {
+        int stored = 0;
+        for (int i = from; i < batch.size(); i++) {
+            Ticket ticket = batch.get(i);
+            if (offerRange(ticket.getEventName(), ticket.getTicketID(), 1, ticket.getPriceInCents()) == 0) {
+                break;
+            }
+            stored++;
+        }
+        return stored;
+    }
+
+    @Override
+    public synchronized int pollAll(int max, List<Ticket> into) {
+        int removed = Math.max(0, Math.min(max, size));
+        for (int i = 0; i < removed; i++) {
+            into.add(carve(ranges.peekFirst()));
+        }
+        size = size - removed;
+        return removed;
+    }
+
+    @Override
+    public synchronized boolean pollExactly(int count, List<Ticket> into) {
+        if (size < count) {
+            return false;
+        }
+        pollAll(count, into);
+        return true;
+    }
+
+    /**
+     * Builds the next ticket of a range at the head of the queue, dropping the range once it is used up.
+     */
+    private Ticket carve(TicketRange range) {
+        Ticket ticket = Ticket.ofCents(range.nextId, range.eventName, range.priceInCents);
+        range.nextId++;
+        if (--range.remaining == 0) {
+            ranges.pollFirst();
+        }
+        return ticket;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized void clear() {
+        ranges.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized List<Ticket> snapshot() {
+        List<Ticket> tickets = new ArrayList<>(size);
+        for (TicketRange range : ranges) {
+            for (int i = 0; i < range.remaining; i++) {
+                tickets.add(Ticket.ofCents(range.nextId + i, range.eventName, range.priceInCents));
+            }
+        }
+        return tickets;
+    }
+
+    /**
+     * Gets the number of ranges currently stored.
+     *
+     * @return The number of range entries.
+     */
+    public synchronized int getRangeCount() {
+        return ranges.size();
+    }
+}
@@ -0,0 +1,239 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bounded multi-producer/multi-consumer ticket inventory.
+ * <p>
+ * Tickets are kept in a preallocated ring whose length is the next power of two above the
+ * capacity. Every slot carries a sequence number that tells producers and consumers whether
+ * the slot is free for the current lap, so both sides only need a CAS on their own cursor.
+ * The capacity limit is enforced against the consumer cursor, which keeps the logical capacity
+ * exact even though the ring itself is rounded up.
+ */
+public class RingBufferTicketInventory implements TicketInventory {
+
+    private final int capacity; // Maximum tickets allowed in the inventory
+    private final int mask; // Ring length - 1, used to map positions to slots
+    private final AtomicReferenceArray<Ticket> slots; // Ticket stored in each slot
+    private final AtomicLongArray sequences; // Lap marker of each slot
+    private final AtomicLong head = new AtomicLong(); // Next position to consume
+    private final AtomicLong tail = new AtomicLong(); // Next position to fill
+
+    /**
+     * Constructs a ring buffer inventory with the given capacity.
+     *
+     * @param capacity The maximum number of tickets the inventory can hold.
+     * @throws IllegalArgumentException if the capacity is negative or too large for a ring.
+     */
+    public RingBufferTicketInventory(int capacity) {
+        if (capacity < 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ring buffer capacity out of range: " + capacity);
+        }
+        int length = ringLength(capacity);
+        this.capacity = capacity;
+        this.mask = length - 1;
+        this.slots = new AtomicReferenceArray<>(length);
+        this.sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i); // Every slot starts free for the first lap
+        }
+    }
+
+    /**
+     * Rounds the capacity up to the power of two used as the ring length.
+     *
+     * @param capacity The requested capacity.
+     * @return The ring length, at least 1.
+     */
+    static int ringLength(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    @Override
+    public boolean offer(Ticket ticket) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                // Slot is free for this lap; make sure the logical capacity still allows it
+                if (position - head.get() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, ticket);
+                    sequences.set(index, position + 1); // Publish the ticket to consumers
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // Slot still holds a ticket from the previous lap
+            } else {
+                position = tail.get(); // Another producer claimed this position
+            }
+        }
+    }
+
+    @Override
+    public Ticket poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Ticket ticket = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + mask + 1); // Free the slot for the next lap
+                    return ticket;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null; // Slot has not been published yet
+            } else {
+                position = head.get(); // Another consumer claimed this position
+            }
+        }
+    }
+
+    /**
+     * Claims a run of free positions with a single CAS on the producer cursor, then fills them.
+     * A claimed slot may still be being emptied by a consumer of the previous lap, in which case
+     * the producer yields until that consumer has released it.
+     */
+    @Override
+    public int offerAll(List<Ticket> batch, int from) {
+        int remaining = batch.size() - from;
+        if (remaining <= 0) {
+            return 0;
+        }
+        long position;
+        int count;
+        do {
+            position = tail.get();
+            long free = capacity - (position - head.get());
+            if (free <= 0) {
+                return 0;
+            }
+            count = (int) Math.min(free, remaining);
+        } while (!tail.compareAndSet(position, position + count));
+
+        for (int i = 0; i < count; i++) {
+            long slotPosition = position + i;
+            int index = (int) (slotPosition & mask);
+            while (sequences.get(index) != slotPosition) {
+                Thread.yield(); // A consumer has claimed the slot but not yet released it
+            }
+            slots.set(index, batch.get(from + i));
+            sequences.set(index, slotPosition + 1);
+        }
+        return count;
+    }
+
+    /**
+     * Claims a run of filled positions with a single CAS on the consumer cursor, then empties them.
+     */
+    @Override
+    public int pollAll(int max, List<Ticket> into) {
+        if (max <= 0) {
+            return 0;
+        }
+        long position;
+        int count;
+        do {
+            position = head.get();
+            long available = tail.get() - position;
+            if (available <= 0) {
+                return 0;
+            }
+            count = (int) Math.min(available, max);
+        } while (!head.compareAndSet(position, position + count));
+
+        drain(position, count, into);
+        return count;
+    }
+
+    /**
+     * Claims exactly the requested run of filled positions with a single CAS on the consumer cursor,
+     * or nothing if fewer positions are filled. Concurrent group buyers either win the whole run or
+     * retry against the new cursor, so none of them ever holds part of a group.
+     */
+    @Override
+    public boolean pollExactly(int count, List<Ticket> into) {
+        if (count <= 0) {
+            return true;
+        }
+        long position;
+        do {
+            position = head.get();
+            if (tail.get() - position < count) {
+                return false;
+            }
+        } while (!head.compareAndSet(position, position + count));
+
+        drain(position, count, into);
+        return true;
+    }
+
+    /**
+     * Empties a run of positions claimed by the caller. A claimed slot may still be being filled by
+     * a producer, in which case the consumer yields until that producer has published it.
+     */
+    private void drain(long position, int count, List<Ticket> into) {
+        for (int i = 0; i < count; i++) {
+            long slotPosition = position + i;
+            int index = (int) (slotPosition & mask);
+            while (sequences.get(index) != slotPosition + 1) {
+                Thread.yield(); // A producer has claimed the slot but not yet published it
+            }
+            into.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, slotPosition + mask + 1);
+        }
+    }
+
+    @Override
+    public int size() {
+        long consumed = head.get();
+        long produced = tail.get();
+        long size = produced - consumed;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // Drain every published ticket
+        }
+    }
+
+    @Override
+    public List<Ticket> snapshot() {
+        List<Ticket> tickets = new ArrayList<>();
+        long end = tail.get();
+        for (long position = head.get(); position < end; position++) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) == position + 1) {
+                Ticket ticket = slots.get(index);
+                if (ticket != null) {
+                    tickets.add(ticket);
+                }
+            }
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,120 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.List;
+
+/**
+ * Storage backend for the tickets held by the {@link com.iit.ticket_booking_system.TicketPool}.
+ * <p>
+ * Implementations must be thread-safe and must never block: {@link #offer(Ticket)} reports a full
+ * inventory by returning {@code false} and {@link #poll()} reports an empty one by returning {@code null}.
+ * Waiting for space or for tickets is handled by the pool itself.
+ */
+public interface TicketInventory {
+
+    /**
+     * Stores a ticket if there is room for it.
+     *
+     * @param ticket The ticket to store.
+     * @return true if the ticket was stored, false if the inventory is full.
+     */
+    boolean offer(Ticket ticket);
+
+    /**
+     * Removes the oldest ticket from the inventory.
+     *
+     * @return The removed ticket, or null if the inventory is empty.
+     */
+    Ticket poll();
+
+    /**
+     * Stores as many tickets of the batch as there is room for, starting at the given index.
+     * Implementations should move the whole run in a single step; the default stores them one by one.
+     *
+     * @param batch The tickets to store.
+     * @param from  The index of the first ticket to store.
+     * @return The number of tickets stored, 0 if the inventory is full.
+     */
+    default int offerAll(List<Ticket> batch, int from) {
+        int stored = 0;
+        for (int i = from; i < batch.size() && offer(batch.get(i)); i++) {
+            stored++;
+        }
+        return stored;
+    }
+
+    /**
+     * Stores as many tickets of a range as there is room for, lowest ids first. The tickets of a
+     * range share their event and price and have consecutive ids. Implementations should store the
+     * range without building a {@link Ticket} for each id; the default builds and stores them one by one.
+     *
+     * @param eventName    The event of every ticket in the range.
+     * @param firstId      The id of the first ticket.
+     * @param count        The number of tickets in the range.
+     * @param priceInCents The price of every ticket, in cents.
+     * @return The number of tickets stored, 0 if the inventory is full.
+     */
+    default int offerRange(String eventName, long firstId, int count, long priceInCents) {
+        int stored = 0;
+        while (stored < count && offer(Ticket.ofCents(firstId + stored, eventName, priceInCents))) {
+            stored++;
+        }
+        return stored;
+    }
+
+    /**
+     * Removes up to the given number of the oldest tickets from the inventory.
+     * Implementations should move the whole run in a single step; the default removes them one by one.
+     *
+     * @param max  The maximum number of tickets to remove.
+     * @param into The list the removed tickets are appended to, oldest first.
+     * @return The number of tickets removed, 0 if the inventory is empty.
+     */
+    default int pollAll(int max, List<Ticket> into) {
+        int removed = 0;
+        Ticket ticket;
+        while (removed < max && (ticket = poll()) != null) {
+            into.add(ticket);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes exactly the given number of the oldest tickets in one atomic step, or none at all if
+     * fewer are stored. No other caller can take part of the run, so concurrent group purchases
+     * never split the tickets between them.
+     *
+     * @param count The number of tickets to remove.
+     * @param into  The list the removed tickets are appended to, oldest first.
+     * @return true if the tickets were removed, false if the inventory holds fewer than count.
+     */
+    boolean pollExactly(int count, List<Ticket> into);
+
+    /**
+     * Gets the number of tickets currently stored.
+     *
+     * @return The current number of tickets.
+     */
+    int size();
+
+    /**
+     * Gets the maximum number of tickets the inventory can hold.
+     *
+     * @return The inventory capacity.
+     */
+    int capacity();
+
+    /**
+     * Removes every ticket from the inventory.
+     */
+    void clear();
+
+    /**
+     * Gets a point-in-time copy of the stored tickets, oldest first.
+     *
+     * @return A list containing the tickets currently stored.
+     */
+    List<Ticket> snapshot();
+}
@@ -0,0 +1,614 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.util.WaitEventSummary;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * One partition of the ticket pool, holding the tickets of a single event.
+ * <p>
+ * Each shard has its own inventory, capacity and wait lock, so vendors and customers of
+ * unrelated events never contend with each other. The lock is only taken by threads that
+ * have to wait because the shard is full or empty. Asynchronous adds that do not fit are
+ * queued on the shard and stored by whichever customer frees the space, so no thread is
+ * parked on their behalf.
+ */
+public class TicketShard {
+
+    private final String eventName; // Event whose tickets this shard holds
+    private final TicketInventory tickets; // Non-blocking store holding the tickets
+
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition notFull = waitLock.newCondition(); // Signalled when a ticket is taken
+    private final Condition notEmpty = waitLock.newCondition(); // Signalled when a ticket is added
+    private final AtomicInteger waitingVendors = new AtomicInteger(); // Producers parked on notFull
+    private final AtomicInteger waitingCustomers = new AtomicInteger(); // Consumers parked on notEmpty
+    private final Condition enoughTickets = waitLock.newCondition(); // Signalled when the smallest waiting group fits
+    private final AtomicInteger waitingGroups = new AtomicInteger(); // Group buyers parked on enoughTickets
+    private volatile int smallestGroup = Integer.MAX_VALUE; // Fewest tickets a parked group needs, written under the lock
+    private final LongAdder lockAcquisitions = new LongAdder(); // Times the wait lock was taken
+    private final LongAdder wakeups = new LongAdder(); // Times a parked thread was signalled
+    private final WaitEventSummary fullWaits; // Counts the waits of vendors while the shard is full
+    private final WaitEventSummary emptyWaits; // Counts the waits of customers while the shard is empty
+
+    private final Deque<PendingAdd> pendingAdds = new ConcurrentLinkedDeque<>(); // Async adds waiting for space
+    private final AtomicInteger pendingAddCount = new AtomicInteger(); // Async adds not yet stored or dropped
+
+    /**
+     * A ticket handed to {@link #addAsync(Ticket)} that is waiting for space in the shard.
+     */
+    private static final class PendingAdd {
+        private final Ticket ticket; // Ticket to store
+        private final CompletableFuture<Void> future; // Completed once the ticket is stored
+
+        private PendingAdd(Ticket ticket, CompletableFuture<Void> future) {
+            this.ticket = ticket;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Constructs a shard for the given event, summarizing its own waits.
+     *
+     * @param eventName The event whose tickets the shard holds.
+     * @param tickets   The inventory that stores the tickets.
+     */
+    public TicketShard(String eventName, TicketInventory tickets) {
+        this(eventName, tickets, new WaitEventSummary("pool full", "producers", WaitEventSummary.DEFAULT_INTERVAL_NANOS),
+                new WaitEventSummary("pool empty", "consumers", WaitEventSummary.DEFAULT_INTERVAL_NANOS));
+    }
+
+    /**
+     * Constructs a shard for the given event whose waits are counted in the given summaries,
+     * which the shards of a pool share.
+     *
+     * @param eventName  The event whose tickets the shard holds.
+     * @param tickets    The inventory that stores the tickets.
+     * @param fullWaits  The summary of the waits of vendors while the shard is full.
+     * @param emptyWaits The summary of the waits of customers while the shard holds too few tickets.
+     */
+    public TicketShard(String eventName, TicketInventory tickets, WaitEventSummary fullWaits, WaitEventSummary emptyWaits) {
+        this.eventName = eventName;
+        this.tickets = tickets;
+        this.fullWaits = fullWaits;
+        this.emptyWaits = emptyWaits;
+    }
+
+    /**
+     * Gets the event whose tickets this shard holds.
+     *
+     * @return The event name.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Adds a ticket if the shard has room for it, without waiting.
+     *
+     * @param ticket The ticket to add.
+     * @return true if the ticket was added, false if the shard is full.
+     */
+    public boolean offer(Ticket ticket) {
+        if (!tickets.offer(ticket)) {
+            return false;
+        }
+        ticketsArrived(1); // Wake a customer waiting on this event
+        return true;
+    }
+
+    /**
+     * Takes a ticket if one is available, without waiting.
+     *
+     * @return The ticket taken, or null if the shard is empty.
+     */
+    public Ticket poll() {
+        Ticket ticket = tickets.poll();
+        if (ticket != null) {
+            signalWaiting(waitingVendors, notFull, 1); // Wake a vendor waiting for space
+        }
+        return ticket;
+    }
+
+    /**
+     * Adds as many tickets of the batch as fit, starting at the given index, without waiting.
+     * The run is stored in one step and waiting customers are woken once for the whole run.
+     *
+     * @param batch The tickets to add.
+     * @param from  The index of the first ticket to add.
+     * @return The number of tickets added, 0 if the shard is full.
+     */
+    public int offerAll(List<Ticket> batch, int from) {
+        int added = tickets.offerAll(batch, from);
+        if (added > 0) {
+            ticketsArrived(added);
+        }
+        return added;
+    }
+
+    /**
+     * Adds as many tickets of a range as fit, lowest ids first, without waiting.
+     * The range is stored in one step and waiting customers are woken once for all of it.
+     *
+     * @param rangeEvent   The event of every ticket in the range.
+     * @param firstId      The id of the first ticket.
+     * @param count        The number of tickets in the range.
+     * @param priceInCents The price of every ticket, in cents.
+     * @return The number of tickets added, 0 if the shard is full.
+     */
+    public int offerRange(String rangeEvent, long firstId, int count, long priceInCents) {
+        int added = tickets.offerRange(rangeEvent, firstId, count, priceInCents);
+        if (added > 0) {
+            ticketsArrived(added);
+        }
+        return added;
+    }
+
+    /**
+     * Takes up to the given number of tickets without waiting.
+     *
+     * @param max  The maximum number of tickets to take.
+     * @param into The list the tickets are appended to.
+     * @return The number of tickets taken, 0 if the shard is empty.
+     */
+    public int pollAll(int max, List<Ticket> into) {
+        int taken = tickets.pollAll(max, into);
+        if (taken > 0) {
+            signalWaiting(waitingVendors, notFull, taken);
+        }
+        return taken;
+    }
+
+    /**
+     * Takes exactly the given number of tickets together if that many are available, without waiting.
+     *
+     * @param count The number of tickets to take.
+     * @param into  The list the tickets are appended to.
+     * @return true if the tickets were taken, false if the shard holds fewer than count.
+     */
+    public boolean pollExactly(int count, List<Ticket> into) {
+        if (!tickets.pollExactly(count, into)) {
+            return false;
+        }
+        if (count > 0) {
+            signalWaiting(waitingVendors, notFull, count);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a ticket, waiting while the shard is at full capacity.
+     *
+     * @param ticket The ticket to add.
+     * @throws InterruptedException if the vendor is interrupted while waiting.
+     */
+    public void put(Ticket ticket) throws InterruptedException {
+        offer(ticket, -1, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds a ticket, waiting up to the given time while the shard is at full capacity.
+     *
+     * @param ticket  The ticket to add.
+     * @param timeout The maximum time to wait, or a negative value to wait without limit.
+     * @param unit    The unit of the timeout.
+     * @return true if the ticket was added, false if the timeout elapsed first.
+     * @throws InterruptedException if the vendor is interrupted while waiting.
+     */
+    public boolean offer(Ticket ticket, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(ticket)) {
+            return true;
+        }
+        Boolean added = await(() -> tickets.offer(ticket) ? Boolean.TRUE : null,
+                notFull, waitingVendors, unit.toNanos(timeout), timeout >= 0, fullWaits);
+        if (added == null) {
+            return false;
+        }
+        ticketsArrived(1);
+        return true;
+    }
+
+    /**
+     * Adds as many tickets of the batch as fit, starting at the given index, waiting only while
+     * the shard is completely full. Tickets that do not fit are left for the caller to retry.
+     *
+     * @param batch The tickets to add.
+     * @param from  The index of the first ticket to add.
+     * @return The number of tickets added, at least 1 unless there was nothing to add.
+     * @throws InterruptedException if the vendor is interrupted while waiting.
+     */
+    public int putAll(List<Ticket> batch, int from) throws InterruptedException {
+        int added = offerAll(batch, from);
+        if (added > 0 || from >= batch.size()) {
+            return added;
+        }
+        added = await(() -> {
+            int stored = tickets.offerAll(batch, from);
+            return stored > 0 ? stored : null;
+        }, notFull, waitingVendors, 0, false, fullWaits);
+        ticketsArrived(added);
+        return added;
+    }
+
+    /**
+     * Adds as many tickets of a range as fit, lowest ids first, waiting only while the shard is
+     * completely full. Tickets that do not fit are left for the caller to retry.
+     *
+     * @param rangeEvent   The event of every ticket in the range.
+     * @param firstId      The id of the first ticket.
+     * @param count        The number of tickets in the range.
+     * @param priceInCents The price of every ticket, in cents.
+     * @return The number of tickets added, at least 1 unless the range is empty.
+     * @throws InterruptedException if the vendor is interrupted while waiting.
+     */
+    public int putRange(String rangeEvent, long firstId, int count, long priceInCents) throws InterruptedException {
+        int added = offerRange(rangeEvent, firstId, count, priceInCents);
+        if (added > 0 || count <= 0) {
+            return added;
+        }
+        added = await(() -> {
+            int stored = tickets.offerRange(rangeEvent, firstId, count, priceInCents);
+            return stored > 0 ? stored : null;
+        }, notFull, waitingVendors, 0, false, fullWaits);
+        ticketsArrived(added);
+        return added;
+    }
+
+    /**
+     * Takes a ticket of this shard's event, waiting while the shard is empty.
+     *
+     * @return The ticket taken.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    public Ticket take() throws InterruptedException {
+        return poll(-1, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Takes a ticket of this shard's event, waiting up to the given time while the shard is empty.
+     *
+     * @param timeout The maximum time to wait, or a negative value to wait without limit.
+     * @param unit    The unit of the timeout.
+     * @return The ticket taken, or null if the timeout elapsed first.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    public Ticket poll(long timeout, TimeUnit unit) throws InterruptedException {
+        Ticket ticket = poll();
+        if (ticket != null) {
+            return ticket;
+        }
+        ticket = await(tickets::poll, notEmpty, waitingCustomers, unit.toNanos(timeout), timeout >= 0,
+                emptyWaits);
+        if (ticket != null) {
+            signalWaiting(waitingVendors, notFull, 1);
+        }
+        return ticket;
+    }
+
+    /**
+     * Takes up to the given number of tickets of this shard's event, waiting only while the shard is empty.
+     *
+     * @param max The maximum number of tickets to take.
+     * @return The tickets taken, at least one unless max is 0.
+     * @throws InterruptedException if the customer is interrupted while waiting.
+     */
+    public List<Ticket> takeAll(int max) throws InterruptedException {
+        List<Ticket> taken = new ArrayList<>(Math.min(max, 64));
+        if (max <= 0 || pollAll(max, taken) > 0) {
+            return taken;
+        }
+        await(() -> tickets.pollAll(max, taken) > 0 ? Boolean.TRUE : null,
+                notEmpty, waitingCustomers, 0, false, emptyWaits);
+        signalWaiting(waitingVendors, notFull, taken.size());
+        return taken;
+    }
+
+    /**
+     * Takes exactly the given number of tickets of this shard's event together, waiting up to the
+     * given time until that many are in the shard. A waiting group holds no tickets and only parks
+     * on this shard's lock, which it releases while parked, so group buyers can neither deadlock
+     * each other nor keep single customers and vendors out. Group buyers wait on their own
+     * condition, so a group that still does not fit never swallows a wakeup meant for a single
+     * customer, and are only woken once the shard holds enough tickets for the smallest of them.
+     *
+     * @param count   The number of tickets to take.
+     * @param timeout The maximum time to wait, or a negative value to wait without limit.
+     * @param unit    The unit of the timeout.
+     * @return The tickets taken, or null if the timeout elapsed first.
+     * @throws IllegalArgumentException if the group is larger than the shard can ever hold.
+     * @throws InterruptedException     if the customer is interrupted while waiting.
+     */
+    public List<Ticket> takeExactly(int count, long timeout, TimeUnit unit) throws InterruptedException {
+        if (count > tickets.capacity()) {
+            throw new IllegalArgumentException("A group of " + count + " tickets never fits in a shard of "
+                    + tickets.capacity());
+        }
+        List<Ticket> taken = new ArrayList<>(Math.max(count, 0));
+        if (pollExactly(count, taken)) {
+            return taken;
+        }
+        long nanos = unit.toNanos(timeout);
+        lockAcquisitions.increment();
+        waitLock.lockInterruptibly();
+        waitingGroups.incrementAndGet();
+        boolean waited = false; // Whether the group had to park
+        long began = 0;
+        try {
+            while (true) {
+                if (count < smallestGroup) {
+                    smallestGroup = count; // Publish the group's need before re-checking the inventory
+                }
+                if (tickets.pollExactly(count, taken)) {
+                    break;
+                }
+                if (timeout >= 0 && nanos <= 0) {
+                    return null; // Every parked group is woken together, so there is no signal to pass on
+                }
+                if (!waited) {
+                    waited = true;
+                    began = emptyWaits.started();
+                }
+                emptyWaits.parked();
+                if (timeout >= 0) {
+                    nanos = enoughTickets.awaitNanos(nanos);
+                } else {
+                    enoughTickets.await();
+                }
+            }
+        } finally {
+            waitingGroups.decrementAndGet();
+            waitLock.unlock();
+            if (waited) {
+                emptyWaits.finished(began);
+            }
+        }
+        signalWaiting(waitingVendors, notFull, count);
+        return taken;
+    }
+
+    /**
+     * Adds a ticket without blocking the caller. If the shard is full, the ticket is queued and
+     * stored by the customer who next frees space, which then completes the returned future.
+     *
+     * @param ticket The ticket to add.
+     * @return A future completed once the ticket is in the shard.
+     */
+    public CompletableFuture<Void> addAsync(Ticket ticket) {
+        if (pendingAddCount.get() == 0 && offer(ticket)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pendingAdds.addLast(new PendingAdd(ticket, future));
+        pendingAddCount.incrementAndGet();
+        storePendingAdds(); // Space may have been freed before the add was queued
+        return future;
+    }
+
+    /**
+     * Stores queued asynchronous adds for as long as the shard has room.
+     * Called after tickets are taken, on the customer's thread.
+     *
+     * @return The number of queued tickets that were stored.
+     */
+    public int storePendingAdds() {
+        int stored = 0;
+        while (pendingAddCount.get() > 0) {
+            PendingAdd pending = pendingAdds.pollFirst();
+            if (pending == null) {
+                break; // Another thread is storing the remaining adds
+            }
+            if (pending.future.isDone()) {
+                pendingAddCount.decrementAndGet(); // Cancelled by the vendor, drop it
+                continue;
+            }
+            if (tickets.offer(pending.ticket)) {
+                pendingAddCount.decrementAndGet();
+                pending.future.complete(null);
+                stored++;
+                continue;
+            }
+            pendingAdds.addFirst(pending);
+            // Space freed while the add was out of the queue would have gone unnoticed, so check again
+            if (tickets.size() >= tickets.capacity()) {
+                break;
+            }
+        }
+        if (stored > 0) {
+            ticketsArrived(stored);
+        }
+        return stored;
+    }
+
+    /**
+     * Checks whether asynchronous adds are queued for space in this shard.
+     *
+     * @return true if at least one asynchronous add is waiting.
+     */
+    public boolean hasPendingAdds() {
+        return pendingAddCount.get() > 0;
+    }
+
+    /**
+     * Removes every ticket from the shard, cancels queued asynchronous adds and releases all waiting vendors.
+     */
+    public void clear() {
+        tickets.clear();
+
+        PendingAdd pending;
+        while ((pending = pendingAdds.pollFirst()) != null) {
+            pendingAddCount.decrementAndGet();
+            pending.future.completeExceptionally(new CancellationException("Ticket pool cleared"));
+        }
+
+        lockAcquisitions.increment();
+        waitLock.lock();
+        try {
+            notFull.signalAll(); // The whole shard was freed for blocked vendors
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of tickets currently in the shard.
+     *
+     * @return The current number of tickets.
+     */
+    public int size() {
+        return tickets.size();
+    }
+
+    /**
+     * Gets the maximum number of tickets the shard can hold.
+     *
+     * @return The shard capacity.
+     */
+    public int capacity() {
+        return tickets.capacity();
+    }
+
+    /**
+     * Gets a point-in-time copy of the tickets in the shard.
+     *
+     * @return The tickets currently in the shard, oldest first.
+     */
+    public List<Ticket> snapshot() {
+        return tickets.snapshot();
+    }
+
+    /**
+     * Gets the number of times the shard's wait lock has been taken.
+     *
+     * @return The wait lock acquisition count.
+     */
+    public long getLockAcquisitions() {
+        return lockAcquisitions.sum();
+    }
+
+    /**
+     * Gets the number of times a parked vendor or customer has been signalled.
+     *
+     * @return The wakeup count.
+     */
+    public long getWakeups() {
+        return wakeups.sum();
+    }
+
+    /**
+     * Parks the calling thread on a condition until an attempt succeeds.
+     * <p>
+     * The thread publishes itself as waiting before each re-check so that a signaller who
+     * changes the inventory afterwards is guaranteed to see it. A thread that gives up, either
+     * because it was interrupted or because its timeout elapsed, passes on any signal it may
+     * have consumed so that no other waiter misses it.
+     *
+     * @param attempt   The non-blocking attempt, returning null while it cannot succeed.
+     * @param condition The condition to wait on.
+     * @param waiting   The counter of threads parked on the condition.
+     * @param nanos     The maximum time to wait, in nanoseconds.
+     * @param timed     Whether the timeout applies.
+     * @param events    The summary counting the waits.
+     * @return The result of the successful attempt, or null if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private <T> T await(Supplier<T> attempt, Condition condition, AtomicInteger waiting,
+                        long nanos, boolean timed, WaitEventSummary events) throws InterruptedException {
+        lockAcquisitions.increment();
+        waitLock.lockInterruptibly();
+        waiting.incrementAndGet(); // Publish the wait before re-checking the inventory
+        boolean waited = false; // Whether the thread had to park
+        long began = 0;
+        try {
+            T result;
+            while ((result = attempt.get()) == null) {
+                if (timed && nanos <= 0) {
+                    condition.signal(); // Pass on a wakeup this thread may have consumed
+                    return null;
+                }
+                if (!waited) {
+                    waited = true;
+                    began = events.started();
+                }
+                events.parked();
+                try {
+                    if (timed) {
+                        nanos = condition.awaitNanos(nanos);
+                    } else {
+                        condition.await();
+                    }
+                } catch (InterruptedException e) {
+                    condition.signal(); // Pass on a wakeup this thread may have consumed
+                    throw e;
+                }
+            }
+            return result;
+        } finally {
+            waiting.decrementAndGet();
+            waitLock.unlock();
+            if (waited) {
+                events.finished(began);
+            }
+        }
+    }
+
+    /**
+     * Wakes the customers parked for tickets that were just added: one single customer per ticket,
+     * and every parked group buyer once the smallest group fits. Woken groups that still do not
+     * fit publish their needs again before parking.
+     *
+     * @param added The number of tickets added.
+     */
+    private void ticketsArrived(int added) {
+        signalWaiting(waitingCustomers, notEmpty, added);
+        int groups = waitingGroups.get();
+        if (groups > 0 && tickets.size() >= smallestGroup) {
+            lockAcquisitions.increment();
+            waitLock.lock();
+            try {
+                enoughTickets.signalAll();
+                smallestGroup = Integer.MAX_VALUE;
+            } finally {
+                waitLock.unlock();
+            }
+            wakeups.add(groups);
+        }
+    }
+
+    /**
+     * Wakes as many threads parked on the given condition as there are tickets or slots for them.
+     * The waiting counter is read without the lock so the common case never touches it, and all
+     * the signals for one batch are sent under a single lock acquisition.
+     *
+     * @param waiting   The number of threads parked on the condition.
+     * @param condition The condition to signal.
+     * @param permits   The number of tickets or slots that became available.
+     */
+    private void signalWaiting(AtomicInteger waiting, Condition condition, int permits) {
+        int parked = waiting.get();
+        if (parked > 0) {
+            int signals = Math.min(parked, permits);
+            lockAcquisitions.increment();
+            waitLock.lock();
+            try {
+                for (int i = 0; i < signals; i++) {
+                    condition.signal();
+                }
+            } finally {
+                waitLock.unlock();
+            }
+            wakeups.add(signals);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.iit.ticket_booking_system.release;
+
+/**
+ * Base of the controllers that steer the pool occupancy into a target band by adjusting a release rate.
+ * <p>
+ * Subclasses set the rate in tickets per second, within {@link #RANGE} times either side of the
+ * configured rate. The rate is turned into a release by keeping the configured interval and scaling
+ * the batch; once the batch is down to a single ticket, the interval is stretched instead.
+ */
+public abstract class AdaptiveReleaseController implements ReleaseController {
+
+    /**
+     * How far the rate may move from the configured rate, as a factor either way.
+     */
+    public static final double RANGE = 16;
+
+    protected final double low; // Lower bound of the target occupancy band
+    protected final double high; // Upper bound of the target occupancy band
+    protected final double nominalRate; // Configured rate, in tickets per second
+    private final long baseIntervalNanos; // Configured interval between releases
+    private final int maxBatchSize; // Largest batch released at once
+    private double rate; // Current rate, in tickets per second
+    private int batchSize; // Tickets in the next release
+    private long intervalNanos; // Time to wait after the next release
+
+    /**
+     * Constructs an adaptive controller starting at the configured batch size and interval.
+     *
+     * @param ticketsPerRelease The configured number of tickets per release.
+     * @param intervalNanos     The configured interval between releases, in nanoseconds.
+     * @param low               The lower bound of the target occupancy band, from 0 to 1.
+     * @param high              The upper bound of the target occupancy band, from 0 to 1.
+     * @throws IllegalArgumentException if the settings are out of range.
+     */
+    protected AdaptiveReleaseController(int ticketsPerRelease, long intervalNanos, double low, double high) {
+        if (ticketsPerRelease <= 0 || intervalNanos <= 0) {
+            throw new IllegalArgumentException("An adaptive release needs a positive batch size and interval");
+        }
+        if (!(low >= 0 && low < high && high <= 1)) {
+            throw new IllegalArgumentException("Invalid target occupancy band: " + low + " to " + high);
+        }
+        this.low = low;
+        this.high = high;
+        this.nominalRate = ticketsPerRelease * 1e9 / intervalNanos;
+        this.baseIntervalNanos = intervalNanos;
+        this.maxBatchSize = (int) Math.min(Integer.MAX_VALUE, ticketsPerRelease * (long) RANGE);
+        this.rate = nominalRate;
+        this.batchSize = ticketsPerRelease;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * Computes the next release rate from the observed occupancy.
+     *
+     * @param rate      The current rate, in tickets per second.
+     * @param occupancy The fraction of the shard's capacity currently filled.
+     * @param now       The current time in nanoseconds.
+     * @return The new rate, in tickets per second; it is clamped to the allowed range.
+     */
+    protected abstract double adjust(double rate, double occupancy, long now);
+
+    @Override
+    public final void update(double occupancy, long now) {
+        rate = clamp(adjust(rate, occupancy, now));
+        double batch = rate * baseIntervalNanos / 1e9;
+        if (batch >= 1) {
+            batchSize = (int) Math.min(maxBatchSize, Math.round(batch));
+            intervalNanos = baseIntervalNanos;
+        } else {
+            batchSize = 1;
+            intervalNanos = (long) (1e9 / rate);
+        }
+    }
+
+    /**
+     * Limits a rate to the range allowed around the configured rate.
+     *
+     * @param rate A rate in tickets per second.
+     * @return The rate, moved into the allowed range.
+     */
+    protected double clamp(double rate) {
+        return Math.max(nominalRate / RANGE, Math.min(nominalRate * RANGE, rate));
+    }
+
+    /**
+     * Gets the current release rate.
+     *
+     * @return The rate in tickets per second.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+}
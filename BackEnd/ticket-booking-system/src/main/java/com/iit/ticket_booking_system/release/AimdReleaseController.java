@@ -0,0 +1,37 @@
+package com.iit.ticket_booking_system.release;
+
+/**
+ * Additive-increase, multiplicative-decrease release controller.
+ * <p>
+ * Below the target band the rate grows by a quarter of the configured rate per release; above it the
+ * rate is halved; inside it the rate is kept. Like TCP congestion control, the rate probes upwards
+ * slowly and backs off fast, so a vendor quickly stops feeding a pool that customers are not draining.
+ */
+public class AimdReleaseController extends AdaptiveReleaseController {
+
+    private static final double INCREASE = 0.25; // Added per release below the band, as a share of the configured rate
+    private static final double DECREASE = 0.5; // Factor applied per release above the band
+
+    /**
+     * Constructs an AIMD controller starting at the configured batch size and interval.
+     *
+     * @param ticketsPerRelease The configured number of tickets per release.
+     * @param intervalNanos     The configured interval between releases, in nanoseconds.
+     * @param low               The lower bound of the target occupancy band, from 0 to 1.
+     * @param high              The upper bound of the target occupancy band, from 0 to 1.
+     */
+    public AimdReleaseController(int ticketsPerRelease, long intervalNanos, double low, double high) {
+        super(ticketsPerRelease, intervalNanos, low, high);
+    }
+
+    @Override
+    protected double adjust(double rate, double occupancy, long now) {
+        if (occupancy > high) {
+            return rate * DECREASE;
+        }
+        if (occupancy < low) {
+            return rate + nominalRate * INCREASE;
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,42 @@
+package com.iit.ticket_booking_system.release;
+
+/**
+ * Releases the configured number of tickets at the configured interval, whatever the occupancy.
+ * Its vendors wait for space when the pool is full.
+ */
+public class FixedReleaseController implements ReleaseController {
+
+    private final int batchSize; // Tickets per release
+    private final long intervalNanos; // Time between releases
+
+    /**
+     * Constructs a fixed release controller.
+     *
+     * @param ticketsPerRelease The number of tickets per release.
+     * @param intervalNanos     The interval between releases, in nanoseconds.
+     */
+    public FixedReleaseController(int ticketsPerRelease, long intervalNanos) {
+        this.batchSize = Math.max(1, ticketsPerRelease);
+        this.intervalNanos = Math.max(0, intervalNanos);
+    }
+
+    @Override
+    public void update(double occupancy, long now) {
+        // The releases do not depend on the occupancy
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    @Override
+    public boolean isAdaptive() {
+        return false;
+    }
+}
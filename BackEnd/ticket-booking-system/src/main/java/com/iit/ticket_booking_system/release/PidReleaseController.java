@@ -0,0 +1,52 @@
+package com.iit.ticket_booking_system.release;
+
+/**
+ * Proportional-integral-derivative release controller aiming at the middle of the target band.
+ * <p>
+ * The error is the distance of the occupancy from the middle of the band, and each release is one
+ * control step. The controller output is a number of doublings of the configured rate, so the rate
+ * moves by the same factor whether it is above or below the configured one. The integral term finds
+ * the rate at which customers actually buy; while the rate is pinned at a limit it is cut back to what
+ * the limit takes, so that it does not wind up and overshoot once the limit no longer applies.
+ */
+public class PidReleaseController extends AdaptiveReleaseController {
+
+    private static final double KP = 2.0; // Doublings per unit of error
+    private static final double KI = 0.5; // Doublings per unit of error summed over releases
+    private static final double KD = 1.0; // Doublings per unit of error change between releases
+
+    private final double target; // Occupancy aimed at, the middle of the band
+    private final double maxOutput; // Output at which the rate reaches either limit
+    private double integral; // Error summed over releases
+    private double lastError = Double.NaN; // Error at the previous release, NaN before the first
+
+    /**
+     * Constructs a PID controller starting at the configured batch size and interval.
+     *
+     * @param ticketsPerRelease The configured number of tickets per release.
+     * @param intervalNanos     The configured interval between releases, in nanoseconds.
+     * @param low               The lower bound of the target occupancy band, from 0 to 1.
+     * @param high              The upper bound of the target occupancy band, from 0 to 1.
+     */
+    public PidReleaseController(int ticketsPerRelease, long intervalNanos, double low, double high) {
+        super(ticketsPerRelease, intervalNanos, low, high);
+        this.target = (low + high) / 2;
+        this.maxOutput = Math.log(RANGE) / Math.log(2);
+    }
+
+    @Override
+    protected double adjust(double rate, double occupancy, long now) {
+        double error = target - occupancy; // Positive when the pool is too empty
+        double derivative = Double.isNaN(lastError) ? 0 : error - lastError;
+        lastError = error;
+
+        integral += error;
+        double output = KP * error + KI * integral + KD * derivative;
+        if (Math.abs(output) > maxOutput) {
+            // Pinned at a limit: keep only as much integral as it takes to reach it
+            output = Math.copySign(maxOutput, output);
+            integral = (output - KP * error - KD * derivative) / KI;
+        }
+        return nominalRate * Math.pow(2, output);
+    }
+}
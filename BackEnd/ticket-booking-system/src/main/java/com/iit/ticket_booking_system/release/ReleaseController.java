@@ -0,0 +1,65 @@
+package com.iit.ticket_booking_system.release;
+
+/**
+ * Decides how many tickets a vendor releases at a time and how long it waits between releases.
+ * <p>
+ * Before each release the vendor reports the occupancy of the shard it releases into, and then
+ * releases {@link #getBatchSize()} tickets and sleeps for {@link #getIntervalNanos()}. The fixed
+ * controller ignores the occupancy; the adaptive ones steer it into a target band so that vendors
+ * neither block on a full pool nor leave customers waiting on an empty one.
+ */
+public interface ReleaseController {
+
+    /**
+     * Adjusts the next release to the occupancy observed just before it.
+     *
+     * @param occupancy The fraction of the shard's capacity currently filled, from 0 to 1.
+     * @param now       The current time in nanoseconds.
+     */
+    void update(double occupancy, long now);
+
+    /**
+     * Gets the number of tickets to release next.
+     *
+     * @return The batch size, at least 1.
+     */
+    int getBatchSize();
+
+    /**
+     * Gets the time to wait after the next release.
+     *
+     * @return The release interval in nanoseconds.
+     */
+    long getIntervalNanos();
+
+    /**
+     * Checks whether the controller adapts the releases to the occupancy. Vendors of an adaptive
+     * controller never wait for space in the pool: whatever does not fit is left for a later release.
+     *
+     * @return true for the adaptive controllers.
+     */
+    default boolean isAdaptive() {
+        return true;
+    }
+
+    /**
+     * Creates a release controller by mode name.
+     *
+     * @param mode              The release mode: "fixed", "aimd" or "pid".
+     * @param ticketsPerRelease The configured number of tickets per release.
+     * @param intervalNanos     The configured interval between releases, in nanoseconds.
+     * @param low               The lower bound of the target occupancy band, from 0 to 1.
+     * @param high              The upper bound of the target occupancy band, from 0 to 1.
+     * @return A new controller starting at the configured batch size and interval.
+     * @throws IllegalArgumentException if the mode is unknown or the settings are out of range.
+     */
+    static ReleaseController create(String mode, int ticketsPerRelease, long intervalNanos, double low, double high) {
+        String name = mode == null ? "fixed" : mode.trim().toLowerCase();
+        return switch (name) {
+            case "fixed" -> new FixedReleaseController(ticketsPerRelease, intervalNanos);
+            case "aimd" -> new AimdReleaseController(ticketsPerRelease, intervalNanos, low, high);
+            case "pid" -> new PidReleaseController(ticketsPerRelease, intervalNanos, low, high);
+            default -> throw new IllegalArgumentException("Unknown release mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.iit.ticket_booking_system.scheduler;
+
+/**
+ * A vendor or customer written as a step function, run by an {@link ActorScheduler} instead of owning a
+ * thread, or by a {@link SimulatedScheduler} against a virtual clock.
+ * <p>
+ * Each step does a bounded amount of work without blocking and says when the actor wants to run next:
+ * after a delay, when something it is waiting for wakes it up through its handle, or never again.
+ */
+public interface Actor {
+
+    /**
+     * Returned by {@link #step} when the actor has finished.
+     */
+    long DONE = -1;
+
+    /**
+     * Returned by {@link #step} when the actor waits until {@link ActorHandle#wake()} is called.
+     */
+    long PARKED = -2;
+
+    /**
+     * Runs one step of the actor. Never blocks.
+     *
+     * @param handle The actor's handle, for waking it up later.
+     * @param now    The current time in nanoseconds, which is virtual in a simulation.
+     * @return The delay in nanoseconds until the next step, {@link #PARKED} or {@link #DONE}.
+     */
+    long step(ActorHandle handle, long now);
+
+    /**
+     * Called once, on the cancelling thread, when the actor is stopped through its handle before it finished.
+     * A step may still be running.
+     */
+    default void cancelled() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.iit.ticket_booking_system.scheduler;
+
+/**
+ * An actor registered with a scheduler, through which it is woken up or stopped. Implemented by
+ * {@link ActorScheduler} for real time and by {@link SimulatedScheduler} for a virtual clock.
+ */
+public interface ActorHandle {
+
+    /**
+     * Gets the actor this handle runs.
+     *
+     * @return The actor.
+     */
+    Actor getActor();
+
+    /**
+     * Runs the actor's next step as soon as possible, whether it is parked or waiting for its timer.
+     * Waking an actor during a step makes it run again right after the step.
+     */
+    void wake();
+
+    /**
+     * Stops the actor. No further step runs.
+     */
+    void cancel();
+
+    /**
+     * Checks whether the actor has finished or been cancelled.
+     *
+     * @return true once no further step will run.
+     */
+    boolean isDone();
+}
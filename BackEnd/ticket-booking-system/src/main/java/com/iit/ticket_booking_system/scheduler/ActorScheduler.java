@@ -0,0 +1,330 @@
+package com.iit.ticket_booking_system.scheduler;
+
+import com.iit.ticket_booking_system.util.HierarchicalTimingWheel;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.SYSTEM;
+
+/**
+ * Runs vendors and customers as {@link Actor step functions} on a small pool of worker threads.
+ * <p>
+ * An actor that wants to run again after a delay is put into a {@link HierarchicalTimingWheel}, which
+ * a single timer thread advances every tick and which hands the actors that are due to the workers.
+ * An actor waiting for something else, such as a queued ticket purchase, is parked and costs nothing
+ * until it is woken. So a million actors that each run every few seconds need no more threads than
+ * there are cores, plus the timer thread.
+ */
+public class ActorScheduler {
+
+    private static final int QUEUED = 0; // Waiting for a worker
+    private static final int RUNNING = 1; // Running a step
+    private static final int WOKEN = 2; // Running a step, and woken meanwhile
+    private static final int PARKED = 3; // Waiting to be woken
+    private static final int TIMED = 4; // Waiting for its timer
+    private static final int DONE = 5; // Finished or cancelled
+    private static final int BATCH_SIZE = 256; // Most actors handed to a worker as one task when their timers fire
+
+    /**
+     * A timed step of an actor. The sequence tells a timer that is still due apart from one that
+     * was overtaken by a wakeup.
+     */
+    private record TimedStep(Handle handle, int sequence) {
+    }
+
+    /**
+     * An actor registered with the scheduler, which wakes or cancels it.
+     */
+    public static final class Handle implements ActorHandle, Runnable {
+        private final ActorScheduler scheduler; // Scheduler running the actor
+        private final Actor actor; // Step function of the actor
+        private final Runnable onDone; // Run once when the actor finishes or is cancelled, or null
+        private final AtomicInteger state = new AtomicInteger(QUEUED); // One of the states above
+        private volatile HierarchicalTimingWheel.Timer<TimedStep> timer; // Timer of the latest timed step
+        private volatile int sequence; // Counts timed steps and wakeups, so that overtaken timers are ignored
+
+        private Handle(ActorScheduler scheduler, Actor actor, Runnable onDone) {
+            this.scheduler = scheduler;
+            this.actor = actor;
+            this.onDone = onDone;
+        }
+
+        @Override
+        public Actor getActor() {
+            return actor;
+        }
+
+        /**
+         * Runs the actor's next step as soon as a worker is free, whether it is parked or waiting for its timer.
+         * Waking an actor during a step makes it run again right after the step.
+         */
+        @Override
+        public void wake() {
+            while (true) {
+                int current = state.get();
+                if (current == RUNNING) {
+                    if (state.compareAndSet(RUNNING, WOKEN)) {
+                        return;
+                    }
+                } else if (current == PARKED || current == TIMED) {
+                    if (state.compareAndSet(current, QUEUED)) {
+                        if (current == TIMED) {
+                            sequence++; // Only this thread can leave TIMED, and the next step has not started
+                            cancelTimer();
+                        }
+                        scheduler.submit(this);
+                        return;
+                    }
+                } else {
+                    return; // Already queued, woken or done
+                }
+            }
+        }
+
+        /**
+         * Stops the actor. A step already running completes, but no further step runs.
+         */
+        @Override
+        public void cancel() {
+            if (finish()) {
+                actor.cancelled();
+            }
+        }
+
+        /**
+         * Marks the actor done.
+         *
+         * @return true if this call finished the actor, false if it was already done.
+         */
+        private boolean finish() {
+            if (state.getAndSet(DONE) == DONE) {
+                return false;
+            }
+            cancelTimer();
+            scheduler.active.decrementAndGet();
+            if (onDone != null) {
+                onDone.run();
+            }
+            return true;
+        }
+
+        /**
+         * Drops the latest timer from the wheel's pending count. A timer that is not assigned yet
+         * still fires, and is then ignored for its stale sequence.
+         */
+        private void cancelTimer() {
+            HierarchicalTimingWheel.Timer<TimedStep> pendingTimer = timer;
+            if (pendingTimer != null) {
+                scheduler.wheel.cancel(pendingTimer);
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return state.get() == DONE;
+        }
+
+        /**
+         * Runs one step of the actor on a worker thread and arranges the next one.
+         */
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return; // Cancelled while queued
+            }
+            long now = System.nanoTime();
+            long next;
+            try {
+                next = actor.step(this, now);
+            } catch (RuntimeException e) {
+                LoggerUtil.log(SYSTEM, Level.ERROR, "Actor failed and was stopped: " + e);
+                next = Actor.DONE;
+            }
+            scheduler.steps.increment();
+
+            if (next == Actor.DONE) {
+                finish();
+            } else if (next == Actor.PARKED && state.compareAndSet(RUNNING, PARKED)) {
+                return; // Woken later; a wake during the step falls through and runs again at once
+            } else if (next <= 0) {
+                if (leaveStep(QUEUED)) {
+                    scheduler.submit(this);
+                }
+            } else {
+                int timedStep = ++sequence;
+                if (state.compareAndSet(RUNNING, TIMED)) {
+                    timer = scheduler.wheel.schedule(new TimedStep(this, timedStep), now + next);
+                } else if (state.compareAndSet(WOKEN, QUEUED)) {
+                    scheduler.submit(this); // Woken during the step, which overrides the delay it asked for
+                }
+            }
+        }
+
+        /**
+         * Moves the actor out of the running states, unless it was cancelled during the step.
+         */
+        private boolean leaveStep(int next) {
+            while (true) {
+                int current = state.get();
+                if (current == DONE) {
+                    return false;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Queues the actor for a worker when the timer of its latest timed step fires.
+         */
+        private void timerFired(int timedStep) {
+            if (sequence == timedStep && state.compareAndSet(TIMED, QUEUED)) {
+                scheduler.due.add(this);
+            }
+        }
+    }
+
+    private final ExecutorService workers; // Run the actors' steps
+    private final HierarchicalTimingWheel<TimedStep> wheel; // Next steps of the actors waiting for a delay
+    private final Thread timerThread; // Advances the wheel every tick
+    private final long tickNanos; // Resolution of the actors' delays
+    private final List<Handle> due = new ArrayList<>(); // Actors whose timers fired in this tick, touched only by the timer thread
+    private final AtomicInteger active = new AtomicInteger(); // Actors registered and not done
+    private final LongAdder steps = new LongAdder(); // Steps run
+    private volatile boolean shutdown; // Set once the scheduler stops
+
+    /**
+     * Constructs a scheduler and starts its threads.
+     *
+     * @param workerThreads The number of worker threads, usually one per core.
+     * @param tickNanos     The resolution of the actors' delays in nanoseconds; steps run up to one tick late.
+     */
+    public ActorScheduler(int workerThreads, long tickNanos) {
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "actor-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tickNanos = tickNanos;
+        this.wheel = new HierarchicalTimingWheel<>(tickNanos, System.nanoTime(), step -> step.handle().timerFired(step.sequence()));
+        this.timerThread = new Thread(this::runTimer, "actor-timer");
+        this.timerThread.setDaemon(true);
+        this.timerThread.start();
+    }
+
+    /**
+     * Registers an actor and runs its first step after the given delay.
+     *
+     * @param actor      The actor to run.
+     * @param delayNanos The delay before the first step, in nanoseconds.
+     * @return The actor's handle.
+     */
+    public Handle schedule(Actor actor, long delayNanos) {
+        return schedule(actor, delayNanos, null);
+    }
+
+    /**
+     * Registers an actor, runs its first step after the given delay, and runs an action once it is done.
+     *
+     * @param actor      The actor to run.
+     * @param delayNanos The delay before the first step, in nanoseconds.
+     * @param onDone     Run once, on the thread that ends the actor, when it finishes or is cancelled.
+     * @return The actor's handle.
+     */
+    public Handle schedule(Actor actor, long delayNanos, Runnable onDone) {
+        Handle handle = new Handle(this, actor, onDone);
+        active.incrementAndGet();
+        if (delayNanos <= 0) {
+            submit(handle);
+        } else {
+            handle.state.set(TIMED);
+            handle.timer = wheel.schedule(new TimedStep(handle, handle.sequence), System.nanoTime() + delayNanos);
+        }
+        return handle;
+    }
+
+    /**
+     * Hands an actor to the workers.
+     */
+    private void submit(Handle handle) {
+        try {
+            workers.execute(handle);
+        } catch (RejectedExecutionException e) {
+            handle.finish(); // The scheduler was shut down
+        }
+    }
+
+    /**
+     * Advances the timing wheel once per tick until the scheduler shuts down.
+     */
+    private void runTimer() {
+        while (!shutdown) {
+            wheel.advance(System.nanoTime());
+            submitDue();
+            LockSupport.parkNanos(tickNanos);
+        }
+    }
+
+    /**
+     * Hands the actors whose timers fired to the workers in batches, which costs one task
+     * per batch rather than one per actor when many timers fire in the same tick.
+     */
+    private void submitDue() {
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<Handle> batch = List.copyOf(due.subList(from, Math.min(due.size(), from + BATCH_SIZE)));
+            try {
+                workers.execute(() -> batch.forEach(Handle::run));
+            } catch (RejectedExecutionException e) {
+                batch.forEach(Handle::finish); // The scheduler was shut down
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * Stops the timer and the workers. Actors not yet finished are abandoned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(timerThread);
+        workers.shutdownNow();
+    }
+
+    /**
+     * Gets the number of actors registered that have not finished or been cancelled.
+     *
+     * @return The active actor count.
+     */
+    public int getActiveActors() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of steps run by all actors.
+     *
+     * @return The step count.
+     */
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    /**
+     * Gets the number of actors waiting for their timer.
+     *
+     * @return The pending timer count.
+     */
+    public int getPendingTimers() {
+        return wheel.getPending();
+    }
+}
@@ -0,0 +1,192 @@
+package com.iit.ticket_booking_system.scheduler;
+
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+
+import java.util.PriorityQueue;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.SYSTEM;
+
+/**
+ * Runs vendors and customers as {@link Actor step functions} against a virtual clock, on the calling thread.
+ * <p>
+ * Every next step is an event in a queue ordered by its virtual time, and the clock jumps straight
+ * from one event to the next, so hours of sales take only as long as the steps themselves. Events
+ * due at the same time run in the order they were scheduled, which makes a run with the same
+ * actors, in the same order, repeat exactly. Not thread-safe: actors, and whatever wakes them,
+ * must run on the thread calling {@link #runUntil(long)}, as they do when the pool completes a
+ * purchase during a vendor's step.
+ */
+public class SimulatedScheduler {
+
+    private static final int QUEUED = 0; // Its next step is in the event queue
+    private static final int RUNNING = 1; // Running a step
+    private static final int WOKEN = 2; // Running a step, and woken meanwhile
+    private static final int PARKED = 3; // Waiting to be woken
+    private static final int TIMED = 4; // Its next step is in the event queue after a delay
+    private static final int DONE = 5; // Finished or cancelled
+
+    /**
+     * A step due at a virtual time. The sequence orders events due at the same time and tells a
+     * step that is still due apart from one that was overtaken by a wakeup.
+     */
+    private record Event(long time, long sequence, Handle handle) {
+    }
+
+    /**
+     * An actor registered with the simulation.
+     */
+    public final class Handle implements ActorHandle {
+        private final Actor actor; // Step function of the actor
+        private int state = QUEUED; // One of the states above
+        private long dueSequence; // Sequence of the event of the actor's next step
+
+        private Handle(Actor actor) {
+            this.actor = actor;
+        }
+
+        @Override
+        public Actor getActor() {
+            return actor;
+        }
+
+        @Override
+        public void wake() {
+            if (state == RUNNING) {
+                state = WOKEN;
+            } else if (state == PARKED || state == TIMED) {
+                enqueue(this, now); // Overtakes the timed step, which is then ignored
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (state != DONE) {
+                state = DONE;
+                active--;
+                actor.cancelled();
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return state == DONE;
+        }
+    }
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>((a, b) -> a.time() != b.time()
+            ? Long.compare(a.time(), b.time()) : Long.compare(a.sequence(), b.sequence())); // Next steps by virtual time
+    private long now; // Virtual time in nanoseconds
+    private long sequence; // Events scheduled so far
+    private long steps; // Steps run
+    private int active; // Actors registered and not done
+
+    /**
+     * Constructs a simulation whose virtual clock starts at 0.
+     */
+    public SimulatedScheduler() {
+    }
+
+    /**
+     * Registers an actor and runs its first step after the given virtual delay.
+     *
+     * @param actor      The actor to run.
+     * @param delayNanos The delay before the first step, in nanoseconds.
+     * @return The actor's handle.
+     */
+    public Handle schedule(Actor actor, long delayNanos) {
+        Handle handle = new Handle(actor);
+        active++;
+        enqueue(handle, now + Math.max(0, delayNanos));
+        return handle;
+    }
+
+    /**
+     * Puts the next step of an actor into the event queue.
+     */
+    private void enqueue(Handle handle, long time) {
+        handle.state = time > now ? TIMED : QUEUED;
+        handle.dueSequence = ++sequence;
+        events.add(new Event(time, handle.dueSequence, handle));
+    }
+
+    /**
+     * Runs every step due up to the given virtual time, then moves the clock there. Returns early,
+     * with the clock at the last step, once no actor has a step left.
+     *
+     * @param endNanos The virtual time to run to, in nanoseconds.
+     * @return The number of steps run.
+     */
+    public long runUntil(long endNanos) {
+        long before = steps;
+        Event event;
+        while ((event = events.peek()) != null && event.time() <= endNanos) {
+            events.poll();
+            Handle handle = event.handle();
+            if (handle.state == DONE || handle.dueSequence != event.sequence()) {
+                continue; // Cancelled, or overtaken by a wakeup
+            }
+            now = event.time();
+            run(handle);
+        }
+        if (!events.isEmpty()) {
+            now = endNanos;
+        }
+        return steps - before;
+    }
+
+    /**
+     * Runs one step of an actor and arranges the next one.
+     */
+    private void run(Handle handle) {
+        handle.state = RUNNING;
+        long next;
+        try {
+            next = handle.actor.step(handle, now);
+        } catch (RuntimeException e) {
+            LoggerUtil.log(SYSTEM, Level.ERROR, "Simulated actor failed and was stopped: " + e);
+            next = Actor.DONE;
+        }
+        steps++;
+
+        if (handle.state == DONE) {
+            return; // Cancelled during its own step
+        }
+        if (next == Actor.DONE) {
+            handle.state = DONE;
+            active--;
+        } else if (next == Actor.PARKED && handle.state == RUNNING) {
+            handle.state = PARKED;
+        } else {
+            // A wake during the step runs it again at once, whether it parked or asked for a delay
+            enqueue(handle, handle.state == WOKEN ? now : now + Math.max(0, next));
+        }
+    }
+
+    /**
+     * Gets the virtual time.
+     *
+     * @return The virtual time in nanoseconds.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Gets the number of actors registered that have not finished or been cancelled.
+     *
+     * @return The active actor count.
+     */
+    public int getActiveActors() {
+        return active;
+    }
+
+    /**
+     * Gets the number of steps run by all actors.
+     *
+     * @return The step count.
+     */
+    public long getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,401 @@
+package com.iit.ticket_booking_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.util.LogRing;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.SYSTEM;
+
+/**
+ * Service that pushes the ticket status, the sales and new log lines to dashboards as Server-Sent Events.
+ * <p>
+ * Rather than answering every client's polls, a single thread wakes every {@code ticket.stream.tick-ms},
+ * gathers what changed since the previous tick, serializes it once to JSON, and writes the same
+ * bytes to every connected client. So the cost of a tick grows with the number of clients only by
+ * one write each, and a tick in which nothing changed, as while the system is stopped, costs no
+ * write at all. A client that connects
+ * receives a "snapshot" event with the full status, the sales and the latest log lines, then an
+ * "update" event in each tick with something new: only the status entries that changed, the sales
+ * if they changed, and the log lines added since.
+ * <p>
+ * The ticker never writes to a client itself: it queues the event for the client, and a writer
+ * thread sends the client's queue in order. A client that reads slowly, or has gone away without
+ * closing its connection, only holds back its own writer. Once it falls {@value #MAX_QUEUED_EVENTS}
+ * events behind, its queue is dropped and it receives a fresh snapshot instead, so it catches up
+ * without the server keeping every delta it missed.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final int LOG_LINES_PER_TICK = 1000; // Most log lines sent in one tick, the rest follow in later ticks
+    private static final int SNAPSHOT_LOG_LINES = 200; // Latest log lines sent to a client that connects
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15); // Longest silence before a keep-alive comment
+    private static final int MAX_QUEUED_EVENTS = 16; // Events a client may fall behind before it is sent a snapshot instead
+
+    /**
+     * One event queued for a client.
+     *
+     * @param name The event name, or null for a keep-alive comment.
+     * @param json The serialized event, shared by every client it is queued for.
+     */
+    private record Event(String name, byte[] json) {
+    }
+
+    /**
+     * A connected client and the events waiting to be written to it. At most one writer task
+     * drains the queue at a time, so the client receives its events in order.
+     */
+    private final class Client {
+        private final SseEmitter emitter; // The client's stream
+        private final ArrayDeque<Event> queue = new ArrayDeque<>(); // Events not yet written, guarded by this
+        private boolean writing; // Whether a writer task is draining the queue, guarded by this
+
+        private Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event and starts a writer task if none is running.
+         *
+         * @return false if the client fell too far behind, in which case its queue was dropped.
+         */
+        private boolean offer(Event event) {
+            synchronized (this) {
+                if (queue.size() >= MAX_QUEUED_EVENTS) {
+                    queue.clear();
+                    return false;
+                }
+                queue.add(event);
+                if (writing) {
+                    return true;
+                }
+                writing = true;
+            }
+            writers.execute(this::drain);
+            return true;
+        }
+
+        /**
+         * Writes the queued events until the queue is empty, dropping the client if a write fails.
+         */
+        private void drain() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null) {
+                        writing = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event.name() == null ? SseEmitter.event().comment("keep-alive")
+                            : SseEmitter.event().name(event.name()).data(event.json(), MediaType.APPLICATION_JSON));
+                    eventsSent.increment();
+                } catch (IOException | IllegalStateException e) {
+                    remove(); // The client went away; the container completes the emitter
+                    synchronized (this) {
+                        queue.clear();
+                        writing = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void remove() {
+            subscribers.remove(this);
+            joining.remove(this);
+        }
+    }
+
+    private final TicketService ticketService;
+    private final ObjectMapper objectMapper; // Serializes the events, as the REST responses are
+    private final long tickMillis; // Time between two updates
+    private final List<Client> subscribers = new CopyOnWriteArrayList<>(); // Clients receiving updates
+    private final Queue<Client> joining = new ConcurrentLinkedQueue<>(); // Clients waiting for a snapshot
+    private final LongAdder serializations = new LongAdder(); // Events serialized
+    private final LongAdder eventsSent = new LongAdder(); // Events written to clients
+    private final LongAdder resyncs = new LongAdder(); // Times a client fell behind and was sent a snapshot instead
+    // Platform threads, since a virtual thread blocked in the synchronized SseEmitter.send would pin its carrier;
+    // idle writers end after a minute, so the threads follow the number of clients being written to
+    private final ExecutorService writers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile ScheduledExecutorService ticker; // Runs the ticks, started by the first client
+
+    // State of the previous tick, touched only by the ticker thread
+    private Map<String, Object> lastStatus = Map.of(); // Status sent last
+    private long lastSalesInCents = -1; // Sales sent last
+    private long logCursor; // Sequence of the last log line sent
+    private long lastEventNanos; // When the clients last received anything
+
+    /**
+     * Constructs the stream service.
+     *
+     * @param ticketService The service whose status and sales are streamed.
+     * @param objectMapper  The JSON mapper of the REST responses.
+     * @param tickMillis    The time between two updates, in milliseconds.
+     * @throws IllegalArgumentException if the tick is not positive.
+     */
+    @Autowired
+    public DashboardStreamService(TicketService ticketService, ObjectMapper objectMapper,
+                                  @Value("${ticket.stream.tick-ms:500}") long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Stream tick must be positive: " + tickMillis);
+        }
+        this.ticketService = ticketService;
+        this.objectMapper = objectMapper;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Connects a client, which receives its snapshot at the next tick and updates after that.
+     *
+     * @return The emitter streaming the events to the client.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(0L)); // Never times out; ends when the client goes away
+    }
+
+    /**
+     * Connects a client through the given emitter.
+     *
+     * @param emitter The emitter streaming the events to the client.
+     * @return The emitter.
+     */
+    SseEmitter subscribe(SseEmitter emitter) {
+        Client client = new Client(emitter);
+        emitter.onCompletion(client::remove);
+        emitter.onTimeout(client::remove);
+        emitter.onError(error -> client.remove());
+        joining.add(client);
+        startTicker();
+        return emitter;
+    }
+
+    /**
+     * Starts the ticks when the first client connects.
+     */
+    private void startTicker() {
+        if (ticker == null) {
+            synchronized (this) {
+                if (ticker == null) {
+                    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "dashboard-stream");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+                    ticker = executor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the changes since the previous tick to the connected clients, then the snapshot to the
+     * clients that connected since. Does nothing while no client is connected.
+     */
+    private void tick() {
+        try {
+            if (subscribers.isEmpty()) {
+                if (joining.isEmpty()) {
+                    return;
+                }
+                logCursor = LoggerUtil.getLastLogSequence(); // Nobody needs what was logged while nobody listened
+                lastStatus = Map.of();
+                lastSalesInCents = -1;
+            }
+            Map<String, Object> status = ticketService.getTicketStatus();
+            long salesInCents = ticketService.getTotalSalesInCents();
+            LogRing.Page logs = LoggerUtil.getLogs(logCursor, LOG_LINES_PER_TICK);
+
+            if (!subscribers.isEmpty()) {
+                Map<String, Object> update = new LinkedHashMap<>();
+                Map<String, Object> statusChanges = changes(lastStatus, status);
+                if (!statusChanges.isEmpty()) {
+                    update.put("status", statusChanges);
+                }
+                if (salesInCents != lastSalesInCents) {
+                    update.put("sales", sales(salesInCents));
+                }
+                if (!logs.entries().isEmpty()) {
+                    update.put("logs", lines(logs.entries()));
+                    update.put("next", logs.next());
+                }
+                if (logs.missed() > 0) {
+                    update.put("missed", logs.missed());
+                }
+                if (!update.isEmpty()) {
+                    broadcast(subscribers, "update", update);
+                } else if (System.nanoTime() - lastEventNanos > HEARTBEAT_NANOS) {
+                    heartbeat();
+                }
+            }
+            lastStatus = status;
+            lastSalesInCents = salesInCents;
+            logCursor = logs.next();
+
+            if (!joining.isEmpty()) {
+                List<Client> joined = new ArrayList<>();
+                for (Client client; (client = joining.poll()) != null; ) {
+                    joined.add(client);
+                }
+                Map<String, Object> snapshot = new LinkedHashMap<>();
+                snapshot.put("status", status);
+                snapshot.put("sales", sales(salesInCents));
+                snapshot.put("logs", lines(LoggerUtil.getLogs(Math.max(0, logCursor - SNAPSHOT_LOG_LINES), SNAPSHOT_LOG_LINES).entries()));
+                snapshot.put("next", logCursor);
+                broadcast(joined, "snapshot", snapshot);
+                subscribers.addAll(joined);
+            }
+        } catch (RuntimeException e) {
+            // Keep ticking; an exception would cancel every later tick
+            LoggerUtil.log(SYSTEM, Level.ERROR, "Dashboard stream update failed: " + e);
+        }
+    }
+
+    /**
+     * Gets the entries of the current status that are new or differ from the previous one.
+     *
+     * @param previous The status sent last.
+     * @param current  The current status.
+     * @return The changed entries.
+     */
+    static Map<String, Object> changes(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (!previous.containsKey(entry.getKey()) || !Objects.equals(previous.get(entry.getKey()), entry.getValue())) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changed;
+    }
+
+    private static Map<String, Object> sales(long salesInCents) {
+        Map<String, Object> sales = new LinkedHashMap<>();
+        sales.put("ticketSales", Ticket.toPrice(salesInCents));
+        sales.put("ticketSalesInCents", salesInCents);
+        return sales;
+    }
+
+    private static List<String> lines(List<LogRing.Entry> entries) {
+        return entries.stream().map(LogRing.Entry::toString).toList();
+    }
+
+    /**
+     * Serializes an event once and queues it for each of the clients.
+     */
+    private void broadcast(List<Client> clients, String name, Map<String, Object> payload) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        serializations.increment();
+        deliver(clients, new Event(name, json));
+    }
+
+    /**
+     * Queues a comment for every client, so that connections through idle proxies stay open and
+     * clients that went away are noticed.
+     */
+    private void heartbeat() {
+        deliver(subscribers, new Event(null, null));
+    }
+
+    /**
+     * Queues an event for each of the clients. A client too far behind to take it stops receiving
+     * updates and joins again, to be sent a snapshot at the next tick.
+     */
+    private void deliver(List<Client> clients, Event event) {
+        for (Client client : clients) {
+            if (!client.offer(event)) {
+                subscribers.remove(client);
+                joining.add(client);
+                resyncs.increment();
+            }
+        }
+        lastEventNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the number of clients connected.
+     *
+     * @return The client count.
+     */
+    public int getSubscribers() {
+        return subscribers.size() + joining.size();
+    }
+
+    /**
+     * Gets the number of events serialized, once per tick whatever the number of clients.
+     *
+     * @return The serialization count.
+     */
+    public long getSerializations() {
+        return serializations.sum();
+    }
+
+    /**
+     * Gets the number of events written to clients.
+     *
+     * @return The event count.
+     */
+    public long getEventsSent() {
+        return eventsSent.sum();
+    }
+
+    /**
+     * Gets the number of times a client fell too far behind and was sent a snapshot instead of its
+     * queued updates.
+     *
+     * @return The resync count.
+     */
+    public long getResyncs() {
+        return resyncs.sum();
+    }
+
+    /**
+     * Stops the ticks and ends every client's stream.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ScheduledExecutorService executor = ticker;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        writers.shutdownNow();
+        subscribers.forEach(client -> client.emitter.complete());
+        joining.forEach(client -> client.emitter.complete());
+    }
+}
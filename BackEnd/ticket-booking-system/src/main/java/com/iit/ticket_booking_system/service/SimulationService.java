@@ -0,0 +1,193 @@
+package com.iit.ticket_booking_system.service;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.load.ArrivalProcess;
+import com.iit.ticket_booking_system.model.Priority;
+import com.iit.ticket_booking_system.model.CustomerSpec;
+import com.iit.ticket_booking_system.model.SimulationScenario;
+import com.iit.ticket_booking_system.model.VendorSpec;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.release.ReleaseController;
+import com.iit.ticket_booking_system.scheduler.Actor;
+import com.iit.ticket_booking_system.scheduler.ActorHandle;
+import com.iit.ticket_booking_system.scheduler.SimulatedScheduler;
+import com.iit.ticket_booking_system.thread.Customer;
+import com.iit.ticket_booking_system.thread.Vendor;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.OccupancyBand;
+import com.iit.ticket_booking_system.util.TicketIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that runs scenarios as discrete-event simulations on a virtual clock.
+ * <p>
+ * A simulation runs the same vendors, customers and ticket pool as the live system, but on the
+ * calling thread with a {@link SimulatedScheduler}, so an hour of sales takes as long as its steps
+ * rather than an hour. The seed fixes the arrivals and think times of the vendors and customers and
+ * every random choice of the pool, so the same scenario with the same seed gives the same report. The report has
+ * the same entries as {@link TicketService#getTicketStatus()}, which makes it a way to try capacities
+ * and release rates offline before using them.
+ */
+@Service
+public class SimulationService {
+
+    private final String implementation; // Inventory implementation of scenarios that name none
+    private final boolean sharded; // Whether scenarios shard the pool by event unless they say otherwise
+    private final boolean fair; // Whether scenarios serve waiting customers in arrival order unless they say otherwise
+    private final Duration priorityAging; // How long a waiting customer waits to rise one priority level
+    private final String releaseMode; // Release controller of vendors that name none
+    private final double occupancyLow; // Lower bound of the target occupancy band
+    private final double occupancyHigh; // Upper bound of the target occupancy band
+    private final long occupancySampleNanos; // Virtual time between occupancy samples
+
+    /**
+     * Constructs the simulation service with the pool and vendor settings of the live system.
+     *
+     * @param implementation        The inventory implementation of scenarios that name none.
+     * @param sharded               Whether to shard the pool by event unless a scenario says otherwise.
+     * @param fair                  Whether to serve waiting customers in arrival order unless a scenario says otherwise.
+     * @param priorityAgingMs       How long a waiting customer waits to rise one priority level, or 0 for never.
+     * @param releaseMode           The release controller of vendors that name none.
+     * @param occupancyLow          The lower bound of the target occupancy band, from 0 to 1.
+     * @param occupancyHigh         The upper bound of the target occupancy band, from 0 to 1.
+     * @param occupancySampleMillis How often the pool occupancy is sampled, in virtual milliseconds.
+     */
+    @Autowired
+    public SimulationService(@Value("${ticket.pool.implementation:linked}") String implementation,
+                             @Value("${ticket.pool.sharded:false}") boolean sharded,
+                             @Value("${ticket.pool.fair:false}") boolean fair,
+                             @Value("${ticket.pool.priority-aging-ms:2000}") long priorityAgingMs,
+                             @Value("${ticket.vendor.release-mode:fixed}") String releaseMode,
+                             @Value("${ticket.vendor.occupancy-low:0.3}") double occupancyLow,
+                             @Value("${ticket.vendor.occupancy-high:0.8}") double occupancyHigh,
+                             @Value("${ticket.pool.occupancy-sample-ms:100}") long occupancySampleMillis) {
+        this.implementation = implementation;
+        this.sharded = sharded;
+        this.fair = fair;
+        this.priorityAging = Duration.ofMillis(priorityAgingMs);
+        this.releaseMode = releaseMode;
+        this.occupancyLow = occupancyLow;
+        this.occupancyHigh = occupancyHigh;
+        this.occupancySampleNanos = TimeUnit.MILLISECONDS.toNanos(occupancySampleMillis);
+    }
+
+    /**
+     * Runs a scenario until its duration has passed on the virtual clock, or until every vendor and
+     * customer has finished. Messages of its vendors and customers are kept out of the system's log.
+     *
+     * @param scenario The scenario to run.
+     * @return The status of the pool at the end, as reported by {@link TicketService#getTicketStatus()},
+     * with the sales and a summary of the simulation itself.
+     * @throws IllegalArgumentException if the scenario has invalid settings.
+     */
+    public Map<String, Object> simulate(SimulationScenario scenario) {
+        String poolImplementation = scenario.getImplementation() == null ? implementation : scenario.getImplementation();
+        if (scenario.getDurationSeconds() <= 0 || scenario.getMaxCapacity() <= 0) {
+            throw new IllegalArgumentException("A simulation needs a positive duration and capacity");
+        }
+        if ("mapped".equals(poolImplementation.trim().toLowerCase())) {
+            throw new IllegalArgumentException("A simulation cannot use the mapped inventory, which keeps tickets in files");
+        }
+
+        SplittableRandom random = new SplittableRandom(scenario.getSeed());
+        SimulatedScheduler simulation = new SimulatedScheduler();
+        TicketPool pool = new TicketPool(scenario.getMaxCapacity(), poolImplementation,
+                scenario.getSharded() == null ? sharded : scenario.getSharded(),
+                scenario.getFair() == null ? fair : scenario.getFair(), null, priorityAging, simulation::now, random.split());
+        TicketIdGenerator idGenerator = TicketIdGenerator.forNode(0);
+        OccupancyBand occupancy = new OccupancyBand(occupancyLow, occupancyHigh);
+        long startSpread = TimeUnit.SECONDS.toNanos(Math.max(0, scenario.getStartSpreadSeconds()));
+
+        LoggerUtil.setMuted(true);
+        try {
+            List<ActorHandle> vendors = new ArrayList<>();
+            for (VendorSpec spec : scenario.getVendors()) {
+                long[] arrivals = arrivals(spec.getArrival(), spec.getArrivalRate(), spec.getRampSeconds(), spec.getCount(),
+                        random, startSpread);
+                for (int i = 0; i < spec.getCount(); i++) {
+                    ReleaseController releaseController = ReleaseController.create(
+                            spec.getReleaseMode() == null ? releaseMode : spec.getReleaseMode(), spec.getTicketsPerRelease(),
+                            TicketService.releaseIntervalNanos(spec), occupancyLow, occupancyHigh);
+                    Vendor vendor = new Vendor(UUID.randomUUID().toString(), TicketService.numbered(spec.getName(), i, spec.getCount()),
+                            spec.getEventName(), pool, spec.getTicketsPerRelease(), spec.getTotalTickets(), spec.getPrice(),
+                            idGenerator, releaseController);
+                    vendors.add(simulation.schedule(vendor, arrivals[i]));
+                }
+            }
+            List<ActorHandle> customers = new ArrayList<>();
+            for (CustomerSpec spec : scenario.getCustomers()) {
+                Priority priority = Priority.parse(spec.getPriority());
+                long[] arrivals = arrivals(spec.getArrival(), spec.getArrivalRate(), spec.getRampSeconds(), spec.getCount(),
+                        random, startSpread);
+                for (int i = 0; i < spec.getCount(); i++) {
+                    SplittableRandom thinking = random.split(); // Each customer's own think times, whatever the others draw
+                    Customer customer = new Customer(UUID.randomUUID().toString(), TicketService.numbered(spec.getName(), i, spec.getCount()),
+                            TicketService.customerPacer(spec, thinking), spec.getTotalTickets(), spec.getTicketsPerRetrieval(),
+                            spec.getGroupEvent(), priority, pool);
+                    customers.add(simulation.schedule(customer, arrivals[i]));
+                }
+            }
+
+            // Samples the occupancy until it is the only actor left
+            Actor sampler = (handle, now) -> {
+                occupancy.sample(now, pool.getCurrentSize(), pool.getTotalCapacity());
+                return simulation.getActiveActors() > 1 ? occupancySampleNanos : Actor.DONE;
+            };
+            simulation.schedule(sampler, 0);
+
+            long began = System.nanoTime();
+            simulation.runUntil(TimeUnit.SECONDS.toNanos(scenario.getDurationSeconds()));
+            long elapsed = System.nanoTime() - began;
+            occupancy.sample(simulation.now(), pool.getCurrentSize(), pool.getTotalCapacity());
+
+            Map<String, Object> report = new HashMap<>();
+            TicketService.putPoolStatus(report, pool, occupancy);
+            report.put("activeVendors", vendors.stream().filter(vendor -> !vendor.isDone()).count());
+            report.put("activeCustomers", customers.stream().filter(customer -> !customer.isDone()).count());
+            report.put("ticketSales", Ticket.toPrice(pool.getTotalSalesInCents()));
+            report.put("ticketSalesInCents", pool.getTotalSalesInCents());
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("seed", scenario.getSeed());
+            summary.put("vendors", vendors.size());
+            summary.put("customers", customers.size());
+            summary.put("simulatedSeconds", simulation.now() / 1e9);
+            summary.put("steps", simulation.getSteps());
+            summary.put("wallClockMs", elapsed / 1e6);
+            report.put("simulation", summary);
+            return report;
+        } finally {
+            LoggerUtil.setMuted(false);
+            pool.clearSales(); // Withdraws the purchases still queued, which nothing will complete
+        }
+    }
+
+    /**
+     * Gets the start times of a group of vendors or customers. Those arriving all at once start at
+     * random times within the start window instead.
+     */
+    private static long[] arrivals(String process, double rate, double rampSeconds, int count, SplittableRandom random,
+                                   long startSpread) {
+        ArrivalProcess arrivalProcess = ArrivalProcess.create(process, rate, rampSeconds);
+        if (process != null && !process.trim().equalsIgnoreCase("immediate")) {
+            return arrivalProcess.arrivals(count, random);
+        }
+        long[] arrivals = new long[Math.max(0, count)];
+        for (int i = 0; i < arrivals.length; i++) {
+            arrivals[i] = startSpread > 0 ? random.nextLong(startSpread) : 0;
+        }
+        return arrivals;
+    }
+}
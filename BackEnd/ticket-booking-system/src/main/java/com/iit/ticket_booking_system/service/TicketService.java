@@ -3,15 +3,36 @@ package com.iit.ticket_booking_system.service;
 import com.iit.ticket_booking_system.TicketPool;
 import com.iit.ticket_booking_system.config.Configuration;
 import com.iit.ticket_booking_system.config.ConfigurationManager;
+import com.iit.ticket_booking_system.load.ArrivalProcess;
+import com.iit.ticket_booking_system.load.Pacer;
+import com.iit.ticket_booking_system.load.ThinkTime;
+import com.iit.ticket_booking_system.load.TokenBucket;
+import com.iit.ticket_booking_system.model.CustomerSpec;
+import com.iit.ticket_booking_system.model.Priority;
+import com.iit.ticket_booking_system.model.VendorSpec;
+import com.iit.ticket_booking_system.release.ReleaseController;
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
+import com.iit.ticket_booking_system.thread.ActorRegistry;
 import com.iit.ticket_booking_system.thread.Customer;
 import com.iit.ticket_booking_system.thread.CustomerThreadInfo;
 import com.iit.ticket_booking_system.thread.Vendor;
 import com.iit.ticket_booking_system.thread.VendorThreadInfo;
 import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+import com.iit.ticket_booking_system.util.OccupancyBand;
+import com.iit.ticket_booking_system.util.TicketIdGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.SYSTEM;
 
 /**
  * Service class that handles the ticket booking system logic, including managing vendors,
@@ -21,19 +42,69 @@ import java.util.*;
 public class TicketService {
 
     private final TicketPool ticketPool;
+    private final TicketIdGenerator idGenerator; // Issues the ids of the tickets vendors release
+    private final String releaseMode; // Release controller of vendors added without one: fixed, aimd or pid
+    private final double occupancyLow; // Lower bound of the target occupancy band
+    private final double occupancyHigh; // Upper bound of the target occupancy band
+    private final long occupancySampleMillis; // How often the pool occupancy is sampled
+    private final OccupancyBand occupancy; // Time the pool spent below, inside and above the band
+    private ScheduledExecutorService occupancySampler; // Samples the occupancy while the system runs
+    private final boolean virtualThreads; // Whether vendors and customers run on virtual threads
+    private final ActorScheduler scheduler; // Runs vendors and customers as step functions, or null for a thread each
     private boolean isRunning = false;
-    private final List<VendorThreadInfo> vendorThreads = new ArrayList<>();
-    private final List<CustomerThreadInfo> customerThreads = new ArrayList<>();
+    private final ActorRegistry<VendorThreadInfo> vendorThreads = new ActorRegistry<>(
+            info -> info.getVendor().getVendorId(), info -> info.getVendor().getVendorName()); // Running vendors, reaped when they finish
+    private final ActorRegistry<CustomerThreadInfo> customerThreads = new ActorRegistry<>(
+            info -> info.getCustomer().getCustomerId(), info -> info.getCustomer().getCustomerName()); // Running customers, reaped when they finish
 
 
     /**
      * Constructor to initialize TicketService with the given ticket pool.
+     * <p>
+     * Vendors release tickets in fixed batches unless {@code ticket.vendor.release-mode} picks an
+     * adaptive controller ("aimd" or "pid") that keeps each shard's occupancy between
+     * {@code ticket.vendor.occupancy-low} and {@code ticket.vendor.occupancy-high}. While the system
+     * runs, the pool occupancy is sampled every {@code ticket.pool.occupancy-sample-ms} to report how
+     * long it stayed in that band. With {@code ticket.threads.mode=virtual} every vendor and customer
+     * runs on a virtual thread instead of a platform thread, so that many thousands of them fit in a
+     * modest heap; the pool only ever blocks them on {@link java.util.concurrent.locks.Lock locks},
+     * which unmount a waiting virtual thread from its carrier. With {@code ticket.threads.mode=scheduled}
+     * they own no thread at all: an {@link ActorScheduler} with {@code ticket.scheduler.workers} worker
+     * threads (one per core by default) runs them as step functions, woken by a timing wheel.
      *
-     * @param ticketPool The ticket pool used to manage the available tickets.
+     * @param ticketPool            The ticket pool used to manage the available tickets.
+     * @param idNode                The node ID embedded in the ticket ids issued by this instance.
+     * @param releaseMode           The release controller of vendors added without one.
+     * @param occupancyLow          The lower bound of the target occupancy band, from 0 to 1.
+     * @param occupancyHigh         The upper bound of the target occupancy band, from 0 to 1.
+     * @param occupancySampleMillis How often the pool occupancy is sampled, in milliseconds.
+     * @param threadMode            The threads vendors and customers run on: "platform", "virtual" or "scheduled".
+     * @param schedulerWorkers      The worker threads of the scheduled mode, or 0 for one per core.
+     * @throws IllegalArgumentException if the release mode or thread mode is unknown.
      */
     @Autowired
-    public TicketService(TicketPool ticketPool) {
+    public TicketService(TicketPool ticketPool, @Value("${ticket.id.node:0}") int idNode,
+                         @Value("${ticket.vendor.release-mode:fixed}") String releaseMode,
+                         @Value("${ticket.vendor.occupancy-low:0.3}") double occupancyLow,
+                         @Value("${ticket.vendor.occupancy-high:0.8}") double occupancyHigh,
+                         @Value("${ticket.pool.occupancy-sample-ms:100}") long occupancySampleMillis,
+                         @Value("${ticket.threads.mode:platform}") String threadMode,
+                         @Value("${ticket.scheduler.workers:0}") int schedulerWorkers) {
         this.ticketPool = ticketPool;
+        this.idGenerator = TicketIdGenerator.forNode(idNode);
+        this.releaseMode = releaseMode;
+        this.occupancyLow = occupancyLow;
+        this.occupancyHigh = occupancyHigh;
+        this.occupancySampleMillis = occupancySampleMillis;
+        this.occupancy = new OccupancyBand(occupancyLow, occupancyHigh);
+        ReleaseController.create(releaseMode, 1, 1, occupancyLow, occupancyHigh); // Reject a bad mode at startup
+        String mode = threadMode.trim().toLowerCase();
+        if (!mode.equals("platform") && !mode.equals("virtual") && !mode.equals("scheduled")) {
+            throw new IllegalArgumentException("Unknown thread mode: " + threadMode);
+        }
+        this.virtualThreads = mode.equals("virtual");
+        this.scheduler = mode.equals("scheduled") ? new ActorScheduler(schedulerWorkers > 0 ? schedulerWorkers
+                : Runtime.getRuntime().availableProcessors(), TimeUnit.MILLISECONDS.toNanos(1)) : null;
     }
 
     /**
@@ -43,11 +114,11 @@ public class TicketService {
      * @return A message indicating the system startup status.
      */
     public String startSystem(int maxCapacity) {
-        LoggerUtil.log("INFO", "Attempting to start the system");
+        LoggerUtil.log(SYSTEM, Level.INFO, "Attempting to start the system");
 
         // Check if the system is already running
         if (isRunning) {
-            LoggerUtil.log("WARNING", "System is already running");
+            LoggerUtil.log(SYSTEM, Level.WARNING, "System is already running");
             return "System is already Running";
         }
 
@@ -59,8 +130,8 @@ public class TicketService {
 
         }
         isRunning = true; // Mark the system as running
-        LoggerUtil.log("INFO", "System started successfully!");
-        System.out.println("System started successfully!");
+        startOccupancySampler();
+        LoggerUtil.log(SYSTEM, Level.INFO, "System started successfully!");
         return "System started successfully!";
     }
 
@@ -71,36 +142,69 @@ public class TicketService {
      * @return A message indicating the system stop status.
      */
     public synchronized String stopSystem() {
-        LoggerUtil.log("INFO", "Attempting to stop the system");
+        LoggerUtil.log(SYSTEM, Level.INFO, "Attempting to stop the system");
 
         // Check if the system is running
         if (!isRunning) {
-            LoggerUtil.log("WARNING", "System is not running!");
+            LoggerUtil.log(SYSTEM, Level.WARNING, "System is not running!");
             return "System is not running!";
         }
         isRunning = false;
 
-        // Interrupt all vendor threads
-        for (VendorThreadInfo vendorThreadInfo : vendorThreads) {
-            vendorThreadInfo.getVendorThread().interrupt();
+        // Remove and interrupt all vendor threads
+        for (VendorThreadInfo vendorThreadInfo : vendorThreads.removeAll()) {
+            vendorThreadInfo.stop();
         }
-        vendorThreads.clear(); // Clear the vendor thread list
 
-        // Interrupt all customer threads
-        for (CustomerThreadInfo customerThreadInfo : customerThreads) {
-            customerThreadInfo.getCustomerThread().interrupt();
+        // Remove and interrupt all customer threads
+        for (CustomerThreadInfo customerThreadInfo : customerThreads.removeAll()) {
+            customerThreadInfo.stop();
         }
 
-        customerThreads.clear(); // Clear the customer thread list
-
         ticketPool.clearSales();  // Clear sales records
+        stopOccupancySampler();
+        ticketPool.reportWaits(true); // Log the waits of the last interval
+        occupancy.reset();
 
 
-        System.out.println("System stopped successfully!");
-        LoggerUtil.log("INFO", "System stopped successfully!");
+        LoggerUtil.log(SYSTEM, Level.INFO, "System stopped successfully!");
         return "System stopped successfully!";
     }
 
+    /**
+     * Starts sampling the pool occupancy on a daemon thread.
+     */
+    private synchronized void startOccupancySampler() {
+        if (occupancySampler != null) {
+            return;
+        }
+        occupancySampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-occupancy-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        occupancySampler.scheduleAtFixedRate(this::sampleOccupancy, 0, occupancySampleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling the pool occupancy.
+     */
+    private synchronized void stopOccupancySampler() {
+        if (occupancySampler != null) {
+            occupancySampler.shutdownNow();
+            occupancySampler = null;
+        }
+    }
+
+    /**
+     * Records the current occupancy of the whole pool, and logs the summaries of the pool's waits
+     * whose interval has passed.
+     */
+    private void sampleOccupancy() {
+        occupancy.sample(System.nanoTime(), ticketPool.getCurrentSize(), ticketPool.getTotalCapacity());
+        ticketPool.reportWaits(false);
+    }
+
     /**
      * Checks if the ticket booking system is currently running.
      *
@@ -115,19 +219,29 @@ public class TicketService {
      *
      * @return The maximum ticket capacity.
      */
-    public synchronized int getMaxCapacity() {
+    public int getMaxCapacity() {
         return ticketPool.getMaxCapacity();
     }
 
     /**
      * Retrieves the total sales value from the ticket pool.
+     * The pool keeps sales in a striped counter, so no lock is needed to read it.
      *
      * @return The total sales value.
      */
-    public synchronized double getTotalSales() {
+    public double getTotalSales() {
         return ticketPool.getTotalSales();
     }
 
+    /**
+     * Retrieves the exact total sales value from the ticket pool, in cents.
+     *
+     * @return The total sales value in cents.
+     */
+    public long getTotalSalesInCents() {
+        return ticketPool.getTotalSalesInCents();
+    }
+
     /**
      * Adds a vendor to the system and starts their respective thread.
      *
@@ -140,19 +254,168 @@ public class TicketService {
      * @param price             The price of each ticket.
      */
     public void addVendor(String id, String name, String eventName, int ticketsPerRelease, int releaseInterval, int totalTickets, double price) {
+        addVendor(id, name, eventName, ticketsPerRelease, releaseInterval, totalTickets, price, null);
+    }
+
+    /**
+     * Adds a vendor whose releases are sized and spaced by the given release mode and starts their respective thread.
+     *
+     * @param id                The vendor's unique identifier.
+     * @param name              The vendor's name.
+     * @param eventName         The event associated with the vendor.
+     * @param ticketsPerRelease Number of tickets released by the vendor at a time, the starting point of an adaptive mode.
+     * @param releaseInterval   The time interval between each ticket release, the starting point of an adaptive mode.
+     * @param totalTickets      The total number of tickets available for release.
+     * @param price             The price of each ticket.
+     * @param releaseMode       The release controller ("fixed", "aimd" or "pid"), or null for the configured one.
+     * @throws IllegalArgumentException if the release mode is unknown or cannot work with the given release.
+     */
+    public void addVendor(String id, String name, String eventName, int ticketsPerRelease, int releaseInterval, int totalTickets, double price, String releaseMode) {
+        VendorSpec spec = new VendorSpec();
+        spec.setName(name);
+        spec.setEventName(eventName);
+        spec.setTicketsPerRelease(ticketsPerRelease);
+        spec.setReleaseInterval(releaseInterval);
+        spec.setTotalTickets(totalTickets);
+        spec.setPrice(price);
+        spec.setReleaseMode(releaseMode);
+        addVendor(spec);
+    }
+
+    /**
+     * Adds a single vendor as described by a spec, whose count and arrival process are ignored, and
+     * starts their respective thread. The spec's release rate, when set, spaces the releases by any
+     * fraction of a second instead of the whole seconds of the release interval.
+     *
+     * @param spec The vendor to add.
+     * @throws IllegalArgumentException if the release rate or mode is invalid or cannot work with the given release.
+     */
+    public void addVendor(VendorSpec spec) {
+        Vendor vendor = newVendor(spec, spec.getName(), releaseController(spec));
         // Ensure the system is running before adding a vendor
         if (!isRunning) {
-            System.out.println("System is not started");
-            LoggerUtil.log("WARNING", "System is not started!");
+            LoggerUtil.log(SYSTEM, Level.WARNING, "System is not started!");
         }
 
-        Vendor vendor = new Vendor(id, name, eventName, ticketPool, ticketsPerRelease, releaseInterval, totalTickets, price);
-        Thread vendorThread = new Thread(vendor, "Vendor: " + vendor.getVendorId());
-        VendorThreadInfo vendorThreadInfo = new VendorThreadInfo(vendor, vendorThread);
-        vendorThreads.add(vendorThreadInfo); // Add vendor to the vendor list
-        vendorThread.start(); // Start the vendor thread
-        System.out.println("Vendor added and started: " + vendor.getVendorName());
-        LoggerUtil.log("INFO", "Vendor added and started: " + vendor.getVendorName());
+        startVendor(vendor, 0);
+        LoggerUtil.log(SYSTEM, Level.INFO, "Vendor added and started: " + vendor.getVendorName());
+    }
+
+    /**
+     * Spawns a group of identical vendors, numbered after the spec's name, that arrive as set by its
+     * arrival process. The vendors are created and registered in parallel, and each one starts
+     * releasing at its arrival time; a single line is logged for the whole group.
+     *
+     * @param spec The vendors to spawn and their arrival process.
+     * @param seed The seed of the arrival times, or null for different ones each time.
+     * @return The number of vendors spawned.
+     * @throws IllegalArgumentException if the count, the release rate or mode, or the arrival process is invalid.
+     */
+    public int spawnVendors(VendorSpec spec, Long seed) {
+        int count = spec.getCount();
+        if (count < 1) {
+            throw new IllegalArgumentException("Vendor count must be positive: " + count);
+        }
+        releaseController(spec); // Reject a bad rate or mode before spawning
+        long[] arrivals = ArrivalProcess.create(spec.getArrival(), spec.getArrivalRate(), spec.getRampSeconds())
+                .arrivals(count, seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+        if (!isRunning) {
+            LoggerUtil.log(SYSTEM, Level.WARNING, "System is not started!");
+        }
+
+        IntStream.range(0, count).parallel().forEach(i ->
+                startVendor(newVendor(spec, numbered(spec.getName(), i, count), releaseController(spec)), arrivals[i])); // Each vendor adapts on its own
+        LoggerUtil.log(SYSTEM, Level.INFO, "Spawned " + count + " vendors: " + spec.getName() + " arriving " + describeArrival(spec.getArrival(), arrivals));
+        return count;
+    }
+
+    /**
+     * Creates the release controller of a vendor spec, in the configured mode unless the spec names one.
+     *
+     * @param spec The vendor spec.
+     * @return A new controller.
+     * @throws IllegalArgumentException if the release rate or mode is invalid.
+     */
+    private ReleaseController releaseController(VendorSpec spec) {
+        return ReleaseController.create(spec.getReleaseMode() == null ? releaseMode : spec.getReleaseMode(),
+                spec.getTicketsPerRelease(), releaseIntervalNanos(spec), occupancyLow, occupancyHigh);
+    }
+
+    /**
+     * Creates a vendor of this system as described by a spec.
+     *
+     * @param spec              The vendor spec.
+     * @param name              The vendor's name.
+     * @param releaseController The vendor's own release controller.
+     * @return The vendor, not started.
+     */
+    private Vendor newVendor(VendorSpec spec, String name, ReleaseController releaseController) {
+        return new Vendor(null, name, spec.getEventName(), ticketPool, spec.getTicketsPerRelease(), spec.getTotalTickets(),
+                spec.getPrice(), idGenerator, releaseController);
+    }
+
+    /**
+     * Gets the time between the releases of a vendor spec: the inverse of its release rate when set,
+     * which may be any fraction of a second, or else its release interval in whole seconds.
+     *
+     * @param spec The vendor spec.
+     * @return The release interval in nanoseconds.
+     * @throws IllegalArgumentException if the rate or interval is negative.
+     */
+    static long releaseIntervalNanos(VendorSpec spec) {
+        return intervalNanos(spec.getReleaseRate(), spec.getReleaseInterval(), "Release");
+    }
+
+    /**
+     * Gets the pacer of a customer spec. With the default fixed think time, a {@link TokenBucket} holds
+     * the customer to its retrieval rate, or to one purchase per retrieval interval, without drifting
+     * however late it wakes; otherwise think times are drawn with the time between purchases as mean.
+     *
+     * @param spec   The customer spec.
+     * @param random The source of the think times, used by this customer alone.
+     * @return A new pacer for one customer.
+     * @throws IllegalArgumentException if the rate, interval or think time is invalid.
+     */
+    static Pacer customerPacer(CustomerSpec spec, RandomGenerator random) {
+        long intervalNanos = intervalNanos(spec.getRetrievalRate(), spec.getRetrievalInterval(), "Retrieval");
+        String distribution = spec.getThinkTime() == null ? "fixed" : spec.getThinkTime().trim().toLowerCase();
+        if (distribution.equals("fixed")) {
+            return spec.getRetrievalRate() > 0 ? new TokenBucket(spec.getRetrievalRate()) : TokenBucket.ofInterval(intervalNanos);
+        }
+        return ThinkTime.create(distribution, intervalNanos / 1e9, spec.getThinkTimeSpread()).pacer(random);
+    }
+
+    /**
+     * Gets the time between events from a rate, when it is positive, or else an interval in whole seconds.
+     */
+    private static long intervalNanos(double ratePerSecond, int intervalSeconds, String what) {
+        if (!(ratePerSecond >= 0) || intervalSeconds < 0) {
+            throw new IllegalArgumentException(what + " rate and interval must not be negative: " + ratePerSecond
+                    + " per second, " + intervalSeconds + " s");
+        }
+        return ratePerSecond > 0 ? Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : TimeUnit.SECONDS.toNanos(intervalSeconds);
+    }
+
+    /**
+     * Registers a vendor and starts it after the given delay, on the scheduler or on its own thread.
+     *
+     * @param vendor     The vendor to start.
+     * @param delayNanos The delay before its first release, in nanoseconds.
+     */
+    private void startVendor(Vendor vendor, long delayNanos) {
+        String vendorId = vendor.getVendorId();
+        Runnable reap = () -> vendorThreads.removeById(vendorId); // Unregisters the vendor once it finishes
+        if (scheduler != null) {
+            ActorScheduler.Handle handle = scheduler.schedule(vendor, delayNanos, reap); // Run the vendor's steps
+            vendorThreads.add(new VendorThreadInfo(vendor, handle));
+            if (handle.isDone()) {
+                reap.run(); // Finished before it was registered
+            }
+        } else {
+            Thread vendorThread = newActorThread(vendor, "Vendor: " + vendorId, delayNanos, reap);
+            vendorThreads.add(new VendorThreadInfo(vendor, vendorThread)); // Register the vendor before it can finish
+            vendorThread.start(); // Start the vendor thread
+        }
     }
 
     /**
@@ -164,101 +427,311 @@ public class TicketService {
      * @param totalTickets      The total number of tickets the customer intends to retrieve.
      */
     public void addCustomer(String id, String name, int retrievalInterval, int totalTickets) {
+        addCustomer(id, name, retrievalInterval, totalTickets, 1);
+    }
+
+    /**
+     * Adds a customer that buys several tickets per retrieval and starts their respective thread.
+     *
+     * @param id                  The customer's unique identifier.
+     * @param name                The customer's name.
+     * @param retrievalInterval   The time interval between customer ticket retrievals.
+     * @param totalTickets        The total number of tickets the customer intends to retrieve.
+     * @param ticketsPerRetrieval The number of tickets the customer buys in each retrieval.
+     */
+    public void addCustomer(String id, String name, int retrievalInterval, int totalTickets, int ticketsPerRetrieval) {
+        addCustomer(id, name, retrievalInterval, totalTickets, ticketsPerRetrieval, null);
+    }
+
+    /**
+     * Adds a customer that books each retrieval as an all-or-nothing group and starts their respective thread.
+     *
+     * @param id                  The customer's unique identifier.
+     * @param name                The customer's name.
+     * @param retrievalInterval   The time interval between customer ticket retrievals.
+     * @param totalTickets        The total number of tickets the customer intends to retrieve.
+     * @param ticketsPerRetrieval The number of tickets the customer buys in each retrieval.
+     * @param groupEvent          The event to book groups for, or null to buy any available tickets.
+     * @throws IllegalArgumentException if a group could never fit in the pool.
+     */
+    public void addCustomer(String id, String name, int retrievalInterval, int totalTickets, int ticketsPerRetrieval, String groupEvent) {
+        addCustomer(id, name, retrievalInterval, totalTickets, ticketsPerRetrieval, groupEvent, Priority.STANDARD);
+    }
+
+    /**
+     * Adds a customer that books each retrieval as an all-or-nothing group and starts their respective thread.
+     *
+     * @param id                  The customer's unique identifier.
+     * @param name                The customer's name.
+     * @param retrievalInterval   The time interval between customer ticket retrievals.
+     * @param totalTickets        The total number of tickets the customer intends to retrieve.
+     * @param ticketsPerRetrieval The number of tickets the customer buys in each retrieval.
+     * @param groupEvent          The event to book groups for, or null to buy any available tickets.
+     * @param priority            The customer's access tier; higher tiers waiting for tickets are served first.
+     * @throws IllegalArgumentException if a group could never fit in the pool.
+     */
+    public void addCustomer(String id, String name, int retrievalInterval, int totalTickets, int ticketsPerRetrieval, String groupEvent, Priority priority) {
+        CustomerSpec spec = new CustomerSpec();
+        spec.setName(name);
+        spec.setRetrievalInterval(retrievalInterval);
+        spec.setTotalTickets(totalTickets);
+        spec.setTicketsPerRetrieval(ticketsPerRetrieval);
+        spec.setGroupEvent(groupEvent);
+        spec.setPriority(priority.name());
+        addCustomer(spec);
+    }
+
+    /**
+     * Adds a single customer as described by a spec, whose count and arrival process are ignored, and
+     * starts their respective thread. The spec's retrieval rate, when set, paces the purchases at any
+     * number per second instead of one per whole-second retrieval interval.
+     *
+     * @param spec The customer to add.
+     * @throws IllegalArgumentException if the rate, priority or think time is invalid, or if a group could
+     *                                  never fit in the pool.
+     */
+    public void addCustomer(CustomerSpec spec) {
+        checkGroup(spec);
+        Priority priority = Priority.parse(spec.getPriority());
+        Pacer pacer = customerPacer(spec, new SplittableRandom());
         // Ensure the system is running before adding a customer
         if (!isRunning) {
-            System.out.println("System is not started");
-            LoggerUtil.log("WARNING", "System is not started!");
+            LoggerUtil.log(SYSTEM, Level.WARNING, "System is not started!");
         }
 
-        Customer customer = new Customer(id, name, retrievalInterval, totalTickets, ticketPool);
-        Thread customerThread = new Thread(customer, "Customer: " + customer.getCustomerId());
-        CustomerThreadInfo customerThreadInfo = new CustomerThreadInfo(customer, customerThread);
-        customerThreads.add(customerThreadInfo); // Add customer to the customer list
-        customerThread.start();  // Start the customer thread
-        System.out.println("Customer added and started: " + customer.getCustomerName());
-        LoggerUtil.log("INFO", "Customer added and started: " + customer.getCustomerName());
+        Customer customer = new Customer(null, spec.getName(), pacer, spec.getTotalTickets(), spec.getTicketsPerRetrieval(),
+                spec.getGroupEvent(), priority, ticketPool);
+        startCustomer(customer, 0);
+        LoggerUtil.log(SYSTEM, Level.INFO, "Customer added and started: " + customer.getCustomerName());
     }
 
     /**
-     * Removes a vendor from the system and interrupts their respective thread.
+     * Spawns a group of identical customers, numbered after the spec's name, that arrive as set by its
+     * arrival process and wait between purchases for think times drawn from its distribution, with the
+     * time between purchases as the mean. The customers are created and registered in parallel, and each
+     * one starts buying at its arrival time; a single line is logged for the whole group.
      *
-     * @param vendorName The name of the vendor to be removed.
+     * @param spec The customers to spawn, their arrival process and their think times.
+     * @param seed The seed of the arrival and think times, or null for different ones each time.
+     * @return The number of customers spawned.
+     * @throws IllegalArgumentException if the count, the priority, the arrival process or the think time
+     *                                  is invalid, or if a group could never fit in the pool.
      */
-    public void removeVendor(String vendorName) {
-
-        // Iterate through the vendor list to find and remove the vendor by name
-        for (int i = 0; i < vendorThreads.size(); i++) {
-            VendorThreadInfo vendorToRemove = vendorThreads.get(i);
-
-            if (vendorToRemove.getVendor().getVendorName().trim().equalsIgnoreCase(vendorName.trim())) {
-                vendorToRemove.getVendorThread().interrupt(); // Interrupt the vendor thread
-                vendorThreads.remove(i);  // Remove the vendor from the list
-                System.out.println("Vendor: " + vendorName + " removed successfully");
-                LoggerUtil.log("INFO", "Vendor: " + vendorName + " removed successfully");
-                return;
-            }
-            System.out.println(vendorToRemove.getVendor().getVendorName());
+    public int spawnCustomers(CustomerSpec spec, Long seed) {
+        int count = spec.getCount();
+        if (count < 1) {
+            throw new IllegalArgumentException("Customer count must be positive: " + count);
+        }
+        checkGroup(spec);
+        Priority priority = Priority.parse(spec.getPriority());
+        SplittableRandom random = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+        long[] arrivals = ArrivalProcess.create(spec.getArrival(), spec.getArrivalRate(), spec.getRampSeconds()).arrivals(count, random);
+        SplittableRandom[] thinking = new SplittableRandom[count]; // Each customer's own think times, split up front to keep the seed's meaning
+        for (int i = 0; i < count; i++) {
+            thinking[i] = random.split();
+        }
+        customerPacer(spec, random); // Reject a bad rate or think time before spawning
+        if (!isRunning) {
+            LoggerUtil.log(SYSTEM, Level.WARNING, "System is not started!");
         }
 
-        // Vendor was not found in the list
-        System.out.println("Vendor: " + vendorName + " not found");
-        LoggerUtil.log("INFO", "Vendor: " + vendorName + " not found");
+        IntStream.range(0, count).parallel().forEach(i ->
+                startCustomer(new Customer(null, numbered(spec.getName(), i, count), customerPacer(spec, thinking[i]),
+                        spec.getTotalTickets(), spec.getTicketsPerRetrieval(), spec.getGroupEvent(), priority, ticketPool), arrivals[i]));
+        LoggerUtil.log(SYSTEM, Level.INFO, "Spawned " + count + " customers: " + spec.getName() + " arriving " + describeArrival(spec.getArrival(), arrivals));
+        return count;
     }
 
     /**
-     * Removes a customer from the system and interrupts their respective thread.
+     * Rejects a customer spec whose groups could never fit in the pool.
      *
-     * @param customerName The name of the customer to be removed.
+     * @param spec The customer spec.
+     * @throws IllegalArgumentException if the spec books groups larger than the pool.
      */
-    public void removeCustomer(String customerName) {
+    private void checkGroup(CustomerSpec spec) {
+        if (spec.getGroupEvent() != null && spec.getTicketsPerRetrieval() > ticketPool.getMaxCapacity()) {
+            throw new IllegalArgumentException("A group of " + spec.getTicketsPerRetrieval() + " tickets exceeds the pool capacity of "
+                    + ticketPool.getMaxCapacity());
+        }
+    }
 
-        // Iterate through the customer list to find and remove the customer by name
-        for (int i = 0; i < customerThreads.size(); i++) {
-            CustomerThreadInfo customerToRemove = customerThreads.get(i);
+    /**
+     * Registers a customer and starts it after the given delay, on the scheduler or on its own thread.
+     *
+     * @param customer   The customer to start.
+     * @param delayNanos The delay before its first purchase, in nanoseconds.
+     */
+    private void startCustomer(Customer customer, long delayNanos) {
+        String customerId = customer.getCustomerId();
+        Runnable reap = () -> customerThreads.removeById(customerId); // Unregisters the customer once it finishes
+        if (scheduler != null) {
+            ActorScheduler.Handle handle = scheduler.schedule(customer, delayNanos, reap); // Run the customer's steps
+            customerThreads.add(new CustomerThreadInfo(customer, handle));
+            if (handle.isDone()) {
+                reap.run(); // Finished before it was registered
+            }
+        } else {
+            Thread customerThread = newActorThread(customer, "Customer: " + customerId, delayNanos, reap);
+            customerThreads.add(new CustomerThreadInfo(customer, customerThread)); // Register the customer before it can finish
+            customerThread.start();  // Start the customer thread
+        }
+    }
 
-            if (customerToRemove.getCustomer().getCustomerName().trim().equalsIgnoreCase(customerName.trim())) {
-                customerToRemove.getCustomerThread().interrupt(); // Interrupt the customer thread
-                customerThreads.remove(i); // Remove the customer from the list
-                System.out.println("Customer: " + customerName + " removed successfully");
-                LoggerUtil.log("INFO", "Customer: " + customerName + " removed successfully");
-                return;
+    /**
+     * Creates the unstarted thread of a vendor or customer, virtual or platform as configured.
+     *
+     * @param actor      The vendor or customer to run.
+     * @param name       The name of the thread.
+     * @param delayNanos How long the thread waits before running the vendor or customer, in nanoseconds.
+     * @param onDone     Run on the thread once the vendor or customer finishes or is stopped.
+     * @return The new thread.
+     */
+    private Thread newActorThread(Runnable actor, String name, long delayNanos, Runnable onDone) {
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        return builder.name(name).unstarted(() -> {
+            try {
+                if (delayNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos); // Not arrived yet
+                }
+                actor.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Stopped before it arrived
+            } finally {
+                onDone.run();
             }
-            System.out.println(customerToRemove.getCustomer().getCustomerName());
+        });
+    }
+
+    /**
+     * Describes the arrivals of a spawned group for the log.
+     */
+    private static String describeArrival(String process, long[] arrivals) {
+        String name = process == null ? "immediate" : process.trim().toLowerCase();
+        if (arrivals.length == 0 || arrivals[arrivals.length - 1] == 0) {
+            return name;
         }
+        return name + " over " + String.format("%.2f", arrivals[arrivals.length - 1] / 1e9) + " s";
+    }
 
-        // Customer was not found in the list
-        System.out.println("Customer: " + customerName + " not found");
-        LoggerUtil.log("INFO", "Customer: " + customerName + " not found");
+    /**
+     * Numbers the names of a group of several vendors or customers.
+     */
+    static String numbered(String name, int index, int count) {
+        return count == 1 ? name : name + " " + (index + 1);
+    }
 
+    /**
+     * Checks whether vendors and customers run on virtual threads.
+     *
+     * @return true in the virtual thread mode.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Removes a vendor from the system and interrupts their respective thread.
+     * If several running vendors have the name, the one added first is removed.
+     *
+     * @param vendorName The name of the vendor to be removed, ignoring case and surrounding whitespace.
+     */
+    public void removeVendor(String vendorName) {
+        VendorThreadInfo vendorToRemove = vendorThreads.removeByName(vendorName);
+        if (vendorToRemove == null) {
+            // No running vendor has the name
+            LoggerUtil.log(SYSTEM, Level.INFO, "Vendor: " + vendorName + " not found");
+            return;
+        }
+        vendorToRemove.stop(); // Interrupt the vendor thread
+        LoggerUtil.log(SYSTEM, Level.INFO, "Vendor: " + vendorName + " removed successfully");
+    }
+
+    /**
+     * Removes a customer from the system and interrupts their respective thread.
+     * If several running customers have the name, the one added first is removed.
+     *
+     * @param customerName The name of the customer to be removed, ignoring case and surrounding whitespace.
+     */
+    public void removeCustomer(String customerName) {
+        CustomerThreadInfo customerToRemove = customerThreads.removeByName(customerName);
+        if (customerToRemove == null) {
+            // No running customer has the name
+            LoggerUtil.log(SYSTEM, Level.INFO, "Customer: " + customerName + " not found");
+            return;
+        }
+        customerToRemove.stop(); // Interrupt the customer thread
+        LoggerUtil.log(SYSTEM, Level.INFO, "Customer: " + customerName + " removed successfully");
     }
 
     /**
      * Retrieves the current status of the ticket system as a map of key-value pairs.
      * The status includes details like the current ticket pool size, total tickets added,
-     * maximum capacity, and the count of active vendors and customers.
+     * maximum capacity, the count of active vendors and customers, and the occupancy of each event shard.
      *
      * @return A map containing the current status of the ticket system.
      */
     public Map<String, Object> getTicketStatus() {
         Map<String, Object> ticketStatus = new HashMap<>();
 
+        // Take a fresh occupancy sample, so that the time in band covers everything up to now
+        if (isRunning) {
+            sampleOccupancy();
+        }
+        putPoolStatus(ticketStatus, ticketPool, occupancy);
+
+        // Add the number of vendors still releasing tickets; finished ones are reaped
+        ticketStatus.put("activeVendors", vendorThreads.size());
+
+        // Add the number of customers still buying tickets; finished ones are reaped
+        ticketStatus.put("activeCustomers", customerThreads.size());
+
+        // Add the scheduler's load when vendors and customers run as step functions
+        if (scheduler != null) {
+            ticketStatus.put("scheduledActors", scheduler.getActiveActors());
+            ticketStatus.put("scheduledTimers", scheduler.getPendingTimers());
+            ticketStatus.put("scheduledSteps", scheduler.getSteps());
+        }
+
+        return ticketStatus;
+
+    }
+
+    /**
+     * Adds the state of a ticket pool to a status map: its size and capacity, the tickets added and held,
+     * the occupancy of each event shard, the customers' wait times and the time spent in the target band.
+     * Shared by the live status and the report of a simulation.
+     *
+     * @param ticketStatus The status map to add to.
+     * @param ticketPool   The ticket pool.
+     * @param occupancy    The occupancy samples of the pool.
+     */
+    static void putPoolStatus(Map<String, Object> ticketStatus, TicketPool ticketPool, OccupancyBand occupancy) {
         // Add the current size of the ticket pool to the status map
         ticketStatus.put("currentSize", ticketPool.getCurrentSize());
 
+        // Add the tickets available to buy and the tickets held for checkout
+        ticketStatus.put("availableTickets", ticketPool.getCurrentSize());
+        ticketStatus.put("heldTickets", ticketPool.getHeldCount());
+
         // Add the total number of tickets added to the pool since system start
         ticketStatus.put("totalTicketsAdded", ticketPool.getTotalTicketsAdded());
 
         // Add the maximum capacity of the ticket pool
         ticketStatus.put("maxCapacity", ticketPool.getMaxCapacity());
 
-        // Add the number of currently active vendor threads
-        ticketStatus.put("activeVendors", vendorThreads.size());
-
-        // Add the number of currently active customer threads
-        ticketStatus.put("activeCustomers", customerThreads.size());
+        // Add the occupancy of each event shard of the ticket pool
+        ticketStatus.put("shards", ticketPool.getShardOccupancy());
 
-        return ticketStatus;
+        // Add the p50, p99 and maximum time customers waited for tickets
+        ticketStatus.put("customerWaitTimes", ticketPool.getCustomerWaitTimes().summary());
+        Map<String, Object> waitTimesByPriority = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            waitTimesByPriority.put(priority.name(), ticketPool.getCustomerWaitTimes(priority).summary());
+        }
+        ticketStatus.put("customerWaitTimesByPriority", waitTimesByPriority);
 
+        // Add the share of time the pool occupancy spent inside the vendors' target band
+        ticketStatus.put("occupancy", occupancy.summary());
     }
 
 }
@@ -0,0 +1,185 @@
+package com.iit.ticket_booking_system.thread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent registry of the running vendors or customers, indexed by ID and by name.
+ * <p>
+ * Entries are added, looked up and removed in constant time from any thread, and an entry is removed
+ * exactly once whether it is removed by name, by ID or reaped when its vendor or customer finishes,
+ * so the registry's size is the exact number of running actors. Names are matched ignoring case and
+ * surrounding whitespace; when several entries share a name, the oldest of them is removed first.
+ *
+ * @param <T> The type of entry, {@link VendorThreadInfo} or {@link CustomerThreadInfo}.
+ */
+public class ActorRegistry<T> {
+
+    private final Function<T, String> idOf; // Unique ID of an entry
+    private final Function<T, String> nameOf; // Name of an entry, not necessarily unique
+    private final Map<String, T> byId = new ConcurrentHashMap<>(); // Every entry, by ID
+    private final Map<String, LinkedHashSet<T>> byName = new ConcurrentHashMap<>(); // Entries by normalized name, oldest first; each set only touched under its key's lock
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param idOf   Gets the unique ID of an entry.
+     * @param nameOf Gets the name of an entry.
+     */
+    public ActorRegistry(Function<T, String> idOf, Function<T, String> nameOf) {
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+    }
+
+    /**
+     * Normalizes a name for lookups, ignoring case and surrounding whitespace.
+     *
+     * @param name The name.
+     * @return The normalized name.
+     */
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds an entry. An entry removed while it is being added, as when a vendor or customer
+     * finishes before it is registered, is left in neither index.
+     *
+     * @param entry The entry to add.
+     * @throws IllegalArgumentException if an entry with the same ID is already registered.
+     */
+    public void add(T entry) {
+        String id = idOf.apply(entry);
+        if (byId.putIfAbsent(id, entry) != null) {
+            throw new IllegalArgumentException("Duplicate actor ID: " + id);
+        }
+        String key = normalize(nameOf.apply(entry));
+        byName.compute(key, (name, entries) -> {
+            LinkedHashSet<T> named = entries == null ? new LinkedHashSet<>() : entries;
+            named.add(entry);
+            return named;
+        });
+        if (byId.get(id) != entry) {
+            // Removed between the two steps, before there was a name to remove; undo the name
+            byName.computeIfPresent(key, (name, named) -> {
+                named.remove(entry);
+                return named.isEmpty() ? null : named;
+            });
+        }
+    }
+
+    /**
+     * Gets the entry with the given ID.
+     *
+     * @param id The ID.
+     * @return The entry, or null if none is registered.
+     */
+    public T get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Removes the given entry, unless it was removed already.
+     *
+     * @param entry The entry to remove.
+     * @return true if this call removed the entry.
+     */
+    public boolean remove(T entry) {
+        if (!byId.remove(idOf.apply(entry), entry)) {
+            return false;
+        }
+        byName.computeIfPresent(normalize(nameOf.apply(entry)), (name, named) -> {
+            named.remove(entry);
+            return named.isEmpty() ? null : named;
+        });
+        return true;
+    }
+
+    /**
+     * Removes the entry with the given ID.
+     *
+     * @param id The ID.
+     * @return The entry removed, or null if none is registered.
+     */
+    public T removeById(String id) {
+        T entry = byId.get(id);
+        return entry != null && remove(entry) ? entry : null;
+    }
+
+    /**
+     * Removes the oldest entry with the given name.
+     *
+     * @param name The name, matched ignoring case and surrounding whitespace.
+     * @return The entry removed, or null if none has the name.
+     */
+    public T removeByName(String name) {
+        String key = normalize(name);
+        while (true) {
+            List<T> taken = new ArrayList<>(1);
+            byName.computeIfPresent(key, (k, named) -> {
+                Iterator<T> entries = named.iterator();
+                taken.add(entries.next());
+                entries.remove();
+                return named.isEmpty() ? null : named;
+            });
+            if (taken.isEmpty()) {
+                return null;
+            }
+            T oldest = taken.get(0);
+            if (byId.remove(idOf.apply(oldest), oldest)) {
+                return oldest;
+            }
+            // Reaped by another thread meanwhile, try the next one
+        }
+    }
+
+    /**
+     * Removes every entry.
+     *
+     * @return The entries removed.
+     */
+    public List<T> removeAll() {
+        List<T> removed = new ArrayList<>();
+        for (T entry : byId.values()) {
+            if (remove(entry)) {
+                removed.add(entry);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The exact number of entries when no other thread is adding or removing one.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Gets the number of entries indexed by name, which matches {@link #size()} once no other
+     * thread is adding or removing one.
+     *
+     * @return The number of named entries.
+     */
+    int namedSize() {
+        return byName.values().stream().mapToInt(LinkedHashSet::size).sum();
+    }
+
+    /**
+     * Gets the entries, as a view that reflects later changes.
+     *
+     * @return The entries, in no particular order.
+     */
+    public Collection<T> values() {
+        return byId.values();
+    }
+}
@@ -1,18 +1,43 @@
 package com.iit.ticket_booking_system.thread;
 
+import com.iit.ticket_booking_system.model.Priority;
 import com.iit.ticket_booking_system.model.Ticket;
 import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.load.Pacer;
+import com.iit.ticket_booking_system.load.TokenBucket;
+import com.iit.ticket_booking_system.scheduler.Actor;
+import com.iit.ticket_booking_system.scheduler.ActorHandle;
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
 import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-public class Customer implements Runnable {
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.CUSTOMER;
+
+/**
+ * Represents a customer buying tickets from the ticket pool at specified intervals until it has
+ * bought the tickets it wants. Implements {@link Runnable} to run on its own thread, and {@link Actor}
+ * to run as a step function on an {@link ActorScheduler} instead.
+ */
+public class Customer implements Runnable, Actor {
+
+    private static final long GROUP_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10); // Scheduled retry of a group that did not fit
 
     private final String customerId; // Unique ID for the customer
     private final String customerName; // Name of the customer
-    private final int retrievalInterval; // Time interval for each ticket purchase
+    private final Pacer pacer; // Decides the wait after each purchase
     private final TicketPool ticketPool; // The ticket pool from which tickets are bought
     private final int totalTickets; // Total number of tickets the customer wants to buy
+    private final int ticketsPerRetrieval; // Number of tickets bought in each purchase
+    private final String groupEvent; // Event whose tickets each purchase takes all together, or null for any tickets
+    private final Priority priority; // Access tier of the customer when tickets are scarce
     private int ticketsAdded = 0; // Number of tickets the customer has bought
+    private volatile CompletableFuture<Ticket> pendingPurchase; // Queued purchase a scheduled customer is parked on
 
 
     /**
@@ -26,11 +51,80 @@ public class Customer implements Runnable {
      * @param ticketPool      The pool of tickets to buy from.
      */
     public Customer(String customerId, String customerName, int retrievalInterval, int totalTickets, TicketPool ticketPool) {
+        this(customerId, customerName, retrievalInterval, totalTickets, 1, ticketPool);
+    }
+
+    /**
+     * Constructor for the Customer class that buys several tickets in each purchase.
+     *
+     * @param customerId          The unique identifier for the customer.
+     * @param customerName        The name of the customer.
+     * @param retrievalInterval   The time interval (in seconds) between each purchase.
+     * @param totalTickets        The total number of tickets the customer wants to buy.
+     * @param ticketsPerRetrieval The number of tickets bought in each purchase.
+     * @param ticketPool          The pool of tickets to buy from.
+     */
+    public Customer(String customerId, String customerName, int retrievalInterval, int totalTickets, int ticketsPerRetrieval, TicketPool ticketPool) {
+        this(customerId, customerName, retrievalInterval, totalTickets, ticketsPerRetrieval, null, ticketPool);
+    }
+
+    /**
+     * Constructor for the Customer class that books each purchase as a group for one event.
+     * Every purchase gets all of its tickets together, or waits until the event has enough of them.
+     *
+     * @param customerId          The unique identifier for the customer.
+     * @param customerName        The name of the customer.
+     * @param retrievalInterval   The time interval (in seconds) between each purchase.
+     * @param totalTickets        The total number of tickets the customer wants to buy.
+     * @param ticketsPerRetrieval The number of tickets bought in each purchase.
+     * @param groupEvent          The event to book groups for, or null to buy any available tickets.
+     * @param ticketPool          The pool of tickets to buy from.
+     */
+    public Customer(String customerId, String customerName, int retrievalInterval, int totalTickets, int ticketsPerRetrieval, String groupEvent, TicketPool ticketPool) {
+        this(customerId, customerName, retrievalInterval, totalTickets, ticketsPerRetrieval, groupEvent, Priority.STANDARD, ticketPool);
+    }
+
+    /**
+     * Constructor for the Customer class with an access tier. Customers of a higher tier waiting for
+     * tickets are served first when tickets are scarce.
+     *
+     * @param customerId          The unique identifier for the customer.
+     * @param customerName        The name of the customer.
+     * @param retrievalInterval   The time interval (in seconds) between each purchase.
+     * @param totalTickets        The total number of tickets the customer wants to buy.
+     * @param ticketsPerRetrieval The number of tickets bought in each purchase.
+     * @param groupEvent          The event to book groups for, or null to buy any available tickets.
+     * @param priority            The access tier of the customer.
+     * @param ticketPool          The pool of tickets to buy from.
+     */
+    public Customer(String customerId, String customerName, int retrievalInterval, int totalTickets, int ticketsPerRetrieval, String groupEvent, Priority priority, TicketPool ticketPool) {
+        this(customerId, customerName, TokenBucket.ofInterval(TimeUnit.SECONDS.toNanos(retrievalInterval)), totalTickets,
+                ticketsPerRetrieval, groupEvent, priority, ticketPool);
+    }
+
+    /**
+     * Constructor for the Customer class whose purchases are paced by the given pacer: a
+     * {@link TokenBucket} for a steady rate of any number of purchases per second, or think times drawn
+     * again after every purchase, so that a crowd of customers does not buy in lockstep.
+     *
+     * @param customerId          The unique identifier for the customer.
+     * @param customerName        The name of the customer.
+     * @param pacer               Decides the wait after each purchase, used by this customer alone.
+     * @param totalTickets        The total number of tickets the customer wants to buy.
+     * @param ticketsPerRetrieval The number of tickets bought in each purchase.
+     * @param groupEvent          The event to book groups for, or null to buy any available tickets.
+     * @param priority            The access tier of the customer.
+     * @param ticketPool          The pool of tickets to buy from.
+     */
+    public Customer(String customerId, String customerName, Pacer pacer, int totalTickets, int ticketsPerRetrieval, String groupEvent, Priority priority, TicketPool ticketPool) {
         this.customerName = customerName;
         this.customerId = UUID.randomUUID().toString();
-        this.retrievalInterval = retrievalInterval;
+        this.pacer = pacer;
         this.ticketPool = ticketPool;
         this.totalTickets = totalTickets;
+        this.ticketsPerRetrieval = Math.max(1, ticketsPerRetrieval);
+        this.groupEvent = groupEvent;
+        this.priority = priority;
     }
 
     /**
@@ -51,33 +145,130 @@ public class Customer implements Runnable {
         return customerName;
     }
 
+    /**
+     * Gets the customer's access tier.
+     *
+     * @return The priority of the customer.
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
     /**
      * The run method for the customer thread. It simulates buying tickets from the ticket pool until
-     * the specified total number of tickets is bought. After each purchase, it waits for the specified
-     * retrieval interval before attempting to buy the next ticket.
+     * the specified total number of tickets is bought. After each purchase, it waits as long as its
+     * pacer says before attempting to buy the next ticket. Interrupting the thread stops the
+     * customer, whether it is waiting for tickets or between purchases.
      */
     @Override
     public void run() {
-        // Loop until the customer has bought the specified number of tickets
-        while (ticketsAdded < totalTickets) {
-            Ticket ticket = ticketPool.buyTicket(); // Buy a ticket from the pool
+        try {
+            // Loop until the customer has bought the specified number of tickets
+            while (ticketsAdded < totalTickets) {
+                // Buy the next batch from the pool, accepting fewer tickets if the pool is short,
+                // or as one group that gets all of its tickets together
+                int wanted = Math.min(ticketsPerRetrieval, totalTickets - ticketsAdded);
+                List<Ticket> tickets = groupEvent == null
+                        ? ticketPool.buyTickets(wanted, priority)
+                        : ticketPool.buyGroup(groupEvent, wanted);
 
-            if(ticket!=null) {
-                System.out.println("Ticket bought by " + customerName + " " + ticket);
-                LoggerUtil.log("INFO", "Ticket bought by " + customerName + " " + ticket);
+                bought(tickets);
+                TimeUnit.NANOSECONDS.sleep(pacer.next(System.nanoTime())); // Wait before the next ticket purchase
+            }
+        } catch (InterruptedException e) {
+            // Stop buying when the customer is stopped, keeping the interrupt for the thread's owner
+            Thread.currentThread().interrupt();
+            LoggerUtil.log(CUSTOMER, Level.WARNING, "Customer {} stopped after buying {} tickets", customerName, ticketsAdded);
+            return;
+        }
+        finished();
+    }
 
-                ticketsAdded++; // Increment the number of tickets the customer has bought
-                System.out.println(customerName + " bought " + ticketsAdded + " tickets\n");
-                LoggerUtil.log("INFO", customerName + " bought " + ticketsAdded + " tickets");
+    /**
+     * Runs one step of the customer on a scheduler, without ever waiting for tickets. A purchase the
+     * pool cannot fill at once is queued in the pool, and the customer is parked until a vendor hands
+     * it a ticket; a group that does not fit yet is retried shortly.
+     *
+     * @param handle The customer's handle on the scheduler.
+     * @param now    The current time in nanoseconds.
+     * @return The delay until the next purchase, {@link #PARKED} while a queued purchase is pending,
+     * or {@link #DONE} once every ticket has been bought.
+     */
+    @Override
+    public long step(ActorHandle handle, long now) {
+        List<Ticket> tickets;
+        CompletableFuture<Ticket> purchase = pendingPurchase;
+        if (purchase != null) {
+            if (!purchase.isDone()) {
+                return PARKED;
             }
-            try {
-                Thread.sleep(retrievalInterval * 1000L); // Wait before the next ticket purchase
-            } catch (InterruptedException e) {
-                LoggerUtil.log("ERROR", "Thread interrupted for customer " + customerName + " " + e.getMessage());
+            pendingPurchase = null;
+            if (purchase.isCompletedExceptionally()) {
+                return DONE; // Withdrawn by the pool when the system stopped
+            }
+            tickets = new ArrayList<>();
+            tickets.add(purchase.join());
+            int more = Math.min(ticketsPerRetrieval, totalTickets - ticketsAdded) - 1;
+            if (more > 0) {
+                tickets.addAll(ticketPool.tryBuyTickets(more)); // Top up the purchase with what is left
+            }
+        } else {
+            if (ticketsAdded >= totalTickets) {
+                finished();
+                return DONE;
+            }
+            int wanted = Math.min(ticketsPerRetrieval, totalTickets - ticketsAdded);
+            if (groupEvent != null) {
+                tickets = ticketPool.tryBuyGroup(groupEvent, wanted);
+                if (tickets.isEmpty()) {
+                    return GROUP_RETRY_NANOS;
+                }
+            } else {
+                tickets = ticketPool.tryBuyTickets(wanted);
+                if (tickets.isEmpty()) {
+                    purchase = ticketPool.buyAsync(priority);
+                    pendingPurchase = purchase;
+                    purchase.whenComplete((ticket, failure) -> handle.wake());
+                    return PARKED;
+                }
             }
         }
-        System.out.println("Customer " + customerName + " has finished buying tickets\n");
-        LoggerUtil.log("INFO","Customer " + customerName + " has finished buying tickets");
+        bought(tickets);
+        return pacer.next(now);
+    }
+
+    /**
+     * Withdraws the queued purchase of a scheduled customer that was stopped.
+     */
+    @Override
+    public void cancelled() {
+        CompletableFuture<Ticket> purchase = pendingPurchase;
+        if (purchase != null) {
+            purchase.cancel(false);
+        }
+        LoggerUtil.log(CUSTOMER, Level.WARNING, "Customer {} stopped after buying {} tickets", customerName, ticketsAdded);
+    }
+
+    /**
+     * Records and logs the tickets of a purchase.
+     *
+     * @param tickets The tickets bought.
+     */
+    private void bought(List<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            LoggerUtil.log(CUSTOMER, Level.DEBUG, "Ticket bought by {} {}", customerName, ticket);
+        }
+        if (!tickets.isEmpty()) {
+            ticketsAdded += tickets.size(); // Increment the number of tickets the customer has bought
+            LoggerUtil.log(CUSTOMER, Level.INFO, "{} bought {} tickets", customerName, ticketsAdded);
+        }
+    }
+
+    /**
+     * Logs that the customer has bought every ticket it wanted.
+     */
+    private void finished() {
+        LoggerUtil.log(CUSTOMER, Level.INFO, "Customer {} has finished buying tickets", customerName);
     }
 
 }
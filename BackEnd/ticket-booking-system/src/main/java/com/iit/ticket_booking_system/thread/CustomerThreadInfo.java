@@ -1,5 +1,6 @@
 package com.iit.ticket_booking_system.thread;
 
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
 
 /**
  * Encapsulates information about a customer and its associated thread.
@@ -9,6 +10,7 @@ public class CustomerThreadInfo {
 
     private final Customer customer; // Reference to the customer associated with the thread
     private final Thread customerThread; // The thread executing the customer's actions
+    private final ActorScheduler.Handle customerHandle; // The scheduler handle of a customer run as a step function, else null
 
     /**
      * Constructs a new instance of {@code CustomerThreadInfo}.
@@ -19,6 +21,19 @@ public class CustomerThreadInfo {
     public CustomerThreadInfo(Customer customer, Thread customerThread) {
         this.customer = customer;
         this.customerThread = customerThread;
+        this.customerHandle = null;
+    }
+
+    /**
+     * Constructs a new instance of {@code CustomerThreadInfo} for a customer run by an {@link ActorScheduler}.
+     *
+     * @param customer       The customer object representing the customer.
+     * @param customerHandle The scheduler handle running the customer's steps.
+     */
+    public CustomerThreadInfo(Customer customer, ActorScheduler.Handle customerHandle) {
+        this.customer = customer;
+        this.customerThread = null;
+        this.customerHandle = customerHandle;
     }
 
     /**
@@ -33,9 +48,29 @@ public class CustomerThreadInfo {
     /**
      * Gets the thread managing the customer's actions.
      *
-     * @return The {@link Thread} object.
+     * @return The {@link Thread} object, or null if the customer is run by a scheduler.
      */
     public Thread getCustomerThread() {
         return customerThread;
     }
+
+    /**
+     * Gets the scheduler handle of a customer run as a step function.
+     *
+     * @return The handle, or null if the customer runs on its own thread.
+     */
+    public ActorScheduler.Handle getCustomerHandle() {
+        return customerHandle;
+    }
+
+    /**
+     * Stops the customer, interrupting its thread or cancelling it on the scheduler.
+     */
+    public void stop() {
+        if (customerHandle != null) {
+            customerHandle.cancel();
+        } else {
+            customerThread.interrupt();
+        }
+    }
 }
@@ -1,27 +1,46 @@
 package com.iit.ticket_booking_system.thread;
 
-import com.iit.ticket_booking_system.model.Ticket;
 import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.load.TokenBucket;
+import com.iit.ticket_booking_system.release.FixedReleaseController;
+import com.iit.ticket_booking_system.release.ReleaseController;
+import com.iit.ticket_booking_system.scheduler.Actor;
+import com.iit.ticket_booking_system.scheduler.ActorHandle;
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
 import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+import com.iit.ticket_booking_system.util.TicketIdGenerator;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.VENDOR;
 
 /**
  * Represents a vendor responsible for adding tickets to the ticket pool.
  * Each vendor adds tickets in batches at specified intervals until a total ticket limit is reached.
- * Implements {@link Runnable} to allow execution in a separate thread.
+ * The batch size and interval come from a {@link ReleaseController}, which either keeps them fixed
+ * or adapts them to the occupancy of the pool, and a {@link TokenBucket} holds the releases to that
+ * interval without drifting however late the vendor wakes, down to sub-second intervals.
+ * Implements {@link Runnable} to allow execution in a separate thread, and {@link Actor} to run as a
+ * step function on an {@link ActorScheduler} instead.
  */
-public class Vendor implements Runnable {
+public class Vendor implements Runnable, Actor {
+
+    private static final long FULL_POOL_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10); // Scheduled retry while the pool is full
 
     private final String vendorId; // Unique identifier for the vendor
     private final String vendorName; // Name of the vendor
     private final int ticketsPerRelease; //  Number of tickets a vendor adds in one release
-    private final int releaseInterval; // Time interval (in seconds) between releases
     private final String eventName; // Name of the event associated with the tickets
     private final double price; // Price of each ticket
     private final TicketPool ticketPool; // Shared resource for ticket storage
     private final int totalTickets; // Total number of tickets the vendor can add
+    private final TicketIdGenerator idGenerator; // Source of globally unique ticket ids
+    private final ReleaseController releaseController; // Decides the size and spacing of releases
+    private final TokenBucket pacer; // Spaces the releases by the controller's interval
     private int ticketsAdded = 0; // Tracks the number of tickets added so far
+    private int releaseRemaining = 0; // Tickets of the current release not yet added
 
 
     /**
@@ -37,6 +56,60 @@ public class Vendor implements Runnable {
      * @param price             Price of each ticket.
      */
     public Vendor(String vendorId, String vendorName, String eventName, TicketPool ticketPool, int ticketsPerRelease, int releaseInterval, int totalTickets, double price) {
+        this(vendorId, vendorName, eventName, ticketPool, ticketsPerRelease, releaseInterval, totalTickets, price, TicketIdGenerator.forNode(0));
+    }
+
+    /**
+     * Constructs a Vendor that takes its ticket ids from the given generator.
+     *
+     * @param vendorId          Unique identifier for the vendor (generated internally).
+     * @param vendorName        Name of the vendor.
+     * @param eventName         Name of the event for which tickets are sold.
+     * @param ticketPool        Reference to the shared ticket pool.
+     * @param ticketsPerRelease Number of tickets added per batch.
+     * @param releaseInterval   Interval (in seconds) between ticket releases.
+     * @param totalTickets      Total number of tickets to add.
+     * @param price             Price of each ticket.
+     * @param idGenerator       Generator of the ticket ids.
+     */
+    public Vendor(String vendorId, String vendorName, String eventName, TicketPool ticketPool, int ticketsPerRelease, int releaseInterval, int totalTickets, double price, TicketIdGenerator idGenerator) {
+        this(vendorId, vendorName, eventName, ticketPool, ticketsPerRelease, releaseInterval, totalTickets, price, idGenerator,
+                new FixedReleaseController(ticketsPerRelease, TimeUnit.SECONDS.toNanos(releaseInterval)));
+    }
+
+    /**
+     * Constructs a Vendor whose releases are sized and spaced by the given controller.
+     *
+     * @param vendorId          Unique identifier for the vendor (generated internally).
+     * @param vendorName        Name of the vendor.
+     * @param eventName         Name of the event for which tickets are sold.
+     * @param ticketPool        Reference to the shared ticket pool.
+     * @param ticketsPerRelease Number of tickets added per batch, as configured.
+     * @param releaseInterval   Interval (in seconds) between ticket releases, as configured; the controller's interval is the one used.
+     * @param totalTickets      Total number of tickets to add.
+     * @param price             Price of each ticket.
+     * @param idGenerator       Generator of the ticket ids.
+     * @param releaseController Controller deciding the actual batch size and interval of each release.
+     */
+    public Vendor(String vendorId, String vendorName, String eventName, TicketPool ticketPool, int ticketsPerRelease, int releaseInterval, int totalTickets, double price, TicketIdGenerator idGenerator, ReleaseController releaseController) {
+        this(vendorId, vendorName, eventName, ticketPool, ticketsPerRelease, totalTickets, price, idGenerator, releaseController);
+    }
+
+    /**
+     * Constructs a Vendor whose releases are sized and spaced by the given controller, which may space
+     * them by any number of nanoseconds.
+     *
+     * @param vendorId          Unique identifier for the vendor (generated internally).
+     * @param vendorName        Name of the vendor.
+     * @param eventName         Name of the event for which tickets are sold.
+     * @param ticketPool        Reference to the shared ticket pool.
+     * @param ticketsPerRelease Number of tickets added per batch, as configured.
+     * @param totalTickets      Total number of tickets to add.
+     * @param price             Price of each ticket.
+     * @param idGenerator       Generator of the ticket ids.
+     * @param releaseController Controller deciding the actual batch size and interval of each release.
+     */
+    public Vendor(String vendorId, String vendorName, String eventName, TicketPool ticketPool, int ticketsPerRelease, int totalTickets, double price, TicketIdGenerator idGenerator, ReleaseController releaseController) {
         this.vendorName = vendorName;
         this.eventName = eventName;
         this.price = price;
@@ -44,7 +117,9 @@ public class Vendor implements Runnable {
         this.vendorId = UUID.randomUUID().toString();
         this.ticketPool = ticketPool;
         this.ticketsPerRelease = ticketsPerRelease;
-        this.releaseInterval = releaseInterval;
+        this.idGenerator = idGenerator;
+        this.releaseController = releaseController;
+        this.pacer = TokenBucket.ofInterval(releaseController.getIntervalNanos());
     }
 
     public String getVendorId() {
@@ -55,42 +130,126 @@ public class Vendor implements Runnable {
         return vendorName;
     }
 
+    public ReleaseController getReleaseController() {
+        return releaseController;
+    }
+
     /**
      * The execution logic for the vendor thread.
      * The vendor adds tickets in batches to the shared ticket pool, with pauses between each batch.
+     * An adaptive vendor only releases what fits, so it never waits for space in a full pool.
      */
     @Override
     public void run() {
+        boolean adaptive = releaseController.isAdaptive();
         try {
 
             // Continue adding tickets until the total specified limit is reached
             while (ticketsAdded < totalTickets) {
-                for (int i = 0; i < ticketsPerRelease; i++) {
+                startRelease(System.nanoTime());
+                publish(!adaptive);
+                releaseRemaining = 0; // Whatever did not fit in an adaptive release is left for the next one
+                TimeUnit.NANOSECONDS.sleep(nextRelease(System.nanoTime()));
+            }
+        } catch (InterruptedException e) {
+            // Stop releasing when the vendor is stopped, keeping the interrupt for the thread's owner
+            Thread.currentThread().interrupt();
+            LoggerUtil.log(VENDOR, Level.WARNING, "Vendor {} stopped after adding {} tickets", vendorName, ticketsAdded);
+            return;
+        }
 
-                    // Create a new ticket with the current index and event details
-                    Ticket ticket = new Ticket(ticketsAdded + 1, eventName, price);
-                    ticketPool.addTickets(ticket);
+        finished();
+    }
+
+    /**
+     * Runs one step of the vendor on a scheduler: starts a release, or continues one that did not fit
+     * in the pool, without ever waiting for space. A fixed release that does not fit is retried shortly,
+     * and the vendor otherwise runs again after the release interval.
+     *
+     * @param handle The vendor's handle on the scheduler.
+     * @param now    The current time in nanoseconds.
+     * @return The delay until the next step, or {@link #DONE} once every ticket has been added.
+     */
+    @Override
+    public long step(ActorHandle handle, long now) {
+        if (releaseRemaining == 0) {
+            if (ticketsAdded >= totalTickets) {
+                finished();
+                return DONE;
+            }
+            startRelease(now);
+        }
+        try {
+            publish(false);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e); // Never thrown when not waiting
+        }
+        if (releaseRemaining > 0 && !releaseController.isAdaptive()) {
+            return Math.min(FULL_POOL_RETRY_NANOS, releaseController.getIntervalNanos()); // Wait for space in the pool
+        }
+        releaseRemaining = 0;
+        return nextRelease(now);
+    }
 
-                    // Log the addition of the ticket
-                    System.out.println("Ticket added by " + vendorName + " " + ticket);
-                    LoggerUtil.log("INFO", "Ticket added by " + vendorName + " " + ticket);
+    /**
+     * Records a finished release with the pacer, spaced by the controller's latest interval.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The wait before the next release in nanoseconds.
+     */
+    private long nextRelease(long now) {
+        pacer.setIntervalNanos(releaseController.getIntervalNanos());
+        return pacer.next(now);
+    }
 
-                    ticketsAdded++; // Increment the count of tickets added
+    /**
+     * Sizes the next release from the controller and the tickets left to add.
+     *
+     * @param now The current time in nanoseconds.
+     */
+    private void startRelease(long now) {
+        releaseController.update(ticketPool.getOccupancy(eventName), now);
+        releaseRemaining = Math.min(releaseController.getBatchSize(), totalTickets - ticketsAdded);
+        if (releaseController.isAdaptive()) {
+            releaseRemaining = Math.min(releaseRemaining, ticketPool.getFreeCapacity(eventName));
+        }
+    }
 
-                    // Log the updated count of tickets added
-                    System.out.println(vendorName + " added " + ticketsAdded + " tickets\n");
-                    LoggerUtil.log("INFO", vendorName + " added " + ticketsAdded + " tickets");
+    /**
+     * Publishes the rest of the current release as leased ranges of ids, in as few steps as the free
+     * capacity allows.
+     *
+     * @param wait Whether to wait for space until the whole release is added, rather than stopping once the pool is full.
+     * @throws InterruptedException if the vendor is interrupted while waiting for space.
+     */
+    private void publish(boolean wait) throws InterruptedException {
+        while (releaseRemaining > 0) {
+            TicketIdGenerator.IdRange ids = idGenerator.lease(releaseRemaining);
+            int added = 0;
+            if (wait) {
+                while (added < ids.getCount()) {
+                    added += ticketPool.addTicketRange(eventName, ids.getFirstId() + added, ids.getCount() - added, price);
                 }
-                Thread.sleep(releaseInterval * 1000L);
+            } else {
+                added = ticketPool.tryAddTicketRange(eventName, ids.getFirstId(), ids.getCount(), price);
             }
-        } catch (InterruptedException e) {
-            System.out.println("Error Occurred");
-            LoggerUtil.log("ERROR", "Error Occurred when vendor adds tickets");
+            if (added == 0) {
+                return; // Another vendor took the space, the rest waits for a later step
+            }
+            releaseRemaining -= added;
+            ticketsAdded += added; // Increment the count of tickets added
+
+            // Log the addition of the batch and the updated count of tickets added, built only if logged
+            LoggerUtil.log(VENDOR, Level.INFO, "{} tickets added by {} for {}", added, vendorName, eventName);
+            LoggerUtil.log(VENDOR, Level.DEBUG, "{} added {} tickets", vendorName, ticketsAdded);
         }
+    }
 
-        // Log the completion of the ticket addition process
-        System.out.println("Vendor " + vendorName + " has finished adding tickets\n");
-        LoggerUtil.log("INFO", "Vendor " + vendorName + " has finished adding tickets");
+    /**
+     * Logs the completion of the ticket addition process.
+     */
+    private void finished() {
+        LoggerUtil.log(VENDOR, Level.INFO, "Vendor {} has finished adding tickets", vendorName);
     }
 }
 
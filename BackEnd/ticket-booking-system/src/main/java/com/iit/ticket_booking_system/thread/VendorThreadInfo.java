@@ -1,5 +1,7 @@
 package com.iit.ticket_booking_system.thread;
 
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
+
 /**
  * Encapsulates information about a vendor and its associated thread.
  * This class is used to manage and track vendor threads in the ticket booking system.
@@ -7,6 +9,7 @@ package com.iit.ticket_booking_system.thread;
 public class VendorThreadInfo {
     private final Vendor vendor; // Reference to the vendor associated with the thread
     private final Thread vendorThread; // The thread executing the vendor's actions
+    private final ActorScheduler.Handle vendorHandle; // The scheduler handle of a vendor run as a step function, else null
 
     /**
      * Constructs a new instance of {@code VendorThreadInfo}.
@@ -17,6 +20,19 @@ public class VendorThreadInfo {
     public VendorThreadInfo(Vendor vendor, Thread vendorThread) {
         this.vendor = vendor;
         this.vendorThread = vendorThread;
+        this.vendorHandle = null;
+    }
+
+    /**
+     * Constructs a new instance of {@code VendorThreadInfo} for a vendor run by an {@link ActorScheduler}.
+     *
+     * @param vendor       The vendor object representing the vendor.
+     * @param vendorHandle The scheduler handle running the vendor's steps.
+     */
+    public VendorThreadInfo(Vendor vendor, ActorScheduler.Handle vendorHandle) {
+        this.vendor = vendor;
+        this.vendorThread = null;
+        this.vendorHandle = vendorHandle;
     }
 
     /**
@@ -31,11 +47,31 @@ public class VendorThreadInfo {
     /**
      * Gets the thread managing the vendor's actions.
      *
-     * @return The {@link Thread} object.
+     * @return The {@link Thread} object, or null if the vendor is run by a scheduler.
      */
     public Thread getVendorThread() {
         return vendorThread;
     }
 
+    /**
+     * Gets the scheduler handle of a vendor run as a step function.
+     *
+     * @return The handle, or null if the vendor runs on its own thread.
+     */
+    public ActorScheduler.Handle getVendorHandle() {
+        return vendorHandle;
+    }
+
+    /**
+     * Stops the vendor, interrupting its thread or cancelling it on the scheduler.
+     */
+    public void stop() {
+        if (vendorHandle != null) {
+            vendorHandle.cancel();
+        } else {
+            vendorThread.interrupt();
+        }
+    }
+
 
 }
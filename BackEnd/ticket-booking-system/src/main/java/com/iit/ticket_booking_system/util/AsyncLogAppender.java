@@ -0,0 +1,515 @@
+package com.iit.ticket_booking_system.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Writes log records on a background thread, so that logging costs a thread little more than
+ * publishing the record.
+ * <p>
+ * Producers publish records into a preallocated lock-free ring, claiming a slot with a CAS on the
+ * producer cursor just like {@code RingBufferTicketInventory}. A single writer thread drains whatever
+ * has been published in one batch, formats it into a large buffered writer, and only flushes the
+ * writer to the file once it has caught up, so under load many records share one write. When the
+ * ring is full the {@link FullPolicy} decides whether a producer waits for space, drops its record,
+ * or waits for only one overflowing record in every few and drops the rest. Dropped records are
+ * counted and reported in the log itself.
+ */
+public class AsyncLogAppender {
+
+    private static final int MAX_BATCH = 4096; // Most records the writer drains before writing them
+    private static final int WRITE_BUFFER_CHARS = 1 << 16; // Characters buffered before a write to the file
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // Longest sleep of an idle writer
+    private static final long DROP_REPORT_MILLIS = 1000; // Least time between two reports of dropped records
+    private static final long PROGRESS_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1); // Longest wait for the writer before checking again
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ROOT)
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * What a producer does when the ring is full.
+     */
+    public enum FullPolicy {
+        /**
+         * Wait until the writer has made space, so that no record is lost.
+         */
+        BLOCK,
+        /**
+         * Drop the record, so that logging never slows a producer down.
+         */
+        DROP,
+        /**
+         * Wait for space for one overflowing record in every few, and drop the others.
+         */
+        SAMPLE;
+
+        /**
+         * Parses a policy name, ignoring case.
+         *
+         * @param name The name of the policy ("block", "drop" or "sample").
+         * @return The policy.
+         * @throws IllegalArgumentException if the name is not a policy.
+         */
+        public static FullPolicy parse(String name) {
+            for (FullPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+            throw new IllegalArgumentException("Unknown log full-buffer policy: " + name);
+        }
+    }
+
+    /**
+     * One logged message, which may be a template whose "{}" placeholders the writer replaces with
+     * the arguments, so that the logging thread does not build the text.
+     *
+     * @param timeMillis The time it was logged, in milliseconds since the epoch.
+     * @param level      The severity level (DEBUG, INFO, WARNING, ERROR).
+     * @param thread     The name of the thread that logged it.
+     * @param message    The message, or its template.
+     * @param args       The arguments of the template, or null if the message is complete.
+     */
+    public record Record(long timeMillis, String level, String thread, String message, Object[] args) {
+
+        /**
+         * Constructs a record of a complete message.
+         */
+        public Record(long timeMillis, String level, String thread, String message) {
+            this(timeMillis, level, thread, message, null);
+        }
+
+        /**
+         * Gets the record with the arguments put in place of the placeholders of its template.
+         *
+         * @return This record if its message is complete, otherwise a record of the complete message.
+         */
+        public Record formatted() {
+            if (args == null) {
+                return this;
+            }
+            StringBuilder text = new StringBuilder(message.length() + 16 * args.length);
+            int from = 0;
+            for (Object arg : args) {
+                int placeholder = message.indexOf("{}", from);
+                if (placeholder < 0) {
+                    break;
+                }
+                text.append(message, from, placeholder).append(arg);
+                from = placeholder + 2;
+            }
+            text.append(message, from, message.length());
+            return new Record(timeMillis, level, thread, text.toString());
+        }
+    }
+
+    private final int mask; // Ring length - 1, used to map positions to slots
+    private final AtomicReferenceArray<Record> slots; // Record stored in each slot
+    private final AtomicLongArray sequences; // Lap marker of each slot
+    private final AtomicLong tail = new AtomicLong(); // Next position to fill
+    private volatile long head; // Next position to drain, advanced only by the writer
+    private volatile long flushed; // Records written and flushed to the file
+    private final FullPolicy policy; // What producers do when the ring is full
+    private final int sampleEvery; // One in how many overflowing records the SAMPLE policy keeps
+    private final AtomicLong overflows = new AtomicLong(); // Records that found the ring full
+    private final LongAdder dropped = new LongAdder(); // Records dropped by the policy or after closing
+    private long droppedReported; // Dropped records already reported in the log, touched only by the writer
+    private long droppedReportMillis; // Time of the latest report of dropped records, touched only by the writer
+
+    private final Writer out; // Buffered writer of the log file
+    private final Consumer<List<Record>> listener; // Told of every batch once written, on the writer thread
+    private final Thread writer; // Drains the ring into the file
+    private volatile boolean writerParked; // Whether the writer may be asleep and needs waking
+    private volatile boolean closed; // Set once no more records are accepted
+    private boolean writeFailed; // Whether a failed write was reported, touched only by the writer
+
+    private final ReentrantLock progressLock = new ReentrantLock(); // Guards waits for the writer's progress
+    private final Condition progress = progressLock.newCondition(); // Signalled after each batch while anyone waits
+    private final AtomicInteger waiters = new AtomicInteger(); // Producers waiting for space and callers of flush()
+    private final AtomicInteger flushWaiters = new AtomicInteger(); // Callers of flush() still waiting
+
+    private long cachedSecond = Long.MIN_VALUE; // Second of the cached timestamp prefix, touched only by the writer
+    private String cachedTime = ""; // Formatted date and time of that second
+
+    /**
+     * Constructs an appender and starts its writer thread.
+     *
+     * @param out         The destination of the formatted records; wrapped in a large buffer.
+     * @param bufferSize  The number of records the ring holds, rounded up to a power of two.
+     * @param policy      What producers do when the ring is full.
+     * @param sampleEvery One in how many overflowing records the SAMPLE policy keeps.
+     * @param listener    Told of every batch of records once written, on the writer thread, or null.
+     * @throws IllegalArgumentException if the buffer size or the sampling rate is not positive.
+     */
+    public AsyncLogAppender(Writer out, int bufferSize, FullPolicy policy, int sampleEvery, Consumer<List<Record>> listener) {
+        if (bufferSize < 1 || bufferSize > (1 << 30)) {
+            throw new IllegalArgumentException("Log buffer size out of range: " + bufferSize);
+        }
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("Log sampling rate must be positive: " + sampleEvery);
+        }
+        int length = bufferSize == 1 ? 1 : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.mask = length - 1;
+        this.slots = new AtomicReferenceArray<>(length);
+        this.sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i); // Every slot starts free for the first lap
+        }
+        this.policy = policy;
+        this.sampleEvery = sampleEvery;
+        this.out = new BufferedWriter(out, WRITE_BUFFER_CHARS);
+        this.listener = listener;
+        this.writer = new Thread(this::runWriter, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Publishes a record for the writer, applying the full-buffer policy if the ring is full.
+     *
+     * @param level   The severity level (INFO, WARNING, ERROR).
+     * @param message The message.
+     * @return true if the record was accepted, false if it was dropped.
+     */
+    public boolean append(String level, String message) {
+        return append(level, message, null);
+    }
+
+    /**
+     * Publishes a record whose template the writer completes with the arguments, applying the
+     * full-buffer policy if the ring is full. The arguments are turned into text later, on the
+     * writer thread, so they must not change once logged.
+     *
+     * @param level    The severity level (DEBUG, INFO, WARNING, ERROR).
+     * @param template The message, with a "{}" placeholder for each argument.
+     * @param args     The arguments, or null if the message is complete.
+     * @return true if the record was accepted, false if it was dropped.
+     */
+    public boolean append(String level, String template, Object[] args) {
+        Record record = new Record(System.currentTimeMillis(), level, Thread.currentThread().getName(), template, args);
+        if (!closed && tryPublish(record)) {
+            return true;
+        }
+        if (closed || policy == FullPolicy.DROP
+                || (policy == FullPolicy.SAMPLE && overflows.getAndIncrement() % sampleEvery != 0)) {
+            dropped.increment();
+            return false;
+        }
+        return publishWhenFree(record);
+    }
+
+    /**
+     * Claims the next position of the ring and publishes the record in its slot.
+     *
+     * @return false if the ring is full.
+     */
+    private boolean tryPublish(Record record) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, record);
+                    sequences.set(index, position + 1); // Publish the record to the writer
+                    if (writerParked) {
+                        LockSupport.unpark(writer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // Slot still holds a record of the previous lap
+            } else {
+                position = tail.get(); // Another producer claimed this position
+            }
+        }
+    }
+
+    /**
+     * Waits for the writer to make space and publishes the record. An interrupt does not stop
+     * the wait, but is kept for the caller.
+     *
+     * @return false if the appender was closed meanwhile and the record dropped.
+     */
+    private boolean publishWhenFree(Record record) {
+        boolean interrupted = false;
+        waiters.incrementAndGet();
+        try {
+            while (!tryPublish(record)) {
+                if (closed) {
+                    dropped.increment();
+                    return false;
+                }
+                interrupted |= awaitProgress();
+            }
+            return true;
+        } finally {
+            waiters.decrementAndGet();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits until the writer finishes a batch, or briefly, whichever comes first.
+     *
+     * @return true if the calling thread was interrupted, which clears its interrupt status.
+     */
+    private boolean awaitProgress() {
+        LockSupport.unpark(writer);
+        progressLock.lock();
+        try {
+            progress.awaitNanos(PROGRESS_WAIT_NANOS);
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every record accepted before the call has been written and flushed to the file.
+     */
+    public void flush() {
+        long target = tail.get();
+        boolean interrupted = false;
+        waiters.incrementAndGet();
+        flushWaiters.incrementAndGet();
+        try {
+            while (flushed < target && writer.isAlive()) {
+                interrupted |= awaitProgress();
+            }
+        } finally {
+            flushWaiters.decrementAndGet();
+            waiters.decrementAndGet();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting records, writes those already accepted, and closes the file.
+     * Producers still waiting for space drop their records.
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Drains the ring in batches until the appender is closed and the ring is empty.
+     */
+    private void runWriter() {
+        List<Record> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            drain(batch);
+            reportDropped(batch, closed);
+            if (!batch.isEmpty()) {
+                write(batch);
+                continue;
+            }
+            if (closed && !hasPending()) {
+                break;
+            }
+            writerParked = true;
+            if (!hasPending() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.out.println("Failed to close the log file: " + e.getMessage());
+        }
+        signalProgress();
+    }
+
+    /**
+     * Adds a warning of the records dropped since the previous one to the batch, at most once a second
+     * unless forced, so that a flood of dropped records costs a line a second.
+     */
+    private void reportDropped(List<Record> batch, boolean force) {
+        long droppedNow = dropped.sum();
+        long now = System.currentTimeMillis();
+        if (droppedNow > droppedReported && (force || now - droppedReportMillis >= DROP_REPORT_MILLIS)) {
+            batch.add(new Record(now, "WARNING", Thread.currentThread().getName(),
+                    (droppedNow - droppedReported) + " log records dropped while the log buffer was full"));
+            droppedReported = droppedNow;
+            droppedReportMillis = now;
+        }
+    }
+
+    /**
+     * Moves the published records at the head of the ring into the batch, freeing their slots.
+     */
+    private void drain(List<Record> batch) {
+        long position = head;
+        while (batch.size() < MAX_BATCH) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break; // Not published yet
+            }
+            batch.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1); // Free the slot for the next lap
+            position++;
+        }
+        head = position;
+    }
+
+    /**
+     * Whether the record at the head of the ring has been published.
+     */
+    private boolean hasPending() {
+        long position = head;
+        return sequences.get((int) (position & mask)) == position + 1;
+    }
+
+    /**
+     * Completes the messages of a batch and formats it into the buffered writer, flushes it once the
+     * writer has caught up with the producers or someone waits for it, and passes the batch on to the listener.
+     */
+    private void write(List<Record> batch) {
+        long position = head;
+        boolean done = false; // Whether the batch is out of the writer's buffer, or lost
+        for (int i = 0; i < batch.size(); i++) {
+            batch.set(i, batch.get(i).formatted());
+        }
+        try {
+            StringBuilder line = new StringBuilder(128);
+            for (Record record : batch) {
+                line.setLength(0);
+                format(record, line);
+                out.append(line);
+            }
+            if (!hasPending() || flushWaiters.get() > 0) {
+                out.flush();
+                done = true;
+            }
+        } catch (IOException e) {
+            if (!writeFailed) {
+                writeFailed = true;
+                System.out.println("Failed to write the log file: " + e.getMessage());
+            }
+            done = true; // The records are lost, nobody should wait for them
+        }
+        if (listener != null) {
+            listener.accept(batch);
+        }
+        if (done) {
+            flushed = position; // Only now, so that flush() returns once the listener has the batch too
+        }
+        batch.clear();
+        signalProgress();
+    }
+
+    /**
+     * Wakes the producers waiting for space and the callers of flush(), if any.
+     */
+    private void signalProgress() {
+        if (waiters.get() > 0) {
+            progressLock.lock();
+            try {
+                progress.signalAll();
+            } finally {
+                progressLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Formats a record as one line: time to the millisecond, level, thread and message.
+     */
+    private void format(Record record, StringBuilder line) {
+        long second = Math.floorDiv(record.timeMillis(), 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTime = TIME_FORMAT.format(Instant.ofEpochSecond(second));
+        }
+        int millis = (int) Math.floorMod(record.timeMillis(), 1000);
+        line.append(cachedTime).append('.')
+                .append((char) ('0' + millis / 100)).append((char) ('0' + millis / 10 % 10)).append((char) ('0' + millis % 10))
+                .append(' ').append(record.level())
+                .append(" [").append(record.thread()).append("] ")
+                .append(record.message()).append(System.lineSeparator());
+    }
+
+    /**
+     * Gets the full-buffer policy.
+     *
+     * @return The policy.
+     */
+    public FullPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the number of records the ring holds.
+     *
+     * @return The ring length.
+     */
+    public int getBufferSize() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the one in how many overflowing records the SAMPLE policy keeps.
+     *
+     * @return The sampling rate.
+     */
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    /**
+     * Gets the number of records dropped because the ring was full or the appender closed.
+     *
+     * @return The dropped record count.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the number of accepted records written and flushed to the file, not counting the
+     * reports of dropped records.
+     *
+     * @return The flushed record count.
+     */
+    public long getFlushed() {
+        return flushed;
+    }
+}
@@ -0,0 +1,173 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for large numbers of short-lived timeouts.
+ * <p>
+ * Time is cut into ticks, and every timeout is dropped into the bucket of the tick it expires in,
+ * modulo the number of buckets. Scheduling and cancelling are O(1) and need no thread or scheduled
+ * task per timeout: whoever calls {@link #advance(long)} expires the buckets of the ticks that have
+ * passed, skipping timeouts that were cancelled or are due in a later turn of the wheel.
+ *
+ * @param <T> The type of item each timeout carries.
+ */
+public class HashedTimerWheel<T> {
+
+    /**
+     * A scheduled timeout, which can be cancelled until it expires.
+     *
+     * @param <T> The type of item the timeout carries.
+     */
+    public static final class Timeout<T> {
+        private final T item; // Handed to the expiry action
+        private final long deadlineTick; // Tick at which the timeout expires
+        private final AtomicBoolean done = new AtomicBoolean(); // Set once cancelled or expired
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Gets the item the timeout carries.
+         *
+         * @return The item.
+         */
+        public T getItem() {
+            return item;
+        }
+    }
+
+    private final long tickNanos; // Length of a tick
+    private final int mask; // Bucket count - 1
+    private final Queue<Timeout<T>>[] buckets; // Timeouts by deadline tick, modulo the bucket count
+    private final Consumer<T> onExpiry; // Run for each item whose timeout expires
+    private final long origin; // Time of tick 0
+    private final AtomicInteger pending = new AtomicInteger(); // Timeouts neither cancelled nor expired
+    private final ReentrantLock advancing = new ReentrantLock(); // Lets one thread expire buckets at a time
+    private volatile long currentTick; // Last tick whose bucket was expired
+
+    /**
+     * Constructs a timer wheel.
+     *
+     * @param tickNanos The length of a tick in nanoseconds; timeouts expire up to one tick late.
+     * @param buckets   The number of buckets, rounded up to a power of two.
+     * @param now       The current time in nanoseconds, as used by {@link #schedule} and {@link #advance}.
+     * @param onExpiry  The action run, on the advancing thread, for each item whose timeout expires.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickNanos, int buckets, long now, Consumer<T> onExpiry) {
+        if (tickNanos <= 0 || buckets <= 0 || buckets > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid timer wheel: tick " + tickNanos + " ns, " + buckets + " buckets");
+        }
+        int length = buckets == 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
+        this.tickNanos = tickNanos;
+        this.mask = length - 1;
+        this.buckets = new Queue[length];
+        for (int i = 0; i < length; i++) {
+            this.buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.onExpiry = onExpiry;
+        this.origin = now;
+    }
+
+    /**
+     * Schedules a timeout.
+     *
+     * @param item     The item handed to the expiry action.
+     * @param deadline The time the timeout expires at, in nanoseconds.
+     * @return The timeout, which can be cancelled.
+     */
+    public Timeout<T> schedule(T item, long deadline) {
+        // Round up, and never into a tick whose bucket has already been expired
+        long tick = Math.max((deadline - origin + tickNanos - 1) / tickNanos, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, tick);
+        pending.incrementAndGet();
+        buckets[(int) (tick & mask)].add(timeout);
+        if (tick <= currentTick) {
+            // The wheel moved past the bucket while the timeout was being added, expire it on the next advance
+            buckets[(int) ((currentTick + 1) & mask)].add(timeout);
+        }
+        return timeout;
+    }
+
+    /**
+     * Cancels a timeout. The timeout stays in its bucket until the wheel reaches it.
+     *
+     * @param timeout The timeout to cancel.
+     * @return true if the timeout was cancelled, false if it had already expired or been cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.done.compareAndSet(false, true)) {
+            pending.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Expires every timeout due up to the given time. If another thread is already advancing
+     * the wheel, this call returns at once and leaves the work to it.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The number of timeouts expired by this call.
+     */
+    public int advance(long now) {
+        if (!advancing.tryLock()) {
+            return 0;
+        }
+        try {
+            long target = (now - origin) / tickNanos;
+            int expired = 0;
+            for (long tick = currentTick + 1; tick <= target; tick++) {
+                expired += expire(tick);
+                currentTick = tick;
+                if (pending.get() == 0) {
+                    currentTick = target; // Nothing left to expire, cancelled leftovers are dropped on a later turn
+                    break;
+                }
+            }
+            return expired;
+        } finally {
+            advancing.unlock();
+        }
+    }
+
+    /**
+     * Expires the due timeouts in the bucket of a tick and drops the cancelled ones.
+     */
+    private int expire(long tick) {
+        int expired = 0;
+        Iterator<Timeout<T>> timeouts = buckets[(int) (tick & mask)].iterator();
+        while (timeouts.hasNext()) {
+            Timeout<T> timeout = timeouts.next();
+            if (timeout.done.get()) {
+                timeouts.remove();
+            } else if (timeout.deadlineTick <= tick) {
+                timeouts.remove();
+                if (timeout.done.compareAndSet(false, true)) {
+                    pending.decrementAndGet();
+                    onExpiry.accept(timeout.item);
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the number of timeouts that are neither cancelled nor expired.
+     *
+     * @return The pending timeout count.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+}
@@ -0,0 +1,218 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for very many timers with deadlines from milliseconds to hours away.
+ * <p>
+ * The wheel has several levels of 64 buckets. A bucket of level 0 covers one tick, and a bucket of
+ * each higher level covers 64 times as many ticks as one of the level below. A timer goes into the
+ * lowest level whose span reaches its deadline, and whenever the clock crosses into a bucket of a
+ * higher level, the timers in it cascade down to the levels below, so each timer is only moved a few
+ * times however far away its deadline is. Unlike {@link HashedTimerWheel}, timers due in later turns
+ * are never scanned again on every turn.
+ * <p>
+ * Any thread may schedule and cancel timers: new timers are pushed onto a lock-free stack and put into
+ * their buckets by whoever calls {@link #advance(long)}, which one thread does at a time. A timer is a
+ * single small object, so that a million actors rescheduling every second stay cheap to collect.
+ *
+ * @param <T> The type of item each timer carries.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6; // 64 buckets per level
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 6; // 64^6 ticks, over two years at 1 ms per tick
+
+    /**
+     * A scheduled timer, which can be cancelled until it fires.
+     *
+     * @param <T> The type of item the timer carries.
+     */
+    public static final class Timer<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Timer> DONE = AtomicIntegerFieldUpdater.newUpdater(Timer.class, "done");
+
+        private final T item; // Handed to the expiry action
+        private final long deadlineTick; // Tick at which the timer fires
+        private volatile int done; // Set to 1 once cancelled or fired
+        private Timer<T> next; // Timer pushed before this one, while both are in the incoming stack
+
+        private Timer(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Gets the item the timer carries.
+         *
+         * @return The item.
+         */
+        public T getItem() {
+            return item;
+        }
+
+        private boolean markDone() {
+            return DONE.compareAndSet(this, 0, 1);
+        }
+    }
+
+    private final long tickNanos; // Length of a tick
+    private final long origin; // Time of tick 0
+    private final Consumer<T> onExpiry; // Run for each item whose timer fires
+    private final AtomicReference<Timer<T>> incoming = new AtomicReference<>(); // Top of the stack of timers not yet in a bucket
+    private final ArrayDeque<Timer<T>>[][] buckets; // Timers by level and bucket, touched only while advancing
+    private final AtomicInteger pending = new AtomicInteger(); // Timers neither cancelled nor fired
+    private final ReentrantLock advancing = new ReentrantLock(); // Lets one thread advance the wheel at a time
+    private long currentTick; // Last tick whose timers have fired
+
+    /**
+     * Constructs a hierarchical timing wheel.
+     *
+     * @param tickNanos The length of a tick in nanoseconds; timers fire up to one tick late.
+     * @param now       The current time in nanoseconds, as used by {@link #schedule} and {@link #advance}.
+     * @param onExpiry  The action run, on the advancing thread, for each item whose timer fires.
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickNanos, long now, Consumer<T> onExpiry) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Invalid timing wheel tick: " + tickNanos + " ns");
+        }
+        this.tickNanos = tickNanos;
+        this.origin = now;
+        this.onExpiry = onExpiry;
+        this.buckets = new ArrayDeque[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int bucket = 0; bucket < WHEEL_SIZE; bucket++) {
+                buckets[level][bucket] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules a timer. It fires on the first advance at or after its deadline.
+     *
+     * @param item     The item handed to the expiry action.
+     * @param deadline The time the timer fires at, in nanoseconds.
+     * @return The timer, which can be cancelled.
+     */
+    public Timer<T> schedule(T item, long deadline) {
+        Timer<T> timer = new Timer<>(item, Math.max(0, (deadline - origin + tickNanos - 1) / tickNanos));
+        pending.incrementAndGet();
+        Timer<T> top;
+        do {
+            top = incoming.get();
+            timer.next = top;
+        } while (!incoming.compareAndSet(top, timer));
+        return timer;
+    }
+
+    /**
+     * Cancels a timer. The timer stays in its bucket until the wheel reaches it.
+     *
+     * @param timer The timer to cancel.
+     * @return true if the timer was cancelled, false if it had already fired or been cancelled.
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.markDone()) {
+            pending.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fires every timer due up to the given time. If another thread is already advancing
+     * the wheel, this call returns at once and leaves the work to it.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The number of timers fired by this call.
+     */
+    public int advance(long now) {
+        if (!advancing.tryLock()) {
+            return 0;
+        }
+        try {
+            int fired = 0;
+            Timer<T> timer = incoming.getAndSet(null);
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                fired += place(timer);
+                timer = next;
+            }
+            long target = (now - origin) / tickNanos;
+            while (currentTick < target) {
+                if (pending.get() == 0) {
+                    currentTick = target; // Nothing left to fire, cancelled leftovers are dropped when reached
+                    break;
+                }
+                long tick = ++currentTick;
+                // Cascade the higher levels whose bucket boundary this tick crosses, highest first
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                        fired += cascade(buckets[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)]);
+                    }
+                }
+                fired += cascade(buckets[0][(int) (tick & WHEEL_MASK)]);
+            }
+            return fired;
+        } finally {
+            advancing.unlock();
+        }
+    }
+
+    /**
+     * Moves every timer of a bucket to where its deadline now belongs, firing those that are due.
+     */
+    private int cascade(ArrayDeque<Timer<T>> bucket) {
+        int fired = 0;
+        for (int i = bucket.size(); i > 0; i--) {
+            fired += place(bucket.pollFirst());
+        }
+        return fired;
+    }
+
+    /**
+     * Puts a timer into the bucket of the lowest level that reaches its deadline, or fires it if it is due.
+     *
+     * @return 1 if the timer fired, otherwise 0.
+     */
+    private int place(Timer<T> timer) {
+        if (timer.done != 0) {
+            return 0; // Cancelled
+        }
+        long ticks = timer.deadlineTick - currentTick;
+        if (ticks <= 0) {
+            if (timer.markDone()) {
+                pending.decrementAndGet();
+                onExpiry.accept(timer.item);
+                return 1;
+            }
+            return 0;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && ticks >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        // Past the top level's span, park the timer in the furthest bucket; it is placed again on the way down
+        long tick = Math.min(timer.deadlineTick, currentTick + (1L << (WHEEL_BITS * LEVELS)) - 1);
+        buckets[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].addLast(timer);
+        return 0;
+    }
+
+    /**
+     * Gets the number of timers that are neither cancelled nor fired.
+     *
+     * @return The pending timer count.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+}
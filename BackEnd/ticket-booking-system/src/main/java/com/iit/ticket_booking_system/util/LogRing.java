@@ -0,0 +1,194 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the latest log messages in memory, each numbered with a sequence, so that a client can poll
+ * for only the messages after the last one it has seen.
+ * <p>
+ * The messages are kept in a fixed array used as a ring: once it is full, every new message
+ * overwrites the oldest, so memory stays bounded however long the system runs. Sequences start at 1
+ * and keep increasing when messages are overwritten or cleared, and a read copies only the messages
+ * it returns.
+ */
+public class LogRing {
+
+    /**
+     * One message kept in memory.
+     *
+     * @param sequence   The number of the message, increasing by one for each message.
+     * @param timeMillis The time it was logged, in milliseconds since the epoch.
+     * @param level      The severity level (INFO, WARNING, ERROR).
+     * @param message    The message.
+     */
+    public record Entry(long sequence, long timeMillis, String level, String message) {
+
+        /**
+         * Formats the entry as the in-memory log always has: "LEVEL : message".
+         */
+        @Override
+        public String toString() {
+            return level + " : " + message;
+        }
+    }
+
+    /**
+     * The messages returned by one read.
+     *
+     * @param entries The messages, oldest first.
+     * @param next    The sequence to read after next time: that of the last message returned, or
+     *                of the last one already seen if none are new.
+     * @param missed  The messages after the requested sequence that were overwritten before being read.
+     */
+    public record Page(List<Entry> entries, long next, long missed) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock(); // Guards the ring; a virtual thread waiting for it unmounts
+    private Entry[] ring; // Messages, the one of sequence s at s % ring.length
+    private long firstSequence = 1; // Sequence of the oldest message kept
+    private long nextSequence = 1; // Sequence of the next message added
+
+    /**
+     * Constructs an empty ring.
+     *
+     * @param capacity The number of messages kept.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public LogRing(int capacity) {
+        this.ring = new Entry[checkCapacity(capacity)];
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Log memory capacity must be positive: " + capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * Adds a batch of written records, overwriting the oldest messages once the ring is full.
+     *
+     * @param records The records, oldest first.
+     */
+    public void addAll(List<AsyncLogAppender.Record> records) {
+        lock.lock();
+        try {
+            for (AsyncLogAppender.Record record : records) {
+                long sequence = nextSequence++;
+                ring[(int) (sequence % ring.length)] = new Entry(sequence, record.timeMillis(), record.level(), record.message());
+            }
+            firstSequence = Math.max(firstSequence, nextSequence - ring.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the messages after the given sequence, oldest first. A sequence beyond the latest
+     * message, such as one handed out before a restart, reads from the oldest message kept.
+     *
+     * @param after The sequence of the last message already seen, 0 for none.
+     * @param limit The most messages to return.
+     * @return The messages read, and the sequence to read after next time.
+     */
+    public Page read(long after, int limit) {
+        lock.lock();
+        try {
+            if (after >= nextSequence) {
+                after = 0;
+            }
+            long from = Math.max(after + 1, firstSequence);
+            long to = Math.min(nextSequence, from + Math.max(0, limit));
+            List<Entry> entries = new ArrayList<>((int) (to - from));
+            for (long sequence = from; sequence < to; sequence++) {
+                entries.add(ring[(int) (sequence % ring.length)]);
+            }
+            return new Page(entries, Math.max(after, to - 1), from - (after + 1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets every message kept, oldest first, formatted as "LEVEL : message".
+     *
+     * @return The messages.
+     */
+    public List<String> toStrings() {
+        lock.lock();
+        try {
+            List<String> messages = new ArrayList<>((int) (nextSequence - firstSequence));
+            for (long sequence = firstSequence; sequence < nextSequence; sequence++) {
+                messages.add(ring[(int) (sequence % ring.length)].toString());
+            }
+            return messages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets every message kept. Sequences carry on, so that clients polling with a sequence
+     * only see the messages added later.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(ring, null);
+            firstSequence = nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the number of messages kept, keeping the latest ones.
+     *
+     * @param capacity The number of messages to keep.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public void setCapacity(int capacity) {
+        Entry[] resized = new Entry[checkCapacity(capacity)];
+        lock.lock();
+        try {
+            firstSequence = Math.max(firstSequence, nextSequence - capacity);
+            for (long sequence = firstSequence; sequence < nextSequence; sequence++) {
+                resized[(int) (sequence % capacity)] = ring[(int) (sequence % ring.length)];
+            }
+            ring = resized;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of messages kept at most.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        lock.lock();
+        try {
+            return ring.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the sequence of the latest message, 0 if none was added.
+     *
+     * @return The latest sequence.
+     */
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,63 +1,379 @@
 package com.iit.ticket_booking_system.util;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
-import java.util.logging.*;
+import java.util.function.Supplier;
 
 public class LoggerUtil {
 
     /**
      * Utility class for managing logging functionality in the ticket booking system.
      * Provides methods for logging messages to a file and maintaining an in-memory log list.
+     * Messages are handed to an {@link AsyncLogAppender}, whose writer thread writes them to the
+     * file and adds them to the in-memory list in batches, so a thread that logs never waits for the file.
+     * The in-memory list is a {@link LogRing} that keeps only the latest messages, numbered so that
+     * a client can fetch just the ones it has not seen.
+     * <p>
+     * Each message has a {@link Level} and a {@link Category}, and is only logged if its level is at
+     * least that of its category, which is checked before anything is built. Messages can be templates
+     * whose "{}" placeholders the writer thread fills in, or suppliers called only once the message
+     * passes the check, so a message that is filtered out costs a few comparisons and no allocation.
+     * The writer thread also echoes the messages to the console unless that is switched off.
      */
-    private static final String LOG_FILE = "ticket_booking_system.log"; // Log file name
-    private static final List<String> logArray = new ArrayList<>(); // In-memory list of log messages
+    private static final String LOG_FILE = System.getProperty("ticket.log.file", "ticket_booking_system.log"); // Log file, relative to the working directory unless the property says otherwise
+    private static final int DEFAULT_BUFFER_SIZE = 8192; // Records buffered before the full-buffer policy applies
+    private static final int DEFAULT_SAMPLE_EVERY = 16; // One in how many overflowing records the "sample" policy keeps
+    private static final int DEFAULT_MEMORY_ENTRIES = 10_000; // Messages kept in memory
+    private static final LogRing logArray = new LogRing(DEFAULT_MEMORY_ENTRIES); // In-memory list of the latest log messages
 
-    private static final Logger logger = Logger.getLogger(LoggerUtil.class.getName()); // Logger instance
+    /**
+     * Severity of a message, from the least to the most severe.
+     */
+    public enum Level {
+        DEBUG, INFO, WARNING, ERROR;
+
+        /**
+         * Parses a level name, ignoring case.
+         *
+         * @param name The name of the level.
+         * @return The level.
+         * @throws IllegalArgumentException if the name is not a level.
+         */
+        public static Level parse(String name) {
+            for (Level level : values()) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+            throw new IllegalArgumentException("Unknown log level: " + name);
+        }
+    }
+
+    /**
+     * Part of the system a message comes from, each with its own level.
+     */
+    public enum Category {
+        SYSTEM, POOL, VENDOR, CUSTOMER;
 
-    // Static block to configure the logger with a file handler and formatter
+        /**
+         * Parses a category name, ignoring case.
+         *
+         * @param name The name of the category.
+         * @return The category.
+         * @throws IllegalArgumentException if the name is not a category.
+         */
+        public static Category parse(String name) {
+            for (Category category : values()) {
+                if (category.name().equalsIgnoreCase(name.trim())) {
+                    return category;
+                }
+            }
+            throw new IllegalArgumentException("Unknown log category: " + name);
+        }
+    }
+
+    private static volatile int[] thresholds = thresholds(Level.INFO); // Lowest level logged, by category
+    private static volatile boolean console = true; // Whether messages are echoed to the console
+    private static final ThreadLocal<Boolean> muted = ThreadLocal.withInitial(() -> false); // Drops the messages of threads running simulations
+    private static volatile boolean enabled = true; // Whether messages are logged at all
+    private static volatile AsyncLogAppender appender = open(AsyncLogAppender.FullPolicy.BLOCK, DEFAULT_BUFFER_SIZE, DEFAULT_SAMPLE_EVERY);
+
+    // Static block to write out the buffered messages when the application exits
     static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> appender.close(), "log-shutdown"));
+    }
 
+    /**
+     * Opens the log file in append mode behind a new appender.
+     */
+    private static AsyncLogAppender open(AsyncLogAppender.FullPolicy policy, int bufferSize, int sampleEvery) {
+        Writer file;
         try {
-            logger.setUseParentHandlers(false);  // Disable default console logging
-            FileHandler fileHandler = new FileHandler(LOG_FILE, true);  // Append mode
-            fileHandler.setLevel(Level.ALL); // Log all levels
-            fileHandler.setFormatter(new SimpleFormatter());
-            logger.addHandler(fileHandler);  // Attach the file handler to the logger
+            file = new OutputStreamWriter(new FileOutputStream(LOG_FILE, true), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("Failed to open the log file " + LOG_FILE + ": " + e.getMessage());
+            file = Writer.nullWriter(); // Keep the in-memory log
+        }
+        return new AsyncLogAppender(file, bufferSize, policy, sampleEvery, LoggerUtil::written);
+    }
 
+    /**
+     * Keeps a batch of written records in memory and echoes it to the console, on the writer thread.
+     */
+    private static void written(List<AsyncLogAppender.Record> records) {
+        logArray.addAll(records);
+        if (console) {
+            StringBuilder text = new StringBuilder(records.size() * 64);
+            for (AsyncLogAppender.Record record : records) {
+                text.append(record.message()).append(System.lineSeparator());
+            }
+            System.out.print(text); // One console write per batch
+        }
+    }
 
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to initialize logger file handler", e);
+    private static int[] thresholds(Level level) {
+        int[] thresholds = new int[Category.values().length];
+        Arrays.fill(thresholds, level.ordinal());
+        return thresholds;
+    }
+
+    /**
+     * Sets the lowest level of the messages logged, for every category and then for some of them.
+     *
+     * @param level          The lowest level logged ("DEBUG", "INFO", "WARNING" or "ERROR").
+     * @param categoryLevels Comma-separated category=level pairs overriding it, such as
+     *                       "customer=DEBUG,pool=WARNING", or an empty string.
+     * @throws IllegalArgumentException if a level or category is unknown, or a pair malformed.
+     */
+    public static void setLevels(String level, String categoryLevels) {
+        int[] levels = thresholds(Level.parse(level));
+        for (String pair : categoryLevels.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected category=level: " + pair);
+            }
+            levels[Category.parse(parts[0]).ordinal()] = Level.parse(parts[1]).ordinal();
+        }
+        thresholds = levels;
+    }
+
+    /**
+     * Turns the echo of the logged messages to the console on or off.
+     *
+     * @param echo Whether to print the messages to the console.
+     */
+    public static void setConsole(boolean echo) {
+        console = echo;
+    }
+
+    /**
+     * Replaces the appender with one of the given settings, after writing out the messages of the current one.
+     *
+     * @param fullPolicy  What a thread does when the buffer is full: "block" until there is space, "drop"
+     *                    the message, or "sample", which waits for one message in every sampleEvery and drops the rest.
+     * @param bufferSize  The number of messages buffered for the writer thread.
+     * @param sampleEvery One in how many overflowing messages the "sample" policy keeps.
+     * @throws IllegalArgumentException if the policy is unknown, or the buffer size or sampling rate not positive.
+     */
+    public static synchronized void configure(String fullPolicy, int bufferSize, int sampleEvery) {
+        AsyncLogAppender.FullPolicy policy = AsyncLogAppender.FullPolicy.parse(fullPolicy);
+        AsyncLogAppender current = appender;
+        if (current.getPolicy() == policy && current.getBufferSize() >= bufferSize
+                && current.getBufferSize() < 2 * bufferSize && current.getSampleEvery() == sampleEvery) {
+            return; // Same settings once the buffer size is rounded up
         }
+        appender = open(policy, bufferSize, sampleEvery);
+        current.close();
     }
 
     /**
-     * Logs a message with a specified level and adds it to the in-memory log list.
+     * Logs a message of the system category with a specified level and adds it to the in-memory log list.
+     * The message is only published to a lock-free buffer here; the writer thread formats it, writes
+     * it to the file and adds it to the list shortly after.
      *
-     * @param level   The severity level of the log (INFO, WARNING, ERROR).
+     * @param level   The severity level of the log (DEBUG, INFO, WARNING, ERROR).
      * @param message The log message to record.
+     * @throws IllegalArgumentException if the level is unknown.
+     */
+    public static void log(String level, String message) {
+        log(Category.SYSTEM, Level.parse(level), message);
+    }
+
+    /**
+     * Checks whether messages of a category and level are logged by the calling thread. Costs a few
+     * comparisons, so it can guard building a message that no overload below can defer.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @return true if such a message would be logged.
+     */
+    public static boolean isEnabled(Category category, Level level) {
+        return level.ordinal() >= thresholds[category.ordinal()] && enabled && !muted.get();
+    }
+
+    /**
+     * Logs a message if its category and level are enabled.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param message  The message.
      */
-    public static synchronized void log(String level, String message) {
-        String logMessage = level + " : " + message; // Format log message
-        if ("INFO".equals(level)) {
-            logger.info(message);
-        } else if ("WARNING".equals(level)) {
-            logger.warning(message);
+    public static void log(Category category, Level level, String message) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), message, null);
+        }
+    }
 
-        } else if ("ERROR".equals(level)) {
-            logger.severe(message);
+    /**
+     * Logs a message built by a supplier, called only if the category and level are enabled.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param message  Builds the message.
+     */
+    public static void log(Category category, Level level, Supplier<String> message) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), message.get(), null);
+        }
+    }
+
+    /**
+     * Logs a message template if its category and level are enabled. The writer thread replaces each
+     * "{}" with the next argument, so the arguments must not change once logged.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param template The message, with a "{}" placeholder for the argument.
+     * @param arg      The argument.
+     */
+    public static void log(Category category, Level level, String template, Object arg) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), template, new Object[]{arg});
         }
-        logArray.add(logMessage); // Add the log to the in-memory list
+    }
+
+    /**
+     * Logs a message template with two arguments if its category and level are enabled.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param template The message, with a "{}" placeholder for each argument.
+     * @param arg1     The first argument.
+     * @param arg2     The second argument.
+     */
+    public static void log(Category category, Level level, String template, Object arg1, Object arg2) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), template, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs a message template with a number as second argument, boxed only if the category and level are enabled.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param template The message, with a "{}" placeholder for each argument.
+     * @param arg1     The first argument.
+     * @param arg2     The second argument.
+     */
+    public static void log(Category category, Level level, String template, Object arg1, long arg2) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), template, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs a message template with three arguments if its category and level are enabled.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param template The message, with a "{}" placeholder for each argument.
+     * @param arg1     The first argument.
+     * @param arg2     The second argument.
+     * @param arg3     The third argument.
+     */
+    public static void log(Category category, Level level, String template, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    /**
+     * Logs a message template with a number as first argument, boxed only if the category and level are enabled.
+     *
+     * @param category The category of the message.
+     * @param level    The level of the message.
+     * @param template The message, with a "{}" placeholder for each argument.
+     * @param arg1     The first argument.
+     * @param arg2     The second argument.
+     * @param arg3     The third argument.
+     */
+    public static void log(Category category, Level level, String template, long arg1, Object arg2, Object arg3) {
+        if (isEnabled(category, level)) {
+            appender.append(level.name(), template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    /**
+     * Drops or resumes the messages logged by the calling thread, so that a simulation does not
+     * mix its vendors' and customers' messages into the system's log.
+     *
+     * @param mute Whether to drop the calling thread's messages.
+     */
+    public static void setMuted(boolean mute) {
+        muted.set(mute);
+    }
+
+    /**
+     * Turns logging on or off for every thread.
+     *
+     * @param enable Whether to log messages.
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Waits until every message logged before the call has been written to the file and the in-memory list.
+     */
+    public static void flush() {
+        appender.flush();
+    }
+
+    /**
+     * Gets the number of messages dropped by the current appender because its buffer was full.
+     *
+     * @return The dropped message count.
+     */
+    public static long getDropped() {
+        return appender.getDropped();
+    }
+
+    /**
+     * Sets how many of the latest messages are kept in memory, which bounds the memory the log takes.
+     *
+     * @param entries The number of messages to keep.
+     * @throws IllegalArgumentException if the number is not positive.
+     */
+    public static void setMemoryEntries(int entries) {
+        logArray.setCapacity(entries);
     }
 
     /**
      * Retrieves the in-memory list of logged messages.
      *
-     * @return A copy of the list containing logged messages.
+     * @return A copy of the latest logged messages kept in memory.
      */
     public static List<String> getLogs() {
-        return new ArrayList<>(logArray);
+        return logArray.toStrings();
+    }
+
+    /**
+     * Retrieves the logged messages after the one of the given sequence, copying only those returned.
+     *
+     * @param after The sequence of the last message already seen, 0 for none.
+     * @param limit The most messages to return.
+     * @return The messages, and the sequence to pass next time.
+     */
+    public static LogRing.Page getLogs(long after, int limit) {
+        return logArray.read(after, limit);
+    }
+
+    /**
+     * Gets the sequence of the latest message kept in memory.
+     *
+     * @return The latest sequence, 0 if nothing was logged.
+     */
+    public static long getLastLogSequence() {
+        return logArray.getLastSequence();
     }
 
     /**
@@ -65,9 +381,7 @@ public class LoggerUtil {
      */
     public static void clearLogs() {
         logArray.clear();
-        ;
     }
 
 
 }
-
@@ -0,0 +1,109 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates how long the pool's occupancy spent below, inside and above a target band.
+ * <p>
+ * The occupancy is sampled periodically, and the time between two samples is credited to the state
+ * seen at the first of them. The time the pool was completely empty, when customers stall, and
+ * completely full, when fixed-rate vendors block, is counted as well.
+ */
+public class OccupancyBand {
+
+    private final double low; // Lower bound of the band, as a fraction of capacity
+    private final double high; // Upper bound of the band, as a fraction of capacity
+    private boolean sampled; // Whether a sample was taken since the last reset
+    private long lastSample; // Time of the previous sample
+    private double lastOccupancy; // Occupancy seen at the previous sample
+    private long belowNanos; // Time spent below the band
+    private long inBandNanos; // Time spent inside the band
+    private long aboveNanos; // Time spent above the band
+    private long emptyNanos; // Time spent with no tickets at all
+    private long fullNanos; // Time spent at full capacity
+
+    /**
+     * Constructs a tracker for the given band.
+     *
+     * @param low  The lower bound of the band, from 0 to 1.
+     * @param high The upper bound of the band, from 0 to 1.
+     * @throws IllegalArgumentException if the bounds are out of order or out of range.
+     */
+    public OccupancyBand(double low, double high) {
+        if (!(low >= 0 && low < high && high <= 1)) {
+            throw new IllegalArgumentException("Invalid target occupancy band: " + low + " to " + high);
+        }
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Records the occupancy at the given time.
+     *
+     * @param now      The current time in nanoseconds.
+     * @param size     The number of tickets in the pool.
+     * @param capacity The capacity of the pool.
+     */
+    public synchronized void sample(long now, int size, int capacity) {
+        if (sampled && now > lastSample) {
+            long elapsed = now - lastSample;
+            if (lastOccupancy < low) {
+                belowNanos += elapsed;
+            } else if (lastOccupancy > high) {
+                aboveNanos += elapsed;
+            } else {
+                inBandNanos += elapsed;
+            }
+            if (lastOccupancy <= 0) {
+                emptyNanos += elapsed;
+            } else if (lastOccupancy >= 1) {
+                fullNanos += elapsed;
+            }
+        }
+        sampled = true;
+        lastSample = now;
+        lastOccupancy = capacity > 0 ? (double) size / capacity : 1;
+    }
+
+    /**
+     * Clears the accumulated times.
+     */
+    public synchronized void reset() {
+        sampled = false;
+        belowNanos = 0;
+        inBandNanos = 0;
+        aboveNanos = 0;
+        emptyNanos = 0;
+        fullNanos = 0;
+    }
+
+    /**
+     * Gets the share of the sampled time spent inside the band.
+     *
+     * @return The fraction of time in the band, or 0 before two samples were taken.
+     */
+    public synchronized double getTimeInBand() {
+        long total = belowNanos + inBandNanos + aboveNanos;
+        return total == 0 ? 0 : (double) inBandNanos / total;
+    }
+
+    /**
+     * Gets a summary of the accumulated times for the status endpoints.
+     *
+     * @return The band, the shares of time below, inside and above it, and the time spent empty and full.
+     */
+    public synchronized Map<String, Object> summary() {
+        long total = belowNanos + inBandNanos + aboveNanos;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("low", low);
+        summary.put("high", high);
+        summary.put("sampledMs", total / 1e6);
+        summary.put("belowBand", total == 0 ? 0.0 : (double) belowNanos / total);
+        summary.put("inBand", total == 0 ? 0.0 : (double) inBandNanos / total);
+        summary.put("aboveBand", total == 0 ? 0.0 : (double) aboveNanos / total);
+        summary.put("emptyMs", emptyNanos / 1e6);
+        summary.put("fullMs", fullNanos / 1e6);
+        return summary;
+    }
+}
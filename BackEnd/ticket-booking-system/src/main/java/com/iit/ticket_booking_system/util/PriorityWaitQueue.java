@@ -0,0 +1,134 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Concurrent queue of waiters split into priority tiers, with aging so that low tiers never starve.
+ * <p>
+ * Each tier is a lock-free FIFO deque. A waiter's effective priority is its tier plus one for every
+ * aging interval it has waited, and {@link #poll(long)} removes the waiter with the highest effective
+ * priority, the one that has waited longest on a tie. Since a tier's oldest waiter is always at its
+ * head, a poll only compares the heads of the tiers.
+ *
+ * @param <T> The type of item each waiter carries.
+ */
+public class PriorityWaitQueue<T> {
+
+    /**
+     * A queued waiter.
+     *
+     * @param <T> The type of item the waiter carries.
+     */
+    public static final class Waiter<T> {
+        private final T item; // The waiting item
+        private final int tier; // Tier the waiter was queued in
+        private final long since; // Time the waiter was queued, in nanoseconds
+
+        private Waiter(T item, int tier, long since) {
+            this.item = item;
+            this.tier = tier;
+            this.since = since;
+        }
+
+        /**
+         * Gets the item the waiter carries.
+         *
+         * @return The item.
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Gets the tier the waiter was queued in.
+         *
+         * @return The tier.
+         */
+        public int getTier() {
+            return tier;
+        }
+    }
+
+    private final Deque<Waiter<T>>[] tiers; // Waiters of each tier in arrival order
+    private final long agingNanos; // Wait that raises a waiter by one tier, or 0 for no aging
+
+    /**
+     * Constructs a wait queue.
+     *
+     * @param tiers      The number of tiers, tier 0 being the lowest.
+     * @param agingNanos The time a waiter must wait to rise one tier, in nanoseconds, or 0 to disable aging.
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityWaitQueue(int tiers, long agingNanos) {
+        if (tiers <= 0 || agingNanos < 0) {
+            throw new IllegalArgumentException("Invalid wait queue: " + tiers + " tiers, aging " + agingNanos + " ns");
+        }
+        this.tiers = new Deque[tiers];
+        for (int i = 0; i < tiers; i++) {
+            this.tiers[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.agingNanos = agingNanos;
+    }
+
+    /**
+     * Queues a waiter behind the waiters of its tier.
+     *
+     * @param item The item to queue.
+     * @param tier The tier, from 0 to the number of tiers - 1.
+     * @param now  The current time in nanoseconds, as used by {@link #poll(long)}.
+     * @return The queued waiter.
+     */
+    public Waiter<T> add(T item, int tier, long now) {
+        Waiter<T> waiter = new Waiter<>(item, tier, now);
+        tiers[tier].addLast(waiter);
+        return waiter;
+    }
+
+    /**
+     * Removes the waiter with the highest effective priority.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The waiter removed, or null if the queue is empty.
+     */
+    public Waiter<T> poll(long now) {
+        while (true) {
+            Waiter<T> best = null;
+            long bestRank = 0;
+            for (int tier = tiers.length - 1; tier >= 0; tier--) {
+                Waiter<T> head = tiers[tier].peekFirst();
+                if (head == null) {
+                    continue;
+                }
+                long rank = rank(head, now);
+                if (best == null || rank > bestRank || (rank == bestRank && head.since - best.since < 0)) {
+                    best = head;
+                    bestRank = rank;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            if (tiers[best.tier].removeFirstOccurrence(best)) {
+                return best;
+            }
+            // Another thread took the head meanwhile, so compare the new heads
+        }
+    }
+
+    /**
+     * Puts a polled waiter back at the head of its tier, keeping its place and its age.
+     *
+     * @param waiter The waiter to put back.
+     */
+    public void requeue(Waiter<T> waiter) {
+        tiers[waiter.tier].addFirst(waiter);
+    }
+
+    /**
+     * Computes the effective priority of a waiter.
+     */
+    private long rank(Waiter<T> waiter, long now) {
+        return agingNanos == 0 ? waiter.tier : waiter.tier + Math.max(0, now - waiter.since) / agingNanos;
+    }
+}
@@ -0,0 +1,140 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out globally unique 64-bit ticket IDs without a shared lock.
+ * <p>
+ * An ID is laid out as {@code [41 bits: milliseconds since 2024-01-01][8 bits: node][14 bits: sequence]},
+ * so IDs from every node sort roughly by issue time. Each node keeps a single cursor over
+ * (millisecond, sequence) that callers advance with a CAS to lease a whole block of consecutive IDs
+ * at once. When a millisecond's 16384 sequence numbers run out, the cursor borrows the next
+ * millisecond instead of waiting for the clock, so IDs never repeat even under bursts. Threads that
+ * ask for single IDs lease small blocks into a per-thread lane and touch the shared cursor once per block.
+ */
+public class TicketIdGenerator {
+
+    /**
+     * Consecutive ticket IDs leased in one step.
+     */
+    public static final class IdRange {
+        private final long firstId; // First ID of the range
+        private final int count; // Number of consecutive IDs
+
+        private IdRange(long firstId, int count) {
+            this.firstId = firstId;
+            this.count = count;
+        }
+
+        /**
+         * Gets the first ID of the range.
+         *
+         * @return The first ID.
+         */
+        public long getFirstId() {
+            return firstId;
+        }
+
+        /**
+         * Gets the number of consecutive IDs in the range.
+         *
+         * @return The ID count.
+         */
+        public int getCount() {
+            return count;
+        }
+    }
+
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    public static final int NODE_BITS = 8;
+    public static final int SEQUENCE_BITS = 14;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int LANE_BLOCK = 64; // IDs leased at a time for a thread's lane
+
+    private static final Map<Integer, TicketIdGenerator> NODES = new ConcurrentHashMap<>(); // One generator per node
+
+    private final int node; // Node ID embedded in every ID
+    private final AtomicLong cursor = new AtomicLong(); // Next free (millisecond << SEQUENCE_BITS | sequence)
+    private final ThreadLocal<long[]> lanes = ThreadLocal.withInitial(() -> new long[2]); // Per-thread next ID and IDs left
+
+    private TicketIdGenerator(int node) {
+        this.node = node;
+    }
+
+    /**
+     * Gets the generator of a node. Every caller on the same node shares one generator, since two
+     * generators with the same node ID would hand out the same IDs.
+     *
+     * @param node The node ID, from 0 to {@link #MAX_NODE}.
+     * @return The node's generator.
+     * @throws IllegalArgumentException if the node ID is out of range.
+     */
+    public static TicketIdGenerator forNode(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Ticket ID node out of range: " + node);
+        }
+        return NODES.computeIfAbsent(node, TicketIdGenerator::new);
+    }
+
+    /**
+     * Leases up to the given number of consecutive IDs with a single CAS. A range never spans two
+     * milliseconds, so it may hold fewer IDs than asked for; callers lease again for the rest.
+     *
+     * @param max The maximum number of IDs wanted.
+     * @return The leased range, holding between 1 and {@code max} IDs (at most 16384).
+     */
+    public IdRange lease(int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("ID lease must ask for at least one ID: " + max);
+        }
+        while (true) {
+            long current = cursor.get();
+            long start = Math.max(current, (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS);
+            long sequence = start & SEQUENCE_MASK;
+            int count = (int) Math.min(max, (SEQUENCE_MASK + 1) - sequence);
+            // Taking the last sequence numbers carries the cursor into the next millisecond
+            if (cursor.compareAndSet(current, start + count)) {
+                long millis = start >>> SEQUENCE_BITS;
+                return new IdRange(millis << (NODE_BITS + SEQUENCE_BITS) | (long) node << SEQUENCE_BITS | sequence, count);
+            }
+        }
+    }
+
+    /**
+     * Gets the next ID from the calling thread's lane, leasing a new block when the lane runs out.
+     *
+     * @return A unique ticket ID.
+     */
+    public long nextId() {
+        long[] lane = lanes.get();
+        if (lane[1] == 0) {
+            IdRange range = lease(LANE_BLOCK);
+            lane[0] = range.getFirstId();
+            lane[1] = range.getCount();
+        }
+        lane[1]--;
+        return lane[0]++;
+    }
+
+    /**
+     * Gets the node ID embedded in the IDs of this generator.
+     *
+     * @return The node ID.
+     */
+    public int getNode() {
+        return node;
+    }
+
+    /**
+     * Extracts the issue time of an ID.
+     *
+     * @param id A ticket ID.
+     * @return The time the ID was issued, in milliseconds since the epoch.
+     */
+    public static long issuedAt(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
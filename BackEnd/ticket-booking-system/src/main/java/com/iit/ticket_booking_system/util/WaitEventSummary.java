@@ -0,0 +1,149 @@
+package com.iit.ticket_booking_system.util;
+
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.POOL;
+
+/**
+ * Folds the waits on one pool condition, such as the pool being full, into counters and logs them
+ * as a single summary line per interval, for example
+ * "pool full: 3,412 waits, 17 producers blocked, max 220 ms".
+ * <p>
+ * A thread parked on a condition can be woken many times before it gets through, so logging every
+ * wait floods the log with identical lines exactly when the pool is busiest. Here each wait only
+ * bumps a counter, and the first thread to finish a wait after the interval has passed, or the
+ * pool's periodic report, logs what was counted since the previous summary. An interval logs
+ * nothing only if no thread waited in it at all; a wait that ends in a later interval carries its
+ * length into that interval's line, and threads still blocked keep a line coming every interval.
+ */
+public class WaitEventSummary {
+
+    public static final long DEFAULT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1); // Summary interval unless configured
+
+    private final String condition; // What the threads wait for, as it starts the summary
+    private final String role; // Who waits, plural, such as "producers"
+    private final long intervalNanos; // Least time between two summaries
+    private final LongSupplier clock; // Time in nanoseconds
+    private final LongAdder waits = new LongAdder(); // Times a thread parked since the last summary
+    private final LongAdder blocked = new LongAdder(); // Threads that had to wait since the last summary
+    private final AtomicLong maxWaitNanos = new AtomicLong(); // Longest finished wait since the last summary
+    private final AtomicInteger waiting = new AtomicInteger(); // Threads waiting right now
+    private final AtomicLong nextReport; // Time the current interval ends
+
+    /**
+     * Constructs a summary on the system clock.
+     *
+     * @param condition     What the threads wait for, such as "pool full".
+     * @param role          Who waits, plural, such as "producers".
+     * @param intervalNanos The least time between two summaries, in nanoseconds.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public WaitEventSummary(String condition, String role, long intervalNanos) {
+        this(condition, role, intervalNanos, System::nanoTime);
+    }
+
+    /**
+     * Constructs a summary on the given clock.
+     *
+     * @param condition     What the threads wait for, such as "pool full".
+     * @param role          Who waits, plural, such as "producers".
+     * @param intervalNanos The least time between two summaries, in nanoseconds.
+     * @param clock         The time in nanoseconds.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public WaitEventSummary(String condition, String role, long intervalNanos, LongSupplier clock) {
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Wait summary interval must be positive: " + intervalNanos);
+        }
+        this.condition = condition;
+        this.role = role;
+        this.intervalNanos = intervalNanos;
+        this.clock = clock;
+        this.nextReport = new AtomicLong(clock.getAsLong() + intervalNanos);
+    }
+
+    /**
+     * Records that a thread has to wait, before it parks for the first time.
+     *
+     * @return The time the wait began, to pass to {@link #finished(long)}.
+     */
+    public long started() {
+        blocked.increment();
+        waiting.incrementAndGet();
+        return clock.getAsLong();
+    }
+
+    /**
+     * Records that a waiting thread parks, once for every time it is woken and still has to wait.
+     */
+    public void parked() {
+        waits.increment();
+    }
+
+    /**
+     * Records that a thread stopped waiting, whether it got through, gave up or was interrupted,
+     * and logs the summary if the interval has passed.
+     *
+     * @param began The time the wait began, as returned by {@link #started()}.
+     */
+    public void finished(long began) {
+        waiting.decrementAndGet();
+        long now = clock.getAsLong();
+        long waited = now - began;
+        long current;
+        while (waited > (current = maxWaitNanos.get()) && !maxWaitNanos.compareAndSet(current, waited)) {
+            // Retry until the new maximum is stored or a larger one is seen
+        }
+        report(now, false);
+    }
+
+    /**
+     * Logs the summary of the waits counted since the previous one, if the interval has passed or
+     * the report is forced, and any thread waited since: one parked, blocked or finished a wait,
+     * or is still waiting.
+     *
+     * @param force Whether to report before the interval has passed, as when the system stops.
+     * @return The line logged, or null if nothing was logged.
+     */
+    public String report(boolean force) {
+        return report(clock.getAsLong(), force);
+    }
+
+    private String report(long now, boolean force) {
+        long due = nextReport.get();
+        if (!force && now - due < 0) {
+            return null;
+        }
+        if (!nextReport.compareAndSet(due, now + intervalNanos)) {
+            return null; // Another thread is reporting this interval
+        }
+        long waitCount = waits.sumThenReset();
+        long blockedCount = blocked.sumThenReset();
+        long maxNanos = maxWaitNanos.getAndSet(0);
+        int stillWaiting = waiting.get();
+        if (waitCount == 0 && blockedCount == 0 && maxNanos == 0 && stillWaiting == 0) {
+            return null;
+        }
+        String line = String.format(Locale.ROOT, "%s: %,d waits, %,d %s blocked, max %,d ms%s",
+                condition, waitCount, blockedCount, role, maxNanos / 1_000_000,
+                stillWaiting > 0 ? ", " + stillWaiting + " still waiting" : "");
+        LoggerUtil.log(POOL, Level.INFO, line);
+        return line;
+    }
+
+    /**
+     * Gets the number of threads waiting right now.
+     *
+     * @return The waiting thread count.
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+}
@@ -0,0 +1,129 @@
+package com.iit.ticket_booking_system.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of wait times, used to report percentiles without keeping every sample.
+ * <p>
+ * Durations are bucketed by their power of two in nanoseconds, with each power split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so any percentile is accurate to within about 12%
+ * while the whole histogram stays a fixed array of counters.
+ */
+public class WaitTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Linear buckets per power of two
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS); // Samples in each bucket
+    private final LongAdder total = new LongAdder(); // Samples recorded
+    private final AtomicLong max = new AtomicLong(); // Longest wait recorded, in nanoseconds
+
+    /**
+     * Records one wait.
+     *
+     * @param nanos The wait time in nanoseconds; negative values count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Retry until the new maximum is stored or a larger one is seen
+        }
+    }
+
+    /**
+     * Maps a value to its bucket: values below {@value #SUB_BUCKETS} map to themselves, larger values
+     * to their power of two and the next {@value #SUB_BUCKET_BITS} bits below the leading bit.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Gets the largest value that maps to a bucket, so percentiles never under-report.
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Gets the wait time at or below which the given share of waits fell.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The wait time in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Gets the number of waits recorded.
+     *
+     * @return The number of samples.
+     */
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * Gets the longest wait recorded.
+     *
+     * @return The longest wait in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Clears every recorded wait.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * Gets a summary of the recorded waits for the status endpoints.
+     *
+     * @return The sample count and the p50, p99 and maximum wait in milliseconds.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("p50Ms", percentile(50) / 1e6);
+        summary.put("p99Ms", percentile(99) / 1e6);
+        summary.put("maxMs", getMax() / 1e6);
+        return summary;
+    }
+}
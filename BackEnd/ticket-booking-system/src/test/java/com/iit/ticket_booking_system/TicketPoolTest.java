@@ -0,0 +1,218 @@
+package com.iit.ticket_booking_system;
+
+import com.iit.ticket_booking_system.model.Priority;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.model.TicketHold;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketPoolTest {
+
+	@Test
+	void batchReleaseFillsPartiallyWhenCapacityIsShort() throws InterruptedException {
+		TicketPool pool = new TicketPool(3, "ring", false);
+		List<Ticket> release = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			release.add(new Ticket(i, "Concert", 10));
+		}
+
+		assertEquals(3, pool.addTickets(release));
+		assertEquals(3, pool.getCurrentSize());
+
+		List<Ticket> bought = pool.buyTickets(10);
+		assertEquals(3, bought.size());
+		assertEquals(1, bought.get(0).getTicketID());
+		assertEquals(2, pool.addTickets(release.subList(3, 5)));
+		assertEquals(5, pool.getTotalTicketsAdded());
+	}
+
+	@Test
+	void shardedPoolKeepsSeparateCapacityPerEvent() throws InterruptedException {
+		TicketPool pool = new TicketPool(2, "linked", true);
+		pool.addTickets(new Ticket(1, "Concert", 10));
+		pool.addTickets(new Ticket(2, "Concert", 10));
+		pool.addTickets(new Ticket(3, "Theatre", 20));
+
+		assertEquals(3, pool.getCurrentSize());
+		assertEquals(2, pool.getShardOccupancy().get("Concert").get("currentSize"));
+		assertEquals("Theatre", pool.buyTicket("Theatre").getEventName());
+	}
+
+	@Test
+	void salesTotalStaysExactAfterManyPurchases() throws InterruptedException {
+		TicketPool pool = new TicketPool(1000, "ring", false);
+		List<Ticket> release = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			release.add(new Ticket(i, "Concert", 19.99));
+		}
+		for (int round = 0; round < 1000; round++) {
+			pool.addTickets(release);
+			pool.buyTickets(1000);
+		}
+
+		assertEquals(1_999_000_000L, pool.getTotalSalesInCents());
+		assertEquals(19_990_000.00, pool.getTotalSales());
+	}
+
+	@Test
+	void timedAndAsyncPurchasesCompleteWhenTicketsArrive() throws Exception {
+		TicketPool pool = new TicketPool(1, "ring", false);
+		assertNull(pool.tryBuy());
+		assertNull(pool.buy(Duration.ofMillis(20)));
+
+		CompletableFuture<Ticket> first = pool.buyAsync();
+		CompletableFuture<Ticket> second = pool.buyAsync();
+		assertFalse(first.isDone());
+		assertTrue(pool.tryAdd(new Ticket(1, "Concert", 10)));
+		assertEquals(1, first.get(5, TimeUnit.SECONDS).getTicketID());
+		assertFalse(second.isDone());
+
+		// The pool holds one ticket, so the second async add is stored once it is bought
+		assertTrue(pool.tryAdd(new Ticket(2, "Concert", 10)));
+		assertEquals(2, second.get(5, TimeUnit.SECONDS).getTicketID());
+		assertTrue(pool.tryAdd(new Ticket(3, "Concert", 10)));
+		assertFalse(pool.add(new Ticket(4, "Concert", 10), Duration.ofMillis(20)));
+		CompletableFuture<Void> queued = pool.addAsync(new Ticket(5, "Concert", 10));
+		assertFalse(queued.isDone());
+		assertEquals(3, pool.tryBuy().getTicketID());
+		queued.get(5, TimeUnit.SECONDS);
+		assertEquals(5, pool.tryBuy().getTicketID());
+		assertEquals(4, pool.getTotalTicketsAdded());
+		assertEquals(40, pool.getTotalSales());
+	}
+
+	@Test
+	void fairPoolHandsTicketsToWaitingCustomersInArrivalOrder() throws Exception {
+		TicketPool pool = new TicketPool(10, "ring", false, true);
+		List<Ticket> received = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> customers = new ArrayList<>();
+		for (int c = 0; c < 3; c++) {
+			Thread customer = new Thread(() -> {
+				try {
+					received.add(pool.buyTicket());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			customer.start();
+			// Let each customer park before the next one arrives
+			while (customer.getState() != Thread.State.WAITING) {
+				Thread.yield();
+			}
+			customers.add(customer);
+		}
+
+		for (int i = 1; i <= 3; i++) {
+			pool.addTickets(new Ticket(i, "Concert", 10));
+			customers.get(i - 1).join(5000);
+			assertEquals(i, received.get(i - 1).getTicketID());
+		}
+		assertEquals(3, pool.getCustomerWaitTimes().getCount());
+		assertEquals(30, pool.getTotalSales());
+	}
+
+	@Test
+	void mappedPoolKeepsTicketsAcrossRestart(@TempDir Path storage) throws InterruptedException {
+		TicketPool pool = new TicketPool(4, "mapped", true, false, storage);
+		pool.addTickets(List.of(new Ticket(1, "Concert", 19.99), new Ticket(2, "Concert", 5)));
+		pool.addTickets(new Ticket(3, "Théâtre", 12.5));
+		assertEquals(1, pool.buyTicket("Concert").getTicketID());
+
+		TicketPool reopened = new TicketPool(4, "mapped", true, false, storage);
+		assertEquals(2, reopened.getCurrentSize());
+		Ticket theatre = reopened.buyTicket("Théâtre");
+		assertEquals(3, theatre.getTicketID());
+		assertEquals(1250, theatre.getPriceInCents());
+		assertEquals(2, reopened.buyTicket("Concert").getTicketID());
+	}
+
+	@Test
+	void unconfirmedHoldsReturnToThePoolWhenTheyExpire() throws InterruptedException {
+		TicketPool pool = new TicketPool(10, "ring", false);
+		pool.addTickets(List.of(new Ticket(1, "Concert", 10), new Ticket(2, "Concert", 20), new Ticket(3, "Concert", 30)));
+
+		TicketHold confirmed = pool.reserve();
+		TicketHold released = pool.reserve();
+		TicketHold expiring = pool.reserve(Duration.ofMillis(50));
+		assertEquals(3, pool.getHeldCount());
+		assertEquals(0, pool.getCurrentSize());
+
+		assertEquals(1, pool.confirm(confirmed.getHoldId()).getTicketID());
+		assertNull(pool.confirm(confirmed.getHoldId()));
+		assertTrue(pool.release(released.getHoldId()));
+		assertEquals(1, pool.getCurrentSize());
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (pool.getHeldCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, pool.getHeldCount());
+		assertEquals(2, pool.getCurrentSize());
+		assertFalse(pool.release(expiring.getHoldId()));
+		assertEquals(10, pool.getTotalSales());
+	}
+
+	@Test
+	void groupPurchasesGetEveryTicketOrNone() throws Exception {
+		TicketPool pool = new TicketPool(10, "ring", true);
+		pool.addTicketRange("Concert", 1, 5, 10);
+		pool.addTicketRange("Theatre", 100, 2, 10);
+
+		assertTrue(pool.tryBuyGroup("Concert", 8).isEmpty());
+		assertTrue(pool.buyGroup("Concert", 8, Duration.ofMillis(20)).isEmpty());
+		assertEquals(7, pool.getCurrentSize());
+
+		CompletableFuture<List<Ticket>> group = CompletableFuture.supplyAsync(() -> {
+			try {
+				return pool.buyGroup("Concert", 8);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		Thread.sleep(50);
+		assertEquals(1, pool.buyTicket("Concert").getTicketID()); // Single buyers are not held up by the group
+		assertFalse(group.isDone());
+		pool.addTicketRange("Concert", 6, 4, 10);
+
+		List<Ticket> tickets = group.get(5, TimeUnit.SECONDS);
+		assertEquals(8, tickets.size());
+		assertEquals(2, tickets.get(0).getTicketID());
+		assertEquals(9, tickets.get(7).getTicketID());
+		assertEquals(List.of(100L, 101L), pool.tryBuyGroup("Theatre", 2).stream().map(Ticket::getTicketID).toList());
+		assertEquals(0, pool.getCurrentSize());
+		assertEquals(110, pool.getTotalSales());
+		assertThrows(IllegalArgumentException.class, () -> pool.buyGroup("Concert", 11));
+	}
+
+	@Test
+	void waitingHigherTiersAreServedFirst() throws Exception {
+		TicketPool pool = new TicketPool(10, "ring", false, false, null, Duration.ofMinutes(1));
+		CompletableFuture<Ticket> standard = pool.buyAsync(Priority.STANDARD);
+		CompletableFuture<Ticket> presale = pool.buyAsync(Priority.PRESALE);
+		CompletableFuture<Ticket> vip = pool.buyAsync(Priority.VIP);
+
+		pool.addTickets(new Ticket(1, "Concert", 10));
+		assertEquals(1, vip.get(5, TimeUnit.SECONDS).getTicketID());
+		assertFalse(presale.isDone());
+		pool.addTickets(new Ticket(2, "Concert", 10));
+		assertEquals(2, presale.get(5, TimeUnit.SECONDS).getTicketID());
+		pool.addTickets(new Ticket(3, "Concert", 10));
+		assertEquals(3, standard.get(5, TimeUnit.SECONDS).getTicketID());
+
+		pool.addTickets(new Ticket(4, "Concert", 10));
+		assertEquals(4, pool.buyTicket(Priority.VIP).getTicketID());
+		assertEquals(2, pool.getCustomerWaitTimes(Priority.VIP).getCount()); // The queued purchase and the blocking one
+		assertEquals(1, pool.getCustomerWaitTimes(Priority.STANDARD).getCount());
+		assertEquals(40, pool.getTotalSales());
+	}
+}
@@ -0,0 +1,61 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what it costs to keep many customers waiting on an empty pool through {@link TicketPool#buyAsync()}:
+ * heap per waiter, live threads, and how long a vendor takes to serve them all once tickets arrive.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.AsyncWaiterBenchmark [waiters] [capacity]}.
+ */
+public class AsyncWaiterBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int waiters = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+		TicketPool pool = new TicketPool(capacity, "ring", false);
+		int threadsBefore = Thread.activeCount();
+		long heapBefore = usedHeap();
+
+		List<CompletableFuture<Ticket>> purchases = new ArrayList<>(waiters);
+		for (int i = 0; i < waiters; i++) {
+			purchases.add(pool.buyAsync());
+		}
+		long heapWaiting = usedHeap();
+		System.out.printf("waiters=%d threads=%d (was %d) heap=%.1f MB (%.0f bytes/waiter)%n",
+				waiters, Thread.activeCount(), threadsBefore, (heapWaiting - heapBefore) / 1e6,
+				(double) (heapWaiting - heapBefore) / waiters);
+
+		// A single vendor thread serves every queued purchase as it adds the tickets
+		long began = System.nanoTime();
+		List<Ticket> release = new ArrayList<>(capacity);
+		for (int added = 0; added < waiters; added += release.size()) {
+			release.clear();
+			for (int i = 0; i < Math.min(capacity, waiters - added); i++) {
+				release.add(new Ticket(added + i, "Benchmark", 10));
+			}
+			pool.addTickets(release);
+		}
+		CompletableFuture.allOf(purchases.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+		long elapsed = System.nanoTime() - began;
+
+		System.out.printf("served %d waiters in %.1f ms (%.0f tickets/s), pool size %d, sales %.2f%n",
+				waiters, elapsed / 1e6, waiters / (elapsed / 1e9), pool.getCurrentSize(), pool.getTotalSales());
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
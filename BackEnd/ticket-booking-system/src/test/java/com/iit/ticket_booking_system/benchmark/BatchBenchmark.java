@@ -0,0 +1,153 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares per-ticket and batch transfers: throughput, lock acquisitions per ticket and wakeups per release.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.BatchBenchmark [vendors] [customers] [capacity] [ticketsPerRelease] [releasesPerVendor]}.
+ */
+public class BatchBenchmark {
+
+	/**
+	 * One way of moving a vendor's release into the pool and a customer's purchase out of it.
+	 */
+	interface Transfer {
+		void release(List<Ticket> tickets) throws InterruptedException;
+
+		int purchase(int quantity) throws InterruptedException;
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int vendors = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int customers = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		int ticketsPerRelease = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+		int releasesPerVendor = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+		int releases = vendors * releasesPerVendor;
+		int total = releases * ticketsPerRelease;
+
+		System.out.printf("vendors=%d customers=%d capacity=%d ticketsPerRelease=%d tickets=%d%n",
+				vendors, customers, capacity, ticketsPerRelease, total);
+		System.out.printf("%-22s %10s %14s %12s %14s%n", "", "ms", "tickets/s", "locks/ticket", "wakeups/release");
+		for (int round = 0; round < 3; round++) {
+			TicketPoolBenchmark.MonitorPool monitor = new TicketPoolBenchmark.MonitorPool(capacity);
+			long elapsed = run(new Transfer() {
+				@Override
+				public void release(List<Ticket> tickets) {
+					tickets.forEach(monitor::add);
+				}
+
+				@Override
+				public int purchase(int quantity) {
+					monitor.buy();
+					return 1;
+				}
+			}, vendors, customers, ticketsPerRelease, releasesPerVendor);
+			report("monitor per ticket", elapsed, total,
+					monitor.monitorEntries.sum(), monitor.notifications.sum(), releases);
+
+			TicketPool single = new TicketPool(capacity, "ring", false);
+			elapsed = run(new Transfer() {
+				@Override
+				public void release(List<Ticket> tickets) throws InterruptedException {
+					for (Ticket ticket : tickets) {
+						single.addTickets(ticket);
+					}
+				}
+
+				@Override
+				public int purchase(int quantity) throws InterruptedException {
+					single.buyTicket();
+					return 1;
+				}
+			}, vendors, customers, ticketsPerRelease, releasesPerVendor);
+			report("pool per ticket", elapsed, total,
+					single.getWaitLockAcquisitions(), single.getWakeups(), releases);
+
+			TicketPool batch = new TicketPool(capacity, "ring", false);
+			elapsed = run(new Transfer() {
+				@Override
+				public void release(List<Ticket> tickets) throws InterruptedException {
+					int released = 0;
+					while (released < tickets.size()) {
+						released += batch.addTickets(tickets.subList(released, tickets.size()));
+					}
+				}
+
+				@Override
+				public int purchase(int quantity) throws InterruptedException {
+					return batch.buyTickets(quantity).size();
+				}
+			}, vendors, customers, ticketsPerRelease, releasesPerVendor);
+			report("pool batch", elapsed, total,
+					batch.getWaitLockAcquisitions(), batch.getWakeups(), releases);
+		}
+	}
+
+	private static long run(Transfer transfer, int vendors, int customers, int ticketsPerRelease,
+							int releasesPerVendor) throws InterruptedException {
+		int total = vendors * releasesPerVendor * ticketsPerRelease;
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(vendors + customers);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int v = 0; v < vendors; v++) {
+			threads.add(new Thread(() -> {
+				await(start);
+				try {
+					for (int r = 0; r < releasesPerVendor; r++) {
+						List<Ticket> release = new ArrayList<>(ticketsPerRelease);
+						for (int i = 0; i < ticketsPerRelease; i++) {
+							release.add(new Ticket(r * ticketsPerRelease + i, "Benchmark", 10));
+						}
+						transfer.release(release);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}));
+		}
+		for (int c = 0; c < customers; c++) {
+			int share = total / customers + (c < total % customers ? 1 : 0);
+			threads.add(new Thread(() -> {
+				await(start);
+				int bought = 0;
+				try {
+					while (bought < share) {
+						bought += transfer.purchase(Math.min(10, share - bought));
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}));
+		}
+		threads.forEach(Thread::start);
+
+		long began = System.nanoTime();
+		start.countDown();
+		done.await();
+		return System.nanoTime() - began;
+	}
+
+	private static void report(String name, long elapsed, int total, long locks, long wakeups, int releases) {
+		System.out.printf("%-22s %10.1f %14.0f %12.3f %14.1f%n", name, elapsed / 1e6,
+				total / (elapsed / 1e9), (double) locks / total, (double) wakeups / releases);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.util.WaitTimeHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares customer wait-time percentiles when tickets are scarce: the original monitor pool that wakes
+ * every customer with notifyAll(), the pool's default barging mode and its FIFO-fair mode.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.FairnessBenchmark [vendors] [customers] [ticketsPerVendor] [releaseMicros]}.
+ */
+public class FairnessBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int vendors = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+		int customers = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		int ticketsPerVendor = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+		int releaseMicros = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+		System.out.printf("vendors=%d customers=%d tickets=%d release every %d us per vendor%n",
+				vendors, customers, vendors * ticketsPerVendor, releaseMicros);
+		System.out.printf("%-20s %10s %10s %10s %10s%n", "", "p50 ms", "p99 ms", "max ms", "ms");
+		for (int round = 0; round < 3; round++) {
+			TicketPoolBenchmark.MonitorPool monitor = new TicketPoolBenchmark.MonitorPool(1000);
+			run("monitor (baseline)", monitor, vendors, customers, ticketsPerVendor, releaseMicros);
+
+			TicketPool barging = new TicketPool(1000, "ring", false, false);
+			run("pool barging", adapt(barging), vendors, customers, ticketsPerVendor, releaseMicros);
+
+			TicketPool fair = new TicketPool(1000, "ring", false, true);
+			run("pool fair", adapt(fair), vendors, customers, ticketsPerVendor, releaseMicros);
+		}
+	}
+
+	private static TicketPoolBenchmark.Pool adapt(TicketPool ticketPool) {
+		return new TicketPoolBenchmark.Pool() {
+			@Override
+			public void add(Ticket ticket) throws InterruptedException {
+				ticketPool.addTickets(ticket);
+			}
+
+			@Override
+			public Ticket buy() throws InterruptedException {
+				return ticketPool.buyTicket();
+			}
+		};
+	}
+
+	private static void run(String name, TicketPoolBenchmark.Pool pool, int vendors, int customers,
+							int ticketsPerVendor, int releaseMicros) throws InterruptedException {
+		int total = vendors * ticketsPerVendor;
+		WaitTimeHistogram waits = new WaitTimeHistogram();
+		CountDownLatch done = new CountDownLatch(vendors + customers);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int c = 0; c < customers; c++) {
+			int share = total / customers + (c < total % customers ? 1 : 0);
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < share; i++) {
+						long began = System.nanoTime();
+						pool.buy();
+						waits.record(System.nanoTime() - began);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}));
+		}
+		for (int v = 0; v < vendors; v++) {
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < ticketsPerVendor; i++) {
+						pool.add(new Ticket(i, "Benchmark", 10));
+						LockSupport.parkNanos(releaseMicros * 1000L); // Keep tickets scarce
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}));
+		}
+
+		long began = System.nanoTime();
+		threads.forEach(Thread::start);
+		done.await();
+		long elapsed = System.nanoTime() - began;
+
+		System.out.printf("%-20s %10.3f %10.3f %10.3f %10.1f%n", name, waits.percentile(50) / 1e6,
+				waits.percentile(99) / 1e6, waits.getMax() / 1e6, elapsed / 1e6);
+	}
+}
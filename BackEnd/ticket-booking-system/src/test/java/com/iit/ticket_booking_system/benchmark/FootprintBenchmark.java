@@ -0,0 +1,86 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.pool.TicketInventory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap retained per stored ticket by each inventory (off-heap records are not counted), and the garbage collections caused by
+ * streaming tickets through a full inventory.
+ * <p>
+ * Not a unit test: run it with a fixed heap, e.g.
+ * {@code java -Xms1g -Xmx1g -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.FootprintBenchmark [capacity] [churn] [implementations]}.
+ */
+public class FootprintBenchmark {
+
+	public static void main(String[] args) {
+		int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int churn = args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000;
+		String[] implementations = (args.length > 2 ? args[2] : "linked,ring,packed,offheap").split(",");
+		String[] events = {"Concert", "Theatre", "Opera", "Festival"};
+
+		System.out.printf("capacity=%d churn=%d%n", capacity, churn);
+		System.out.printf("%-8s %14s %10s %10s %12s%n", "", "bytes/ticket", "GCs", "GC ms", "tickets/s");
+		for (int i = 0; i < implementations.length * 2; i++) {
+			String implementation = implementations[i % implementations.length];
+			long before = usedHeap();
+			TicketInventory inventory = TicketPool.createInventory(implementation, capacity);
+			for (int t = 0; t < capacity; t++) {
+				inventory.offer(new Ticket(t, events[t % events.length], 10 + t % 90));
+			}
+			long retained = usedHeap() - before;
+
+			// Stream tickets through the full inventory the way customers and vendors do
+			long collections = collections();
+			long collectionMillis = collectionMillis();
+			long began = System.nanoTime();
+			List<Ticket> taken = new ArrayList<>(100);
+			List<Ticket> release = new ArrayList<>(100);
+			for (int t = 0; t < churn; t += 100) {
+				taken.clear();
+				inventory.pollAll(100, taken);
+				release.clear();
+				for (int j = 0; j < taken.size(); j++) {
+					release.add(new Ticket(t + j, events[j % events.length], 10 + j % 90));
+				}
+				inventory.offerAll(release, 0);
+			}
+			long elapsed = System.nanoTime() - began;
+
+			System.out.printf("%-8s %14.1f %10d %10d %12.0f%n", implementation, (double) retained / capacity,
+					collections() - collections, collectionMillis() - collectionMillis, churn / (elapsed / 1e9));
+			if (inventory.size() != capacity) {
+				throw new IllegalStateException("Inventory lost tickets");
+			}
+		}
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static long collections() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, collector.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long collectionMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, collector.getCollectionTime());
+		}
+		return millis;
+	}
+}
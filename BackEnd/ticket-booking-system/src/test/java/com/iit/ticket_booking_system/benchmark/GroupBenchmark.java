@@ -0,0 +1,100 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures group purchases under contention: group buyers and single-ticket buyers drain one event
+ * while a vendor keeps releasing tickets. Atomic {@link TicketPool#buyGroup(String, int)} is compared
+ * with assembling each group from partial {@link TicketPool#buyTickets(int)} calls, which is what
+ * customers had to do before and which leaves groups holding part of their tickets while they wait.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.GroupBenchmark [group threads] [group size] [single threads] [groups per thread]}.
+ */
+public class GroupBenchmark {
+
+	private static final int CAPACITY = 256;
+
+	public static void main(String[] args) throws InterruptedException {
+		int groupThreads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int groupSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int singleThreads = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+		int groupsPerThread = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+
+		System.out.printf("group threads=%d size=%d single threads=%d groups/thread=%d capacity=%d%n",
+				groupThreads, groupSize, singleThreads, groupsPerThread, CAPACITY);
+		System.out.printf("%-10s %10s %12s %14s %10s%n", "", "ms", "groups/s", "split groups", "p99 ms");
+		for (int round = 0; round < 3; round++) {
+			run("atomic", true, groupThreads, groupSize, singleThreads, groupsPerThread);
+			run("assembled", false, groupThreads, groupSize, singleThreads, groupsPerThread);
+		}
+	}
+
+	private static void run(String name, boolean atomic, int groupThreads, int groupSize, int singleThreads,
+	                        int groupsPerThread) throws InterruptedException {
+		TicketPool pool = new TicketPool(CAPACITY, "ring", true);
+		int singlesPerThread = groupsPerThread * groupSize / 2;
+		long total = (long) groupThreads * groupsPerThread * groupSize + (long) singleThreads * singlesPerThread;
+		AtomicInteger splits = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+
+		threads.add(new Thread(() -> {
+			try {
+				for (long id = 1; id <= total; ) {
+					id += pool.addTicketRange("Benchmark", id, (int) Math.min(32, total - id + 1), 10);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		for (int t = 0; t < groupThreads; t++) {
+			threads.add(new Thread(() -> {
+				try {
+					for (int g = 0; g < groupsPerThread; g++) {
+						if (atomic) {
+							pool.buyGroup("Benchmark", groupSize);
+							continue;
+						}
+						List<Ticket> group = pool.buyTickets(groupSize);
+						if (group.size() < groupSize) {
+							splits.incrementAndGet(); // The group holds part of its tickets while it waits for the rest
+							while (group.size() < groupSize) {
+								group.addAll(pool.buyTickets(groupSize - group.size()));
+							}
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (int t = 0; t < singleThreads; t++) {
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < singlesPerThread; i++) {
+						pool.buyTicket("Benchmark");
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+
+		long began = System.nanoTime();
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		double seconds = (System.nanoTime() - began) / 1e9;
+		System.out.printf("%-10s %10.1f %12.0f %14d %10.2f%n", name, seconds * 1e3,
+				groupThreads * (double) groupsPerThread / seconds, splits.get(),
+				pool.getCustomerWaitTimes().percentile(99) / 1e6);
+	}
+}
@@ -0,0 +1,92 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.model.TicketHold;
+import com.iit.ticket_booking_system.util.HashedTimerWheel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of many concurrent checkout holds: reserving, confirming half of them and letting
+ * the rest expire back into the pool, against one ScheduledFuture per hold.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.HoldBenchmark [holds] [ttlMillis]}.
+ */
+public class HoldBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int holds = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int ttlMillis = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+		System.out.printf("holds=%d ttl=%d ms%n", holds, ttlMillis);
+		for (int round = 0; round < 3; round++) {
+			TicketPool pool = new TicketPool(holds, "ring", false);
+			List<Ticket> release = new ArrayList<>(holds);
+			for (int i = 0; i < holds; i++) {
+				release.add(new Ticket(i, "Benchmark", 10));
+			}
+			pool.addTickets(release);
+
+			long began = System.nanoTime();
+			List<TicketHold> reserved = new ArrayList<>(holds);
+			for (int i = 0; i < holds; i++) {
+				reserved.add(pool.reserve(Duration.ofMillis(ttlMillis)));
+			}
+			long reserveNanos = System.nanoTime() - began;
+			began = System.nanoTime();
+			for (int i = 0; i < holds; i += 2) {
+				pool.confirm(reserved.get(i).getHoldId());
+			}
+			long confirmNanos = System.nanoTime() - began;
+			began = System.nanoTime();
+			while (pool.getHeldCount() > 0) {
+				Thread.sleep(10);
+			}
+			System.out.printf("pool holds       reserve %6.0f ns  confirm %6.0f ns  %d expired back to pool, drained %.0f ms later%n",
+					(double) reserveNanos / holds, (double) confirmNanos / (holds / 2),
+					pool.getCurrentSize(), (System.nanoTime() - began) / 1e6);
+
+			// The timers alone: a hashed wheel against one scheduled task per hold
+			HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(TimeUnit.MILLISECONDS.toNanos(100), 4096,
+					System.nanoTime(), item -> { });
+			began = System.nanoTime();
+			List<HashedTimerWheel.Timeout<Integer>> timeouts = new ArrayList<>(holds);
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+			for (int i = 0; i < holds; i++) {
+				timeouts.add(wheel.schedule(i, deadline + i));
+			}
+			reserveNanos = System.nanoTime() - began;
+			began = System.nanoTime();
+			for (int i = 0; i < holds; i += 2) {
+				wheel.cancel(timeouts.get(i));
+			}
+			confirmNanos = System.nanoTime() - began;
+			System.out.printf("timer wheel      schedule %5.0f ns  cancel %7.0f ns%n",
+					(double) reserveNanos / holds, (double) confirmNanos / (holds / 2));
+
+			ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+			scheduler.setRemoveOnCancelPolicy(true);
+			began = System.nanoTime();
+			List<ScheduledFuture<?>> timers = new ArrayList<>(holds);
+			for (int i = 0; i < holds; i++) {
+				timers.add(scheduler.schedule(() -> { }, ttlMillis, TimeUnit.MILLISECONDS));
+			}
+			reserveNanos = System.nanoTime() - began;
+			began = System.nanoTime();
+			for (int i = 0; i < holds; i += 2) {
+				timers.get(i).cancel(false);
+			}
+			confirmNanos = System.nanoTime() - began;
+			System.out.printf("scheduled future schedule %5.0f ns  cancel %7.0f ns%n",
+					(double) reserveNanos / holds, (double) confirmNanos / (holds / 2));
+			scheduler.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.util.TicketIdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Compares ticket id throughput of a synchronized counter, a shared atomic counter and the
+ * {@link TicketIdGenerator} (per-thread lanes, and whole-release leases) with several threads issuing ids.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.IdGeneratorBenchmark [threads] [ids per thread]}.
+ */
+public class IdGeneratorBenchmark {
+
+	private static long counter; // Guarded by IdGeneratorBenchmark.class
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+		AtomicLong atomic = new AtomicLong();
+		TicketIdGenerator generator = TicketIdGenerator.forNode(1);
+		System.out.printf("threads=%d ids/thread=%d%n", threads, perThread);
+		for (int round = 0; round < 3; round++) {
+			run("synchronized counter", threads, perThread, 1, IdGeneratorBenchmark::synchronizedNext);
+			run("atomic counter", threads, perThread, 1, atomic::incrementAndGet);
+			run("generator nextId", threads, perThread, 1, generator::nextId);
+			run("generator lease(100)", threads, perThread / 100, 100, () -> generator.lease(100).getFirstId());
+		}
+	}
+
+	private static synchronized long synchronizedNext() {
+		return ++counter;
+	}
+
+	private static void run(String name, int threads, int calls, int idsPerCall, LongSupplier ids) throws InterruptedException {
+		long[] sinks = new long[threads];
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int slot = t;
+			workers.add(new Thread(() -> {
+				long sink = 0;
+				for (int i = 0; i < calls; i++) {
+					sink ^= ids.getAsLong();
+				}
+				sinks[slot] = sink;
+			}));
+		}
+		long began = System.nanoTime();
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		double seconds = (System.nanoTime() - began) / 1e9;
+		System.out.printf("%-22s %10.1f M ids/s%n", name, threads * (double) calls * idsPerCall / seconds / 1e6);
+	}
+}
@@ -0,0 +1,64 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.thread.Customer;
+import com.iit.ticket_booking_system.thread.Vendor;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the bytes allocated and the time taken per ticket sold, one ticket per release and per
+ * purchase, under several logging settings. Allocation is counted over every thread of the JVM,
+ * including the log writer and threads that have ended. Console output goes to a discarding stream.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.LogAllocationBenchmark [tickets] [settings]},
+ * where settings is a comma-separated list of "debug" (every event logged and echoed), "info" (the
+ * default level, echoed), "quiet" (the default level, no console echo) and "off".
+ */
+public class LogAllocationBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		String[] settings = (args.length > 1 ? args[1] : "debug,info,quiet,off,debug,info,quiet,off").split(",");
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		PrintStream console = System.out;
+		System.out.printf("tickets=%d, 2 vendors and 2 customers%n", tickets);
+		for (String setting : settings) {
+			apply(setting);
+			TicketPool pool = new TicketPool(1000, "ring", false);
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+			LoggerUtil.flush();
+			long loggedBefore = LoggerUtil.getLastLogSequence();
+			long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+			long began = System.nanoTime();
+			List<Thread> started = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				started.add(Thread.ofPlatform().start(new Vendor("v" + i, "Vendor " + i, "Event", pool, 1, 0, tickets / 2, 10)));
+				started.add(Thread.ofPlatform().start(new Customer("c" + i, "Customer " + i, 0, tickets / 2, pool)));
+			}
+			for (Thread thread : started) {
+				thread.join();
+			}
+			long elapsed = System.nanoTime() - began;
+			LoggerUtil.flush();
+			long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+			System.setOut(console);
+			System.out.printf("%-6s %7.0f bytes per ticket  %6.0f ns per ticket  %6d messages logged%n",
+					setting, (double) allocated / tickets, (double) elapsed / tickets, LoggerUtil.getLastLogSequence() - loggedBefore);
+			LoggerUtil.clearLogs();
+		}
+	}
+
+	private static void apply(String setting) {
+		LoggerUtil.setEnabled(!"off".equals(setting));
+		LoggerUtil.setLevels("debug".equals(setting) ? "DEBUG" : "INFO", "");
+		LoggerUtil.setConsole(!"quiet".equals(setting));
+	}
+}
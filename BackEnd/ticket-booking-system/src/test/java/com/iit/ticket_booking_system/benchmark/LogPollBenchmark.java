@@ -0,0 +1,93 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.util.AsyncLogAppender;
+import com.iit.ticket_booking_system.util.LogRing;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logs many messages and then polls for the latest ones, once with an unbounded list that every poll
+ * copies, as the in-memory log used to be, and once with a {@link LogRing} polled with the sequence of
+ * the last message seen. Reports the live heap the log takes and the cost of one poll.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.LogPollBenchmark [messages] [new per poll] [ring entries]}.
+ */
+public class LogPollBenchmark {
+
+	private static final int POLLS = 50;
+
+	public static void main(String[] args) {
+		int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+		int newPerPoll = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int ringEntries = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+		System.out.printf("messages=%d new per poll=%d ring entries=%d%n", messages, newPerPoll, ringEntries);
+		for (int round = 0; round < 2; round++) {
+			list(messages, newPerPoll);
+			ring(messages, newPerPoll, ringEntries);
+		}
+	}
+
+	private static String message(int i) {
+		return "Ticket bought by Customer " + (i % 1000) + " Ticket{id=" + i + ", event='Event', price=10.0}";
+	}
+
+	private static long heap() {
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static void list(int messages, int newPerPoll) {
+		long before = heap();
+		List<String> log = new ArrayList<>();
+		for (int i = 0; i < messages; i++) {
+			log.add("INFO : " + message(i));
+		}
+		long retained = heap() - before;
+		long copied = 0;
+		long began = System.nanoTime();
+		for (int poll = 0; poll < POLLS; poll++) {
+			for (int i = 0; i < newPerPoll; i++) {
+				log.add("INFO : " + message(i));
+			}
+			copied += new ArrayList<>(log).size();
+		}
+		long polled = System.nanoTime() - began;
+		System.out.printf("list  heap %5d MB  poll %9.1f us  returning %8d messages%n",
+				retained >> 20, polled / 1e3 / POLLS, copied / POLLS);
+	}
+
+	private static void ring(int messages, int newPerPoll, int ringEntries) {
+		long before = heap();
+		LogRing log = new LogRing(ringEntries);
+		List<AsyncLogAppender.Record> batch = new ArrayList<>();
+		for (int i = 0; i < messages; i++) {
+			batch.add(new AsyncLogAppender.Record(i, "INFO", "main", message(i)));
+			if (batch.size() == 4096) {
+				log.addAll(batch);
+				batch.clear();
+			}
+		}
+		log.addAll(batch);
+		long retained = heap() - before;
+		long after = log.getLastSequence();
+		long returned = 0;
+		long began = System.nanoTime();
+		for (int poll = 0; poll < POLLS; poll++) {
+			batch.clear();
+			for (int i = 0; i < newPerPoll; i++) {
+				batch.add(new AsyncLogAppender.Record(i, "INFO", "main", message(i)));
+			}
+			log.addAll(batch);
+			LogRing.Page page = log.read(after, 1000);
+			after = page.next();
+			returned += page.entries().size();
+		}
+		long polled = System.nanoTime() - began;
+		System.out.printf("ring  heap %5d MB  poll %9.1f us  returning %8d messages%n",
+				retained >> 20, polled / 1e3 / POLLS, returned / POLLS);
+	}
+}
@@ -0,0 +1,71 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.thread.Customer;
+import com.iit.ticket_booking_system.thread.Vendor;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sells tickets as fast as vendors and customers on their own threads can release and buy them,
+ * one ticket per release and purchase, so that every ticket is logged about four times. Reports the
+ * tickets sold per second with logging off and with the asynchronous appender under each full-buffer
+ * policy, along with the records dropped. Console output is discarded, and the log file is written
+ * to the working directory.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.LoggingBenchmark [tickets] [threads] [modes] [buffer]},
+ * where modes is a comma-separated list of "off", "block", "drop" and "sample".
+ */
+public class LoggingBenchmark {
+
+	private static final int CAPACITY = 1_000;
+
+	public static void main(String[] args) throws InterruptedException {
+		int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 400_000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		String[] modes = (args.length > 2 ? args[2] : "off,block,drop,sample,off,block,drop,sample").split(",");
+		int buffer = args.length > 3 ? Integer.parseInt(args[3]) : 8192;
+
+		System.out.printf("tickets=%d vendors=%d customers=%d buffer=%d%n", tickets, threads, threads, buffer);
+		for (String mode : modes) {
+			run(mode, tickets, threads, buffer);
+		}
+		LoggerUtil.configure("block", buffer, 16);
+	}
+
+	private static void run(String mode, int tickets, int threads, int buffer) throws InterruptedException {
+		LoggerUtil.setEnabled(!"off".equals(mode));
+		LoggerUtil.configure("off".equals(mode) ? "block" : mode, buffer, 16);
+		LoggerUtil.clearLogs();
+		System.gc();
+		TicketPool pool = new TicketPool(CAPACITY, "ring", false);
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+		int perThread = tickets / threads;
+		List<Thread> started = new ArrayList<>();
+		long began = System.nanoTime();
+		for (int i = 0; i < threads; i++) {
+			Vendor vendor = new Vendor("v" + i, "Vendor " + i, "Event", pool, 1, 0, perThread, 10);
+			started.add(Thread.ofPlatform().name("Vendor: " + i).start(vendor));
+			Customer customer = new Customer("c" + i, "Customer " + i, 0, perThread, pool);
+			started.add(Thread.ofPlatform().name("Customer: " + i).start(customer));
+		}
+		for (Thread thread : started) {
+			thread.join();
+		}
+		long sold = System.nanoTime() - began;
+		LoggerUtil.flush();
+		long written = System.nanoTime() - began;
+		System.setOut(console);
+
+		long total = (long) perThread * threads;
+		System.out.printf("%-7s sold %7d in %6.0f ms  %8.0f tickets/s  log written after %6.0f ms  in memory %8d  dropped %8d%n",
+				mode, total, sold / 1e6, total / (sold / 1e9), written / 1e6, LoggerUtil.getLogs().size(), LoggerUtil.getDropped());
+	}
+}
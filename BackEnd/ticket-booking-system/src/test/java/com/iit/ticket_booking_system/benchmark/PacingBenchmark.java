@@ -0,0 +1,108 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.load.TokenBucket;
+import com.iit.ticket_booking_system.scheduler.Actor;
+import com.iit.ticket_booking_system.scheduler.ActorHandle;
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the cost of pacing an event with a {@link TokenBucket}, alone and shared by every thread.
+ * Then runs actors on the {@link ActorScheduler} that each aim at a sub-second rate, together a million
+ * events per second by default, paced by token buckets and by sleeping a fixed interval after each
+ * event as vendors and customers used to, and reports the rate each achieved.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.PacingBenchmark [actors] [events per second each] [seconds]}.
+ */
+public class PacingBenchmark {
+
+	/**
+	 * An actor that only counts its events, paced by its own token bucket or by a fixed interval.
+	 */
+	private static final class PacedActor implements Actor {
+		private final TokenBucket bucket; // Paces the events, or null to wait the interval after each
+		private final long intervalNanos; // Time between events
+		private final LongAdder events; // Events of all actors
+
+		PacedActor(double rate, boolean bucketed, LongAdder events) {
+			this.bucket = bucketed ? new TokenBucket(rate) : null;
+			this.intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / rate);
+			this.events = events;
+		}
+
+		@Override
+		public long step(ActorHandle handle, long now) {
+			events.increment();
+			return bucket != null ? bucket.next(now) : intervalNanos;
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int actors = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		double rate = args.length > 1 ? Double.parseDouble(args[1]) : 1000;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		acquireCost();
+		paced(actors, rate, seconds, false);
+		paced(actors, rate, seconds, true);
+	}
+
+	private static void acquireCost() throws InterruptedException {
+		int events = 20_000_000;
+		TokenBucket own = new TokenBucket(1e9);
+		long began = System.nanoTime();
+		long sink = 0;
+		for (int i = 0; i < events; i++) {
+			sink += own.next(System.nanoTime());
+		}
+		long single = System.nanoTime() - began;
+
+		TokenBucket shared = new TokenBucket(1e9);
+		int threads = 4;
+		List<Thread> workers = new ArrayList<>();
+		began = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread(() -> {
+				for (int i = 0; i < events / threads; i++) {
+					shared.next(System.nanoTime());
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		long contended = System.nanoTime() - began;
+		System.out.printf("token bucket  own %5.1f ns/event  shared by %d threads %5.1f ns/event  (%d)%n",
+				(double) single / events, threads, (double) contended / events, sink & 1);
+	}
+
+	private static void paced(int actors, double rate, int seconds, boolean bucketed) throws InterruptedException {
+		ActorScheduler scheduler = new ActorScheduler(Runtime.getRuntime().availableProcessors(), TimeUnit.MILLISECONDS.toNanos(1));
+		LongAdder events = new LongAdder();
+		List<ActorScheduler.Handle> handles = new ArrayList<>(actors);
+		long spread = Math.round(TimeUnit.SECONDS.toNanos(1) / rate);
+		for (int i = 0; i < actors; i++) {
+			long delay = ThreadLocalRandom.current().nextLong(spread); // Spread the first events over an interval
+			handles.add(scheduler.schedule(new PacedActor(rate, bucketed, events), delay));
+		}
+		Thread.sleep(1000); // Warm up
+		long before = events.sum();
+		long began = System.nanoTime();
+		Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+		long counted = events.sum() - before;
+		double elapsed = (System.nanoTime() - began) / 1e9;
+		handles.forEach(ActorScheduler.Handle::cancel);
+		scheduler.shutdown();
+		double target = actors * rate;
+		System.out.printf("%-14s %5d actors x %7.1f/s  target %9.0f/s  achieved %9.0f/s (%5.1f%%)%n",
+				bucketed ? "token bucket" : "fixed sleep", actors, rate, target, counted / elapsed, 100 * counted / elapsed / target);
+	}
+}
@@ -0,0 +1,77 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Priority;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.util.WaitTimeHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shows how customer priorities share a scarce pool: customers of every tier keep buying while a
+ * vendor releases tickets one at a time, more slowly than they are bought. Prints the purchases and
+ * wait percentiles of each tier, without aging and with aging.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.PriorityBenchmark [customers per tier] [tickets] [release interval us]}.
+ */
+public class PriorityBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int perTier = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int tickets = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+		long intervalNanos = (args.length > 2 ? Long.parseLong(args[2]) : 50) * 1000;
+
+		System.out.printf("customers/tier=%d tickets=%d release interval=%d us%n", perTier, tickets, intervalNanos / 1000);
+		for (int round = 0; round < 2; round++) {
+			for (Duration aging : List.of(Duration.ZERO, Duration.ofMillis(5), Duration.ofMillis(1))) {
+				for (boolean fair : new boolean[]{false, true}) {
+					run(aging, fair, perTier, tickets, intervalNanos);
+				}
+			}
+		}
+	}
+
+	private static void run(Duration aging, boolean fair, int perTier, int tickets, long intervalNanos)
+			throws InterruptedException {
+		TicketPool pool = new TicketPool(64, "ring", false, fair, null, aging);
+		List<Thread> customers = new ArrayList<>();
+		for (Priority priority : Priority.values()) {
+			for (int i = 0; i < perTier; i++) {
+				Thread customer = new Thread(() -> {
+					try {
+						while (true) {
+							pool.buyTicket(priority);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt(); // Stopped at the end of the run
+					}
+				});
+				customers.add(customer);
+				customer.start();
+			}
+		}
+
+		for (int id = 1; id <= tickets; id++) {
+			pool.addTickets(new Ticket(id, "Benchmark", 10));
+			LockSupport.parkNanos(intervalNanos);
+		}
+		for (Thread customer : customers) {
+			customer.interrupt();
+		}
+		for (Thread customer : customers) {
+			customer.join();
+		}
+
+		System.out.printf("aging=%-5s fair=%-5s", aging.isZero() ? "off" : aging.toMillis() + "ms", fair);
+		for (Priority priority : Priority.values()) {
+			WaitTimeHistogram waits = pool.getCustomerWaitTimes(priority);
+			System.out.printf("  %s %5d p50 %6.2f p99 %7.2f ms", priority, waits.getCount(),
+					waits.percentile(50) / 1e6, waits.percentile(99) / 1e6);
+		}
+		System.out.println();
+	}
+}
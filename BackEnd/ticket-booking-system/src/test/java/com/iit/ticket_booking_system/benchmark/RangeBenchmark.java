@@ -0,0 +1,72 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares releasing a large batch of tickets as individual objects against publishing it as one id range:
+ * time to release, bytes allocated by the vendor and heap retained by the pool.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -Xmx2g -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.RangeBenchmark [tickets]}.
+ */
+public class RangeBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+		System.out.printf("tickets=%d%n", tickets);
+		System.out.printf("%-22s %10s %16s %14s%n", "", "ms", "allocated bytes", "retained bytes");
+		for (int round = 0; round < 3; round++) {
+			long before = usedHeap();
+			TicketPool ring = new TicketPool(tickets, "ring", false);
+			long allocated = allocatedBytes();
+			long began = System.nanoTime();
+			List<Ticket> release = new ArrayList<>(tickets);
+			for (int i = 0; i < tickets; i++) {
+				release.add(new Ticket(i + 1, "Benchmark", 10));
+			}
+			ring.addTickets(release);
+			report("ring, ticket objects", began, allocated, before);
+			release = null;
+			ring.clearSales();
+			ring = null;
+
+			before = usedHeap();
+			TicketPool ranges = new TicketPool(tickets, "range", false);
+			allocated = allocatedBytes();
+			began = System.nanoTime();
+			ranges.addTicketRange("Benchmark", 1, tickets, 10);
+			report("range, one entry", began, allocated, before);
+
+			// Carving tickets off the range as customers buy them
+			began = System.nanoTime();
+			for (int bought = 0; bought < tickets; bought += ranges.buyTickets(100).size()) {
+				// Buy the whole range in batches
+			}
+			System.out.printf("%-22s %10.1f%n", "  bought back", (System.nanoTime() - began) / 1e6);
+		}
+	}
+
+	private static void report(String name, long began, long allocatedBefore, long heapBefore) {
+		long elapsed = System.nanoTime() - began;
+		long allocated = allocatedBytes() - allocatedBefore;
+		System.out.printf("%-22s %10.1f %16d %14d%n", name, elapsed / 1e6, allocated, usedHeap() - heapBefore);
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
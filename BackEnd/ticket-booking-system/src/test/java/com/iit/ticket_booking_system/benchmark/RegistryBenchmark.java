@@ -0,0 +1,104 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.service.TicketService;
+import com.iit.ticket_booking_system.thread.ActorRegistry;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Registers many actors and removes them all by name in random order, with the {@link ActorRegistry}
+ * and with the linear scan of a plain list that it replaced. Then adds customers to a {@link TicketService}
+ * running them as scheduled actors, sells them their tickets and reports how soon the active customer
+ * count drops back to 0 as finished customers are reaped. Console output is discarded.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.RegistryBenchmark [actors] [list actors]}.
+ */
+public class RegistryBenchmark {
+
+	private record Entry(String id, String name) {
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int actors = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int listActors = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+		registry(actors);
+		list(listActors);
+		service(actors);
+	}
+
+	private static List<Entry> entries(int count) {
+		List<Entry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			entries.add(new Entry(Integer.toString(i), "Customer " + i));
+		}
+		return entries;
+	}
+
+	private static void registry(int count) {
+		List<Entry> entries = entries(count);
+		ActorRegistry<Entry> registry = new ActorRegistry<>(Entry::id, Entry::name);
+		long began = System.nanoTime();
+		entries.forEach(registry::add);
+		long added = System.nanoTime() - began;
+		Collections.shuffle(entries, new Random(1));
+		began = System.nanoTime();
+		for (Entry entry : entries) {
+			registry.removeByName(entry.name());
+		}
+		long removed = System.nanoTime() - began;
+		System.out.printf("registry %7d actors  add %7.0f ns each  remove by name %9.0f ns each  left %d%n",
+				count, (double) added / count, (double) removed / count, registry.size());
+	}
+
+	private static void list(int count) {
+		List<Entry> entries = entries(count);
+		List<Entry> list = new ArrayList<>(entries);
+		Collections.shuffle(entries, new Random(1));
+		long began = System.nanoTime();
+		for (Entry entry : entries) {
+			for (int i = 0; i < list.size(); i++) {
+				if (list.get(i).name().trim().equalsIgnoreCase(entry.name().trim())) {
+					list.remove(i);
+					break;
+				}
+			}
+		}
+		long removed = System.nanoTime() - began;
+		System.out.printf("list     %7d actors  remove by name %9.0f ns each  left %d%n",
+				count, (double) removed / count, list.size());
+	}
+
+	private static void service(int count) throws InterruptedException {
+		TicketPool pool = new TicketPool(count, "range", false);
+		TicketService service = new TicketService(pool, 0, "fixed", 0.3, 0.8, 100, "scheduled", 0);
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		service.startSystem(0);
+		long began = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			service.addCustomer("c" + i, "Customer " + i, 0, 1);
+		}
+		long added = System.nanoTime() - began;
+		int registered = (int) service.getTicketStatus().get("activeCustomers");
+		service.addVendor("v", "Vendor", "Event", count, 1, count, 10);
+		began = System.nanoTime();
+		while ((int) service.getTicketStatus().get("activeCustomers") > 0) {
+			Thread.sleep(10);
+		}
+		long reaped = System.nanoTime() - began;
+		Map<String, Object> status = service.getTicketStatus();
+		service.stopSystem();
+		System.setOut(console);
+		System.out.printf("service  %7d customers added in %6.0f ms, %d active  all served and reaped in %6.0f ms  active customers %s vendors %s%n",
+				count, added / 1e6, registered, reaped / 1e6, status.get("activeCustomers"), status.get("activeVendors"));
+	}
+}
@@ -0,0 +1,88 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.release.ReleaseController;
+import com.iit.ticket_booking_system.thread.Vendor;
+import com.iit.ticket_booking_system.util.OccupancyBand;
+import com.iit.ticket_booking_system.util.TicketIdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares fixed and adaptive vendor releases when the configured release rate is too high and too low
+ * for the customers: time the pool spent inside the target band, time spent full (fixed vendors block)
+ * and empty (customers stall), and the customers' p99 wait.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.ReleaseBenchmark [seconds] [capacity]}.
+ */
+public class ReleaseBenchmark {
+
+	private static final long RELEASE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long BUY_INTERVAL = TimeUnit.MICROSECONDS.toNanos(500);
+	private static final int CUSTOMERS = 2;
+	private static final int VENDORS = 2;
+
+	public static void main(String[] args) throws InterruptedException {
+		int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+		System.out.printf("%d vendors every 10 ms, %d customers buying every 0.5 ms, capacity %d, band 0.3-0.8%n",
+				VENDORS, CUSTOMERS, capacity);
+		for (int perRelease : new int[]{40, 2}) {
+			for (String mode : new String[]{"fixed", "aimd", "pid"}) {
+				run(mode, perRelease, seconds, capacity);
+			}
+		}
+	}
+
+	private static void run(String mode, int perRelease, int seconds, int capacity) throws InterruptedException {
+		TicketPool pool = new TicketPool(capacity, "ring", false);
+		OccupancyBand band = new OccupancyBand(0.3, 0.8);
+		List<Thread> threads = new ArrayList<>();
+		long[] sold = new long[CUSTOMERS];
+		for (int i = 0; i < VENDORS; i++) {
+			ReleaseController controller = ReleaseController.create(mode, perRelease, RELEASE_INTERVAL, 0.3, 0.8);
+			threads.add(new Thread(new Vendor("v" + i, "Vendor " + i, "Benchmark", pool, perRelease, 0,
+					Integer.MAX_VALUE, 10, TicketIdGenerator.forNode(0), controller)));
+		}
+		for (int i = 0; i < CUSTOMERS; i++) {
+			int customer = i;
+			threads.add(new Thread(() -> {
+				try {
+					while (true) {
+						pool.buyTicket();
+						sold[customer]++;
+						LockSupport.parkNanos(BUY_INTERVAL);
+					}
+				} catch (InterruptedException e) {
+					// Stopped
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		while (System.nanoTime() < end) {
+			band.sample(System.nanoTime(), pool.getCurrentSize(), pool.getMaxCapacity());
+			Thread.sleep(1);
+		}
+		threads.forEach(Thread::interrupt);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		long total = 0;
+		for (long count : sold) {
+			total += count;
+		}
+		var summary = band.summary();
+		System.out.printf("%-5s %3d/release  sold %7.0f/s  in band %5.1f%%  below %5.1f%%  above %5.1f%%  empty %6.0f ms  full %6.0f ms  wait p99 %6.2f ms%n",
+				mode, perRelease, (double) total / seconds, 100 * (double) summary.get("inBand"),
+				100 * (double) summary.get("belowBand"), 100 * (double) summary.get("aboveBand"),
+				(double) summary.get("emptyMs"), (double) summary.get("fullMs"),
+				pool.getCustomerWaitTimes().percentile(99) / 1e6);
+	}
+}
@@ -0,0 +1,127 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.scheduler.Actor;
+import com.iit.ticket_booking_system.scheduler.ActorHandle;
+import com.iit.ticket_booking_system.scheduler.ActorScheduler;
+import com.iit.ticket_booking_system.thread.Customer;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import com.iit.ticket_booking_system.util.WaitTimeHistogram;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a million actors on the {@link ActorScheduler}, each stepping once per second, and reports the
+ * steps per second, how late the steps ran, the live heap and the thread count. Then runs customers as
+ * scheduled actors against a pool that a vendor fills, until every customer is served.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -Xmx1g -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.SchedulerBenchmark [actors] [seconds] [customers]}.
+ */
+public class SchedulerBenchmark {
+
+	private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final int TICKETS_PER_CUSTOMER = 2;
+	private static final int CAPACITY = 10_000;
+
+	/**
+	 * An actor that does nothing but record how late each of its steps ran.
+	 */
+	private static final class PeriodicActor implements Actor {
+		private final WaitTimeHistogram lateness;
+		private long due;
+
+		PeriodicActor(WaitTimeHistogram lateness, long due) {
+			this.lateness = lateness;
+			this.due = due;
+		}
+
+		@Override
+		public long step(ActorHandle handle, long now) {
+			lateness.record(Math.max(0, now - due));
+			due = now + PERIOD_NANOS;
+			return PERIOD_NANOS;
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int actors = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int customers = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+		int workers = Runtime.getRuntime().availableProcessors();
+
+		System.out.printf("actors=%d period=1 s workers=%d max heap=%d MB%n", actors, workers, Runtime.getRuntime().maxMemory() >> 20);
+		periodicActors(actors, seconds, workers);
+		customers(customers, workers);
+	}
+
+	private static void periodicActors(int actors, int seconds, int workers) throws InterruptedException {
+		ActorScheduler scheduler = new ActorScheduler(workers, TimeUnit.MILLISECONDS.toNanos(1));
+		WaitTimeHistogram lateness = new WaitTimeHistogram();
+		List<ActorScheduler.Handle> handles = new ArrayList<>(actors);
+		long began = System.nanoTime();
+		for (int i = 0; i < actors; i++) {
+			long delay = ThreadLocalRandom.current().nextLong(PERIOD_NANOS); // Spread the first steps over a period
+			handles.add(scheduler.schedule(new PeriodicActor(lateness, began + delay), delay));
+		}
+		long scheduled = System.nanoTime() - began;
+		Thread.sleep(2000); // Let the first round settle
+		lateness.reset();
+		long stepsBefore = scheduler.getSteps();
+		long measured = System.nanoTime();
+		Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+		double elapsed = (System.nanoTime() - measured) / 1e9;
+		long steps = scheduler.getSteps() - stepsBefore;
+		System.gc();
+		long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+		System.out.printf("periodic  scheduled %7d in %6.0f ms  %9.0f steps/s (%.2f per actor)  late p50 %5.1f ms  p99 %5.1f ms  max %6.1f ms  heap %4d MB  threads %d%n",
+				actors, scheduled / 1e6, steps / elapsed, steps / elapsed / actors,
+				lateness.percentile(50) / 1e6, lateness.percentile(99) / 1e6, lateness.getMax() / 1e6,
+				heap >> 20, ManagementFactory.getThreadMXBean().getThreadCount());
+		for (ActorScheduler.Handle handle : handles) {
+			handle.cancel();
+		}
+		System.out.printf("          active after cancel %d  pending timers %d%n", scheduler.getActiveActors(), scheduler.getPendingTimers());
+		scheduler.shutdown();
+	}
+
+	private static void customers(int customers, int workers) throws InterruptedException {
+		LoggerUtil.clearLogs();
+		System.gc();
+		ActorScheduler scheduler = new ActorScheduler(workers, TimeUnit.MILLISECONDS.toNanos(1));
+		TicketPool pool = new TicketPool(CAPACITY, "ring", false);
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+		long began = System.nanoTime();
+		for (int i = 0; i < customers; i++) {
+			scheduler.schedule(new Customer("c" + i, "Customer " + i, 0, TICKETS_PER_CUSTOMER, pool), 0);
+		}
+		Thread.sleep(1000); // Let every customer reach the empty pool
+		System.gc();
+		long waitingHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+		long total = (long) customers * TICKETS_PER_CUSTOMER;
+		long nextId = 0;
+		while (nextId < total) {
+			nextId += pool.addTicketRange("Benchmark", nextId, (int) Math.min(CAPACITY, total - nextId), 10);
+		}
+		while (scheduler.getActiveActors() > 0) {
+			Thread.sleep(10);
+		}
+		long finished = System.nanoTime() - began;
+		System.setOut(console);
+
+		System.out.printf("customers %7d all served in %7.0f ms  sold %7d  heap while waiting %4d MB  peak threads %d%n",
+				customers, finished / 1e6, pool.getTotalTicketsAdded() - pool.getCurrentSize(),
+				waitingHeap >> 20, ManagementFactory.getThreadMXBean().getPeakThreadCount());
+		scheduler.shutdown();
+	}
+}
@@ -0,0 +1,67 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.model.CustomerSpec;
+import com.iit.ticket_booking_system.model.SimulationScenario;
+import com.iit.ticket_booking_system.model.VendorSpec;
+import com.iit.ticket_booking_system.service.SimulationService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulates a day of sales on the virtual clock and reports how much faster than real time it ran,
+ * for each release mode: the tickets sold, the customers' wait times and the time in the target band.
+ * Console output of the vendors and customers is discarded.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.SimulationBenchmark [hours] [customers] [seed]}.
+ */
+public class SimulationBenchmark {
+
+	public static void main(String[] args) {
+		long hours = args.length > 0 ? Long.parseLong(args[0]) : 24;
+		int customers = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		System.out.printf("hours=%d customers=%d seed=%d%n", hours, customers, seed);
+		for (String mode : new String[]{"fixed", "aimd", "pid"}) {
+			SimulationService service = new SimulationService("ring", false, false, 2000, mode, 0.3, 0.8, 100);
+			PrintStream console = System.out;
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+			Map<String, Object> report = service.simulate(scenario(hours, customers, seed));
+			System.setOut(console);
+
+			Map<?, ?> simulation = (Map<?, ?>) report.get("simulation");
+			Map<?, ?> waits = (Map<?, ?>) report.get("customerWaitTimes");
+			Map<?, ?> occupancy = (Map<?, ?>) report.get("occupancy");
+			double wallMs = (double) simulation.get("wallClockMs");
+			System.out.printf("%-5s %8d steps in %7.0f ms (%6.0fx real time)  sold %8d  wait p50 %s p99 %s  in band %.1f%%%n",
+					mode, (long) simulation.get("steps"), wallMs, hours * 3_600_000 / wallMs,
+					(long) report.get("totalTicketsAdded") - (int) report.get("currentSize"), waits.get("p50Ms"), waits.get("p99Ms"),
+					(double) occupancy.get("inBand") * 100);
+		}
+	}
+
+	private static SimulationScenario scenario(long hours, int customers, long seed) {
+		VendorSpec vendor = new VendorSpec();
+		vendor.setTicketsPerRelease(20);
+		vendor.setReleaseInterval(5);
+		vendor.setTotalTickets(Integer.MAX_VALUE);
+		vendor.setCount(10);
+		CustomerSpec customer = new CustomerSpec();
+		customer.setRetrievalInterval(300);
+		customer.setTotalTickets(Integer.MAX_VALUE);
+		customer.setCount(customers);
+
+		SimulationScenario scenario = new SimulationScenario();
+		scenario.setMaxCapacity(1000);
+		scenario.setDurationSeconds(hours * 3600);
+		scenario.setSeed(seed);
+		scenario.setStartSpreadSeconds(300);
+		scenario.setVendors(List.of(vendor));
+		scenario.setCustomers(List.of(customer));
+		return scenario;
+	}
+}
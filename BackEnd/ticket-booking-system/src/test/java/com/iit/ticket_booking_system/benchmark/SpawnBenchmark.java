@@ -0,0 +1,61 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.CustomerSpec;
+import com.iit.ticket_booking_system.service.TicketService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Adds many customers to a {@link TicketService} running them as scheduled actors, one call each, then
+ * spawns as many in one call with a Poisson arrival process, sells them their tickets and reports how
+ * long adding took and how long until the last of them was served. Console output is discarded.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.SpawnBenchmark [customers] [arrivals per second]}.
+ */
+public class SpawnBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int customers = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+		double rate = args.length > 1 ? Double.parseDouble(args[1]) : 25_000;
+
+		run(customers, rate, false);
+		run(customers, rate, true);
+	}
+
+	private static void run(int count, double rate, boolean spawn) throws InterruptedException {
+		TicketPool pool = new TicketPool(count, "range", false);
+		TicketService service = new TicketService(pool, 0, "fixed", 0.3, 0.8, 100, "scheduled", 0);
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		service.startSystem(0);
+		service.addVendor("v", "Vendor", "Event", count, 1, count, 10);
+		long began = System.nanoTime();
+		if (spawn) {
+			CustomerSpec spec = new CustomerSpec();
+			spec.setCount(count);
+			spec.setArrival("poisson");
+			spec.setArrivalRate(rate);
+			spec.setThinkTime("exponential");
+			service.spawnCustomers(spec, 1L);
+		} else {
+			for (int i = 0; i < count; i++) {
+				service.addCustomer("c" + i, "Customer " + i, 1, 1);
+			}
+		}
+		long added = System.nanoTime() - began;
+		while ((int) service.getTicketStatus().get("activeCustomers") > 0) {
+			Thread.sleep(10);
+		}
+		long served = System.nanoTime() - began;
+		Map<String, Object> status = service.getTicketStatus();
+		service.stopSystem();
+		System.setOut(console);
+		System.out.printf("%-28s %7d customers added in %6.0f ms (%6.2f us each)  all served after %6.0f ms  sold %s%n",
+				spawn ? "spawn, poisson " + (int) rate + "/s" : "addCustomer, immediate", count, added / 1e6,
+				added / 1e3 / count, served / 1e6, status.get("totalTicketsAdded"));
+	}
+}
@@ -0,0 +1,95 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.controller.TicketController;
+import com.iit.ticket_booking_system.service.DashboardStreamService;
+import com.iit.ticket_booking_system.service.SimulationService;
+import com.iit.ticket_booking_system.service.TicketService;
+import com.iit.ticket_booking_system.util.LogRing;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the server's cost of keeping many dashboards up to date, for one refresh of every client:
+ * each client polling {@code /tickets}, {@code /sales} and {@code /logs}, which builds and serializes
+ * three responses per client, against the stream, which builds and serializes one update and writes
+ * its bytes to each client. Vendors and customers keep trading meanwhile so that every refresh has
+ * new status, sales and log lines. The HTTP layer is left out on both sides, and the writes go to
+ * a discarding stream.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.StreamBenchmark [clients] [rounds]}.
+ */
+public class StreamBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		ObjectMapper mapper = new ObjectMapper();
+		TicketPool pool = new TicketPool(1000, "ring", false);
+		TicketService service = new TicketService(pool, 0, "fixed", 0.3, 0.8, 100, "scheduled", 1);
+		TicketController controller = new TicketController(service, null, new DashboardStreamService(service, mapper, 500));
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		service.startSystem(1000);
+		for (int i = 0; i < 20; i++) {
+			service.addVendor("v" + i, "Vendor " + i, "Event " + i % 4, 1, 1, 1_000_000, 10);
+			service.addCustomer("c" + i, "Customer " + i, 1, 1_000_000);
+		}
+		Thread.sleep(2000);
+
+		long[] cursors = new long[clients];
+		long polled = 0;
+		long streamed = 0;
+		long pollBytes = 0;
+		long streamBytes = 0;
+		OutputStream sink = OutputStream.nullOutputStream();
+		long streamCursor = LoggerUtil.getLastLogSequence();
+		for (int round = 0; round < rounds; round++) {
+			Thread.sleep(100); // Let the vendors and customers log a little
+
+			long began = System.nanoTime();
+			for (int client = 0; client < clients; client++) {
+				pollBytes += write(sink, mapper.writeValueAsBytes(controller.getTicketStatus().getBody()));
+				pollBytes += write(sink, mapper.writeValueAsBytes(controller.getTotalSales().getBody()));
+				Map<String, Object> logs = controller.getLogs(cursors[client], 1000).getBody();
+				cursors[client] = (long) logs.get("next");
+				pollBytes += write(sink, mapper.writeValueAsBytes(logs));
+			}
+			polled += System.nanoTime() - began;
+
+			began = System.nanoTime();
+			Map<String, Object> update = new LinkedHashMap<>();
+			update.put("status", service.getTicketStatus());
+			update.put("sales", service.getTotalSalesInCents());
+			LogRing.Page page = LoggerUtil.getLogs(streamCursor, 1000);
+			update.put("logs", page.entries().stream().map(LogRing.Entry::toString).toList());
+			streamCursor = page.next();
+			byte[] json = mapper.writeValueAsBytes(update);
+			for (int client = 0; client < clients; client++) {
+				streamBytes += write(sink, json);
+			}
+			streamed += System.nanoTime() - began;
+		}
+		service.stopSystem();
+		System.setOut(console);
+
+		System.out.printf("clients=%d rounds=%d%n", clients, rounds);
+		System.out.printf("poll    %8.2f ms per refresh of every client  %9.0f bytes per client%n",
+				polled / 1e6 / rounds, (double) pollBytes / rounds / clients);
+		System.out.printf("stream  %8.2f ms per refresh of every client  %9.0f bytes per client%n",
+				streamed / 1e6 / rounds, (double) streamBytes / rounds / clients);
+	}
+
+	private static int write(OutputStream sink, byte[] bytes) throws IOException {
+		sink.write(bytes);
+		return bytes.length;
+	}
+}
@@ -0,0 +1,173 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput benchmark comparing the original monitor-based pool with the pluggable inventories.
+ * <p>
+ * Not a unit test: run it from the IDE or with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.TicketPoolBenchmark [vendors] [customers] [capacity] [ticketsPerVendor]}.
+ */
+public class TicketPoolBenchmark {
+
+	/**
+	 * Minimal view of a ticket pool used by the benchmark loops.
+	 */
+	interface Pool {
+		void add(Ticket ticket) throws InterruptedException;
+
+		Ticket buy() throws InterruptedException;
+	}
+
+	/**
+	 * Copy of the pool as it was before the inventory was made pluggable: a synchronized LinkedList
+	 * behind synchronized methods with wait()/notifyAll(), logging every wait the same way.
+	 */
+	static class MonitorPool implements Pool {
+		private final List<Ticket> tickets = Collections.synchronizedList(new LinkedList<>());
+		private final int maxCapacity;
+		final LongAdder monitorEntries = new LongAdder(); // Times the pool monitor was entered
+		final LongAdder notifications = new LongAdder(); // notifyAll() broadcasts
+
+		MonitorPool(int maxCapacity) {
+			this.maxCapacity = maxCapacity;
+		}
+
+		@Override
+		public synchronized void add(Ticket ticket) {
+			monitorEntries.increment();
+			while (tickets.size() >= maxCapacity) {
+				try {
+					System.out.println("Ticket pool is full\n");
+					LoggerUtil.log("INFO", "Ticket pool is full");
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+			tickets.add(ticket);
+			notifications.increment();
+			notifyAll();
+		}
+
+		@Override
+		public synchronized Ticket buy() {
+			monitorEntries.increment();
+			while (tickets.isEmpty()) {
+				try {
+					System.out.println("No tickets available\n");
+					LoggerUtil.log("INFO", "No tickets available");
+					wait();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			Ticket ticket = tickets.remove(0);
+			notifications.increment();
+			notifyAll();
+			return ticket;
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int vendors = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		int customers = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+		int ticketsPerVendor = args.length > 3 ? Integer.parseInt(args[3]) : 250_000;
+
+		System.out.printf("vendors=%d customers=%d capacity=%d tickets=%d%n",
+				vendors, customers, capacity, vendors * ticketsPerVendor);
+		for (int round = 0; round < 3; round++) {
+			run("monitor (baseline)", new MonitorPool(capacity), vendors, customers, ticketsPerVendor, false);
+
+			TicketPool linked = new TicketPool(capacity, "linked", false);
+			run("linked inventory", adapt(linked), vendors, customers, ticketsPerVendor, false);
+
+			TicketPool ring = new TicketPool(capacity, "ring", false);
+			run("ring inventory", adapt(ring), vendors, customers, ticketsPerVendor, false);
+
+			// Each vendor sells its own event, so shards split the capacity between vendors
+			TicketPool sharded = new TicketPool(capacity / vendors, "ring", true);
+			run("sharded ring", adapt(sharded), vendors, customers, ticketsPerVendor, true);
+		}
+	}
+
+	private static Pool adapt(TicketPool ticketPool) {
+		return new Pool() {
+			@Override
+			public void add(Ticket ticket) throws InterruptedException {
+				ticketPool.addTickets(ticket);
+			}
+
+			@Override
+			public Ticket buy() throws InterruptedException {
+				return ticketPool.buyTicket();
+			}
+		};
+	}
+
+	private static void run(String name, Pool pool, int vendors, int customers, int ticketsPerVendor,
+							boolean eventPerVendor) throws InterruptedException {
+		int total = vendors * ticketsPerVendor;
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(vendors + customers);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int v = 0; v < vendors; v++) {
+			String eventName = eventPerVendor ? "Event " + v : "Benchmark";
+			threads.add(new Thread(() -> {
+				await(start);
+				try {
+					for (int i = 0; i < ticketsPerVendor; i++) {
+						pool.add(new Ticket(i, eventName, 10));
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}));
+		}
+		for (int c = 0; c < customers; c++) {
+			// Spread the purchases evenly, giving the remainder to the first customers
+			int share = total / customers + (c < total % customers ? 1 : 0);
+			threads.add(new Thread(() -> {
+				await(start);
+				try {
+					for (int i = 0; i < share; i++) {
+						pool.buy();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}));
+		}
+		threads.forEach(Thread::start);
+
+		long began = System.nanoTime();
+		start.countDown();
+		done.await();
+		long elapsed = System.nanoTime() - began;
+
+		System.out.printf("%-20s %8.1f ms %12.0f tickets/s%n",
+				name, elapsed / 1e6, total / (elapsed / 1e9));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.iit.ticket_booking_system.benchmark;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.thread.Customer;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs many concurrent customers, each on its own thread like {@code TicketService} does, on platform
+ * threads and on virtual threads: time to start them all, time until every customer has bought its
+ * tickets, the live heap once they all wait for tickets, and the peak thread count. Console output
+ * of the customers is discarded so that it does not dominate the timings.
+ * <p>
+ * Not a unit test: run it with
+ * {@code java -Xmx512m -cp target/classes:target/test-classes:<deps> com.iit.ticket_booking_system.benchmark.VirtualThreadBenchmark [customers] [modes]},
+ * where modes is a comma-separated list of "platform" and "virtual".
+ */
+public class VirtualThreadBenchmark {
+
+	private static final int TICKETS_PER_CUSTOMER = 2;
+	private static final int CAPACITY = 10_000;
+
+	public static void main(String[] args) throws InterruptedException {
+		int customers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		String[] modes = (args.length > 1 ? args[1] : "virtual,platform").split(",");
+
+		System.out.printf("customers=%d tickets each=%d capacity=%d max heap=%d MB%n",
+				customers, TICKETS_PER_CUSTOMER, CAPACITY, Runtime.getRuntime().maxMemory() >> 20);
+		for (String mode : modes) {
+			run(mode, customers);
+		}
+	}
+
+	private static void run(String mode, int customers) throws InterruptedException {
+		LoggerUtil.clearLogs();
+		System.gc();
+		TicketPool pool = new TicketPool(CAPACITY, "ring", false);
+		Thread.Builder builder = "virtual".equals(mode) ? Thread.ofVirtual() : Thread.ofPlatform();
+		List<Thread> threads = new ArrayList<>(customers);
+		PrintStream console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+		long began = System.nanoTime();
+		String failure = null;
+		try {
+			for (int i = 0; i < customers; i++) {
+				Customer customer = new Customer("c" + i, "Customer " + i, 0, TICKETS_PER_CUSTOMER, pool);
+				threads.add(builder.name("Customer: " + i).start(customer));
+			}
+		} catch (OutOfMemoryError e) {
+			failure = e.getMessage(); // Typically "unable to create native thread"
+		}
+		long started = System.nanoTime() - began;
+		int running = threads.size();
+		Thread.sleep(1000); // Let every customer reach the empty pool
+		System.gc();
+		long waitingHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+		// A vendor releasing in large ranges until every started customer is served
+		long total = (long) running * TICKETS_PER_CUSTOMER;
+		long nextId = 0;
+		while (nextId < total) {
+			nextId += pool.addTicketRange("Benchmark", nextId, (int) Math.min(CAPACITY, total - nextId), 10);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		long finished = System.nanoTime() - began;
+		System.setOut(console);
+
+		System.out.printf("%-8s started %6d in %7.0f ms  all served in %7.0f ms  sold %7d  heap while waiting %5d MB  peak threads %6d%s%n",
+				mode, running, started / 1e6, finished / 1e6, pool.getTotalTicketsAdded() - pool.getCurrentSize(),
+				waitingHeap >> 20, ManagementFactory.getThreadMXBean().getPeakThreadCount(),
+				failure == null ? "" : "  failed: " + failure);
+		ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+	}
+}
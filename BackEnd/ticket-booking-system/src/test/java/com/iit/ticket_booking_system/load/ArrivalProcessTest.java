@@ -0,0 +1,45 @@
+package com.iit.ticket_booking_system.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrivalProcessTest {
+
+	@Test
+	void constantAndPoissonArrivalsKeepTheirRate() {
+		long[] constant = ArrivalProcess.create("constant", 100, 0).arrivals(1000, new SplittableRandom(1));
+		assertEquals(10_000_000, constant[0], 1);
+		assertEquals(10_000_000_000L, constant[999], 1000);
+
+		long[] poisson = ArrivalProcess.create("Poisson", 100, 0).arrivals(100_000, new SplittableRandom(1));
+		for (int i = 1; i < poisson.length; i++) {
+			assertTrue(poisson[i] >= poisson[i - 1]);
+		}
+		assertEquals(1000, poisson[poisson.length - 1] / 1e9, 20); // 100,000 arrivals at 100 per second
+
+		assertArrayEquals(new long[3], ArrivalProcess.create(null, 0, 0).arrivals(3, new SplittableRandom(1)));
+		assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.create("constant", 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.create("stampede", 1, 0));
+	}
+
+	@Test
+	void burstRampsUpToItsPeakRate() {
+		// Peaks at 1000 per second after 10 seconds, so 5000 arrive during the ramp
+		long[] burst = ArrivalProcess.create("burst", 1000, 10).arrivals(20_000, new SplittableRandom(7));
+		int firstHalf = 0;
+		int secondHalf = 0;
+		for (long arrival : burst) {
+			if (arrival < 5_000_000_000L) {
+				firstHalf++;
+			} else if (arrival < 10_000_000_000L) {
+				secondHalf++;
+			}
+		}
+		assertEquals(1250, firstHalf, 150);
+		assertEquals(3750, secondHalf, 250);
+		assertEquals(25, burst[burst.length - 1] / 1e9, 1); // 15,000 more at the peak rate
+	}
+}
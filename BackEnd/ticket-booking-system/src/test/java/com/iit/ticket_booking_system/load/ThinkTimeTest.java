@@ -0,0 +1,28 @@
+package com.iit.ticket_booking_system.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThinkTimeTest {
+
+	@Test
+	void distributionsHaveTheRequestedMean() {
+		assertEquals(2_000_000_000L, ThinkTime.create(null, 2, 0).sampleNanos(new SplittableRandom(1)));
+		for (String distribution : new String[]{"uniform", "exponential", "lognormal"}) {
+			ThinkTime thinkTime = ThinkTime.create(distribution, 2, 1);
+			SplittableRandom random = new SplittableRandom(3);
+			double total = 0;
+			for (int i = 0; i < 100_000; i++) {
+				long sample = thinkTime.sampleNanos(random);
+				assertTrue(sample >= 0, distribution);
+				total += sample / 1e9;
+			}
+			assertEquals(2, total / 100_000, 0.05, distribution);
+		}
+		assertThrows(IllegalArgumentException.class, () -> ThinkTime.create("fixed", -1, 0));
+		assertThrows(IllegalArgumentException.class, () -> ThinkTime.create("gamma", 1, 1));
+	}
+}
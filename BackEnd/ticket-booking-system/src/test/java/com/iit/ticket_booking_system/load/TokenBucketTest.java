@@ -0,0 +1,45 @@
+package com.iit.ticket_booking_system.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+	@Test
+	void lateWakeupsAreCaughtUpWithoutDrift() {
+		TokenBucket bucket = new TokenBucket(3); // 333,333,333.3 ns apart
+		long now = 1_000_000_000L;
+		long wait = bucket.next(now);
+		assertEquals(333_333_334, wait);
+		for (int i = 1; i < 3000; i++) {
+			now += wait + 1_000_000; // Every wakeup 1 ms late
+			wait = bucket.next(now);
+		}
+		// 3000 events at 3 per second end after 1000 s less one interval, not 3 s later
+		assertEquals(1_000_000_000L + 1000 * 1_000_000_000L, now + wait, 2);
+
+		TokenBucket strict = new TokenBucket(3, 0); // No slack: lateness is kept
+		assertEquals(333_333_334, strict.next(0));
+		assertEquals(333_333_334, strict.next(334_333_334));
+	}
+
+	@Test
+	void idleBucketAllowsOnlyTheSlackAsBurst() {
+		TokenBucket bucket = new TokenBucket(1000, 10_000_000); // 1 ms apart, 10 ms slack
+		bucket.next(0);
+		long now = 5_000_000_000L; // Idle for 5 s
+		int burst = 0;
+		while (bucket.next(now) == 0) {
+			burst++;
+		}
+		assertEquals(10, burst); // The slack's worth of events run early, right after the first
+
+		TokenBucket unpaced = TokenBucket.ofInterval(0);
+		assertEquals(0, unpaced.next(0));
+		assertEquals(0, unpaced.next(0));
+		assertEquals(Double.POSITIVE_INFINITY, unpaced.getRate());
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0));
+		assertThrows(IllegalArgumentException.class, () -> TokenBucket.ofInterval(-1));
+	}
+}
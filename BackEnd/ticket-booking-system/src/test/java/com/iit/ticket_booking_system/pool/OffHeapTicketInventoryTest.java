@@ -0,0 +1,116 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.model.Ticket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTicketInventoryTest {
+
+	@Test
+	void ticketsKeepTheirFieldsAcrossWrapAround() {
+		OffHeapTicketInventory inventory = new OffHeapTicketInventory(3);
+		assertTrue(inventory.offer(new Ticket(1, "Concert", 19.99)));
+		assertTrue(inventory.offer(new Ticket(2, "Theatre", 5)));
+		assertEquals(1, inventory.poll().getTicketID());
+
+		List<Ticket> batch = List.of(new Ticket(3, null, 1), new Ticket(4, "Concert", 2), new Ticket(5, "Opera", 3));
+		assertEquals(2, inventory.offerAll(batch, 0)); // Wraps around the end of the buffer
+		assertFalse(inventory.offer(new Ticket(6, "Concert", 1)));
+		assertEquals(0, inventory.offerRange("Opera", 10, 5, 100));
+
+		List<Ticket> taken = new ArrayList<>();
+		assertFalse(inventory.pollExactly(4, taken));
+		assertTrue(taken.isEmpty());
+		assertTrue(inventory.pollExactly(2, taken));
+		assertEquals("Theatre", taken.get(0).getEventName());
+		assertEquals(500, taken.get(0).getPriceInCents());
+		assertNull(taken.get(1).getEventName());
+
+		assertEquals(2, inventory.offerRange("Opera", 10, 5, 2500)); // Only two slots are free
+		taken.clear();
+		assertEquals(3, inventory.pollAll(10, taken));
+		assertEquals(4, taken.get(0).getTicketID());
+		assertEquals("Concert", taken.get(0).getEventName());
+		assertEquals(11, taken.get(2).getTicketID());
+		assertEquals("Opera", taken.get(2).getEventName());
+		assertEquals(2500, taken.get(2).getPriceInCents());
+		assertEquals(0, inventory.size());
+		assertNull(inventory.poll());
+	}
+
+	@Test
+	void reopenedFileRestoresTicketsHeadAndSize(@TempDir Path storage) throws IOException {
+		Path file = storage.resolve("shared.tickets");
+		OffHeapTicketInventory inventory = OffHeapTicketInventory.open(file, 3, "*");
+		inventory.offerAll(List.of(new Ticket(1, "Concert", 19.99), new Ticket(2, "Théâtre", 5), new Ticket(3, "Concert", 7)), 0);
+		inventory.poll();
+		inventory.poll();
+		inventory.offerRange("Opera", 4, 2, 1250); // Wraps to slots 0 and 1
+		inventory = null; // Dropped, as on a restart; the file keeps what was written
+
+		ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file), 0, 32);
+		assertEquals("TICKETS2", new String(header.array(), 0, 8, StandardCharsets.US_ASCII));
+		assertEquals(3, header.getInt(8));
+		assertEquals(2, header.getInt(16)); // Head and size, packed into one big-endian long
+		assertEquals(3, header.getInt(20));
+		assertEquals(((long) 2 << 32) | 3, header.getLong(16));
+		assertEquals("*", OffHeapTicketInventory.ownerOf(file));
+
+		OffHeapTicketInventory reopened = OffHeapTicketInventory.open(file, 3, "ignored for an existing file");
+		assertEquals(3, reopened.size());
+		List<Ticket> tickets = reopened.snapshot();
+		assertEquals(List.of(3L, 4L, 5L), tickets.stream().map(Ticket::getTicketID).toList());
+		assertEquals(List.of("Concert", "Opera", "Opera"), tickets.stream().map(Ticket::getEventName).toList());
+		assertEquals(List.of(700L, 1250L, 1250L), tickets.stream().map(Ticket::getPriceInCents).toList());
+		assertEquals("*", OffHeapTicketInventory.ownerOf(file));
+
+		assertEquals(3, reopened.poll().getTicketID());
+		assertTrue(reopened.offer(new Ticket(6, "Théâtre", 1))); // An event name logged before the restart
+		assertEquals("Théâtre", OffHeapTicketInventory.open(file, 3, "*").snapshot().get(2).getEventName());
+	}
+
+	@Test
+	void fileOfAnotherCapacityIsRefused(@TempDir Path storage) {
+		Path file = storage.resolve("shared.tickets");
+		OffHeapTicketInventory.open(file, 3, "*").offer(new Ticket(1, "Concert", 1));
+		assertThrows(IllegalArgumentException.class, () -> OffHeapTicketInventory.open(file, 4, "*"));
+	}
+
+	@Test
+	void fileWithoutItsEventNamesStartsEmpty(@TempDir Path storage) throws IOException {
+		Path file = storage.resolve("shared.tickets");
+		OffHeapTicketInventory.open(file, 3, "*").offer(new Ticket(1, "Concert", 1));
+		Files.delete(storage.resolve("shared.tickets.events"));
+
+		OffHeapTicketInventory reopened = OffHeapTicketInventory.open(file, 3, "new owner");
+		assertEquals(0, reopened.size()); // Codes without names cannot be decoded, so the file is reinitialised
+		assertEquals("new owner", OffHeapTicketInventory.ownerOf(file));
+		assertTrue(reopened.offer(new Ticket(2, "Opera", 1)));
+		assertEquals("Opera", OffHeapTicketInventory.open(file, 3, "*").poll().getEventName());
+	}
+
+	@Test
+	void poolIgnoresFilesKeptByAPoolSplitDifferently(@TempDir Path storage) throws InterruptedException {
+		TicketPool sharded = new TicketPool(4, "mapped", true, false, storage);
+		sharded.addTickets(new Ticket(1, "Concert", 1));
+		TicketPool shared = new TicketPool(4, "mapped", false, false, storage);
+		shared.addTickets(new Ticket(2, "Opera", 1));
+
+		// Each pool reopens only its own files: the event shard, or the shared one
+		assertEquals(1, new TicketPool(4, "mapped", false, false, storage).getCurrentSize());
+		TicketPool reopened = new TicketPool(4, "mapped", true, false, storage);
+		assertEquals(1, reopened.getCurrentSize());
+		assertEquals(1, reopened.buyTicket("Concert").getTicketID());
+	}
+}
@@ -0,0 +1,34 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedTicketInventoryTest {
+
+	@Test
+	void ticketsKeepTheirFieldsAcrossWrapAround() {
+		PackedTicketInventory inventory = new PackedTicketInventory(3);
+		assertTrue(inventory.offer(new Ticket(1, "Concert", 19.99)));
+		assertTrue(inventory.offer(new Ticket(2, "Theatre", 5)));
+		assertEquals(1, inventory.poll().getTicketID());
+
+		List<Ticket> batch = List.of(new Ticket(3, null, 1), new Ticket(4, "Concert", 2), new Ticket(5, "Opera", 3));
+		assertEquals(2, inventory.offerAll(batch, 0));
+		assertFalse(inventory.offer(new Ticket(6, "Concert", 1)));
+
+		List<Ticket> taken = new ArrayList<>();
+		assertEquals(3, inventory.pollAll(10, taken));
+		assertEquals("Theatre", taken.get(0).getEventName());
+		assertEquals(500, taken.get(0).getPriceInCents());
+		assertNull(taken.get(1).getEventName());
+		assertEquals(4, taken.get(2).getTicketID());
+		assertEquals("Concert", taken.get(2).getEventName());
+		assertEquals(0, inventory.size());
+		assertNull(inventory.poll());
+	}
+}
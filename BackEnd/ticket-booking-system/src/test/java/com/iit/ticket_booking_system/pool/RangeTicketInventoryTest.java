@@ -0,0 +1,36 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeTicketInventoryTest {
+
+	@Test
+	void rangesAreStoredAsOneEntryAndCarvedInIdOrder() {
+		RangeTicketInventory inventory = new RangeTicketInventory(1_000_000);
+		assertEquals(999_990, inventory.offerRange("Concert", 1, 999_990, 1999));
+		assertEquals(10, inventory.offerRange("Concert", 999_991, 50, 1999)); // Continues the same range
+		assertEquals(1, inventory.getRangeCount());
+		assertEquals(1_000_000, inventory.size());
+		assertEquals(0, inventory.offerRange("Theatre", 1, 5, 500));
+
+		Ticket first = inventory.poll();
+		assertEquals(1, first.getTicketID());
+		assertEquals("Concert", first.getEventName());
+		assertEquals(1999, first.getPriceInCents());
+		assertTrue(inventory.offer(new Ticket(7, "Theatre", 5)));
+		assertEquals(2, inventory.getRangeCount());
+
+		List<Ticket> taken = new ArrayList<>();
+		assertEquals(999_999, inventory.pollAll(999_999, taken));
+		assertEquals(1_000_000, taken.get(999_998).getTicketID());
+		assertEquals(7, inventory.poll().getTicketID());
+		assertEquals(0, inventory.getRangeCount());
+		assertNull(inventory.poll());
+	}
+}
@@ -0,0 +1,137 @@
+package com.iit.ticket_booking_system.pool;
+
+import com.iit.ticket_booking_system.model.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTicketInventoryTest {
+
+	@Test
+	void ringLengthIsRoundedToPowerOfTwo() {
+		assertEquals(1, RingBufferTicketInventory.ringLength(0));
+		assertEquals(1, RingBufferTicketInventory.ringLength(1));
+		assertEquals(8, RingBufferTicketInventory.ringLength(5));
+		assertEquals(8, RingBufferTicketInventory.ringLength(8));
+	}
+
+	@Test
+	void enforcesExactCapacityAndFifoOrder() {
+		RingBufferTicketInventory inventory = new RingBufferTicketInventory(5);
+		for (int i = 1; i <= 5; i++) {
+			assertTrue(inventory.offer(new Ticket(i, "Concert", 10)));
+		}
+		assertFalse(inventory.offer(new Ticket(6, "Concert", 10)));
+		assertEquals(5, inventory.size());
+
+		assertEquals(1, inventory.poll().getTicketID());
+		assertTrue(inventory.offer(new Ticket(6, "Concert", 10)));
+		for (int i = 2; i <= 6; i++) {
+			assertEquals(i, inventory.poll().getTicketID());
+		}
+		assertNull(inventory.poll());
+		assertEquals(0, inventory.size());
+	}
+
+	@Test
+	void concurrentProducersAndConsumersNeitherLoseNorDuplicateTickets() throws InterruptedException {
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 20_000;
+		RingBufferTicketInventory inventory = new RingBufferTicketInventory(64);
+		Set<Long> seen = ConcurrentHashMap.newKeySet();
+		AtomicInteger consumed = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(producers + consumers);
+		ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			executor.execute(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					Ticket ticket = new Ticket(base + i, "Concert", 10);
+					while (!inventory.offer(ticket)) {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			});
+		}
+		for (int c = 0; c < consumers; c++) {
+			executor.execute(() -> {
+				while (consumed.get() < producers * perProducer) {
+					Ticket ticket = inventory.poll();
+					if (ticket == null) {
+						Thread.yield();
+					} else if (seen.add(ticket.getTicketID())) {
+						consumed.incrementAndGet();
+					}
+				}
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertEquals(producers * perProducer, seen.size());
+		assertEquals(0, inventory.size());
+	}
+
+	@Test
+	void concurrentGroupTakesNeverSplitTickets() throws InterruptedException {
+		int groups = 3000;
+		int groupSize = 4;
+		RingBufferTicketInventory inventory = new RingBufferTicketInventory(10);
+		Set<Long> seen = ConcurrentHashMap.newKeySet();
+		AtomicInteger taken = new AtomicInteger();
+		AtomicInteger splits = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(3);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+
+		executor.execute(() -> {
+			for (int i = 0; i < groups * groupSize; i++) {
+				Ticket ticket = new Ticket(i, "Concert", 10);
+				while (!inventory.offer(ticket)) {
+					Thread.yield();
+				}
+			}
+			done.countDown();
+		});
+		for (int c = 0; c < 2; c++) {
+			executor.execute(() -> {
+				List<Ticket> group = new ArrayList<>();
+				while (taken.get() < groups) {
+					group.clear();
+					if (!inventory.pollExactly(groupSize, group)) {
+						if (!group.isEmpty()) {
+							splits.incrementAndGet();
+						}
+						Thread.yield();
+						continue;
+					}
+					if (group.size() != groupSize) {
+						splits.incrementAndGet();
+					}
+					group.forEach(ticket -> seen.add(ticket.getTicketID()));
+					taken.incrementAndGet();
+				}
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertEquals(0, splits.get());
+		assertEquals(groups * groupSize, seen.size());
+		assertFalse(inventory.pollExactly(1, new ArrayList<>()));
+	}
+}
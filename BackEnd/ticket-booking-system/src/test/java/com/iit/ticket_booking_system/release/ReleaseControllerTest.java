@@ -0,0 +1,69 @@
+package com.iit.ticket_booking_system.release;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReleaseControllerTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void aimdBacksOffAbovePeaksAndProbesBelowTheBand() {
+		ReleaseController controller = ReleaseController.create("aimd", 100, SECOND, 0.3, 0.8);
+		assertEquals(100, controller.getBatchSize());
+
+		controller.update(0.95, 0);
+		assertEquals(50, controller.getBatchSize());
+		controller.update(0.5, 0);
+		assertEquals(50, controller.getBatchSize());
+		controller.update(0.1, 0);
+		assertEquals(75, controller.getBatchSize());
+		assertEquals(SECOND, controller.getIntervalNanos());
+
+		// The rate never drops below a sixteenth of the configured one
+		for (int i = 0; i < 20; i++) {
+			controller.update(1.0, 0);
+		}
+		assertEquals(6, controller.getBatchSize());
+
+		// Once a single ticket per release is too many, the interval stretches instead
+		controller = ReleaseController.create("aimd", 4, SECOND, 0.3, 0.8);
+		controller.update(1.0, 0);
+		controller.update(1.0, 0);
+		assertEquals(1, controller.getBatchSize());
+		assertEquals(SECOND, controller.getIntervalNanos());
+		controller.update(1.0, 0);
+		assertEquals(1, controller.getBatchSize());
+		assertEquals(2 * SECOND, controller.getIntervalNanos());
+	}
+
+	@Test
+	void pidRaisesTheRateWhileThePoolStaysEmptyAndStopsAtTheLimit() {
+		ReleaseController controller = ReleaseController.create("pid", 10, SECOND, 0.3, 0.8);
+		int previous = controller.getBatchSize();
+		for (int i = 0; i < 5; i++) {
+			controller.update(0.0, i * SECOND);
+			assertTrue(controller.getBatchSize() >= previous);
+			previous = controller.getBatchSize();
+		}
+		for (int i = 0; i < 50; i++) {
+			controller.update(0.0, i * SECOND);
+		}
+		assertEquals(160, controller.getBatchSize());
+
+		// No wind-up: the first overfilled observations bring the rate down at once
+		controller.update(1.0, 0);
+		controller.update(1.0, 0);
+		assertTrue(controller.getBatchSize() < 160);
+	}
+
+	@Test
+	void fixedControllerIgnoresOccupancy() {
+		ReleaseController controller = ReleaseController.create("fixed", 7, SECOND, 0.3, 0.8);
+		controller.update(1.0, 0);
+		assertFalse(controller.isAdaptive());
+		assertEquals(7, controller.getBatchSize());
+		assertThrows(IllegalArgumentException.class, () -> ReleaseController.create("pid", 7, SECOND, 0.8, 0.3));
+	}
+}
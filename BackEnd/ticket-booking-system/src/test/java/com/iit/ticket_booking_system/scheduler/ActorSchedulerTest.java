@@ -0,0 +1,124 @@
+package com.iit.ticket_booking_system.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorSchedulerTest {
+
+	private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+	private final ActorScheduler scheduler = new ActorScheduler(2, TimeUnit.MILLISECONDS.toNanos(1));
+
+	@AfterEach
+	void shutdown() {
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Counts its steps and cancellations, running each step through the given behaviour.
+	 */
+	private static final class CountingActor implements Actor {
+		private final AtomicInteger steps = new AtomicInteger();
+		private final AtomicInteger cancellations = new AtomicInteger();
+		private final CountDownLatch stepped;
+		private final Step behaviour;
+
+		private interface Step {
+			long next(ActorHandle handle, int step);
+		}
+
+		private CountingActor(int expectedSteps, Step behaviour) {
+			this.stepped = new CountDownLatch(expectedSteps);
+			this.behaviour = behaviour;
+		}
+
+		@Override
+		public long step(ActorHandle handle, long now) {
+			long next = behaviour.next(handle, steps.incrementAndGet());
+			stepped.countDown();
+			return next;
+		}
+
+		@Override
+		public void cancelled() {
+			cancellations.incrementAndGet();
+		}
+	}
+
+	@Test
+	void aWakeDuringAStepOverridesTheDelayItAskedFor() throws InterruptedException {
+		CountingActor actor = new CountingActor(2, (handle, step) -> {
+			if (step == 1) {
+				handle.wake();
+				return HOUR;
+			}
+			return Actor.DONE;
+		});
+		scheduler.schedule(actor, 0);
+		assertTrue(actor.stepped.await(5, TimeUnit.SECONDS)); // Not an hour later
+	}
+
+	@Test
+	void aWakeOvertakesTheTimerWhichIsThenIgnored() throws InterruptedException {
+		CountDownLatch firstStep = new CountDownLatch(1);
+		CountingActor actor = new CountingActor(2, (handle, step) -> {
+			firstStep.countDown();
+			return step == 1 ? TimeUnit.MILLISECONDS.toNanos(100) : HOUR;
+		});
+		ActorScheduler.Handle handle = scheduler.schedule(actor, 0);
+		assertTrue(firstStep.await(5, TimeUnit.SECONDS));
+		handle.wake(); // Overtakes the 100 ms timer, whether or not the step has returned yet
+		assertTrue(actor.stepped.await(5, TimeUnit.SECONDS));
+
+		Thread.sleep(300); // The overtaken timer fires while the actor waits for its hour-long one
+		assertEquals(2, actor.steps.get());
+		assertFalse(handle.isDone());
+	}
+
+	@Test
+	void cancellingATimedOrParkedActorEndsItOnce() throws InterruptedException {
+		AtomicInteger done = new AtomicInteger();
+		CountingActor timed = new CountingActor(1, (handle, step) -> Actor.DONE);
+		ActorScheduler.Handle timedHandle = scheduler.schedule(timed, HOUR, done::incrementAndGet);
+		CountingActor parked = new CountingActor(1, (handle, step) -> Actor.PARKED);
+		ActorScheduler.Handle parkedHandle = scheduler.schedule(parked, 0, done::incrementAndGet);
+		assertTrue(parked.stepped.await(5, TimeUnit.SECONDS));
+
+		timedHandle.cancel();
+		parkedHandle.cancel();
+		timedHandle.cancel();
+		parkedHandle.cancel();
+		parkedHandle.wake(); // Too late to run another step
+		timedHandle.wake();
+		Thread.sleep(100);
+
+		assertEquals(2, done.get());
+		assertEquals(1, timed.cancellations.get());
+		assertEquals(1, parked.cancellations.get());
+		assertEquals(0, timed.steps.get());
+		assertEquals(1, parked.steps.get());
+		assertTrue(timedHandle.isDone() && parkedHandle.isDone());
+		assertEquals(0, scheduler.getActiveActors());
+	}
+
+	@Test
+	void aStepThatThrowsFinishesTheActor() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		CountingActor actor = new CountingActor(1, (handle, step) -> {
+			throw new IllegalStateException("step failed");
+		});
+		ActorScheduler.Handle handle = scheduler.schedule(actor, 0, done::countDown);
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+
+		assertTrue(handle.isDone());
+		assertEquals(1, actor.steps.get());
+		assertEquals(0, actor.cancellations.get()); // Finished, not cancelled
+		assertEquals(0, scheduler.getActiveActors());
+	}
+}
@@ -0,0 +1,27 @@
+package com.iit.ticket_booking_system.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedSchedulerTest {
+
+	@Test
+	void aWakeDuringAStepOverridesTheDelayItAskedFor() {
+		SimulatedScheduler scheduler = new SimulatedScheduler();
+		List<Long> stepTimes = new ArrayList<>();
+		scheduler.schedule((handle, now) -> {
+			stepTimes.add(now);
+			if (stepTimes.size() == 1) {
+				handle.wake(); // As when a purchase completes during the step
+			}
+			return stepTimes.size() < 3 ? 1_000 : Actor.DONE;
+		}, 0);
+
+		scheduler.runUntil(10_000);
+		assertEquals(List.of(0L, 0L, 1_000L), stepTimes); // Run again at once, then after the delay
+	}
+}
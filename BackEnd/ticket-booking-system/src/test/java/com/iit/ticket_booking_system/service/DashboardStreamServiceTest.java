@@ -0,0 +1,75 @@
+package com.iit.ticket_booking_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iit.ticket_booking_system.TicketPool;
+import com.iit.ticket_booking_system.util.LoggerUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardStreamServiceTest {
+
+	@Test
+	void updatesHoldOnlyTheStatusEntriesThatChanged() {
+		Map<String, Object> previous = Map.of("currentSize", 5, "maxCapacity", 100,
+				"shards", Map.of("Event", Map.of("currentSize", 5)));
+		Map<String, Object> current = Map.of("currentSize", 4, "maxCapacity", 100,
+				"shards", Map.of("Event", Map.of("currentSize", 5)), "activeVendors", 1);
+
+		assertEquals(Map.of("currentSize", 4, "activeVendors", 1), DashboardStreamService.changes(previous, current));
+		assertTrue(DashboardStreamService.changes(current, current).isEmpty());
+		assertEquals(current, DashboardStreamService.changes(Map.of(), current)); // Everything is new to a fresh client
+	}
+
+	/**
+	 * Counts the events written, holding the writing thread in its first write while stalled.
+	 */
+	private static final class CountingEmitter extends SseEmitter {
+		private final AtomicInteger sent = new AtomicInteger();
+		private final CountDownLatch released;
+
+		private CountingEmitter(boolean stalled) {
+			super(0L);
+			this.released = new CountDownLatch(stalled ? 1 : 0);
+		}
+
+		@Override
+		public void send(SseEventBuilder event) {
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			sent.incrementAndGet();
+		}
+	}
+
+	@Test
+	void aStalledClientHoldsBackNeitherTheTickNorOtherClients() throws InterruptedException {
+		TicketService ticketService = new TicketService(new TicketPool(10, "ring", false), 0, "fixed", 0.3, 0.8, 100, "platform", 0);
+		DashboardStreamService stream = new DashboardStreamService(ticketService, new ObjectMapper(), 5);
+		CountingEmitter stalled = new CountingEmitter(true);
+		CountingEmitter healthy = new CountingEmitter(false);
+		stream.subscribe(stalled); // First in line, so a synchronous write to it would block the other
+		stream.subscribe(healthy);
+		try {
+			long deadline = System.nanoTime() + 10_000_000_000L;
+			while ((healthy.sent.get() < 30 || stream.getResyncs() == 0) && System.nanoTime() < deadline) {
+				LoggerUtil.log("INFO", "Dashboard stream test line"); // Gives every tick an update
+				LoggerUtil.flush();
+				Thread.sleep(5);
+			}
+			assertTrue(healthy.sent.get() >= 30); // The snapshot and updates, all while the other client is stuck
+			assertEquals(0, stalled.sent.get());
+			assertTrue(stream.getResyncs() > 0); // The stuck client's queue was dropped, to be replaced by a snapshot
+		} finally {
+			stalled.released.countDown();
+			stream.shutdown();
+		}
+	}
+}
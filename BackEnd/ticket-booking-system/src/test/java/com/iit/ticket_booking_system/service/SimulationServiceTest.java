@@ -0,0 +1,79 @@
+package com.iit.ticket_booking_system.service;
+
+import com.iit.ticket_booking_system.model.CustomerSpec;
+import com.iit.ticket_booking_system.model.SimulationScenario;
+import com.iit.ticket_booking_system.model.VendorSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationServiceTest {
+
+	private final SimulationService service = new SimulationService("ring", false, false, 2000, "fixed", 0.3, 0.8, 100);
+
+	private static SimulationScenario scenario(long seed) {
+		VendorSpec vendor = new VendorSpec();
+		vendor.setTicketsPerRelease(5);
+		vendor.setReleaseInterval(10);
+		vendor.setTotalTickets(1000);
+		vendor.setPrice(25);
+		vendor.setCount(2);
+		CustomerSpec standard = new CustomerSpec();
+		standard.setRetrievalInterval(60);
+		standard.setTotalTickets(10);
+		standard.setCount(150);
+		CustomerSpec vip = new CustomerSpec();
+		vip.setName("VIP");
+		vip.setRetrievalInterval(30);
+		vip.setTotalTickets(10);
+		vip.setPriority("VIP");
+		vip.setCount(20);
+
+		SimulationScenario scenario = new SimulationScenario();
+		scenario.setMaxCapacity(50);
+		scenario.setDurationSeconds(3600);
+		scenario.setSeed(seed);
+		scenario.setStartSpreadSeconds(30);
+		scenario.setVendors(List.of(vendor));
+		scenario.setCustomers(List.of(standard, vip));
+		return scenario;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String withoutTimings(Map<String, Object> report) {
+		((Map<String, Object>) report.get("simulation")).remove("wallClockMs");
+		return report.toString();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void anHourOfSalesRunsInVirtualTimeAndRepeatsForTheSameSeed() {
+		Map<String, Object> report = service.simulate(scenario(42));
+
+		// 2 vendors release 10 tickets every 10 s for an hour, against 1700 tickets wanted; the rest fills the pool
+		assertEquals(1700L * 2500, report.get("ticketSalesInCents"));
+		assertEquals(50, report.get("currentSize"));
+		assertEquals(1750L, report.get("totalTicketsAdded"));
+		assertEquals(0L, report.get("activeCustomers"));
+		Map<String, Object> simulation = (Map<String, Object>) report.get("simulation");
+		assertTrue((double) simulation.get("wallClockMs") < 3600_000, "Simulation ran in real time");
+
+		assertEquals(withoutTimings(report), withoutTimings(service.simulate(scenario(42))));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void theRunEndsWhenTheDurationElapsesWithCustomersStillWaiting() {
+		SimulationScenario scenario = scenario(7);
+		scenario.setDurationSeconds(600);
+		Map<String, Object> report = service.simulate(scenario);
+
+		assertEquals(600L, report.get("totalTicketsAdded")); // 60 releases of 5 tickets by 2 vendors in 10 minutes
+		assertEquals(600L * 2500, report.get("ticketSalesInCents")); // Every ticket is bought at once
+		assertTrue((long) report.get("activeCustomers") > 0);
+		assertEquals(600.0, ((Map<String, Object>) report.get("simulation")).get("simulatedSeconds"));
+	}
+}
@@ -0,0 +1,105 @@
+package com.iit.ticket_booking_system.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorRegistryTest {
+
+	private record Entry(String id, String name) {
+	}
+
+	private static ActorRegistry<Entry> registry() {
+		return new ActorRegistry<>(Entry::id, Entry::name);
+	}
+
+	@Test
+	void entriesAreRemovedByIdOrByNameOldestFirst() {
+		ActorRegistry<Entry> registry = registry();
+		Entry first = new Entry("1", "Alice");
+		Entry second = new Entry("2", " alice ");
+		Entry other = new Entry("3", "Bob");
+		registry.add(first);
+		registry.add(second);
+		registry.add(other);
+		assertThrows(IllegalArgumentException.class, () -> registry.add(new Entry("1", "Carol")));
+		assertEquals(3, registry.size());
+
+		assertSame(first, registry.removeByName("ALICE"));
+		assertSame(other, registry.removeById("3"));
+		assertFalse(registry.remove(other)); // Already removed, for example by the reaper
+		assertSame(second, registry.removeByName("Alice"));
+		assertNull(registry.removeByName("Alice"));
+		assertEquals(0, registry.size());
+	}
+
+	@Test
+	void racingRemovalsRemoveEachEntryOnce() throws InterruptedException {
+		ActorRegistry<Entry> registry = registry();
+		List<Entry> entries = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			Entry entry = new Entry(Integer.toString(i), "Customer " + (i % 100));
+			entries.add(entry);
+			registry.add(entry);
+		}
+		AtomicInteger removed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			int offset = t;
+			// Two threads reap entries directly, two remove them by name
+			threads.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (offset % 2 == 0) {
+					for (Entry entry : entries) {
+						if (registry.remove(entry)) {
+							removed.incrementAndGet();
+						}
+					}
+				} else {
+					for (int i = 0; i < entries.size(); i++) {
+						if (registry.removeByName("customer " + (i % 100)) != null) {
+							removed.incrementAndGet();
+						}
+					}
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(entries.size(), removed.get());
+		assertEquals(0, registry.size());
+		assertNull(registry.removeByName("Customer 1"));
+	}
+
+	@Test
+	void anEntryReapedWhileItIsAddedLeavesNoTrace() throws InterruptedException {
+		ActorRegistry<Entry> registry = registry();
+		int count = 200_000;
+		// The reaper removes each entry as soon as it appears, as for an actor that finishes before it is registered
+		Thread reaper = Thread.ofPlatform().start(() -> {
+			for (int i = 0; i < count; i++) {
+				while (registry.removeById(Integer.toString(i)) == null) {
+					Thread.onSpinWait();
+				}
+			}
+		});
+		for (int i = 0; i < count; i++) {
+			registry.add(new Entry(Integer.toString(i), "Spawned " + (i % 10)));
+		}
+		reaper.join();
+		assertEquals(0, registry.size());
+		assertEquals(0, registry.namedSize()); // No entry is left behind in the name index
+	}
+}
@@ -0,0 +1,108 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogAppenderTest {
+
+	/**
+	 * Collects the written text, holding the writer thread in its first flush until released.
+	 */
+	private static final class StallingWriter extends StringWriter {
+		private final CountDownLatch stalled = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+
+		@Override
+		public void flush() {
+			stalled.countDown();
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static List<String> messages(String text) {
+		List<String> messages = new ArrayList<>();
+		for (String line : text.split(System.lineSeparator())) {
+			messages.add(line.substring(line.indexOf("] ") + 2));
+		}
+		return messages;
+	}
+
+	@Test
+	void dropPolicyCountsAndReportsWhatDidNotFit() throws InterruptedException {
+		StallingWriter out = new StallingWriter();
+		List<String> listened = new ArrayList<>();
+		AsyncLogAppender appender = new AsyncLogAppender(out, 4, AsyncLogAppender.FullPolicy.DROP, 1,
+				batch -> batch.forEach(record -> listened.add(record.message())));
+		assertTrue(appender.append("INFO", "first"));
+		assertTrue(out.stalled.await(5, TimeUnit.SECONDS)); // The writer holds "first" and the ring is empty
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(appender.append("INFO", "kept " + i));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertFalse(appender.append("INFO", "dropped " + i));
+		}
+		assertEquals(10, appender.getDropped());
+
+		out.released.countDown();
+		appender.flush();
+		appender.close();
+		List<String> expected = List.of("first", "kept 0", "kept 1", "kept 2", "kept 3",
+				"10 log records dropped while the log buffer was full");
+		assertEquals(expected, messages(out.toString()));
+		assertEquals(expected, listened);
+		assertEquals(5, appender.getFlushed());
+	}
+
+	@Test
+	void blockPolicyWaitsForSpaceAndLosesNothing() throws InterruptedException {
+		StallingWriter out = new StallingWriter();
+		AsyncLogAppender appender = new AsyncLogAppender(out, 2, AsyncLogAppender.FullPolicy.BLOCK, 1, null);
+		appender.append("INFO", "0");
+		assertTrue(out.stalled.await(5, TimeUnit.SECONDS));
+
+		Thread producer = Thread.ofPlatform().start(() -> {
+			for (int i = 1; i <= 20; i++) {
+				appender.append("INFO", Integer.toString(i));
+			}
+		});
+		producer.join(200);
+		assertTrue(producer.isAlive()); // Waiting for the stalled writer to make space
+
+		out.released.countDown();
+		producer.join();
+		appender.close();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i <= 20; i++) {
+			expected.add(Integer.toString(i));
+		}
+		assertEquals(expected, messages(out.toString()));
+		assertEquals(0, appender.getDropped());
+	}
+
+	@Test
+	void templatesAreFilledInByTheWriter() throws InterruptedException {
+		StringWriter out = new StringWriter();
+		List<String> listened = new ArrayList<>();
+		AsyncLogAppender appender = new AsyncLogAppender(out, 8, AsyncLogAppender.FullPolicy.BLOCK, 1,
+				batch -> batch.forEach(record -> listened.add(record.message())));
+		appender.append("INFO", "{} tickets added by {}", new Object[]{3, "Vendor 1"});
+		appender.append("INFO", "{} and {}", new Object[]{"only one"});
+		appender.append("INFO", "no placeholder", new Object[]{42});
+		appender.close();
+		List<String> expected = List.of("3 tickets added by Vendor 1", "only one and {}", "no placeholder");
+		assertEquals(expected, messages(out.toString()));
+		assertEquals(expected, listened);
+	}
+}
@@ -0,0 +1,31 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimerWheelTest {
+
+	@Test
+	void timeoutsExpireInTheirTickAcrossTurnsOfTheWheel() {
+		List<String> expired = new ArrayList<>();
+		HashedTimerWheel<String> wheel = new HashedTimerWheel<>(10, 4, 0, expired::add);
+		wheel.schedule("soon", 15);
+		wheel.schedule("next turn", 55); // Same bucket as "soon", one turn later
+		HashedTimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 20);
+		assertTrue(wheel.cancel(cancelled));
+		assertEquals(2, wheel.getPending());
+
+		assertEquals(0, wheel.advance(19));
+		assertEquals(1, wheel.advance(20));
+		assertEquals(List.of("soon"), expired);
+		assertEquals(0, wheel.advance(59));
+		assertEquals(1, wheel.advance(60));
+		assertEquals(List.of("soon", "next turn"), expired);
+		assertFalse(wheel.cancel(cancelled));
+		assertEquals(0, wheel.getPending());
+	}
+}
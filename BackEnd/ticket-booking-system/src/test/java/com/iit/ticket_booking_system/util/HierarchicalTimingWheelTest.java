@@ -0,0 +1,47 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+	@Test
+	void timersOnEveryLevelFireInTheirTick() {
+		List<Long> fired = new ArrayList<>();
+		HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 0, fired::add);
+		long[] deadlines = {1, 63, 64, 70, 4096, 5000, 300_000};
+		for (long deadline : deadlines) {
+			wheel.schedule(deadline, deadline);
+		}
+		HierarchicalTimingWheel.Timer<Long> cancelled = wheel.schedule(-1L, 4100);
+		assertTrue(wheel.cancel(cancelled));
+		assertEquals(deadlines.length, wheel.getPending());
+
+		for (long deadline : deadlines) {
+			wheel.advance(deadline - 1);
+			assertFalse(fired.contains(deadline), "Fired early: " + deadline);
+			wheel.advance(deadline);
+			assertEquals(deadline, fired.get(fired.size() - 1));
+		}
+		assertEquals(deadlines.length, fired.size());
+		assertFalse(wheel.cancel(cancelled));
+		assertEquals(0, wheel.getPending());
+	}
+
+	@Test
+	void overdueTimersFireOnTheNextAdvance() {
+		List<String> fired = new ArrayList<>();
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 0, fired::add);
+		wheel.advance(1000);
+		wheel.schedule("past", 500);
+		wheel.schedule("later", 1015); // Rounded up to the tick at 1020
+		assertEquals(1, wheel.advance(1010));
+		assertEquals(List.of("past"), fired);
+		assertEquals(1, wheel.advance(1020));
+		assertEquals(List.of("past", "later"), fired);
+	}
+}
@@ -0,0 +1,61 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingTest {
+
+	private static List<AsyncLogAppender.Record> records(int from, int to) {
+		return IntStream.range(from, to).mapToObj(i -> new AsyncLogAppender.Record(i, "INFO", "main", "m" + i)).toList();
+	}
+
+	private static List<String> messages(LogRing.Page page) {
+		return page.entries().stream().map(LogRing.Entry::message).toList();
+	}
+
+	@Test
+	void readsOnlyNewEntriesAndCountsTheOverwrittenOnes() {
+		LogRing ring = new LogRing(4);
+		ring.addAll(records(0, 3));
+
+		LogRing.Page page = ring.read(0, 2);
+		assertEquals(List.of("m0", "m1"), messages(page));
+		assertEquals(2, page.next());
+		page = ring.read(page.next(), 10);
+		assertEquals(List.of("m2"), messages(page));
+		assertEquals(3, page.next());
+		assertEquals(3, ring.read(3, 10).next()); // Nothing new keeps the cursor
+
+		ring.addAll(records(3, 10)); // Sequences 4 to 10, of which 7 to 10 are kept
+		page = ring.read(3, 10);
+		assertEquals(List.of("m6", "m7", "m8", "m9"), messages(page));
+		assertEquals(3, page.missed());
+		assertEquals(10, page.next());
+		assertEquals(List.of("INFO : m6", "INFO : m7", "INFO : m8", "INFO : m9"), ring.toStrings());
+
+		assertEquals(List.of("m6", "m7", "m8", "m9"), messages(ring.read(99, 10))); // A cursor from before a restart
+	}
+
+	@Test
+	void clearingAndResizingKeepTheSequences() {
+		LogRing ring = new LogRing(4);
+		ring.addAll(records(0, 4));
+		ring.setCapacity(2);
+		assertEquals(List.of("m2", "m3"), messages(ring.read(0, 10)));
+		ring.setCapacity(8);
+		ring.addAll(records(4, 6));
+		assertEquals(List.of("m2", "m3", "m4", "m5"), messages(ring.read(0, 10)));
+
+		ring.clear();
+		assertTrue(ring.read(0, 10).entries().isEmpty());
+		ring.addAll(records(6, 7));
+		LogRing.Page page = ring.read(6, 10);
+		assertEquals(List.of("m6"), messages(page));
+		assertEquals(7, page.entries().get(0).sequence());
+		assertEquals(7, ring.getLastSequence());
+	}
+}
@@ -0,0 +1,81 @@
+package com.iit.ticket_booking_system.util;
+
+import com.iit.ticket_booking_system.util.LoggerUtil.Level;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.iit.ticket_booking_system.util.LoggerUtil.Category.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerUtilTest {
+
+	@AfterEach
+	void restoreDefaults() {
+		LoggerUtil.setLevels("INFO", "");
+	}
+
+	@Test
+	void eachCategoryIsGatedByItsOwnLevel() {
+		LoggerUtil.setLevels("INFO", " pool=DEBUG, customer=warning ");
+
+		assertFalse(LoggerUtil.isEnabled(SYSTEM, Level.DEBUG));
+		assertTrue(LoggerUtil.isEnabled(SYSTEM, Level.INFO));
+		assertTrue(LoggerUtil.isEnabled(POOL, Level.DEBUG));
+		assertFalse(LoggerUtil.isEnabled(VENDOR, Level.DEBUG));
+		assertTrue(LoggerUtil.isEnabled(VENDOR, Level.INFO));
+		assertFalse(LoggerUtil.isEnabled(CUSTOMER, Level.INFO));
+		assertTrue(LoggerUtil.isEnabled(CUSTOMER, Level.WARNING));
+		assertTrue(LoggerUtil.isEnabled(CUSTOMER, Level.ERROR));
+
+		LoggerUtil.setLevels("error", ""); // Overrides are replaced, not kept
+		assertFalse(LoggerUtil.isEnabled(POOL, Level.WARNING));
+		assertTrue(LoggerUtil.isEnabled(POOL, Level.ERROR));
+	}
+
+	@Test
+	void malformedSettingsAreRefusedAndChangeNothing() {
+		LoggerUtil.setLevels("INFO", "pool=DEBUG");
+		assertThrows(IllegalArgumentException.class, () -> LoggerUtil.setLevels("VERBOSE", ""));
+		assertThrows(IllegalArgumentException.class, () -> LoggerUtil.setLevels("INFO", "pool"));
+		assertThrows(IllegalArgumentException.class, () -> LoggerUtil.setLevels("INFO", "pool="));
+		assertThrows(IllegalArgumentException.class, () -> LoggerUtil.setLevels("INFO", "pool=DEBUG=INFO"));
+		assertThrows(IllegalArgumentException.class, () -> LoggerUtil.setLevels("INFO", "tickets=DEBUG"));
+		assertThrows(IllegalArgumentException.class, () -> LoggerUtil.setLevels("DEBUG", "vendor=DEBUG,customer=LOUD"));
+
+		assertTrue(LoggerUtil.isEnabled(POOL, Level.DEBUG)); // The earlier settings still hold
+		assertFalse(LoggerUtil.isEnabled(VENDOR, Level.DEBUG));
+	}
+
+	@Test
+	void gatedOffMessagesAreNeitherBuiltNorPublished() {
+		LoggerUtil.setLevels("INFO", "vendor=WARNING");
+		AtomicInteger built = new AtomicInteger();
+		Object argument = new Object() {
+			@Override
+			public String toString() {
+				built.incrementAndGet();
+				return "argument";
+			}
+		};
+		LoggerUtil.flush();
+		long before = LoggerUtil.getLastLogSequence();
+
+		LoggerUtil.log(VENDOR, Level.INFO, () -> {
+			built.incrementAndGet();
+			return "supplied";
+		});
+		LoggerUtil.log(VENDOR, Level.INFO, "{} tickets added", argument);
+		LoggerUtil.log(SYSTEM, Level.DEBUG, "{} and {}", argument, 42L);
+		LoggerUtil.log(VENDOR, Level.DEBUG, "plain");
+		LoggerUtil.flush();
+		assertEquals(before, LoggerUtil.getLastLogSequence());
+		assertEquals(0, built.get());
+
+		LoggerUtil.log(VENDOR, Level.WARNING, "{} tickets added", argument);
+		LoggerUtil.flush();
+		assertEquals(before + 1, LoggerUtil.getLastLogSequence());
+		assertEquals(1, built.get()); // Built once, by the writer
+	}
+}
@@ -0,0 +1,43 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityWaitQueueTest {
+
+	@Test
+	void higherTiersGoFirstUntilLowerTiersHaveAged() {
+		PriorityWaitQueue<String> queue = new PriorityWaitQueue<>(3, 100);
+		queue.add("standard", 0, 0);
+		queue.add("presale", 1, 10);
+		queue.add("vip", 2, 20);
+		queue.add("second vip", 2, 30);
+
+		PriorityWaitQueue.Waiter<String> first = queue.poll(40);
+		assertEquals("vip", first.getItem());
+		queue.requeue(first); // Keeps its place ahead of the later VIP
+		assertEquals("vip", queue.poll(40).getItem());
+
+		assertEquals("second vip", queue.poll(40).getItem());
+
+		// After 200 ns the standard and presale waiters rank with a VIP who just arrived, and have waited longer
+		queue.add("late vip", 2, 200);
+		assertEquals("standard", queue.poll(200).getItem());
+		assertEquals("presale", queue.poll(200).getItem());
+		assertEquals("late vip", queue.poll(200).getItem());
+		assertNull(queue.poll(200));
+	}
+
+	@Test
+	void withoutAgingTiersAreStrictAndFifoWithinATier() {
+		PriorityWaitQueue<String> queue = new PriorityWaitQueue<>(2, 0);
+		queue.add("standard", 0, 0);
+		queue.add("vip", 1, 1_000_000_000L);
+		queue.add("later vip", 1, 2_000_000_000L);
+
+		assertEquals("vip", queue.poll(Long.MAX_VALUE).getItem());
+		assertEquals("later vip", queue.poll(Long.MAX_VALUE).getItem());
+		assertEquals("standard", queue.poll(Long.MAX_VALUE).getItem());
+	}
+}
@@ -0,0 +1,69 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketIdGeneratorTest {
+
+	@Test
+	void idsAreUniqueAcrossThreadsAndCarryNodeAndTime() throws InterruptedException {
+		TicketIdGenerator generator = TicketIdGenerator.forNode(7);
+		assertSame(generator, TicketIdGenerator.forNode(7));
+		long began = System.currentTimeMillis();
+
+		int threads = 4;
+		int perThread = 50_000;
+		long[][] issued = new long[threads][perThread];
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long[] ids = issued[t];
+			Thread worker = new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					ids[i] = i % 2 == 0 ? generator.nextId() : generator.lease(3).getFirstId();
+					if (i % 1000 == 0) {
+						Thread.yield();
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		Set<Long> seen = new HashSet<>();
+		for (long[] ids : issued) {
+			for (int i = 0; i < perThread; i++) {
+				assertTrue(seen.add(ids[i]), "Duplicate id " + ids[i]);
+				assertEquals(7, (ids[i] >>> TicketIdGenerator.SEQUENCE_BITS) & TicketIdGenerator.MAX_NODE);
+				if (i > 1 && i % 2 == 1) {
+					assertTrue(ids[i] > ids[i - 2], "Leases of one thread go forward in time");
+				}
+			}
+		}
+		long first = TicketIdGenerator.issuedAt(issued[0][0]);
+		assertTrue(first >= began - 1 && first <= System.currentTimeMillis() + 1000);
+	}
+
+	@Test
+	void leasesAreConsecutiveAndNeverSpanAMillisecond() {
+		TicketIdGenerator generator = TicketIdGenerator.forNode(8);
+		TicketIdGenerator.IdRange range = generator.lease(100_000);
+		assertTrue(range.getCount() >= 1 && range.getCount() <= 1 << TicketIdGenerator.SEQUENCE_BITS);
+		long last = range.getFirstId() + range.getCount() - 1;
+		assertEquals(TicketIdGenerator.issuedAt(range.getFirstId()), TicketIdGenerator.issuedAt(last));
+
+		// The next lease carries on from the end of the last one, or in a later millisecond
+		TicketIdGenerator.IdRange next = generator.lease(10);
+		assertTrue(next.getFirstId() > last);
+		assertThrows(IllegalArgumentException.class, () -> generator.lease(0));
+		assertThrows(IllegalArgumentException.class, () -> TicketIdGenerator.forNode(256));
+	}
+}
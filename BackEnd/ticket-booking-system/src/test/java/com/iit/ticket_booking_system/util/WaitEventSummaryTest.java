@@ -0,0 +1,59 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitEventSummaryTest {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void foldsTheWaitsOfAnIntervalIntoOneLine() {
+		AtomicLong now = new AtomicLong();
+		WaitEventSummary summary = new WaitEventSummary("pool full", "producers", 1000 * MS, now::get);
+
+		long first = summary.started();
+		for (int i = 0; i < 3_000; i++) {
+			summary.parked();
+		}
+		long second = summary.started();
+		summary.parked();
+		now.set(220 * MS);
+		summary.finished(first); // Within the interval, so nothing is logged yet
+		assertNull(summary.report(false));
+
+		now.set(1000 * MS);
+		assertEquals("pool full: 3,001 waits, 2 producers blocked, max 220 ms, 1 still waiting", summary.report(false));
+
+		now.set(1500 * MS);
+		summary.finished(second); // The longest wait, ending in an interval where nothing else happened
+		assertNull(summary.report(false)); // The interval is not over yet
+		assertEquals("pool full: 0 waits, 0 producers blocked, max 1,500 ms", summary.report(true));
+		assertNull(summary.report(true)); // Nothing waited since
+		assertEquals(0, summary.getWaiting());
+	}
+
+	@Test
+	void keepsReportingAThreadThatStaysBlocked() {
+		AtomicLong now = new AtomicLong();
+		WaitEventSummary summary = new WaitEventSummary("pool empty", "consumers", 1000 * MS, now::get);
+
+		long began = summary.started();
+		summary.parked();
+		now.set(1000 * MS);
+		assertEquals("pool empty: 1 waits, 1 consumers blocked, max 0 ms, 1 still waiting", summary.report(false));
+		for (int interval = 2; interval <= 4; interval++) {
+			now.set(interval * 1000 * MS);
+			assertEquals("pool empty: 0 waits, 0 consumers blocked, max 0 ms, 1 still waiting", summary.report(false));
+		}
+
+		now.set(4200 * MS);
+		summary.finished(began);
+		now.set(5000 * MS);
+		assertEquals("pool empty: 0 waits, 0 consumers blocked, max 4,200 ms", summary.report(false));
+	}
+}
@@ -0,0 +1,26 @@
+package com.iit.ticket_booking_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitTimeHistogramTest {
+
+	@Test
+	void percentilesStayWithinBucketPrecision() {
+		WaitTimeHistogram histogram = new WaitTimeHistogram();
+		for (long millis = 1; millis <= 1000; millis++) {
+			histogram.record(millis * 1_000_000);
+		}
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1_000_000_000L, histogram.getMax());
+		assertEquals(500e6, histogram.percentile(50), 500e6 * 0.125);
+		assertEquals(990e6, histogram.percentile(99), 990e6 * 0.125);
+		assertTrue(histogram.percentile(50) >= 500_000_000L);
+		assertEquals(1_000_000_000L, histogram.percentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.percentile(99));
+	}
+}
@@ -71,8 +71,8 @@ public class Main {
         int totalTickets = 0;
         int maxTicketCapacity;
         int quantity = 0;
-        int ticketReleaseRate = 0;
-        int ticketRetrievalRate = 0;
+        double ticketReleaseRate = 0;
+        double ticketRetrievalRate = 0;
         int vendorsCount;
         int customersCount;
         int ticketsPerRelease = 0;
@@ -107,8 +107,8 @@ public class Main {
             // Collect user inputs for creating a new configuration
             totalTickets = inputValidation(scanner, "Enter the total number of tickets added by the vendor: ");
             maxTicketCapacity = inputValidation(scanner, "Enter the maximum ticket capacity: ");
-            ticketReleaseRate = inputValidation(scanner, "Enter ticket release rate in seconds: ");
-            ticketRetrievalRate = inputValidation(scanner, "Enter ticket retrieval rate in seconds: ");
+            ticketReleaseRate = rateValidation(scanner, "Enter ticket releases per second (e.g. 0.5 or 1000): ");
+            ticketRetrievalRate = rateValidation(scanner, "Enter ticket retrievals per second (e.g. 0.5 or 1000): ");
             quantity = inputValidation(scanner, "Enter the number of tickets to be bought by each customer: ");
 
 
@@ -182,6 +182,33 @@ public class Main {
         return output;
     }
 
+    /**
+     * Validates a rate entered by the user.
+     * Ensures the value is a positive number, fractions allowed.
+     *
+     * @param scanner Scanner object for user input.
+     * @param prompt  The message to display to the user.
+     * @return A valid positive rate entered by the user.
+     */
+    public static double rateValidation(Scanner scanner, String prompt) {
+        double output;
+        while (true) {
+            System.out.println(prompt);
+            if (scanner.hasNextDouble()) {
+                output = scanner.nextDouble();
+                if (output > 0 && !Double.isInfinite(output)) {
+                    break;
+                } else {
+                    System.out.println("Invalid Input. Value must be greater than zero");
+                }
+            } else {
+                System.out.println("Invalid Input. Please enter a number");
+                scanner.next(); // Clear the invalid input
+            }
+        }
+        return output;
+    }
+
     /**
      * Validates the user's choice input to ensure it is 1 or 2.
      *
@@ -16,8 +16,8 @@ public class Configuration implements Serializable {
     private final int maxTicketCapacity; // maximum ticket capacity for the ticket pool
     private final int totalTickets;  // Total number of tickets available for purchase
     private final int quantity;  // Quantity of tickets per customer purchase
-    private final int ticketReleaseRate; // Rate at which tickets are released into the pool
-    private final int ticketRetrievalRate; // Rate at which tickets are retrieved from the pool by customers
+    private final double ticketReleaseRate; // Releases per second of each vendor, fractions allowed
+    private final double ticketRetrievalRate; // Purchases per second of each customer, fractions allowed
 
     /**
      * Constructor to initialize the configuration with specified values.
@@ -25,10 +25,10 @@ public class Configuration implements Serializable {
      * @param totalTickets           Total tickets available in the pool.
      * @param maxTicketCapacity     Maximum number of tickets the pool can hold.
      * @param quantity              Quantity of tickets per customer purchase.
-     * @param ticketReleaseRate     Rate at which tickets are released into the pool.
-     * @param ticketRetrievalRate   Rate at which customers retrieve tickets from the pool.
+     * @param ticketReleaseRate     Releases per second of each vendor.
+     * @param ticketRetrievalRate   Purchases per second of each customer.
      */
-    public Configuration(int totalTickets, int maxTicketCapacity, int quantity, int ticketReleaseRate, int ticketRetrievalRate){
+    public Configuration(int totalTickets, int maxTicketCapacity, int quantity, double ticketReleaseRate, double ticketRetrievalRate){
         this.totalTickets = totalTickets;
         this.maxTicketCapacity = maxTicketCapacity;
         this.quantity = quantity;
@@ -67,18 +67,18 @@ public class Configuration implements Serializable {
     /**
      * Gets the ticket release rate (how quickly tickets are released into the pool).
      *
-     * @return the ticket release rate.
+     * @return the releases per second of each vendor.
      */
-    public int getTicketReleaseRate(){
+    public double getTicketReleaseRate(){
         return ticketReleaseRate;
     }
 
     /**
      * Gets the ticket retrieval rate (how quickly tickets are retrieved from the pool by customers).
      *
-     * @return the ticket retrieval rate.
+     * @return the purchases per second of each customer.
      */
-    public int getTicketRetrievalRate(){
+    public double getTicketRetrievalRate(){
         return ticketRetrievalRate;
     }
 
@@ -3,6 +3,7 @@ package com.melissa.iit.cli.thread;
 import com.melissa.iit.cli.Ticket;
 import com.melissa.iit.cli.TicketPool;
 import com.melissa.iit.cli.util.LoggerUtil;
+import com.melissa.iit.cli.util.Pacer;
 
 import java.util.UUID;
 
@@ -14,7 +15,7 @@ public class Customer implements Runnable {
 
     private final String customerId; // Unique ID for the customer
     private final String customerName; // Name of the customer
-    private final int ticketRetrievalRate; // Time interval between ticket purchases
+    private final Pacer pacer; // Paces the purchases to the retrieval rate
     private final int totalTickets; // Total number of tickets the customer wants to buy
     private final TicketPool ticketPool;
 
@@ -23,14 +24,14 @@ public class Customer implements Runnable {
      * Constructs a new Customer instance.
      *
      * @param customerName        Name of the customer.
-     * @param ticketRetrievalRate Interval (in seconds) between ticket purchases.
+     * @param ticketRetrievalRate Purchases per second, fractions allowed.
      * @param totalTickets        Total number of tickets the customer wants to buy.
      * @param ticketPool          The shared ticket pool.
      */
-    public Customer(String customerName, int ticketRetrievalRate, int totalTickets, TicketPool ticketPool) {
+    public Customer(String customerName, double ticketRetrievalRate, int totalTickets, TicketPool ticketPool) {
         this.customerName = customerName;
         this.customerId = UUID.randomUUID().toString();
-        this.ticketRetrievalRate = ticketRetrievalRate;
+        this.pacer = new Pacer(ticketRetrievalRate);
         this.totalTickets = totalTickets;
         this.ticketPool = ticketPool;
     }
@@ -39,7 +40,7 @@ public class Customer implements Runnable {
     /**
      * The execution logic for the customer thread. It simulates buying tickets from the ticket pool
      * until the customer has bought the specified number of tickets. After each purchase, the customer
-     * waits for the specified retrieval interval before purchasing another ticket.
+     * waits until its retrieval rate allows another purchase.
      */
     @Override
     public void run() {
@@ -65,7 +66,7 @@ public class Customer implements Runnable {
                     String message = customerName + " bought " + ticketsPurchased + " tickets";
                     System.out.println(message);
                     LoggerUtil.log("INFO", message);
-                    Thread.sleep(ticketRetrievalRate * 1000L); // Wait before the next ticket purchase
+                    pacer.pace(); // Wait until the next ticket purchase is due
                 }
             }
             System.out.println("Customer " + customerName + " has finished buying tickets");
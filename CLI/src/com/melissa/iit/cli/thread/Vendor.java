@@ -3,20 +3,21 @@ package com.melissa.iit.cli.thread;
 import com.melissa.iit.cli.Ticket;
 import com.melissa.iit.cli.TicketPool;
 import com.melissa.iit.cli.util.LoggerUtil;
+import com.melissa.iit.cli.util.Pacer;
 
 import java.util.UUID;
 
 
 /**
  * Represents a vendor responsible for adding tickets to the ticket pool.
- * Vendors operate on a separate thread, adding tickets in batches at specific intervals.
+ * Vendors operate on a separate thread, adding tickets in batches at a steady rate.
  */
 public class Vendor implements Runnable {
 
     private final String vendorId; // Unique identifier for the vendor
     private final String vendorName; // Name of the vendor
     private final int ticketsPerRelease; //  Number of tickets a vendor adds in one release
-    private final int ticketReleaseRate; // Time interval (in seconds) between releases
+    private final Pacer pacer; // Paces the releases to the release rate
     private final String eventName; // Name of the event associated with the tickets
     private final double price; // Price of each ticket
     private final TicketPool ticketPool; // Shared resource for ticket storage
@@ -30,11 +31,11 @@ public class Vendor implements Runnable {
      * @param eventName         Event name for which tickets are being sold.
      * @param ticketPool        Reference to the shared ticket pool.
      * @param ticketsPerRelease Number of tickets added per batch.
-     * @param ticketReleaseRate Interval (in seconds) between ticket additions.
+     * @param ticketReleaseRate Releases per second, fractions allowed.
      * @param totalTickets      Total number of tickets the vendor can add.
      * @param price             Price of each ticket.
      */
-    public Vendor(String vendorName, String eventName, TicketPool ticketPool, int ticketsPerRelease, int ticketReleaseRate, int totalTickets, double price) {
+    public Vendor(String vendorName, String eventName, TicketPool ticketPool, int ticketsPerRelease, double ticketReleaseRate, int totalTickets, double price) {
         this.vendorName = vendorName;
         this.eventName = eventName;
         this.price = price;
@@ -42,7 +43,7 @@ public class Vendor implements Runnable {
         this.vendorId = UUID.randomUUID().toString();
         this.ticketPool = ticketPool;
         this.ticketsPerRelease = ticketsPerRelease;
-        this.ticketReleaseRate = ticketReleaseRate;
+        this.pacer = new Pacer(ticketReleaseRate);
     }
 
     /**
@@ -81,7 +82,7 @@ public class Vendor implements Runnable {
                     LoggerUtil.log("INFO", message);
 
                 }
-                Thread.sleep(ticketReleaseRate * 1000L);
+                pacer.pace(); // Wait until the next release is due
 
             }
             // Log the completion of the ticket addition process
@@ -0,0 +1,65 @@
+package com.melissa.iit.cli.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the releases of a vendor or the purchases of a customer to a rate of any number per second,
+ * fractions included.
+ * <p>
+ * Each event is due a whole number of intervals after the first one, rather than one interval after
+ * the previous event, so a thread that wakes late catches up on its next event instead of drifting.
+ * A thread that falls more than the slack behind, such as one that waited for a full or empty pool,
+ * starts a fresh schedule rather than running a burst of events to catch up.
+ */
+public class Pacer {
+
+    private static final long SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(10); // Lateness caught up
+
+    private final double intervalNanos; // Time between events, fractions of a nanosecond included
+    private long start; // Time of the first event of the current schedule
+    private long events; // Events since the start of the current schedule
+
+    /**
+     * Constructs a pacer for the given rate.
+     *
+     * @param eventsPerSecond The number of events per second.
+     * @throws IllegalArgumentException if the rate is not positive.
+     */
+    public Pacer(double eventsPerSecond) {
+        if (!(eventsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive: " + eventsPerSecond);
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / eventsPerSecond;
+    }
+
+    /**
+     * Records an event and waits until the next one is due.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void pace() throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(next(System.nanoTime()));
+    }
+
+    /**
+     * Records an event and gets the wait before the next one.
+     *
+     * @param now The time of the event in nanoseconds.
+     * @return The wait before the next event in nanoseconds, 0 while catching up.
+     */
+    public synchronized long next(long now) {
+        if (events == 0 || now - due() > SLACK_NANOS) {
+            start = now; // First event, or too far behind to catch up
+            events = 0;
+        }
+        events++;
+        return Math.max(0, due() - now);
+    }
+
+    /**
+     * Gets the time the next event of the current schedule is due.
+     */
+    private long due() {
+        return start + Math.round(events * intervalNanos);
+    }
+}
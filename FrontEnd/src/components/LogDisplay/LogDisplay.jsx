@@ -1,39 +1,29 @@
 import React, { useEffect, useState } from "react";
 import "./LogDisplay.css";
+import { subscribeDashboard } from "../../dashboardStream";
+
+const MAX_SHOWN = 1000; // Latest logs kept on screen
 
 const LogDisplay = () => {
   const [logs, setLogs] = useState([]); // State to store logs
   const [error, setError] = useState(""); // State to store errors
 
+  // Follow the logs pushed by the backend: the latest ones first, then each new batch
   useEffect(() => {
-    const fetchLogs = async () => {
-      try {
-        const response = await fetch("http://localhost:8080/api/tickets/logs");
-
-
-        if (!response.ok) {
-          throw new Error("Failed to fetch logs from server");
+    return subscribeDashboard(
+      (type, data) => {
+        setError("");
+        if (type === "snapshot") {
+          setLogs(data.logs);
+          return;
         }
-
-        const data = await response.json();
-        console.log(data);
-
-        if (data.status === "success") {
-          setLogs(data.logs); // Update logs state
-        } else {
-          setError(data.message || "Failed to fetch logs");
+        const added = data.missed ? [`... ${data.missed} logs skipped`, ...(data.logs || [])] : data.logs;
+        if (added && added.length > 0) {
+          setLogs((previous) => previous.concat(added).slice(-MAX_SHOWN)); // Append the new logs
         }
-      } catch (err) {
-        console.error(err);
-        console.error("Error fetching logs: ", err);
-        setError("Error fetching logs");
-      }
-    };
-
-    fetchLogs(); // Call the function to fetch logs
-
-    const interval = setInterval(fetchLogs, 10000);
-    return () => clearInterval(interval);
+      },
+      () => setError("Error fetching logs")
+    );
   }, []);
 
   return (
@@ -1,5 +1,8 @@
 import React, { PureComponent } from 'react';
 import { LineChart, Line, XAxis, YAxis, CartesianGrid, Tooltip, Legend, ResponsiveContainer } from 'recharts';
+import { subscribeDashboard } from '../../dashboardStream';
+
+const MAX_POINTS = 120; // Latest sales figures kept on the graph
 
 export default class AnalyticsDashboard extends PureComponent {
   constructor(props) {
@@ -13,38 +16,32 @@ export default class AnalyticsDashboard extends PureComponent {
   }
 
   componentDidMount() {
-    this.fetchSalesData();
-    this.interval = setInterval(this.fetchSalesData, 5000); // Fetch data every 5 seconds
+    // The backend pushes the sales whenever they change
+    this.unsubscribe = subscribeDashboard(this.handleEvent, () => {
+      console.error('Lost the sales stream, reconnecting');
+      this.handleError();
+    });
   }
 
   componentWillUnmount() {
-    clearInterval(this.interval); // Clear interval on component unmount
+    this.unsubscribe(); // Stop following the stream on component unmount
   }
 
-  // Fetch sales data from backend and append timestamp
-  fetchSalesData = async () => {
-    try {
-      const response = await fetch('http://localhost:8080/api/tickets/sales');
-      if (response.ok) {
-        const data = await response.json();
-        const currentTime = new Date().toLocaleTimeString(); // Get current time in HH:MM:SS format
-
-        // Update the graph with new data and reset the error state
-        this.setState((prevState) => ({
-          salesData: [
-            ...prevState.salesData,
-            { time: currentTime, sales: data.ticketSales },
-          ],
-          error: false,
-        }));
-      } else {
-        console.error('HTTP error while fetching sales data');
-        this.handleError();
-      }
-    } catch (error) {
-      console.error('Error fetching sales data:', error);
-      this.handleError();
+  // Append the pushed sales figure with a timestamp
+  handleEvent = (type, data) => {
+    if (!data.sales) {
+      return; // Sales unchanged
     }
+    const currentTime = new Date().toLocaleTimeString(); // Get current time in HH:MM:SS format
+
+    // Update the graph with new data and reset the error state
+    this.setState((prevState) => ({
+      salesData: [
+        ...prevState.salesData,
+        { time: currentTime, sales: data.sales.ticketSales },
+      ].slice(-MAX_POINTS),
+      error: false,
+    }));
   };
 
   // Handle errors by resetting the graph
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import './TicketDashboard.css';
+import { subscribeDashboard } from '../../dashboardStream';
 
 const TicketDashboard = () => {
   const [ticketStatus, setTicketStatus] = useState({
@@ -12,33 +13,19 @@ const TicketDashboard = () => {
 
   const [systemStatus, setSystemStatus] = useState('System not started'); // Default system status
 
-  // Fetch ticket status from the backend
-  const fetchTicketStatus = async () => {
-    try {
-      const response = await fetch('http://localhost:8080/api/tickets/tickets');
-      const data = await response.json();
-
-      if (response.ok && data.status === 'success') {
-        setTicketStatus(data.ticketStatus); // Update ticket status data
-      } else {
-        console.error(data.message || 'Failed to fetch ticket status');
+  // Follow the ticket status pushed by the backend: a full status first, then only what changed
+  useEffect(() => {
+    return subscribeDashboard(
+      (type, data) => {
+        if (data.status) {
+          setTicketStatus((previous) => (type === 'snapshot' ? data.status : { ...previous, ...data.status }));
+        }
+      },
+      () => {
+        console.error('Lost the ticket status stream, reconnecting');
         setSystemStatus('System not started');
       }
-    } catch (error) {
-      console.error('Error fetching ticket status:', error);
-      setSystemStatus('System not started');
-    }
-  };
-
-
-  // Fetch ticket status and system status every 5 seconds
-  useEffect(() => {
-    fetchTicketStatus();
-    const intervalId = setInterval(() => {
-      fetchTicketStatus();
-    }, 5000);
-
-    return () => clearInterval(intervalId);
+    );
   }, []);
 
 
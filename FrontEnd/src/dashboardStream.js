@@ -0,0 +1,34 @@
+// One shared connection to the backend's dashboard stream for every component on the page.
+// The server sends a "snapshot" event with the full ticket status, sales and latest logs when the
+// connection opens (again after every reconnect), then "update" events with only what changed.
+
+const STREAM_URL = "http://localhost:8080/api/tickets/stream";
+
+const listeners = new Set(); // Components subscribed to the stream
+let source = null; // The EventSource, open while anyone listens
+
+const dispatch = (type) => (event) => {
+  const data = JSON.parse(event.data);
+  listeners.forEach((listener) => listener.onEvent(type, data));
+};
+
+// Subscribes to the stream; onEvent(type, data) receives "snapshot" and "update" events and
+// onError() is called when the connection drops (the browser reconnects by itself).
+// Returns the function that unsubscribes.
+export const subscribeDashboard = (onEvent, onError = () => {}) => {
+  const listener = { onEvent, onError };
+  listeners.add(listener);
+  if (source === null) {
+    source = new EventSource(STREAM_URL);
+    source.addEventListener("snapshot", dispatch("snapshot"));
+    source.addEventListener("update", dispatch("update"));
+    source.onerror = () => listeners.forEach((each) => each.onError());
+  }
+  return () => {
+    listeners.delete(listener);
+    if (listeners.size === 0 && source !== null) {
+      source.close();
+      source = null;
+    }
+  };
+};